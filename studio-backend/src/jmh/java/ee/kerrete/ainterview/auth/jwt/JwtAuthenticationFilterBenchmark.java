@@ -0,0 +1,98 @@
+package ee.kerrete.ainterview.auth.jwt;
+
+import ee.kerrete.ainterview.model.UserRole;
+import ee.kerrete.ainterview.model.UserTier;
+import ee.kerrete.ainterview.support.PathPrefixTrie;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead of {@link JwtAuthenticationFilter}: the previous
+ * stream-over-prefixes check and parser-per-call verification against the
+ * prefix trie and the shared parser with its verified-claims cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-at-least-32-chars";
+
+    @Param({"/api/pricing", "/swagger-ui/index.html", "/api/dashboard/progress"})
+    public String path;
+
+    private PathPrefixTrie publicPaths;
+    private JwtAuthenticationFilter filter;
+    private JwtService jwtService;
+    private Key key;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        publicPaths = PathPrefixTrie.builder()
+            .prefixes(JwtAuthenticationFilter.PUBLIC_PATH_PREFIXES)
+            .exact(JwtAuthenticationFilter.PUBLIC_PATH_EXACT)
+            .build();
+        JwtProperties properties = new JwtProperties(SECRET, 3_600_000L, 86_400_000L, 10_000);
+        jwtService = new JwtService(properties, new SimpleMeterRegistry());
+        filter = new JwtAuthenticationFilter(jwtService);
+        key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        token = jwtService.generateAccessToken("bench@example.com", UserRole.CANDIDATE, 42L, UserTier.FREE);
+    }
+
+    @Benchmark
+    public boolean legacyPublicPath() {
+        return JwtAuthenticationFilter.PUBLIC_PATH_EXACT.contains(path)
+            || JwtAuthenticationFilter.PUBLIC_PATH_PREFIXES.stream().anyMatch(path::startsWith);
+    }
+
+    @Benchmark
+    public boolean triePublicPath() {
+        return publicPaths.matches(path);
+    }
+
+    @Benchmark
+    public Claims legacyParse() {
+        return Jwts.parserBuilder()
+            .setSigningKey(key)
+            .build()
+            .parseClaimsJws(token)
+            .getBody();
+    }
+
+    @Benchmark
+    public Claims cachedParse() {
+        return jwtService.parseToken(token).orElseThrow();
+    }
+
+    /**
+     * Whole filter pass with a bearer token, public paths short-circuiting.
+     */
+    @Benchmark
+    public void filterRequest(Blackhole bh) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        bh.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+}
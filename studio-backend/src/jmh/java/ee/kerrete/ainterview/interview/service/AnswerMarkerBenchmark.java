@@ -0,0 +1,135 @@
+package ee.kerrete.ainterview.interview.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Tone + affect + keyword analysis of long STAR answers: the previous
+ * per-marker-set {@code contains}/regex implementation against one
+ * {@link AnswerMarkers} automaton pass.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AnswerMarkerBenchmark {
+
+    private static final String[] STAR_SENTENCES = {
+        "In my previous role the team was stuck on a release that kept failing in staging.",
+        "I owned the investigation and led a small group of three engineers and a product manager.",
+        "We designed a canary pipeline, implemented automated rollback and built dashboards for every KPI.",
+        "Stakeholders were frustrated at first, so I explained the trade-offs and aligned on a clear plan.",
+        "As a result deployment failures were reduced by 60% and lead time improved from days to hours.",
+        "I learned to communicate risk early, and I am proud of how the customer impact metric increased.",
+        "Maybe the biggest issue was uncertainty about ownership, which caused a delay in the first sprint.",
+        "Looking back I would mentor new team members sooner and ask for feedback from leadership earlier."
+    };
+
+    @Param({"150", "600", "2000"})
+    public int words;
+
+    private List<String> corpus;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(11);
+        corpus = random.ints(64, 0, Integer.MAX_VALUE).mapToObj(seed -> {
+            Random r = new Random(seed);
+            StringBuilder answer = new StringBuilder();
+            int count = 0;
+            while (count < words) {
+                String sentence = STAR_SENTENCES[r.nextInt(STAR_SENTENCES.length)];
+                answer.append(sentence).append(' ');
+                count += sentence.split(" ").length;
+            }
+            return answer.toString();
+        }).toList();
+    }
+
+    @Benchmark
+    public void legacy(Blackhole bh) {
+        for (String answer : corpus) {
+            String lower = answer.toLowerCase(Locale.ROOT);
+            bh.consume(Legacy.countMatches(lower, Legacy.POSITIVE) - Legacy.countMatches(lower, Legacy.NEGATIVE));
+            bh.consume(Legacy.countMatches(lower, Legacy.ACTION) + Legacy.countMatches(lower, Legacy.OUTCOME)
+                + Legacy.countMatches(lower, Legacy.STAKEHOLDER));
+            bh.consume(lower.split("\\s+").length);
+            bh.consume(Legacy.uniquenessRatio(lower));
+            Map<String, Long> tokens = Legacy.tokenize(lower);
+            for (List<String> keywords : Legacy.DIMENSIONS) {
+                bh.consume(keywords.stream().mapToLong(k -> tokens.getOrDefault(k, 0L)).sum());
+            }
+        }
+    }
+
+    @Benchmark
+    public void automaton(Blackhole bh) {
+        for (String answer : corpus) {
+            MarkerAutomaton.Scan scan = AnswerMarkers.scan(answer);
+            bh.consume(scan.distinct(AnswerMarkers.TONE_POSITIVE) - scan.distinct(AnswerMarkers.TONE_NEGATIVE));
+            bh.consume(scan.distinct(AnswerMarkers.AFFECT_ACTION) + scan.distinct(AnswerMarkers.AFFECT_OUTCOME)
+                + scan.distinct(AnswerMarkers.AFFECT_STAKEHOLDER));
+            bh.consume(scan.whitespaceTokens());
+            bh.consume(scan.uniquenessRatio());
+            for (AnswerMarkers.Dimension dimension : AnswerMarkers.DIMENSIONS) {
+                bh.consume(scan.total(dimension.category()));
+            }
+        }
+    }
+
+    /**
+     * The string-based analysers as they were before the automaton.
+     */
+    private static final class Legacy {
+
+        static final Set<String> POSITIVE = Set.of(
+            "grateful", "thank", "excited", "proud", "pleased", "glad", "happy", "motivated", "learned", "improved");
+        static final Set<String> NEGATIVE = Set.of(
+            "frustrated", "angry", "upset", "hopeless", "stuck", "annoyed", "hate", "problematic", "fail", "failure");
+        static final Set<String> ACTION = Set.of("built", "led", "implemented", "designed", "created", "drove", "owned");
+        static final Set<String> OUTCOME = Set.of("result", "impact", "improved", "increased", "reduced", "metric", "kpi");
+        static final Set<String> STAKEHOLDER = Set.of("team", "stakeholder", "partner", "customer", "manager", "leadership");
+        static final List<List<String>> DIMENSIONS = AnswerMarkers.DIMENSIONS.stream()
+            .map(AnswerMarkers.Dimension::keywords)
+            .toList();
+
+        static int countMatches(String text, Set<String> markers) {
+            int count = 0;
+            for (String m : markers) {
+                if (text.contains(m)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        static double uniquenessRatio(String lower) {
+            String[] tokens = lower.replaceAll("[^a-z0-9 ]", " ").split("\\s+");
+            if (tokens.length == 0) return 1.0;
+            Set<String> uniq = new HashSet<>(Arrays.asList(tokens));
+            return (double) uniq.size() / (double) tokens.length;
+        }
+
+        static Map<String, Long> tokenize(String lower) {
+            return Arrays.stream(lower.split("\\W+"))
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.groupingBy(s -> s, Collectors.counting()));
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package ee.kerrete.ainterview.api;
 
+import ee.kerrete.ainterview.service.AnalyticsEventService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -12,11 +14,16 @@ import java.util.Map;
 @Slf4j
 @RestController
 @RequestMapping({"/api/analytics", "/api/studio/analytics"})
+@RequiredArgsConstructor
 public class AnalyticsController {
 
+    private final AnalyticsEventService analyticsEventService;
+
     @PostMapping("/event")
     public ResponseEntity<Map<String, String>> trackEvent(@RequestBody(required = false) Map<String, Object> payload) {
-        log.debug("Analytics event: {}", payload);
+        if (!analyticsEventService.track(payload)) {
+            log.debug("Ignoring analytics event without a name: {}", payload);
+        }
         return ResponseEntity.ok(Map.of("status", "ok"));
     }
 }
@@ -1,8 +1,13 @@
 package ee.kerrete.ainterview.api;
 
+import ee.kerrete.ainterview.config.GenerationJobConfig;
 import ee.kerrete.ainterview.dto.RoadmapExportRequest;
 import ee.kerrete.ainterview.dto.RoadmapExportResponse;
+import ee.kerrete.ainterview.job.api.GenerationJobController;
+import ee.kerrete.ainterview.job.dto.GenerationJobResponse;
+import ee.kerrete.ainterview.job.service.GenerationJobService;
 import ee.kerrete.ainterview.roadmap.MarkdownRenderer;
+import ee.kerrete.ainterview.security.AuthenticatedUser;
 import ee.kerrete.ainterview.service.RoadmapExportService;
 import ee.kerrete.ainterview.service.RoadmapPdfExporter;
 import lombok.RequiredArgsConstructor;
@@ -10,9 +15,11 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -31,6 +38,7 @@ public class RoadmapExportController {
     private final RoadmapExportService roadmapExportService;
     private final MarkdownRenderer markdownRenderer;
     private final RoadmapPdfExporter roadmapPdfExporter;
+    private final GenerationJobService generationJobService;
 
     @PostMapping(value = "/export")
     public ResponseEntity<?> export(@RequestBody RoadmapExportRequest request) {
@@ -49,6 +57,20 @@ public class RoadmapExportController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Queues the export as a background job; the job result is the JSON
+     * export whatever the requested format. See {@link GenerationJobController}.
+     */
+    @PostMapping(value = "/export/jobs")
+    public ResponseEntity<GenerationJobResponse> exportInBackground(
+            @RequestBody RoadmapExportRequest request,
+            @RequestHeader(value = GenerationJobController.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+        roadmapExportService.validateRequest(request);
+        return GenerationJobController.accepted(
+                generationJobService.submit(GenerationJobConfig.ROADMAP_EXPORT, request, user, idempotencyKey));
+    }
+
     @GetMapping(value = "/export/pdf")
     public ResponseEntity<byte[]> exportPdf(@RequestParam("sessionUuid") UUID sessionUuid,
                                             @RequestParam("timelineDays") Integer timelineDays) {
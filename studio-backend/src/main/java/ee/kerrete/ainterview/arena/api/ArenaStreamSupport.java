@@ -0,0 +1,131 @@
+package ee.kerrete.ainterview.arena.api;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs a streaming AI call off the servlet thread and relays it as
+ * {@code text/event-stream}:
+ * <ul>
+ *   <li>{@code delta} – {"text": "..."} for every token fragment</li>
+ *   <li>{@code done}  – the final response DTO (same shape as the blocking endpoint)</li>
+ *   <li>{@code error} – {"message": "..."} if the work fails after the stream was opened</li>
+ * </ul>
+ * Deltas are raw fragments of the model output. The arena prompts ask for a
+ * JSON reply, so a fragment is a piece of that JSON text, not a field of it:
+ * the client concatenates them for a live preview only and renders the
+ * {@code done} payload as the result. After an {@code error} the preview is
+ * incomplete and should be discarded; nothing of it was saved.
+ * Access checks must run in the controller before calling {@link #stream}, so
+ * they still surface as normal HTTP errors.
+ */
+@Component
+@Slf4j
+public class ArenaStreamSupport {
+
+    private static final long EMITTER_TIMEOUT_MS = 180_000L;
+
+    static final int MAX_CONCURRENT_STREAMS = 256;
+
+    private final AsyncTaskExecutor executor;
+    // Counted here, not by the executor: SimpleAsyncTaskExecutor's limit blocks the servlet thread
+    private final Semaphore streams = new Semaphore(MAX_CONCURRENT_STREAMS);
+
+    public ArenaStreamSupport(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // one virtual thread per stream; the stream limit only guards provider quota
+            SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("arena-stream-");
+            virtual.setVirtualThreads(true);
+            executor = virtual;
+        } else {
+            ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+            pool.setThreadNamePrefix("arena-stream-");
+            pool.setCorePoolSize(4);
+            pool.setMaxPoolSize(32);
+            pool.setQueueCapacity(64);
+            pool.initialize();
+            executor = pool;
+        }
+    }
+
+    public <T> SseEmitter stream(Function<Consumer<String>, T> work) {
+        if (!streams.tryAcquire()) {
+            throw tooManyStreams();
+        }
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        try {
+            executor.execute(() -> run(emitter, work));
+        } catch (TaskRejectedException e) {
+            streams.release();
+            throw tooManyStreams();
+        }
+        return emitter;
+    }
+
+    private <T> void run(SseEmitter emitter, Function<Consumer<String>, T> work) {
+        try {
+            T result = work.apply(delta -> send(emitter, "delta", Map.of("text", delta)));
+            emitter.send(SseEmitter.event().name("done").data(result));
+            emitter.complete();
+        } catch (UncheckedIOException e) {
+            // client went away – abandoning the work also closes the upstream provider stream
+            log.debug("Arena stream client disconnected: {}", e.getMessage());
+            emitter.completeWithError(e.getCause());
+        } catch (ResponseStatusException e) {
+            sendError(emitter, e.getReason());
+        } catch (Exception e) {
+            log.warn("Arena stream failed", e);
+            sendError(emitter, "AI request failed");
+        } finally {
+            streams.release();
+        }
+    }
+
+    private static ResponseStatusException tooManyStreams() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many streaming requests, try again shortly");
+    }
+
+    private void send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void sendError(SseEmitter emitter, String message) {
+        try {
+            emitter.send(SseEmitter.event().name("error").data(Map.of("message", message != null ? message : "error")));
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws Exception {
+        if (executor instanceof DisposableBean disposable) {
+            disposable.destroy();
+        } else if (executor instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
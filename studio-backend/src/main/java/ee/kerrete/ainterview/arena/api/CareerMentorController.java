@@ -4,31 +4,30 @@ import ee.kerrete.ainterview.arena.dto.CareerMentorStartRequest;
 import ee.kerrete.ainterview.arena.dto.CareerMentorMessageRequest;
 import ee.kerrete.ainterview.arena.dto.CareerMentorResponse;
 import ee.kerrete.ainterview.arena.service.CareerMentorService;
-import ee.kerrete.ainterview.model.AppUser;
 import ee.kerrete.ainterview.model.UserTier;
-import ee.kerrete.ainterview.repository.AppUserRepository;
 import ee.kerrete.ainterview.security.AuthenticatedUser;
+import ee.kerrete.ainterview.security.RequiresTier;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/arena/career-mentor")
 @RequiredArgsConstructor
+@RequiresTier(UserTier.ARENA_PRO)
 public class CareerMentorController {
 
     private final CareerMentorService careerMentorService;
-    private final AppUserRepository appUserRepository;
+    private final ArenaStreamSupport streamSupport;
 
     @PostMapping("/start")
     public CareerMentorResponse start(
         @Valid @RequestBody CareerMentorStartRequest request,
         @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        requireProTier(user);
         return careerMentorService.startSession(request, user.id());
     }
 
@@ -37,15 +36,24 @@ public class CareerMentorController {
         @Valid @RequestBody CareerMentorMessageRequest request,
         @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        requireProTier(user);
         return careerMentorService.message(request, user.id());
     }
 
-    private void requireProTier(AuthenticatedUser user) {
-        AppUser appUser = appUserRepository.findById(user.id())
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-        if (!appUser.getEffectiveTier().isAtLeast(UserTier.ARENA_PRO)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Pro tier required");
-        }
+    @PostMapping(value = "/start/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter startStream(
+        @Valid @RequestBody CareerMentorStartRequest request,
+        @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        Long userId = user.id();
+        return streamSupport.stream(onDelta -> careerMentorService.startSession(request, userId, onDelta));
+    }
+
+    @PostMapping(value = "/message/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter messageStream(
+        @Valid @RequestBody CareerMentorMessageRequest request,
+        @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        Long userId = user.id();
+        return streamSupport.stream(onDelta -> careerMentorService.message(request, userId, onDelta));
     }
 }
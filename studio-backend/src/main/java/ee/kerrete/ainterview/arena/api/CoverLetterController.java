@@ -3,39 +3,46 @@ package ee.kerrete.ainterview.arena.api;
 import ee.kerrete.ainterview.arena.dto.CoverLetterRequest;
 import ee.kerrete.ainterview.arena.dto.CoverLetterResponse;
 import ee.kerrete.ainterview.arena.service.CoverLetterService;
-import ee.kerrete.ainterview.model.AppUser;
+import ee.kerrete.ainterview.config.GenerationJobConfig;
+import ee.kerrete.ainterview.job.api.GenerationJobController;
+import ee.kerrete.ainterview.job.dto.GenerationJobResponse;
+import ee.kerrete.ainterview.job.service.GenerationJobService;
 import ee.kerrete.ainterview.model.UserTier;
-import ee.kerrete.ainterview.repository.AppUserRepository;
 import ee.kerrete.ainterview.security.AuthenticatedUser;
+import ee.kerrete.ainterview.security.RequiresTier;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequestMapping("/api/arena/cover-letter")
 @RequiredArgsConstructor
+@RequiresTier(UserTier.ARENA_PRO)
 public class CoverLetterController {
 
     private final CoverLetterService coverLetterService;
-    private final AppUserRepository appUserRepository;
+    private final GenerationJobService generationJobService;
 
     @PostMapping("/generate")
     public CoverLetterResponse generate(
         @Valid @RequestBody CoverLetterRequest request,
         @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        requireProTier(user);
         return coverLetterService.generate(request, user.id());
     }
 
-    private void requireProTier(AuthenticatedUser user) {
-        AppUser appUser = appUserRepository.findById(user.id())
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-        if (!appUser.getEffectiveTier().isAtLeast(UserTier.ARENA_PRO)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Pro tier required");
-        }
+    /**
+     * Queues the same generation as a background job; see {@link GenerationJobController}.
+     */
+    @PostMapping("/generate/jobs")
+    public ResponseEntity<GenerationJobResponse> generateInBackground(
+        @Valid @RequestBody CoverLetterRequest request,
+        @RequestHeader(value = GenerationJobController.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+        @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        return GenerationJobController.accepted(
+            generationJobService.submit(GenerationJobConfig.COVER_LETTER, request, user, idempotencyKey));
     }
 }
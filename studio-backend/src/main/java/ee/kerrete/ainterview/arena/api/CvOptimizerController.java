@@ -1,25 +1,29 @@
 package ee.kerrete.ainterview.arena.api;
 
+import ee.kerrete.ainterview.arena.dto.CvOptimizerJobRequest;
 import ee.kerrete.ainterview.arena.dto.CvOptimizerResponse;
 import ee.kerrete.ainterview.arena.service.CvOptimizerService;
-import ee.kerrete.ainterview.model.AppUser;
+import ee.kerrete.ainterview.config.GenerationJobConfig;
+import ee.kerrete.ainterview.job.api.GenerationJobController;
+import ee.kerrete.ainterview.job.dto.GenerationJobResponse;
+import ee.kerrete.ainterview.job.service.GenerationJobService;
 import ee.kerrete.ainterview.model.UserTier;
-import ee.kerrete.ainterview.repository.AppUserRepository;
 import ee.kerrete.ainterview.security.AuthenticatedUser;
+import ee.kerrete.ainterview.security.RequiresTier;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequestMapping("/api/arena/cv-optimizer")
 @RequiredArgsConstructor
+@RequiresTier(UserTier.ARENA_PRO)
 public class CvOptimizerController {
 
     private final CvOptimizerService cvOptimizerService;
-    private final AppUserRepository appUserRepository;
+    private final GenerationJobService generationJobService;
 
     @PostMapping("/analyze")
     public CvOptimizerResponse analyze(
@@ -27,15 +31,22 @@ public class CvOptimizerController {
         @RequestParam(value = "targetRole", required = false) String targetRole,
         @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        requireProTier(user);
         return cvOptimizerService.analyze(cvFile, targetRole);
     }
 
-    private void requireProTier(AuthenticatedUser user) {
-        AppUser appUser = appUserRepository.findById(user.id())
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-        if (!appUser.getEffectiveTier().isAtLeast(UserTier.ARENA_PRO)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Pro tier required");
-        }
+    /**
+     * Extracts the CV text now and queues the analysis as a background job;
+     * see {@link GenerationJobController}.
+     */
+    @PostMapping("/analyze/jobs")
+    public ResponseEntity<GenerationJobResponse> analyzeInBackground(
+        @RequestParam("file") MultipartFile cvFile,
+        @RequestParam(value = "targetRole", required = false) String targetRole,
+        @RequestHeader(value = GenerationJobController.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+        @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        CvOptimizerJobRequest request = new CvOptimizerJobRequest(cvOptimizerService.extractCvText(cvFile), targetRole);
+        return GenerationJobController.accepted(
+            generationJobService.submit(GenerationJobConfig.CV_OPTIMIZER, request, user, idempotencyKey));
     }
 }
@@ -4,33 +4,29 @@ import ee.kerrete.ainterview.arena.dto.InterviewSimRespondRequest;
 import ee.kerrete.ainterview.arena.dto.InterviewSimResponse;
 import ee.kerrete.ainterview.arena.dto.InterviewSimStartRequest;
 import ee.kerrete.ainterview.arena.service.InterviewSimulatorService;
-import ee.kerrete.ainterview.model.AppUser;
 import ee.kerrete.ainterview.model.UserTier;
-import ee.kerrete.ainterview.repository.AppUserRepository;
 import ee.kerrete.ainterview.security.AuthenticatedUser;
+import ee.kerrete.ainterview.security.RequiresTier;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/arena/interview-sim")
 @RequiredArgsConstructor
+@RequiresTier(UserTier.ARENA_PRO)
 public class InterviewSimulatorController {
 
     private final InterviewSimulatorService interviewSimService;
-    private final AppUserRepository appUserRepository;
 
     @PostMapping("/start")
     public InterviewSimResponse start(
         @Valid @RequestBody InterviewSimStartRequest request,
         @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        requireProTier(user);
         return interviewSimService.startSession(request, user.id());
     }
 
@@ -39,7 +35,6 @@ public class InterviewSimulatorController {
         @Valid @RequestBody InterviewSimRespondRequest request,
         @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        requireProTier(user);
         return interviewSimService.respond(request, user.id());
     }
 
@@ -48,7 +43,6 @@ public class InterviewSimulatorController {
         @PathVariable Long sessionId,
         @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        requireProTier(user);
         return interviewSimService.endSession(sessionId, user.id());
     }
 
@@ -57,7 +51,6 @@ public class InterviewSimulatorController {
         @RequestBody InterviewRoadmapRequest request,
         @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        requireProTier(user);
         return interviewSimService.generateRoadmap(request);
     }
 
@@ -66,7 +59,6 @@ public class InterviewSimulatorController {
         @RequestBody LearnResourcesRequest request,
         @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        requireProTier(user);
         return interviewSimService.generateLearnResources(request);
     }
 
@@ -105,12 +97,4 @@ public class InterviewSimulatorController {
         String description,
         String difficulty
     ) {}
-
-    private void requireProTier(AuthenticatedUser user) {
-        AppUser appUser = appUserRepository.findById(user.id())
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-        if (!appUser.getEffectiveTier().isAtLeast(UserTier.ARENA_PRO)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Pro tier required");
-        }
-    }
 }
@@ -3,9 +3,8 @@ package ee.kerrete.ainterview.arena.api;
 import ee.kerrete.ainterview.arena.dto.JobXrayRequest;
 import ee.kerrete.ainterview.arena.dto.JobXrayResponse;
 import ee.kerrete.ainterview.arena.service.JobXrayService;
-import ee.kerrete.ainterview.model.AppUser;
 import ee.kerrete.ainterview.model.UserTier;
-import ee.kerrete.ainterview.repository.AppUserRepository;
+import ee.kerrete.ainterview.payment.service.EntitlementService;
 import ee.kerrete.ainterview.security.AuthenticatedUser;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -18,7 +17,7 @@ import org.springframework.web.bind.annotation.*;
 public class JobXrayController {
 
     private final JobXrayService jobXrayService;
-    private final AppUserRepository appUserRepository;
+    private final EntitlementService entitlementService;
 
     @PostMapping("/analyze")
     public JobXrayResponse analyze(
@@ -26,12 +25,9 @@ public class JobXrayController {
         @AuthenticationPrincipal AuthenticatedUser user
     ) {
         Long userId = user != null ? user.id() : null;
-        boolean isPro = false;
-        if (userId != null) {
-            isPro = appUserRepository.findById(userId)
-                .map(u -> u.getEffectiveTier() == UserTier.ARENA_PRO)
-                .orElse(false);
-        }
+        boolean isPro = entitlementService.effectiveTier(userId)
+            .map(tier -> tier == UserTier.ARENA_PRO)
+            .orElse(false);
         return jobXrayService.analyze(request, userId, isPro);
     }
 }
@@ -3,39 +3,46 @@ package ee.kerrete.ainterview.arena.api;
 import ee.kerrete.ainterview.arena.dto.LinkedinGeneratorRequest;
 import ee.kerrete.ainterview.arena.dto.LinkedinGeneratorResponse;
 import ee.kerrete.ainterview.arena.service.LinkedinGeneratorService;
-import ee.kerrete.ainterview.model.AppUser;
+import ee.kerrete.ainterview.config.GenerationJobConfig;
+import ee.kerrete.ainterview.job.api.GenerationJobController;
+import ee.kerrete.ainterview.job.dto.GenerationJobResponse;
+import ee.kerrete.ainterview.job.service.GenerationJobService;
 import ee.kerrete.ainterview.model.UserTier;
-import ee.kerrete.ainterview.repository.AppUserRepository;
 import ee.kerrete.ainterview.security.AuthenticatedUser;
+import ee.kerrete.ainterview.security.RequiresTier;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequestMapping("/api/arena/linkedin-generator")
 @RequiredArgsConstructor
+@RequiresTier(UserTier.ARENA_PRO)
 public class LinkedinGeneratorController {
 
     private final LinkedinGeneratorService linkedinGeneratorService;
-    private final AppUserRepository appUserRepository;
+    private final GenerationJobService generationJobService;
 
     @PostMapping("/generate")
     public LinkedinGeneratorResponse generate(
         @Valid @RequestBody LinkedinGeneratorRequest request,
         @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        requireProTier(user);
         return linkedinGeneratorService.generate(request, user.id());
     }
 
-    private void requireProTier(AuthenticatedUser user) {
-        AppUser appUser = appUserRepository.findById(user.id())
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-        if (!appUser.getEffectiveTier().isAtLeast(UserTier.ARENA_PRO)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Pro tier required");
-        }
+    /**
+     * Queues the same generation as a background job; see {@link GenerationJobController}.
+     */
+    @PostMapping("/generate/jobs")
+    public ResponseEntity<GenerationJobResponse> generateInBackground(
+        @Valid @RequestBody LinkedinGeneratorRequest request,
+        @RequestHeader(value = GenerationJobController.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+        @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        return GenerationJobController.accepted(
+            generationJobService.submit(GenerationJobConfig.LINKEDIN_GENERATOR, request, user, idempotencyKey));
     }
 }
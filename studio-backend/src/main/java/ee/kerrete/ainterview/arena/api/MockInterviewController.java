@@ -3,17 +3,18 @@ package ee.kerrete.ainterview.arena.api;
 import ee.kerrete.ainterview.arena.dto.MockInterviewRespondResponse;
 import ee.kerrete.ainterview.arena.dto.MockInterviewStartResponse;
 import ee.kerrete.ainterview.arena.service.MockInterviewService;
-import ee.kerrete.ainterview.model.AppUser;
 import ee.kerrete.ainterview.model.CareerSession;
 import ee.kerrete.ainterview.model.UserTier;
-import ee.kerrete.ainterview.repository.AppUserRepository;
+import ee.kerrete.ainterview.payment.service.EntitlementService;
 import ee.kerrete.ainterview.repository.CareerSessionRepository;
 import ee.kerrete.ainterview.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 
@@ -27,8 +28,9 @@ import java.util.Map;
 public class MockInterviewController {
 
     private final MockInterviewService mockInterviewService;
-    private final AppUserRepository appUserRepository;
+    private final EntitlementService entitlementService;
     private final CareerSessionRepository careerSessionRepository;
+    private final ArenaStreamSupport streamSupport;
 
     @PostMapping("/start")
     public MockInterviewStartResponse start(
@@ -56,6 +58,25 @@ public class MockInterviewController {
         return mockInterviewService.respond(arenaSessionId, answer, userId);
     }
 
+    /**
+     * Same as {@link #respond} but streams the next question / final summary as SSE.
+     */
+    @PostMapping(value = "/{arenaSessionId}/respond/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter respondStream(
+            @PathVariable Long sessionId,
+            @PathVariable Long arenaSessionId,
+            @RequestBody Map<String, String> body,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        requireAccess(sessionId, user);
+        String answer = body.get("answer");
+        if (answer == null || answer.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Answer is required");
+        }
+        Long userId = user != null ? user.id() : null;
+        return streamSupport.stream(onDelta -> mockInterviewService.respond(arenaSessionId, answer, userId, onDelta));
+    }
+
     // ─── Access check ─────────────────────────────────────────────────────────
     // Allow access if: the CareerSession is paid  OR the authenticated user has STARTER+
 
@@ -70,10 +91,10 @@ public class MockInterviewController {
                     "Unlock this session or subscribe to access mock interview");
         }
 
-        AppUser appUser = appUserRepository.findById(user.id())
+        UserTier tier = entitlementService.effectiveTier(user.id())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
-        if (!appUser.getEffectiveTier().isAtLeast(UserTier.STARTER)) {
+        if (!tier.isAtLeast(UserTier.STARTER)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN,
                     "Session must be unlocked or Starter subscription required");
         }
@@ -0,0 +1,9 @@
+package ee.kerrete.ainterview.arena.dto;
+
+/**
+ * Queued CV analysis; the upload is reduced to its text before queueing.
+ */
+public record CvOptimizerJobRequest(
+    String cvText,
+    String targetRole
+) {}
@@ -0,0 +1,84 @@
+package ee.kerrete.ainterview.arena.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aggregated feature usage: one row per user, feature and month
+ * ({@code period} = yyyyMM). Rows are written as deltas so several
+ * instances can add to the same month without overwriting each other.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FeatureUsageCounterRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String SELECT_PERIOD = "SELECT user_id, feature, used_count "
+            + "FROM feature_usage_counter WHERE period = ?";
+
+    private static final String ADD = "UPDATE feature_usage_counter "
+            + "SET used_count = used_count + ?, updated_at = ? "
+            + "WHERE user_id = ? AND feature = ? AND period = ?";
+
+    private static final String INSERT = "INSERT INTO feature_usage_counter "
+            + "(user_id, feature, period, used_count, updated_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * A usage count (or, for {@link #addAll}, a change to one) for a user,
+     * feature and month.
+     */
+    public record Count(long userId, String feature, int period, int count) {
+    }
+
+    public List<Count> findByPeriod(int period) {
+        return jdbcTemplate.query(SELECT_PERIOD,
+                (rs, i) -> new Count(rs.getLong(1), rs.getString(2), period, rs.getInt(3)),
+                period);
+    }
+
+    /**
+     * Adds each delta to its row, creating rows that do not exist yet.
+     */
+    @Transactional
+    public void addAll(List<Count> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] updated = jdbcTemplate.batchUpdate(ADD, deltas, BATCH_SIZE, (ps, delta) -> {
+            ps.setInt(1, delta.count());
+            ps.setTimestamp(2, now);
+            ps.setLong(3, delta.userId());
+            ps.setString(4, delta.feature());
+            ps.setInt(5, delta.period());
+        });
+
+        List<Count> missing = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : updated) {
+            for (int rows : batch) {
+                Count delta = deltas.get(index++);
+                if (rows == 0) {
+                    missing.add(delta);
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT, missing, BATCH_SIZE, (ps, delta) -> {
+            ps.setLong(1, delta.userId());
+            ps.setString(2, delta.feature());
+            ps.setInt(3, delta.period());
+            ps.setInt(4, Math.max(0, delta.count()));
+            ps.setTimestamp(5, now);
+        });
+    }
+}
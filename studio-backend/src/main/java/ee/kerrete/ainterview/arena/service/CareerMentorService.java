@@ -6,6 +6,7 @@ import ee.kerrete.ainterview.arena.dto.CareerMentorResponse;
 import ee.kerrete.ainterview.arena.dto.CareerMentorStartRequest;
 import ee.kerrete.ainterview.arena.model.ArenaSession;
 import ee.kerrete.ainterview.arena.repository.ArenaSessionRepository;
+import ee.kerrete.ainterview.prompt.PromptRegistry;
 import ee.kerrete.ainterview.service.AiService;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
@@ -15,44 +16,41 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CareerMentorService {
 
+    private static final String SYSTEM_PROMPT = "arena/career-mentor.system";
+    private static final String USER_PROMPT = "arena/career-mentor.user";
+    private static final String FOLLOWUP_SYSTEM_PROMPT = "arena/career-mentor.followup.system";
+
     private final AiService aiService;
     private final ArenaSessionRepository sessionRepository;
     private final ObjectMapper objectMapper;
+    private final PromptRegistry promptRegistry;
 
     public CareerMentorResponse startSession(CareerMentorStartRequest request, Long userId) {
-        String systemPrompt = """
-            You are an expert AI career mentor with deep knowledge of career development, industry trends, and professional growth strategies.
-            Based on the user's situation, provide personalized career advice.
-            Return ONLY valid JSON (no markdown):
-            {
-              "message": "Your personalized career mentoring advice (2-3 paragraphs)",
-              "actionItems": ["specific action 1", "specific action 2", "specific action 3"],
-              "resourceLinks": ["resource suggestion 1", "resource suggestion 2"],
-              "careerOutlook": "Brief outlook on career trajectory and opportunities"
-            }
-            """;
+        return startSession(request, userId, null);
+    }
 
-        String userPrompt = """
-            Target Role: %s
-            Current Status: %s
-            Experience Level: %s
-            Main Challenge: %s
+    /**
+     * @param onDelta when non-null the AI reply is streamed and each fragment is
+     *                passed here before the final response is assembled
+     */
+    public CareerMentorResponse startSession(CareerMentorStartRequest request, Long userId, Consumer<String> onDelta) {
+        String systemPrompt = promptRegistry.template(SYSTEM_PROMPT).source();
 
-            Please analyze my career situation and provide mentoring advice.
-            """.formatted(
-                request.targetRole(),
-                request.currentStatus() != null ? request.currentStatus() : "Not specified",
-                request.experienceLevel() != null ? request.experienceLevel() : "Not specified",
-                request.mainChallenge() != null ? request.mainChallenge() : "Not specified"
-            );
+        String userPrompt = promptRegistry.template(USER_PROMPT).bind()
+            .set("targetRole", request.targetRole())
+            .set("currentStatus", request.currentStatus() != null ? request.currentStatus() : "Not specified")
+            .set("experienceLevel", request.experienceLevel() != null ? request.experienceLevel() : "Not specified")
+            .set("mainChallenge", request.mainChallenge() != null ? request.mainChallenge() : "Not specified")
+            .render();
 
-        String aiResponse = aiService.createChatCompletion(systemPrompt, userPrompt);
+        String aiResponse = complete(systemPrompt, userPrompt, onDelta);
 
         MentorState state = new MentorState();
         state.targetRole = request.targetRole();
@@ -83,6 +81,10 @@ public class CareerMentorService {
     }
 
     public CareerMentorResponse message(CareerMentorMessageRequest request, Long userId) {
+        return message(request, userId, null);
+    }
+
+    public CareerMentorResponse message(CareerMentorMessageRequest request, Long userId, Consumer<String> onDelta) {
         ArenaSession session = sessionRepository.findById(request.sessionId())
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found"));
 
@@ -96,17 +98,9 @@ public class CareerMentorService {
         state.messages.add(new ChatEntry("user", request.message()));
 
         String history = buildHistory(state);
-        String systemPrompt = """
-            You are an expert AI career mentor. Continue the mentoring conversation.
-            Provide specific, actionable career advice based on the ongoing discussion.
-            Return ONLY valid JSON (no markdown):
-            {
-              "message": "Your mentoring response (be specific and actionable)",
-              "actionItems": ["any new action items if relevant"]
-            }
-            """;
+        String systemPrompt = promptRegistry.template(FOLLOWUP_SYSTEM_PROMPT).source();
 
-        String aiResponse = aiService.createChatCompletion(systemPrompt, history);
+        String aiResponse = complete(systemPrompt, history, onDelta);
         state.messages.add(new ChatEntry("mentor", aiResponse));
 
         session.setSessionData(toJson(state));
@@ -125,6 +119,12 @@ public class CareerMentorService {
         }
     }
 
+    private String complete(String systemPrompt, String userPrompt, Consumer<String> onDelta) {
+        return onDelta == null
+            ? aiService.createChatCompletion(systemPrompt, userPrompt)
+            : aiService.streamChatCompletion(systemPrompt, userPrompt, onDelta);
+    }
+
     private String buildHistory(MentorState state) {
         StringBuilder sb = new StringBuilder();
         sb.append("Context: Career mentoring for ").append(state.targetRole).append("\n\n");
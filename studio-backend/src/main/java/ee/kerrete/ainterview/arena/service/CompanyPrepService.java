@@ -5,6 +5,7 @@ import ee.kerrete.ainterview.arena.dto.CompanyPrepRequest;
 import ee.kerrete.ainterview.arena.dto.CompanyPrepResponse;
 import ee.kerrete.ainterview.arena.model.ArenaSession;
 import ee.kerrete.ainterview.arena.repository.ArenaSessionRepository;
+import ee.kerrete.ainterview.prompt.PromptRegistry;
 import ee.kerrete.ainterview.service.AiService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,36 +18,22 @@ import java.util.List;
 @Slf4j
 public class CompanyPrepService {
 
+    private static final String SYSTEM_PROMPT = "arena/company-prep.system";
+    private static final String USER_PROMPT = "arena/company-prep.user";
+
     private final AiService aiService;
     private final ArenaSessionRepository sessionRepository;
     private final ObjectMapper objectMapper;
+    private final PromptRegistry promptRegistry;
 
     public CompanyPrepResponse analyze(CompanyPrepRequest request, Long userId) {
-        String systemPrompt = """
-            You are an expert interview preparation coach with deep knowledge of company cultures and hiring practices.
-            Analyze the target company and role, then provide comprehensive interview preparation guidance.
-            Return ONLY valid JSON (no markdown):
-            {
-              "companyOverview": "Brief overview of the company, its mission, and industry position",
-              "cultureInsights": "Key culture insights - work style, values, team dynamics",
-              "commonQuestions": ["likely interview question 1", "likely question 2", "likely question 3", "likely question 4", "likely question 5"],
-              "whatTheyValue": ["value 1", "value 2", "value 3"],
-              "prepTips": ["specific prep tip 1", "specific prep tip 2", "specific prep tip 3", "specific prep tip 4"],
-              "redFlags": ["things to watch out for 1", "things to watch out for 2"]
-            }
-            """;
-
-        String userPrompt = """
-            Company: %s
-            Target Role: %s
-            Experience Level: %s
+        String systemPrompt = promptRegistry.template(SYSTEM_PROMPT).source();
 
-            Please provide comprehensive interview preparation for this company and role.
-            """.formatted(
-                request.companyName(),
-                request.targetRole(),
-                request.experienceLevel() != null ? request.experienceLevel() : "Not specified"
-            );
+        String userPrompt = promptRegistry.template(USER_PROMPT).bind()
+            .set("companyName", request.companyName())
+            .set("targetRole", request.targetRole())
+            .set("experienceLevel", request.experienceLevel() != null ? request.experienceLevel() : "Not specified")
+            .render();
 
         String aiResponse = aiService.createChatCompletion(systemPrompt, userPrompt);
 
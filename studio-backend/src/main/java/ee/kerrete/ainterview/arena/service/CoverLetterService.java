@@ -5,6 +5,7 @@ import ee.kerrete.ainterview.arena.dto.CoverLetterRequest;
 import ee.kerrete.ainterview.arena.dto.CoverLetterResponse;
 import ee.kerrete.ainterview.arena.model.ArenaSession;
 import ee.kerrete.ainterview.arena.repository.ArenaSessionRepository;
+import ee.kerrete.ainterview.prompt.PromptRegistry;
 import ee.kerrete.ainterview.service.AiService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,36 +18,22 @@ import java.util.List;
 @Slf4j
 public class CoverLetterService {
 
+    private static final String SYSTEM_PROMPT = "arena/cover-letter.system";
+    private static final String USER_PROMPT = "arena/cover-letter.user";
+
     private final AiService aiService;
     private final ArenaSessionRepository sessionRepository;
     private final ObjectMapper objectMapper;
+    private final PromptRegistry promptRegistry;
 
     public CoverLetterResponse generate(CoverLetterRequest request, Long userId) {
-        String systemPrompt = """
-            You are an expert cover letter writer who creates compelling, tailored cover letters.
-            Analyze the job description and create a professional cover letter that highlights relevant experience.
-            Return ONLY valid JSON (no markdown):
-            {
-              "coverLetter": "Full cover letter text (3-4 paragraphs, professional format)",
-              "highlights": ["key strength highlighted 1", "key strength highlighted 2", "key strength highlighted 3"],
-              "tone": "Description of the tone used",
-              "summary": "Brief explanation of the approach taken"
-            }
-            """;
-
-        String userPrompt = """
-            Job Description: %s
-
-            Key Experience: %s
-
-            Desired Tone: %s
+        String systemPrompt = promptRegistry.template(SYSTEM_PROMPT).source();
 
-            Please generate a tailored cover letter for this position.
-            """.formatted(
-                request.jobDescription(),
-                request.keyExperience() != null ? request.keyExperience() : "Not specified",
-                request.tone() != null ? request.tone() : "Professional"
-            );
+        String userPrompt = promptRegistry.template(USER_PROMPT).bind()
+            .set("jobDescription", request.jobDescription())
+            .set("keyExperience", request.keyExperience() != null ? request.keyExperience() : "Not specified")
+            .set("tone", request.tone() != null ? request.tone() : "Professional")
+            .render();
 
         String aiResponse = aiService.createChatCompletion(systemPrompt, userPrompt);
 
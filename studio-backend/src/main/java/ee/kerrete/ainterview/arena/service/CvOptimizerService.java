@@ -3,17 +3,17 @@ package ee.kerrete.ainterview.arena.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import ee.kerrete.ainterview.arena.dto.CvOptimizerResponse;
 import ee.kerrete.ainterview.service.AiService;
+import ee.kerrete.ainterview.service.DocumentTextExtractor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -22,14 +22,24 @@ public class CvOptimizerService {
 
     private final AiService aiService;
     private final ObjectMapper objectMapper;
+    private final DocumentTextExtractor documentTextExtractor;
 
     public CvOptimizerResponse analyze(MultipartFile cvFile, String targetRole) {
-        String cvText = extractText(cvFile);
+        return analyzeText(extractCvText(cvFile), targetRole);
+    }
 
+    /**
+     * Text of the uploaded CV; 400 when nothing could be extracted.
+     */
+    public String extractCvText(MultipartFile cvFile) {
+        String cvText = extractText(cvFile);
         if (cvText.isBlank()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not extract text from PDF");
         }
+        return cvText;
+    }
 
+    public CvOptimizerResponse analyzeText(String cvText, String targetRole) {
         String systemPrompt = """
             You are an expert ATS (Applicant Tracking System) specialist and CV/resume coach.
             Analyze the given CV against the target role and provide detailed optimization advice.
@@ -68,15 +78,12 @@ public class CvOptimizerService {
 
     private String extractText(MultipartFile file) {
         try {
-            String contentType = file.getContentType();
-            if (contentType != null && contentType.contains("pdf")) {
-                try (PDDocument document = Loader.loadPDF(file.getBytes())) {
-                    PDFTextStripper stripper = new PDFTextStripper();
-                    return stripper.getText(document);
-                }
+            Optional<String> text = documentTextExtractor.extractText(file);
+            if (text.isPresent()) {
+                return text.get();
             }
-            // Fall back to treating as plain text
-            return new String(file.getBytes());
+            // Fall back to treating unrecognized uploads as plain text
+            return new String(file.getBytes(), StandardCharsets.UTF_8);
         } catch (Exception e) {
             log.error("Failed to extract text from uploaded file", e);
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read uploaded file");
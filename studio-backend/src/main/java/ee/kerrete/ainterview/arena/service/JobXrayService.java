@@ -21,17 +21,38 @@ public class JobXrayService {
 
     private static final String FEATURE = "job-xray";
     private static final int FREE_LIMIT = 3;
+    private static final int BURST_LIMIT = 5;
 
     public JobXrayResponse analyze(JobXrayRequest request, Long userId, boolean isPro) {
-        if (!isPro) {
-            if (userId == null) {
-                // Anonymous users get limited uses tracked by IP (simplified: no tracking for anon)
-            } else if (!rateLimitService.canUse(userId, FEATURE, FREE_LIMIT)) {
-                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+        // Anonymous users get limited uses tracked by IP (simplified: no tracking for anon)
+        if (userId != null) {
+            int monthlyLimit = isPro ? Integer.MAX_VALUE : FREE_LIMIT;
+            switch (rateLimitService.tryAcquire(userId, FEATURE, monthlyLimit, BURST_LIMIT)) {
+                case MONTHLY_LIMIT -> throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
                     "Free tier limit reached (3/month). Upgrade to Arena Pro for unlimited access.");
+                case BURST_LIMIT -> throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many requests. Please wait a minute and try again.");
+                case GRANTED -> { }
             }
         }
 
+        boolean succeeded = false;
+        try {
+            JobXrayResponse response = callAi(request);
+            if (userId != null) {
+                response.setUsageCount(rateLimitService.getUsageCount(userId, FEATURE));
+                response.setUsageLimit(isPro ? -1 : FREE_LIMIT);
+            }
+            succeeded = true;
+            return response;
+        } finally {
+            if (!succeeded && userId != null) {
+                rateLimitService.release(userId, FEATURE);
+            }
+        }
+    }
+
+    private JobXrayResponse callAi(JobXrayRequest request) {
         String systemPrompt = """
             You are a senior career advisor and job market analyst.
             Analyze the given job description thoroughly.
@@ -60,17 +81,7 @@ public class JobXrayService {
 
         try {
             String cleaned = stripCodeFence(aiResponse.trim());
-            JobXrayResponse response = objectMapper.readValue(cleaned, JobXrayResponse.class);
-
-            // Record usage
-            if (userId != null) {
-                rateLimitService.recordUsage(userId, FEATURE);
-                long usage = rateLimitService.getUsageCount(userId, FEATURE);
-                response.setUsageCount(usage);
-                response.setUsageLimit(isPro ? -1 : FREE_LIMIT);
-            }
-
-            return response;
+            return objectMapper.readValue(cleaned, JobXrayResponse.class);
         } catch (Exception e) {
             log.error("Failed to parse Job X-Ray AI response: {}", aiResponse, e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to analyze job description");
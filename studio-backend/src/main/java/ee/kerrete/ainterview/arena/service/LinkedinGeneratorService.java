@@ -5,6 +5,7 @@ import ee.kerrete.ainterview.arena.dto.LinkedinGeneratorRequest;
 import ee.kerrete.ainterview.arena.dto.LinkedinGeneratorResponse;
 import ee.kerrete.ainterview.arena.model.ArenaSession;
 import ee.kerrete.ainterview.arena.repository.ArenaSessionRepository;
+import ee.kerrete.ainterview.prompt.PromptRegistry;
 import ee.kerrete.ainterview.service.AiService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,37 +18,23 @@ import java.util.List;
 @Slf4j
 public class LinkedinGeneratorService {
 
+    private static final String SYSTEM_PROMPT = "arena/linkedin-generator.system";
+    private static final String USER_PROMPT = "arena/linkedin-generator.user";
+
     private final AiService aiService;
     private final ArenaSessionRepository sessionRepository;
     private final ObjectMapper objectMapper;
+    private final PromptRegistry promptRegistry;
 
     public LinkedinGeneratorResponse generate(LinkedinGeneratorRequest request, Long userId) {
-        String systemPrompt = """
-            You are an expert LinkedIn profile writer who creates compelling, professional profiles.
-            Generate a complete LinkedIn profile optimization including headline, about section, and experience bullets.
-            Return ONLY valid JSON (no markdown):
-            {
-              "headline": "Professional headline (max 220 chars, keyword-rich)",
-              "aboutSection": "Compelling about section (2-3 paragraphs, first-person, story-driven)",
-              "experienceBullets": ["achievement bullet 1", "achievement bullet 2", "achievement bullet 3", "achievement bullet 4", "achievement bullet 5"],
-              "skillsToHighlight": ["skill 1", "skill 2", "skill 3", "skill 4", "skill 5"],
-              "summary": "Brief summary of the optimization strategy"
-            }
-            """;
-
-        String userPrompt = """
-            Target Role: %s
-            Experience: %s
-            Key Skills: %s
-            Desired Tone: %s
+        String systemPrompt = promptRegistry.template(SYSTEM_PROMPT).source();
 
-            Please generate optimized LinkedIn profile content.
-            """.formatted(
-                request.targetRole(),
-                request.experience() != null ? request.experience() : "Not specified",
-                request.skills() != null ? request.skills() : "Not specified",
-                request.tone() != null ? request.tone() : "Professional"
-            );
+        String userPrompt = promptRegistry.template(USER_PROMPT).bind()
+            .set("targetRole", request.targetRole())
+            .set("experience", request.experience() != null ? request.experience() : "Not specified")
+            .set("skills", request.skills() != null ? request.skills() : "Not specified")
+            .set("tone", request.tone() != null ? request.tone() : "Professional")
+            .render();
 
         String aiResponse = aiService.createChatCompletion(systemPrompt, userPrompt);
 
@@ -17,8 +17,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -77,6 +79,15 @@ public class MockInterviewService {
     // ─── Respond ─────────────────────────────────────────────────────────────
 
     public MockInterviewRespondResponse respond(Long arenaSessionId, String answer, Long userId) {
+        return respond(arenaSessionId, answer, userId, null);
+    }
+
+    /**
+     * @param onDelta when non-null, the next question (or the final summary) is streamed
+     *                token by token through this consumer while it is generated
+     */
+    public MockInterviewRespondResponse respond(Long arenaSessionId, String answer, Long userId,
+                                                Consumer<String> onDelta) {
         ArenaSession arena = arenaSessionRepository.findById(arenaSessionId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Arena session not found"));
 
@@ -85,7 +96,7 @@ public class MockInterviewService {
 
         // If this was the last answer → produce summary
         if (state.currentQuestion >= TOTAL_QUESTIONS) {
-            return buildSummary(arena, state);
+            return buildSummary(arena, state, onDelta);
         }
 
         // Determine which blocker to target next (questions 2-4 = blocker 0-2, question 5 = synthesis)
@@ -98,14 +109,14 @@ public class MockInterviewService {
             int blockerIdx = nextQ - 2;              // 0-based index
             if (blockerIdx < state.blockers.size()) {
                 nextTargetedBlocker = state.blockers.get(blockerIdx);
-                nextQuestion = generateBlockerQuestion(state.role, nextTargetedBlocker, state.status);
+                nextQuestion = generateBlockerQuestion(state.role, nextTargetedBlocker, state.status, onDelta);
             } else {
                 nextTargetedBlocker = "synthesis";
-                nextQuestion = generateSynthesisQuestion(state.role, state.status);
+                nextQuestion = generateSynthesisQuestion(state.role, state.status, onDelta);
             }
         } else {
             nextTargetedBlocker = "synthesis";
-            nextQuestion = generateSynthesisQuestion(state.role, state.status);
+            nextQuestion = generateSynthesisQuestion(state.role, state.status, onDelta);
         }
 
         // Evaluate the answer that was just given against its targeted blocker
@@ -134,7 +145,7 @@ public class MockInterviewService {
 
     // ─── Summary (called when last answer submitted) ──────────────────────────
 
-    private MockInterviewRespondResponse buildSummary(ArenaSession arena, MockState state) {
+    private MockInterviewRespondResponse buildSummary(ArenaSession arena, MockState state, Consumer<String> onDelta) {
         String history = buildHistory(state);
         int answered   = state.answers.size();
 
@@ -163,8 +174,8 @@ public class MockInterviewService {
                 String.join("\n", state.blockers.stream().map(b -> "- " + b).toList())
         );
 
-        String aiResponse = aiService.createChatCompletion(systemPrompt,
-                history + "\n\nProvide your final evaluation.");
+        String aiResponse = complete(systemPrompt,
+                history + "\n\nProvide your final evaluation.", onDelta);
 
         MockInterviewSummary summary;
         try {
@@ -225,7 +236,7 @@ public class MockInterviewService {
         }
     }
 
-    private String generateBlockerQuestion(String role, String blocker, String status) {
+    private String generateBlockerQuestion(String role, String blocker, String status, Consumer<String> onDelta) {
         String prompt = """
                 Generate ONE interview question specifically designed to probe this candidate weakness:
                 "%s"
@@ -236,14 +247,16 @@ public class MockInterviewService {
                 Return ONLY valid JSON: {"question": "..."}
                 """.formatted(blocker, role, status);
         try {
-            String raw = aiService.createChatCompletion(prompt, "Generate the blocker-targeted question.");
+            String raw = complete(prompt, "Generate the blocker-targeted question.", onDelta);
             return objectMapper.readTree(stripCodeFence(raw.trim())).path("question").asText();
+        } catch (UncheckedIOException | ResponseStatusException e) {
+            throw e; // client disconnected or provider failed mid-stream
         } catch (Exception e) {
             return "Can you walk me through a specific example related to: " + blocker;
         }
     }
 
-    private String generateSynthesisQuestion(String role, String status) {
+    private String generateSynthesisQuestion(String role, String status, Consumer<String> onDelta) {
         String prompt = """
                 Generate a final synthesis interview question for a %s position (readiness: %s).
                 Ask the candidate to articulate why they are the right fit despite any gaps,
@@ -251,8 +264,10 @@ public class MockInterviewService {
                 Return ONLY valid JSON: {"question": "..."}
                 """.formatted(role, status);
         try {
-            String raw = aiService.createChatCompletion(prompt, "Generate the synthesis question.");
+            String raw = complete(prompt, "Generate the synthesis question.", onDelta);
             return objectMapper.readTree(stripCodeFence(raw.trim())).path("question").asText();
+        } catch (UncheckedIOException | ResponseStatusException e) {
+            throw e; // client disconnected or provider failed mid-stream
         } catch (Exception e) {
             return "What makes you the right candidate for " + role + " given your current experience level?";
         }
@@ -294,6 +309,12 @@ public class MockInterviewService {
 
     // ─── Helpers ─────────────────────────────────────────────────────────────
 
+    private String complete(String systemPrompt, String userPrompt, Consumer<String> onDelta) {
+        return onDelta == null
+                ? aiService.createChatCompletion(systemPrompt, userPrompt)
+                : aiService.streamChatCompletion(systemPrompt, userPrompt, onDelta);
+    }
+
     private String buildHistory(MockState state) {
         var sb = new StringBuilder();
         sb.append("Mock Interview for: ").append(state.role).append(" (").append(state.status).append(")\n\n");
@@ -1,35 +1,259 @@
 package ee.kerrete.ainterview.arena.service;
 
-import ee.kerrete.ainterview.arena.model.FeatureUsage;
-import ee.kerrete.ainterview.arena.repository.FeatureUsageRepository;
-import lombok.RequiredArgsConstructor;
+import ee.kerrete.ainterview.arena.repository.FeatureUsageCounterRepository;
+import ee.kerrete.ainterview.arena.repository.FeatureUsageCounterRepository.Count;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Per-user feature quotas: a monthly count plus a per-minute burst limit.
+ *
+ * Checks run against in-memory counters only. Monthly counts are loaded for
+ * the current month on startup and written back as aggregated deltas to
+ * {@code feature_usage_counter} every flush interval and on shutdown, so a
+ * restart loses at most one interval of usage. Burst windows are not
+ * persisted.
+ */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class RateLimitService {
 
-    private final FeatureUsageRepository featureUsageRepository;
+    public enum Decision {
+        GRANTED,
+        MONTHLY_LIMIT,
+        BURST_LIMIT
+    }
+
+    private record MonthKey(long userId, String feature, int period) {
+    }
+
+    private record FeatureKey(long userId, String feature) {
+    }
+
+    private final FeatureUsageCounterRepository counterRepository;
+    private final Clock clock;
+    private final ConcurrentHashMap<MonthKey, MonthlyCounter> monthly = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<FeatureKey, MinuteWindow> bursts = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RateLimitService(FeatureUsageCounterRepository counterRepository) {
+        this(counterRepository, Clock.systemDefaultZone());
+    }
+
+    RateLimitService(FeatureUsageCounterRepository counterRepository, Clock clock) {
+        this.counterRepository = counterRepository;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    void warmUp() {
+        int period = currentPeriod();
+        List<Count> rows = counterRepository.findByPeriod(period);
+        for (Count row : rows) {
+            monthly.put(new MonthKey(row.userId(), row.feature(), period), new MonthlyCounter(row.count()));
+        }
+        log.info("Loaded {} feature usage counters for {}", rows.size(), period);
+    }
+
+    /**
+     * Checks both limits and, if they allow it, counts one use. Callers that
+     * fail afterwards should hand the use back with {@link #release}.
+     */
+    public Decision tryAcquire(Long userId, String feature, int maxPerMonth, int maxPerMinute) {
+        long now = clock.millis();
+        MinuteWindow window = bursts.computeIfAbsent(new FeatureKey(userId, feature), k -> new MinuteWindow());
+        if (!window.tryAcquire(now, maxPerMinute)) {
+            return Decision.BURST_LIMIT;
+        }
+        if (!counter(userId, feature).tryIncrement(maxPerMonth)) {
+            window.release(now);
+            return Decision.MONTHLY_LIMIT;
+        }
+        return Decision.GRANTED;
+    }
+
+    /**
+     * Undoes a granted {@link #tryAcquire}.
+     */
+    public void release(Long userId, String feature) {
+        counter(userId, feature).decrement();
+        MinuteWindow window = bursts.get(new FeatureKey(userId, feature));
+        if (window != null) {
+            window.release(clock.millis());
+        }
+    }
 
     public boolean canUse(Long userId, String feature, int maxPerMonth) {
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        long count = featureUsageRepository.countByUserIdAndFeatureAndUsedAtAfter(userId, feature, startOfMonth);
-        return count < maxPerMonth;
+        return getUsageCount(userId, feature) < maxPerMonth;
     }
 
     public long getUsageCount(Long userId, String feature) {
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        return featureUsageRepository.countByUserIdAndFeatureAndUsedAtAfter(userId, feature, startOfMonth);
+        MonthlyCounter counter = monthly.get(new MonthKey(userId, feature, currentPeriod()));
+        return counter == null ? 0 : counter.count.get();
     }
 
+    /**
+     * Counts one use without checking any limit.
+     */
     public void recordUsage(Long userId, String feature) {
-        FeatureUsage usage = FeatureUsage.builder()
-                .userId(userId)
-                .feature(feature)
-                .usedAt(LocalDateTime.now())
-                .build();
-        featureUsageRepository.save(usage);
+        counter(userId, feature).count.incrementAndGet();
+    }
+
+    /**
+     * Writes the usage counted since the last flush and forgets counters of
+     * past months and idle burst windows. A failed write is retried with the
+     * next flush.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.flush-interval:PT10S}",
+            initialDelayString = "${app.rate-limit.flush-interval:PT10S}")
+    public synchronized void flush() {
+        List<Count> deltas = new ArrayList<>();
+        List<MonthlyCounter> counters = new ArrayList<>();
+        List<Integer> snapshots = new ArrayList<>();
+        monthly.forEach((key, counter) -> {
+            int count = counter.count.get();
+            if (count != counter.persisted) {
+                deltas.add(new Count(key.userId(), key.feature(), key.period(), count - counter.persisted));
+                counters.add(counter);
+                snapshots.add(count);
+            }
+        });
+        if (!deltas.isEmpty()) {
+            try {
+                counterRepository.addAll(deltas);
+                for (int i = 0; i < counters.size(); i++) {
+                    counters.get(i).persisted = snapshots.get(i);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to persist {} feature usage counters, retrying on next flush", deltas.size(), e);
+                return;
+            }
+        }
+
+        int period = currentPeriod();
+        monthly.entrySet().removeIf(e -> e.getKey().period() < period
+                && e.getValue().count.get() == e.getValue().persisted);
+        long now = clock.millis();
+        bursts.values().removeIf(window -> window.idle(now));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private MonthlyCounter counter(Long userId, String feature) {
+        return monthly.computeIfAbsent(new MonthKey(userId, feature, currentPeriod()), k -> new MonthlyCounter(0));
+    }
+
+    private int currentPeriod() {
+        YearMonth month = YearMonth.now(clock);
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    private static final class MonthlyCounter {
+
+        private final AtomicInteger count;
+
+        /** Count already in the database; touched by {@link #flush} only. */
+        private int persisted;
+
+        private MonthlyCounter(int initial) {
+            this.count = new AtomicInteger(initial);
+            this.persisted = initial;
+        }
+
+        private boolean tryIncrement(int limit) {
+            while (true) {
+                int current = count.get();
+                if (current >= limit) {
+                    return false;
+                }
+                if (count.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private void decrement() {
+            count.getAndUpdate(current -> current > 0 ? current - 1 : 0);
+        }
+    }
+
+    /**
+     * Sliding one-minute window approximated from the current and previous
+     * minute: the previous minute counts in proportion to how much of it
+     * still lies within the last 60 seconds. Minute index, previous and
+     * current count are packed into one long so a check-and-increment is a
+     * single CAS.
+     */
+    static final class MinuteWindow {
+
+        private static final long MINUTE_MS = 60_000;
+        private static final int MAX_COUNT = 0xFFFF;
+
+        private final AtomicLong state = new AtomicLong();
+
+        boolean tryAcquire(long nowMs, int limit) {
+            long minute = nowMs / MINUTE_MS;
+            double previousWeight = 1.0 - (double) (nowMs % MINUTE_MS) / MINUTE_MS;
+            while (true) {
+                long current = state.get();
+                long rolled = roll(current, minute);
+                int count = count(rolled);
+                if (previous(rolled) * previousWeight + count >= limit || count == MAX_COUNT) {
+                    return false;
+                }
+                if (state.compareAndSet(current, rolled + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void release(long nowMs) {
+            long minute = nowMs / MINUTE_MS;
+            while (true) {
+                long current = state.get();
+                if ((current >>> 32) != minute || count(current) == 0) {
+                    return;
+                }
+                if (state.compareAndSet(current, current - 1)) {
+                    return;
+                }
+            }
+        }
+
+        boolean idle(long nowMs) {
+            return (state.get() >>> 32) < nowMs / MINUTE_MS - 1;
+        }
+
+        private static long roll(long state, long minute) {
+            long last = state >>> 32;
+            if (last == minute) {
+                return state;
+            }
+            int previous = last == minute - 1 ? count(state) : 0;
+            return minute << 32 | (long) previous << 16;
+        }
+
+        private static int count(long state) {
+            return (int) (state & MAX_COUNT);
+        }
+
+        private static int previous(long state) {
+            return (int) ((state >>> 16) & MAX_COUNT);
+        }
     }
 }
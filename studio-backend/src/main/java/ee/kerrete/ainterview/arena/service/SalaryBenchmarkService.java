@@ -5,6 +5,7 @@ import ee.kerrete.ainterview.arena.dto.SalaryBenchmarkRequest;
 import ee.kerrete.ainterview.arena.dto.SalaryBenchmarkResponse;
 import ee.kerrete.ainterview.arena.model.ArenaSession;
 import ee.kerrete.ainterview.arena.repository.ArenaSessionRepository;
+import ee.kerrete.ainterview.prompt.PromptRegistry;
 import ee.kerrete.ainterview.service.AiService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,48 +18,24 @@ import java.util.List;
 @Slf4j
 public class SalaryBenchmarkService {
 
+    private static final String SYSTEM_PROMPT = "arena/salary-benchmark.system";
+    private static final String USER_PROMPT = "arena/salary-benchmark.user";
+
     private final AiService aiService;
     private final ArenaSessionRepository sessionRepository;
     private final ObjectMapper objectMapper;
+    private final PromptRegistry promptRegistry;
 
     public SalaryBenchmarkResponse analyze(SalaryBenchmarkRequest request, Long userId) {
-        String systemPrompt = """
-            You are a salary data analyst with access to market salary benchmarks.
-            Analyze the role, location, and experience to provide salary range data.
-            Return ONLY valid JSON (no markdown):
-            {
-              "role": "Normalized role title",
-              "location": "Location analyzed",
-              "currency": "EUR",
-              "minSalary": 45000,
-              "medianSalary": 65000,
-              "maxSalary": 95000,
-              "p25": 52000,
-              "p75": 80000,
-              "locationComparisons": [
-                {"location": "City 1", "medianSalary": 70000, "costOfLivingIndex": "High"},
-                {"location": "City 2", "medianSalary": 55000, "costOfLivingIndex": "Medium"},
-                {"location": "City 3", "medianSalary": 48000, "costOfLivingIndex": "Low"}
-              ],
-              "marketInsights": "Analysis of current market conditions for this role",
-              "negotiationTips": ["tip 1", "tip 2", "tip 3"]
-            }
-            Use realistic salary figures based on current European market data.
-            """;
-
-        String userPrompt = """
-            Role: %s
-            Location: %s
-            Experience Level: %s
+        String systemPrompt = promptRegistry.template(SYSTEM_PROMPT).source();
 
-            Please provide comprehensive salary benchmark data.
-            """.formatted(
-                request.targetRole(),
-                request.location(),
-                request.experienceLevel() != null ? request.experienceLevel() : "Mid-level"
-            );
+        String userPrompt = promptRegistry.template(USER_PROMPT).bind()
+            .set("targetRole", request.targetRole())
+            .set("location", request.location())
+            .set("experienceLevel", request.experienceLevel() != null ? request.experienceLevel() : "Mid-level")
+            .render();
 
-        String aiResponse = aiService.createChatCompletion(systemPrompt, userPrompt);
+        String aiResponse = aiService.createChatCompletion("salary-benchmark", systemPrompt, userPrompt);
 
         ArenaSession session = ArenaSession.builder()
             .userId(userId)
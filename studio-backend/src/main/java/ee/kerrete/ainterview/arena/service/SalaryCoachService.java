@@ -6,6 +6,7 @@ import ee.kerrete.ainterview.arena.dto.SalaryCoachResponse;
 import ee.kerrete.ainterview.arena.dto.SalaryCoachStartRequest;
 import ee.kerrete.ainterview.arena.model.ArenaSession;
 import ee.kerrete.ainterview.arena.repository.ArenaSessionRepository;
+import ee.kerrete.ainterview.prompt.PromptRegistry;
 import ee.kerrete.ainterview.service.AiService;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
@@ -21,39 +22,25 @@ import java.util.List;
 @Slf4j
 public class SalaryCoachService {
 
+    private static final String SYSTEM_PROMPT = "arena/salary-coach.system";
+    private static final String USER_PROMPT = "arena/salary-coach.user";
+    private static final String FOLLOWUP_SYSTEM_PROMPT = "arena/salary-coach.followup.system";
+
     private final AiService aiService;
     private final ArenaSessionRepository sessionRepository;
     private final ObjectMapper objectMapper;
+    private final PromptRegistry promptRegistry;
 
     public SalaryCoachResponse startSession(SalaryCoachStartRequest request, Long userId) {
-        String systemPrompt = """
-            You are an expert salary negotiation coach with deep knowledge of tech market rates.
-            Analyze the candidate's situation and provide initial negotiation strategy.
-            Return ONLY valid JSON (no markdown):
-            {
-              "message": "Your personalized coaching advice (2-3 paragraphs)",
-              "marketAnalysis": "Brief market rate analysis for this role and location",
-              "negotiationStrategies": ["strategy 1", "strategy 2", "strategy 3"],
-              "recommendedCounter": "Recommended counter-offer amount or range",
-              "talkingPoints": ["key talking point 1", "key talking point 2", "key talking point 3"]
-            }
-            """;
-
-        String userPrompt = """
-            Role: %s
-            Current salary: %s
-            Offered salary: %s
-            Location: %s
-            Years of experience: %s
-
-            Please analyze my situation and provide negotiation strategy.
-            """.formatted(
-                request.targetRole(),
-                request.currentSalary() != null ? request.currentSalary() : "Not specified",
-                request.offeredSalary() != null ? request.offeredSalary() : "Not specified",
-                request.location() != null ? request.location() : "Not specified",
-                request.experienceYears() != null ? request.experienceYears() : "Not specified"
-            );
+        String systemPrompt = promptRegistry.template(SYSTEM_PROMPT).source();
+
+        String userPrompt = promptRegistry.template(USER_PROMPT).bind()
+            .set("targetRole", request.targetRole())
+            .set("currentSalary", request.currentSalary() != null ? request.currentSalary() : "Not specified")
+            .set("offeredSalary", request.offeredSalary() != null ? request.offeredSalary() : "Not specified")
+            .set("location", request.location() != null ? request.location() : "Not specified")
+            .set("experienceYears", request.experienceYears() != null ? request.experienceYears() : "Not specified")
+            .render();
 
         String aiResponse = aiService.createChatCompletion(systemPrompt, userPrompt);
 
@@ -100,15 +87,7 @@ public class SalaryCoachService {
         state.messages.add(new ChatEntry("user", request.message()));
 
         String history = buildHistory(state);
-        String systemPrompt = """
-            You are an expert salary negotiation coach. Continue the coaching conversation.
-            Provide specific, actionable advice based on the ongoing discussion.
-            Return ONLY valid JSON (no markdown):
-            {
-              "message": "Your coaching response (be specific and actionable)",
-              "talkingPoints": ["any new talking points if relevant"]
-            }
-            """;
+        String systemPrompt = promptRegistry.template(FOLLOWUP_SYSTEM_PROMPT).source();
 
         String aiResponse = aiService.createChatCompletion(systemPrompt, history);
         state.messages.add(new ChatEntry("coach", aiResponse));
@@ -2,6 +2,7 @@ package ee.kerrete.ainterview.auth.jwt;
 
 import ee.kerrete.ainterview.model.UserRole;
 import ee.kerrete.ainterview.security.AuthenticatedUser;
+import ee.kerrete.ainterview.support.PathPrefixTrie;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -31,39 +32,38 @@ import java.util.Set;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private static final Set<String> PUBLIC_PATH_PREFIXES = Set.of(
+    static final Set<String> PUBLIC_PATH_PREFIXES = Set.of(
         "/api/auth",
         "/api/risk",
         "/api/risk-analysis",
         "/api/taskexposure",
         "/api/studio/v2",
         "/auth",
-        "/actuator",
+        "/actuator/health",
         "/v3/api-docs",
         "/swagger-ui",
         "/h2-console",
         "/error"
     );
 
-    private static final Set<String> PUBLIC_PATH_EXACT = Set.of(
+    static final Set<String> PUBLIC_PATH_EXACT = Set.of(
         "/api/ping",
+        "/actuator/info",
         "/api/payment/webhook",
         "/api/pricing"
     );
 
+    private static final PathPrefixTrie PUBLIC_PATHS = PathPrefixTrie.builder()
+        .prefixes(PUBLIC_PATH_PREFIXES)
+        .exact(PUBLIC_PATH_EXACT)
+        .build();
+
     private final JwtService jwtService;
 
     @Override
     protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
-        String path = request.getServletPath();
-
-        // Check exact matches first
-        if (PUBLIC_PATH_EXACT.contains(path)) {
-            return true;
-        }
-
-        // Check prefix matches
-        return PUBLIC_PATH_PREFIXES.stream().anyMatch(path::startsWith);
+        // Exact and prefix matches in one walk over the path
+        return PUBLIC_PATHS.matches(request.getServletPath());
     }
 
     @Override
@@ -76,7 +76,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (bearerToken.isPresent()) {
             bearerToken
                 .flatMap(jwtService::parseToken)
-                .filter(this::isAccessToken)
+                .filter(JwtService::isAccessToken)
                 .ifPresent(claims -> authenticateFromClaims(claims, request));
         }
 
@@ -94,12 +94,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return Optional.empty();
     }
 
-    private boolean isAccessToken(Claims claims) {
-        String tokenType = claims.get(JwtClaims.TOKEN_TYPE, String.class);
-        // For backward compatibility, tokens without type are considered access tokens
-        return tokenType == null || JwtClaims.TYPE_ACCESS.equals(tokenType);
-    }
-
     private void authenticateFromClaims(Claims claims, HttpServletRequest request) {
         String email = claims.getSubject();
         String roleName = claims.get(JwtClaims.ROLE, String.class);
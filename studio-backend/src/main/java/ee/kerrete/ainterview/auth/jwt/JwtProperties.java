@@ -12,13 +12,15 @@ import jakarta.validation.constraints.Positive;
  * - app.jwt.secret or JWT_SECRET
  * - app.jwt.expiration-ms
  * - app.jwt.refresh-expiration-ms
+ * - app.jwt.claims-cache-size (verified tokens kept until their exp)
  */
 @ConfigurationProperties(prefix = "app.jwt")
 @Validated
 public record JwtProperties(
     @NotBlank String secret,
     @Positive long expirationMs,
-    @Positive long refreshExpirationMs
+    @Positive long refreshExpirationMs,
+    @Positive int claimsCacheSize
 ) {
     public JwtProperties {
         // Apply defaults if not provided
@@ -28,5 +30,8 @@ public record JwtProperties(
         if (refreshExpirationMs <= 0) {
             refreshExpirationMs = 604800000L; // 7 days
         }
+        if (claimsCacheSize <= 0) {
+            claimsCacheSize = 10000;
+        }
     }
 }
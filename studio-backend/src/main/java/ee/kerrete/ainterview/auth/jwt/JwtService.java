@@ -1,41 +1,88 @@
 package ee.kerrete.ainterview.auth.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import ee.kerrete.ainterview.model.UserRole;
 import ee.kerrete.ainterview.model.UserTier;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for JWT token generation, parsing, and validation.
  * Uses externalized configuration via JwtProperties.
+ *
+ * The signing key and parser are built once; the parser is immutable and
+ * shared by all request threads. Verified claims are cached by SHA-256 of the
+ * token (the token itself is not kept) until the token's {@code exp}, up to
+ * app.jwt.claims-cache-size entries, so a client repeating its bearer token
+ * pays for the HMAC check once. Invalid tokens are never cached. Cached
+ * {@link Claims} are shared between callers and must be treated as read-only.
+ * Cache statistics are published as {@code cache.*{cache=jwt-claims}}.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class JwtService {
 
     private final JwtProperties properties;
-    private volatile Key signingKey;
+    private final Clock clock;
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final Cache<String, Claims> verified;
 
-    private Key getSigningKey() {
-        if (signingKey == null) {
-            synchronized (this) {
-                if (signingKey == null) {
-                    signingKey = Keys.hmacShaKeyFor(properties.secret().getBytes());
+    @Autowired
+    public JwtService(JwtProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    JwtService(JwtProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.signingKey = Keys.hmacShaKeyFor(properties.secret().getBytes());
+        this.parser = Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .setClock(() -> Date.from(clock.instant()))
+            .build();
+        this.verified = Caffeine.newBuilder()
+            .maximumSize(properties.claimsCacheSize())
+            .expireAfter(new Expiry<String, Claims>() {
+                @Override
+                public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                    return untilExpiry(claims);
                 }
-            }
-        }
-        return signingKey;
+
+                @Override
+                public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                    return untilExpiry(claims);
+                }
+
+                @Override
+                public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "jwt-claims");
     }
 
     /**
@@ -47,7 +94,7 @@ public class JwtService {
     }
 
     public String generateAccessToken(String email, UserRole role, Long userId, UserTier tier) {
-        Date now = new Date();
+        Date now = Date.from(clock.instant());
         Date expiry = new Date(now.getTime() + properties.expirationMs());
 
         return Jwts.builder()
@@ -58,7 +105,7 @@ public class JwtService {
             .claim(JwtClaims.TOKEN_TYPE, JwtClaims.TYPE_ACCESS)
             .setIssuedAt(now)
             .setExpiration(expiry)
-            .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+            .signWith(signingKey, SignatureAlgorithm.HS256)
             .compact();
     }
 
@@ -67,7 +114,7 @@ public class JwtService {
      * Refresh tokens have longer expiry and are used to obtain new access tokens.
      */
     public String generateRefreshToken(String email) {
-        Date now = new Date();
+        Date now = Date.from(clock.instant());
         Date expiry = new Date(now.getTime() + properties.refreshExpirationMs());
 
         return Jwts.builder()
@@ -75,7 +122,7 @@ public class JwtService {
             .claim(JwtClaims.TOKEN_TYPE, JwtClaims.TYPE_REFRESH)
             .setIssuedAt(now)
             .setExpiration(expiry)
-            .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+            .signWith(signingKey, SignatureAlgorithm.HS256)
             .compact();
     }
 
@@ -85,14 +132,14 @@ public class JwtService {
      */
     @Deprecated
     public String generateToken(String email) {
-        Date now = new Date();
+        Date now = Date.from(clock.instant());
         Date expiry = new Date(now.getTime() + properties.expirationMs());
 
         return Jwts.builder()
             .setSubject(email)
             .setIssuedAt(now)
             .setExpiration(expiry)
-            .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+            .signWith(signingKey, SignatureAlgorithm.HS256)
             .compact();
     }
 
@@ -101,12 +148,24 @@ public class JwtService {
      * Returns empty if token is invalid, malformed, or expired.
      */
     public Optional<Claims> parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        String key = sha256(token);
+        Claims cached = verified.getIfPresent(key);
+        if (cached != null) {
+            // Caffeine's ticker and the wall clock may drift apart by a little
+            if (!isExpired(cached)) {
+                return Optional.of(cached);
+            }
+            verified.invalidate(key);
+            return Optional.empty();
+        }
         try {
-            Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() != null) {
+                verified.put(key, claims);
+            }
             return Optional.of(claims);
         } catch (JwtException | IllegalArgumentException e) {
             log.debug("Token parsing failed: {}", e.getMessage());
@@ -114,6 +173,32 @@ public class JwtService {
         }
     }
 
+    /**
+     * Refresh-token claims from a single parse: empty unless the token is
+     * valid, unexpired and of type refresh.
+     */
+    public Optional<Claims> parseRefreshToken(String token) {
+        return parseToken(token).filter(JwtService::isRefreshToken);
+    }
+
+    public static boolean isRefreshToken(Claims claims) {
+        return JwtClaims.TYPE_REFRESH.equals(claims.get(JwtClaims.TOKEN_TYPE, String.class));
+    }
+
+    public static boolean isAccessToken(Claims claims) {
+        String type = claims.get(JwtClaims.TOKEN_TYPE, String.class);
+        // For backward compatibility, tokens without type are considered access tokens
+        return type == null || JwtClaims.TYPE_ACCESS.equals(type);
+    }
+
+    /**
+     * Whether already parsed claims are past their exp; claims without exp never expire.
+     */
+    public boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && !expiration.toInstant().isAfter(clock.instant());
+    }
+
     /**
      * Extract email (subject) from token.
      */
@@ -168,7 +253,7 @@ public class JwtService {
      */
     public boolean isTokenExpired(String token) {
         return parseToken(token)
-            .map(claims -> claims.getExpiration().before(new Date()))
+            .map(this::isExpired)
             .orElse(true);
     }
 
@@ -176,15 +261,27 @@ public class JwtService {
      * Check if token is a valid refresh token.
      */
     public boolean isRefreshToken(String token) {
-        return JwtClaims.TYPE_REFRESH.equals(extractTokenType(token));
+        return parseToken(token).map(JwtService::isRefreshToken).orElse(false);
     }
 
     /**
      * Check if token is a valid access token.
      */
     public boolean isAccessToken(String token) {
-        String type = extractTokenType(token);
-        // For backward compatibility, tokens without type are considered access tokens
-        return type == null || JwtClaims.TYPE_ACCESS.equals(type);
+        return parseToken(token).map(JwtService::isAccessToken).orElse(true);
+    }
+
+    private long untilExpiry(Claims claims) {
+        long millis = claims.getExpiration().getTime() - clock.millis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 0));
+    }
+
+    private static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
@@ -8,6 +8,7 @@ import ee.kerrete.ainterview.model.AppUser;
 import ee.kerrete.ainterview.model.UserRole;
 import ee.kerrete.ainterview.model.UserTier;
 import ee.kerrete.ainterview.repository.AppUserRepository;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -116,20 +117,20 @@ public class AuthService {
      * @throws ResponseStatusException if refresh token is invalid
      */
     public AuthResponse refreshToken(String refreshToken) {
-        // Validate it's a refresh token
-        if (!jwtService.isRefreshToken(refreshToken)) {
+        // Validate it's a refresh token (one parse; expired or tampered tokens do not parse)
+        Claims claims = jwtService.parseRefreshToken(refreshToken).orElseThrow(() -> {
             log.warn("Token refresh failed - not a refresh token");
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
-        }
+            return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+        });
 
         // Check expiration
-        if (jwtService.isTokenExpired(refreshToken)) {
+        if (jwtService.isExpired(claims)) {
             log.warn("Token refresh failed - token expired");
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token expired");
         }
 
         // Extract email and find user
-        String email = jwtService.extractEmail(refreshToken);
+        String email = claims.getSubject();
         if (email == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
         }
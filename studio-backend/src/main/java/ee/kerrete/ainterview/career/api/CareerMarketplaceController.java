@@ -31,11 +31,14 @@ public class CareerMarketplaceController {
     }
 
     @GetMapping("/search")
-    public List<MarketplaceSearchResponse> search(@RequestParam(value = "roleFamily", required = false) String roleFamily,
-                                                  @RequestParam(value = "minOverlap", required = false) Double minOverlap,
-                                                  @RequestParam(value = "minScore", required = false) Double minScore,
-                                                  @RequestParam(value = "location", required = false) String location) {
-        return marketplaceService.search(roleFamily, minOverlap, minScore, location);
+    public MarketplaceSearchPage search(@RequestParam(value = "roleFamily", required = false) String roleFamily,
+                                        @RequestParam(value = "minOverlap", required = false) Double minOverlap,
+                                        @RequestParam(value = "minScore", required = false) Double minScore,
+                                        @RequestParam(value = "location", required = false) String location,
+                                        @RequestParam(value = "afterScore", required = false) Double afterScore,
+                                        @RequestParam(value = "afterId", required = false) Long afterId,
+                                        @RequestParam(value = "limit", required = false) Integer limit) {
+        return marketplaceService.search(roleFamily, minOverlap, minScore, location, afterScore, afterId, limit);
     }
 }
 
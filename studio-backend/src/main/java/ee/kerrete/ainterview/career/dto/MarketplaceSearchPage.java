@@ -0,0 +1,20 @@
+package ee.kerrete.ainterview.career.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One page of recruiter search results. When {@code hasNext} is set, pass
+ * {@code nextAfterScore} / {@code nextAfterId} back as afterScore / afterId to
+ * get the following page; both are null on the last page.
+ */
+@Value
+@Builder
+public class MarketplaceSearchPage {
+    List<MarketplaceSearchResponse> items;
+    boolean hasNext;
+    Double nextAfterScore;
+    Long nextAfterId;
+}
@@ -1,5 +1,6 @@
 package ee.kerrete.ainterview.career.model;
 
+import ee.kerrete.ainterview.career.service.RoleProfileIndexListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,6 +12,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "role_profile")
+@EntityListeners(RoleProfileIndexListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
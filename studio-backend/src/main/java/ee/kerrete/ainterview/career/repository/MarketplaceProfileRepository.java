@@ -2,12 +2,44 @@ package ee.kerrete.ainterview.career.repository;
 
 import ee.kerrete.ainterview.career.model.MarketplaceProfile;
 import ee.kerrete.ainterview.career.model.MarketplaceVisibility;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface MarketplaceProfileRepository extends JpaRepository<MarketplaceProfile, Long> {
     List<MarketplaceProfile> findByVisibilityNotAndScoreGreaterThanEqual(MarketplaceVisibility visibility, Double score);
     List<MarketplaceProfile> findBySkillProfileId(Long skillProfileId);
-}
 
+    /**
+     * Recruiter search, ordered by score desc then id desc. Keyset paging: pass
+     * the score and id of the last row of the previous page as afterScore /
+     * afterId (both null for the first page). roleFamily and location are
+     * matched case-insensitively and must be passed lower-cased, or null.
+     */
+    @Query("""
+            SELECT new ee.kerrete.ainterview.career.repository.MarketplaceSearchRow(
+                mp.id, sp.id, sp.email, mp.headline, sp.roleFamily, sp.location,
+                mp.score, mp.overlapPercent, mp.visibility)
+            FROM MarketplaceProfile mp
+            JOIN SkillProfile sp ON sp.id = mp.skillProfileId
+            WHERE mp.visibility <> ee.kerrete.ainterview.career.model.MarketplaceVisibility.OFF
+              AND mp.score >= :minScore
+              AND (:minOverlap IS NULL OR mp.overlapPercent >= :minOverlap)
+              AND (:roleFamily IS NULL OR LOWER(sp.roleFamily) = :roleFamily)
+              AND (:location IS NULL OR LOWER(sp.location) = :location)
+              AND (:afterId IS NULL
+                   OR mp.score < :afterScore
+                   OR (mp.score = :afterScore AND mp.id < :afterId))
+            ORDER BY mp.score DESC, mp.id DESC
+            """)
+    List<MarketplaceSearchRow> search(@Param("minScore") double minScore,
+                                      @Param("minOverlap") Double minOverlap,
+                                      @Param("roleFamily") String roleFamily,
+                                      @Param("location") String location,
+                                      @Param("afterScore") Double afterScore,
+                                      @Param("afterId") Long afterId,
+                                      Limit limit);
+}
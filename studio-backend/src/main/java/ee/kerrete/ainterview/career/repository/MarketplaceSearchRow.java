@@ -0,0 +1,19 @@
+package ee.kerrete.ainterview.career.repository;
+
+import ee.kerrete.ainterview.career.model.MarketplaceVisibility;
+
+/**
+ * Marketplace profile joined with its skill profile, as returned by
+ * {@link MarketplaceProfileRepository#search}.
+ */
+public record MarketplaceSearchRow(
+        Long marketplaceProfileId,
+        Long skillProfileId,
+        String email,
+        String headline,
+        String roleFamily,
+        String location,
+        Double score,
+        Double overlapPercent,
+        MarketplaceVisibility visibility) {
+}
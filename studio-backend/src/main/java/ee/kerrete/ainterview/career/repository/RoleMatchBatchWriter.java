@@ -0,0 +1,43 @@
+package ee.kerrete.ainterview.career.repository;
+
+import ee.kerrete.ainterview.career.model.RoleMatch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC batch insert for computed role matches. RoleMatch uses IDENTITY ids, which
+ * makes Hibernate insert row by row; a role match run can produce thousands of rows.
+ * Joins the surrounding JPA transaction; generated ids are not read back.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RoleMatchBatchWriter {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT = "INSERT INTO role_match "
+            + "(skill_profile_id, role_profile_id, overlap_percent, gap_skills_json, estimated_weeks, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<RoleMatch> matches) {
+        if (matches.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT, matches, BATCH_SIZE, (ps, match) -> {
+            ps.setLong(1, match.getSkillProfileId());
+            ps.setLong(2, match.getRoleProfileId());
+            ps.setObject(3, match.getOverlapPercent());
+            ps.setString(4, match.getGapSkillsJson());
+            ps.setObject(5, match.getEstimatedWeeks());
+            ps.setTimestamp(6, match.getCreatedAt() != null ? Timestamp.valueOf(match.getCreatedAt()) : now);
+        });
+    }
+}
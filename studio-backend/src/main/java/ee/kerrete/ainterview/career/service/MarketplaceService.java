@@ -1,27 +1,28 @@
 package ee.kerrete.ainterview.career.service;
 
+import ee.kerrete.ainterview.career.dto.MarketplaceSearchPage;
 import ee.kerrete.ainterview.career.dto.MarketplaceSearchResponse;
 import ee.kerrete.ainterview.career.model.MarketplaceProfile;
 import ee.kerrete.ainterview.career.model.MarketplaceVisibility;
-import ee.kerrete.ainterview.career.model.SkillProfile;
 import ee.kerrete.ainterview.career.repository.MarketplaceProfileRepository;
-import ee.kerrete.ainterview.career.repository.SkillProfileRepository;
+import ee.kerrete.ainterview.career.repository.MarketplaceSearchRow;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
 public class MarketplaceService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
     private final MarketplaceProfileRepository marketplaceProfileRepository;
-    private final SkillProfileRepository skillProfileRepository;
 
     @Transactional
     public MarketplaceProfile upsertMarketplaceProfile(Long skillProfileId, String headline, Double score, Double overlapPercent) {
@@ -36,33 +37,55 @@ public class MarketplaceService {
         return marketplaceProfileRepository.save(profile);
     }
 
+    /**
+     * Paged recruiter search, best score first. Filtering, the join with the
+     * skill profile and ordering run in the database; pages are keyset-based
+     * (pass the returned nextAfterScore / nextAfterId as afterScore / afterId),
+     * so deep pages cost the same as the first one. One row past the page is
+     * read to tell whether another page follows.
+     */
     @Transactional(readOnly = true)
-    public List<MarketplaceSearchResponse> search(String roleFamily, Double minOverlap, Double minScore, String location) {
+    public MarketplaceSearchPage search(String roleFamily, Double minOverlap, Double minScore, String location,
+                                        Double afterScore, Long afterId, Integer limit) {
         double threshold = minScore == null ? 0.0 : minScore;
-        List<MarketplaceProfile> profiles = marketplaceProfileRepository.findByVisibilityNotAndScoreGreaterThanEqual(MarketplaceVisibility.OFF, threshold);
-        List<Long> skillIds = profiles.stream().map(MarketplaceProfile::getSkillProfileId).filter(Objects::nonNull).toList();
-        List<SkillProfile> skills = skillProfileRepository.findAllById(skillIds);
-        return profiles.stream()
-            .filter(p -> minOverlap == null || (p.getOverlapPercent() != null && p.getOverlapPercent() >= minOverlap))
-            .map(p -> {
-                SkillProfile sp = skills.stream().filter(s -> s.getId().equals(p.getSkillProfileId())).findFirst().orElse(null);
-                if (sp == null) return null;
-                if (StringUtils.hasText(roleFamily) && !roleFamily.equalsIgnoreCase(sp.getRoleFamily())) return null;
-                if (StringUtils.hasText(location) && !location.equalsIgnoreCase(sp.getLocation())) return null;
-                return MarketplaceSearchResponse.builder()
-                    .marketplaceProfileId(p.getId())
-                    .skillProfileId(sp.getId())
-                    .email(sp.getEmail())
-                    .headline(p.getHeadline())
-                    .roleFamily(sp.getRoleFamily())
-                    .location(sp.getLocation())
-                    .score(p.getScore())
-                    .overlapPercent(p.getOverlapPercent())
-                    .visibility(p.getVisibility())
-                    .build();
-            })
-            .filter(Objects::nonNull)
-            .collect(Collectors.toCollection(ArrayList::new));
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(MAX_PAGE_SIZE, Math.max(1, limit));
+        boolean hasCursor = afterScore != null && afterId != null;
+        List<MarketplaceSearchRow> rows = marketplaceProfileRepository.search(
+            threshold,
+            minOverlap,
+            lowerOrNull(roleFamily),
+            lowerOrNull(location),
+            hasCursor ? afterScore : null,
+            hasCursor ? afterId : null,
+            Limit.of(pageSize + 1));
+
+        boolean hasNext = rows.size() > pageSize;
+        List<MarketplaceSearchRow> page = hasNext ? rows.subList(0, pageSize) : rows;
+        MarketplaceSearchRow last = hasNext ? page.get(page.size() - 1) : null;
+        return MarketplaceSearchPage.builder()
+            .items(page.stream().map(MarketplaceService::toResponse).toList())
+            .hasNext(hasNext)
+            .nextAfterScore(last != null ? last.score() : null)
+            .nextAfterId(last != null ? last.marketplaceProfileId() : null)
+            .build();
+    }
+
+    private static MarketplaceSearchResponse toResponse(MarketplaceSearchRow row) {
+        return MarketplaceSearchResponse.builder()
+            .marketplaceProfileId(row.marketplaceProfileId())
+            .skillProfileId(row.skillProfileId())
+            .email(row.email())
+            .headline(row.headline())
+            .roleFamily(row.roleFamily())
+            .location(row.location())
+            .score(row.score())
+            .overlapPercent(row.overlapPercent())
+            .visibility(row.visibility())
+            .build();
+    }
+
+    private static String lowerOrNull(String value) {
+        return StringUtils.hasText(value) ? value.trim().toLowerCase(Locale.ROOT) : null;
     }
 }
 
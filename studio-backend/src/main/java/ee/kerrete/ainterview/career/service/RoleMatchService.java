@@ -6,8 +6,7 @@ import ee.kerrete.ainterview.career.dto.RoleMatchRequest;
 import ee.kerrete.ainterview.career.model.RoleMatch;
 import ee.kerrete.ainterview.career.model.RoleProfile;
 import ee.kerrete.ainterview.career.model.SkillProfile;
-import ee.kerrete.ainterview.career.repository.RoleMatchRepository;
-import ee.kerrete.ainterview.career.repository.RoleProfileRepository;
+import ee.kerrete.ainterview.career.repository.RoleMatchBatchWriter;
 import ee.kerrete.ainterview.career.repository.SkillProfileRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -15,7 +14,6 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,52 +21,53 @@ public class RoleMatchService {
 
     private final SkillProfileRepository skillProfileRepository;
     private final SkillProfileService skillProfileService;
-    private final RoleProfileRepository roleProfileRepository;
-    private final RoleMatchRepository roleMatchRepository;
+    private final RoleSkillIndex roleSkillIndex;
+    private final RoleMatchBatchWriter roleMatchBatchWriter;
     private final ObjectMapper objectMapper;
 
+    /**
+     * Scores the candidate against the precompiled {@link RoleSkillIndex}
+     * (bitset popcount per role) and stores all matches in one JDBC batch.
+     */
     @Transactional
     public List<RoleMatchDto> compute(RoleMatchRequest request) {
         SkillProfile profile = resolveProfile(request);
-        List<String> candidateSkills = skillProfileService.readSkills(profile).stream()
-            .map(String::toLowerCase)
-            .toList();
+        List<String> candidateSkills = skillProfileService.readSkills(profile);
 
-        List<RoleProfile> roles = selectRoles(request);
+        RoleSkillIndex.Snapshot index = selectIndex(request);
+        long[] candidate = index.encode(candidateSkills);
+        List<RoleMatch> matches = new ArrayList<>();
         List<RoleMatchDto> result = new ArrayList<>();
 
-        for (RoleProfile role : roles) {
-            List<String> required = readSkills(role.getRequiredSkillsJson());
-            if (required.isEmpty()) continue;
-            Set<String> requiredSet = required.stream().map(String::toLowerCase).collect(Collectors.toCollection(LinkedHashSet::new));
-            Set<String> strengths = candidateSkills.stream().filter(requiredSet::contains).collect(Collectors.toCollection(LinkedHashSet::new));
-            Set<String> gaps = requiredSet.stream().filter(s -> !strengths.contains(s)).collect(Collectors.toCollection(LinkedHashSet::new));
-
-            double overlap = requiredSet.isEmpty() ? 0.0 : (double) strengths.size() / requiredSet.size();
+        for (RoleSkillIndex.RoleVector role : selectRoles(index, request)) {
+            if (role.requiredCount() == 0) continue;
+            double overlap = (double) role.overlap(candidate) / role.requiredCount();
             if (request.getMinOverlap() != null && overlap < request.getMinOverlap()) {
                 continue;
             }
+            List<String> gaps = index.gaps(role, candidate);
             int estimatedWeeks = gaps.size() * 2;
+            double overlapPercent = Math.round(overlap * 1000.0) / 10.0;
 
-            RoleMatch match = RoleMatch.builder()
+            matches.add(RoleMatch.builder()
                 .skillProfileId(profile.getId())
-                .roleProfileId(role.getId())
-                .overlapPercent(Math.round(overlap * 1000.0) / 10.0)
+                .roleProfileId(role.roleProfileId())
+                .overlapPercent(overlapPercent)
                 .gapSkillsJson(writeJson(gaps))
                 .estimatedWeeks(estimatedWeeks)
-                .build();
-            roleMatchRepository.save(match);
+                .build());
 
             result.add(RoleMatchDto.builder()
-                .roleProfileId(role.getId())
-                .roleName(role.getRoleName())
-                .roleFamily(role.getRoleFamily())
-                .overlapPercent(match.getOverlapPercent())
-                .gapSkills(new ArrayList<>(gaps))
+                .roleProfileId(role.roleProfileId())
+                .roleName(role.roleName())
+                .roleFamily(role.roleFamily())
+                .overlapPercent(overlapPercent)
+                .gapSkills(gaps)
                 .estimatedWeeks(estimatedWeeks)
                 .source("computed")
                 .build());
         }
+        roleMatchBatchWriter.insertAll(matches);
 
         result.sort(Comparator.comparing(RoleMatchDto::getOverlapPercent, Comparator.nullsLast(Comparator.reverseOrder())));
         return result;
@@ -86,7 +85,7 @@ public class RoleMatchService {
             .orElseThrow(() -> new IllegalArgumentException("SkillProfile not found for email: " + request.getEmail()));
     }
 
-    private List<RoleProfile> selectRoles(RoleMatchRequest request) {
+    private RoleSkillIndex.Snapshot selectIndex(RoleMatchRequest request) {
         if (request.getTargetRequiredSkills() != null && !request.getTargetRequiredSkills().isEmpty()) {
             RoleProfile adHoc = RoleProfile.builder()
                 .id(-1L)
@@ -95,22 +94,17 @@ public class RoleMatchService {
                 .roleFamily(request.getTargetRoleFamily())
                 .requiredSkillsJson(writeJson(request.getTargetRequiredSkills()))
                 .build();
-            return List.of(adHoc);
-        }
-        if (StringUtils.hasText(request.getTargetRoleFamily())) {
-            List<RoleProfile> roles = roleProfileRepository.findByRoleFamily(request.getTargetRoleFamily());
-            if (!roles.isEmpty()) return roles;
+            return roleSkillIndex.build(List.of(adHoc));
         }
-        return roleProfileRepository.findAll();
+        return roleSkillIndex.snapshot();
     }
 
-    private List<String> readSkills(String json) {
-        if (!StringUtils.hasText(json)) return List.of();
-        try {
-            return objectMapper.readValue(json, objectMapper.getTypeFactory().constructCollectionType(List.class, String.class));
-        } catch (Exception e) {
-            return List.of();
+    private List<RoleSkillIndex.RoleVector> selectRoles(RoleSkillIndex.Snapshot index, RoleMatchRequest request) {
+        if (StringUtils.hasText(request.getTargetRoleFamily())) {
+            List<RoleSkillIndex.RoleVector> roles = index.rolesForFamily(request.getTargetRoleFamily());
+            if (!roles.isEmpty()) return roles;
         }
+        return index.roles();
     }
 
     private String writeJson(Object value) {
@@ -0,0 +1,44 @@
+package ee.kerrete.ainterview.career.service;
+
+import ee.kerrete.ainterview.career.model.RoleProfile;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener on {@link RoleProfile} (instantiated through Spring's bean
+ * container) that keeps {@link RoleSkillIndex} in step with the table.
+ *
+ * The index is invalidated right away, so the writing transaction sees its own
+ * change, and again once that transaction completes, so a rollback does not
+ * leave uncommitted roles in the snapshot. The index is looked up lazily because
+ * Hibernate creates listeners while the EntityManagerFactory (which the index's
+ * repository needs) is still being built.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleProfileIndexListener {
+
+    private final ObjectProvider<RoleSkillIndex> roleSkillIndex;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onChange(RoleProfile profile) {
+        RoleSkillIndex index = roleSkillIndex.getObject();
+        index.invalidate();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    index.invalidate();
+                }
+            });
+        }
+    }
+}
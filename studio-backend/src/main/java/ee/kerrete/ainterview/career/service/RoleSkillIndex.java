@@ -0,0 +1,181 @@
+package ee.kerrete.ainterview.career.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.kerrete.ainterview.career.model.RoleProfile;
+import ee.kerrete.ainterview.career.repository.RoleProfileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory, precompiled view of all {@link RoleProfile} required skills.
+ *
+ * Skills are dictionary-encoded (lower-cased skill -> dense int id) and every
+ * role is stored as a bitset over that vocabulary, so overlap with a candidate
+ * is a popcount of {@code role & candidate}. The snapshot is rebuilt lazily on
+ * the next read after {@link #invalidate()}, which {@link RoleProfileIndexListener}
+ * calls whenever a RoleProfile row is written or deleted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoleSkillIndex {
+
+    private final RoleProfileRepository roleProfileRepository;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // One reference, so the generation a reader checks is always the one its snapshot was built for
+    private volatile Built built;
+
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    public Snapshot snapshot() {
+        Built current = built;
+        if (current != null && current.generation() == generation.get()) {
+            return current.snapshot();
+        }
+        rebuildLock.lock();
+        try {
+            long wanted = generation.get();
+            current = built;
+            if (current == null || current.generation() != wanted) {
+                long start = System.nanoTime();
+                current = new Built(wanted, build(roleProfileRepository.findAll()));
+                built = current;
+                log.debug("Role skill index rebuilt: {} roles, {} skills in {} ms", current.snapshot().roles().size(),
+                        current.snapshot().vocabularySize(), (System.nanoTime() - start) / 1_000_000);
+            }
+            return current.snapshot();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Builds a standalone snapshot, e.g. for an ad-hoc target role that is not persisted.
+     */
+    public Snapshot build(List<RoleProfile> profiles) {
+        Map<String, Integer> vocabulary = new HashMap<>();
+        List<String> skills = new ArrayList<>();
+        List<List<Integer>> encoded = new ArrayList<>(profiles.size());
+        for (RoleProfile profile : profiles) {
+            List<Integer> ids = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            for (String skill : readSkills(profile.getRequiredSkillsJson())) {
+                String key = normalize(skill);
+                if (key == null || !seen.add(key)) {
+                    continue;
+                }
+                ids.add(vocabulary.computeIfAbsent(key, k -> {
+                    skills.add(k);
+                    return skills.size() - 1;
+                }));
+            }
+            encoded.add(ids);
+        }
+
+        int words = (skills.size() + 63) >>> 6;
+        List<RoleVector> roles = new ArrayList<>(profiles.size());
+        Map<String, List<RoleVector>> byFamily = new HashMap<>();
+        for (int i = 0; i < profiles.size(); i++) {
+            RoleProfile profile = profiles.get(i);
+            List<Integer> ids = encoded.get(i);
+            long[] bits = new long[words];
+            int[] required = new int[ids.size()];
+            for (int j = 0; j < required.length; j++) {
+                int id = ids.get(j);
+                required[j] = id;
+                bits[id >>> 6] |= 1L << id;
+            }
+            RoleVector role = new RoleVector(profile.getId(), profile.getRoleName(), profile.getRoleFamily(), bits, required);
+            roles.add(role);
+            if (profile.getRoleFamily() != null) {
+                byFamily.computeIfAbsent(profile.getRoleFamily(), k -> new ArrayList<>()).add(role);
+            }
+        }
+        return new Snapshot(Map.copyOf(vocabulary), skills.toArray(String[]::new), words, List.copyOf(roles),
+                Map.copyOf(byFamily));
+    }
+
+    private List<String> readSkills(String json) {
+        if (!StringUtils.hasText(json)) return List.of();
+        try {
+            return objectMapper.readValue(json, objectMapper.getTypeFactory().constructCollectionType(List.class, String.class));
+        } catch (Exception e) {
+            return List.of();
+        }
+    }
+
+    static String normalize(String skill) {
+        if (skill == null) return null;
+        String key = skill.trim().toLowerCase(Locale.ROOT);
+        return key.isEmpty() ? null : key;
+    }
+
+    public record Snapshot(Map<String, Integer> vocabulary, String[] skills, int words,
+                           List<RoleVector> roles, Map<String, List<RoleVector>> rolesByFamily) {
+
+        public int vocabularySize() {
+            return skills.length;
+        }
+
+        /**
+         * Candidate skills as a bitset over this vocabulary; skills no role asks for are dropped.
+         */
+        public long[] encode(Collection<String> candidateSkills) {
+            long[] bits = new long[words];
+            for (String skill : candidateSkills) {
+                String key = normalize(skill);
+                Integer id = key == null ? null : vocabulary.get(key);
+                if (id != null) {
+                    bits[id >>> 6] |= 1L << id;
+                }
+            }
+            return bits;
+        }
+
+        public List<RoleVector> rolesForFamily(String roleFamily) {
+            return rolesByFamily.getOrDefault(roleFamily, List.of());
+        }
+
+        /**
+         * Required skills the candidate lacks, in the role's declared order.
+         */
+        public List<String> gaps(RoleVector role, long[] candidate) {
+            List<String> gaps = new ArrayList<>();
+            for (int id : role.required()) {
+                if ((candidate[id >>> 6] & (1L << id)) == 0) {
+                    gaps.add(skills[id]);
+                }
+            }
+            return gaps;
+        }
+    }
+
+    private record Built(long generation, Snapshot snapshot) {
+    }
+
+    public record RoleVector(Long roleProfileId, String roleName, String roleFamily, long[] bits, int[] required) {
+
+        public int requiredCount() {
+            return required.length;
+        }
+
+        public int overlap(long[] candidate) {
+            int hits = 0;
+            for (int i = 0; i < bits.length; i++) {
+                hits += Long.bitCount(bits[i] & candidate[i]);
+            }
+            return hits;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package ee.kerrete.ainterview.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * AI response cache settings.
+ *
+ * Bound from `application.yml` with prefix: app.ai.cache.*
+ * Only features listed under `features` are cached – everything else goes
+ * straight to the provider.
+ */
+@ConfigurationProperties(prefix = "app.ai.cache")
+public class AiCacheProperties {
+
+    /**
+     * Master switch; when false every call bypasses the cache.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Upper bound for exact-match entries across all features.
+     */
+    private long maxEntries = 5_000;
+
+    /**
+     * Upper bound for remembered prompt vectors per semantic bucket
+     * (feature + model + max tokens + system prompt).
+     */
+    private int maxSemanticEntriesPerBucket = 256;
+
+    /**
+     * Opted-in features keyed by feature name, e.g. evaluate-answer.
+     */
+    private Map<String, Feature> features = new HashMap<>();
+
+    public Feature feature(String name) {
+        return name == null ? null : features.get(name);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public int getMaxSemanticEntriesPerBucket() {
+        return maxSemanticEntriesPerBucket;
+    }
+
+    public void setMaxSemanticEntriesPerBucket(int maxSemanticEntriesPerBucket) {
+        this.maxSemanticEntriesPerBucket = maxSemanticEntriesPerBucket;
+    }
+
+    public Map<String, Feature> getFeatures() {
+        return features;
+    }
+
+    public void setFeatures(Map<String, Feature> features) {
+        this.features = features;
+    }
+
+    public static class Feature {
+
+        /**
+         * How long a cached completion is served.
+         */
+        private Duration ttl = Duration.ofHours(6);
+
+        /**
+         * Also match near-identical user prompts by embedding similarity. Meant
+         * for free-text prompts; a template filled from a few fields can be
+         * near-identical for different field values.
+         */
+        private boolean semantic = false;
+
+        /**
+         * Minimum cosine similarity for a semantic hit.
+         */
+        private double similarityThreshold = 0.97;
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public boolean isSemantic() {
+            return semantic;
+        }
+
+        public void setSemantic(boolean semantic) {
+            this.semantic = semantic;
+        }
+
+        public double getSimilarityThreshold() {
+            return similarityThreshold;
+        }
+
+        public void setSimilarityThreshold(double similarityThreshold) {
+            this.similarityThreshold = similarityThreshold;
+        }
+    }
+}
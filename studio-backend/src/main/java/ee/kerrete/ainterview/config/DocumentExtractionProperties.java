@@ -0,0 +1,119 @@
+package ee.kerrete.ainterview.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Text extraction from uploaded documents (CV uploads: PDF, DOCX, plain text).
+ *
+ * Bound from `application.yml` with prefix: app.document-extraction.*
+ */
+@ConfigurationProperties(prefix = "app.document-extraction")
+public class DocumentExtractionProperties {
+
+    /**
+     * Pages read from a PDF; later pages are ignored.
+     */
+    private int maxPages = 50;
+
+    /**
+     * Heap PDFBox may use for a document's decoded streams before spilling to a temp file.
+     */
+    private DataSize maxMainMemory = DataSize.ofMegabytes(16);
+
+    /**
+     * Extracted text is cut off after this many characters.
+     */
+    private int maxChars = 200_000;
+
+    /**
+     * PDFs with at least this many (capped) pages are extracted in parallel page ranges.
+     */
+    private int parallelPageThreshold = 20;
+
+    /**
+     * Pages per parallel extraction task.
+     */
+    private int pagesPerTask = 10;
+
+    /**
+     * Threads for parallel page extraction, shared by all uploads.
+     */
+    private int poolSize = 4;
+
+    /**
+     * Total characters of extracted text kept in the content-hash cache.
+     */
+    private long cacheMaxChars = 20_000_000;
+
+    /**
+     * Cached text is dropped after this long without a hit.
+     */
+    private Duration cacheTtl = Duration.ofHours(1);
+
+    public int getMaxPages() {
+        return maxPages;
+    }
+
+    public void setMaxPages(int maxPages) {
+        this.maxPages = maxPages;
+    }
+
+    public DataSize getMaxMainMemory() {
+        return maxMainMemory;
+    }
+
+    public void setMaxMainMemory(DataSize maxMainMemory) {
+        this.maxMainMemory = maxMainMemory;
+    }
+
+    public int getMaxChars() {
+        return maxChars;
+    }
+
+    public void setMaxChars(int maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    public int getParallelPageThreshold() {
+        return parallelPageThreshold;
+    }
+
+    public void setParallelPageThreshold(int parallelPageThreshold) {
+        this.parallelPageThreshold = parallelPageThreshold;
+    }
+
+    public int getPagesPerTask() {
+        return pagesPerTask;
+    }
+
+    public void setPagesPerTask(int pagesPerTask) {
+        this.pagesPerTask = pagesPerTask;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public long getCacheMaxChars() {
+        return cacheMaxChars;
+    }
+
+    public void setCacheMaxChars(long cacheMaxChars) {
+        this.cacheMaxChars = cacheMaxChars;
+    }
+
+    public Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public void setCacheTtl(Duration cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+}
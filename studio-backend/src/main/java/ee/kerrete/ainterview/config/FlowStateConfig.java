@@ -0,0 +1,32 @@
+package ee.kerrete.ainterview.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.kerrete.ainterview.risk.state.FlowStateStore;
+import ee.kerrete.ainterview.risk.state.InMemoryFlowStateStore;
+import ee.kerrete.ainterview.risk.state.JdbcFlowStateStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Session state store of the risk flows, chosen by app.flow-state.store:
+ *
+ * - MEMORY → Caffeine map per instance (default, single node)
+ * - JDBC   → flow_state table, needed once the flows run on more than one node
+ */
+@Configuration
+public class FlowStateConfig {
+
+    @Bean
+    public FlowStateStore flowStateStore(FlowStateProperties properties,
+                                         MeterRegistry meterRegistry,
+                                         ObjectProvider<JdbcTemplate> jdbcTemplate,
+                                         ObjectMapper objectMapper) {
+        if (properties.getStore() == FlowStateProperties.Store.JDBC) {
+            return new JdbcFlowStateStore(jdbcTemplate.getObject(), objectMapper, properties, meterRegistry);
+        }
+        return new InMemoryFlowStateStore(properties, meterRegistry);
+    }
+}
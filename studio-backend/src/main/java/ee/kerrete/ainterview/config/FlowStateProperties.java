@@ -0,0 +1,83 @@
+package ee.kerrete.ainterview.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Per-session state of the risk flows (RiskFlowService, AssessmentController).
+ *
+ * Bound from `application.yml` with prefix: app.flow-state.*
+ */
+@ConfigurationProperties(prefix = "app.flow-state")
+public class FlowStateProperties {
+
+    public enum Store {
+        /** Caffeine map in this instance; state is lost on restart and not shared. */
+        MEMORY,
+        /** flow_state table; shared by all instances. */
+        JDBC
+    }
+
+    private Store store = Store.MEMORY;
+
+    /**
+     * A session is dropped this long after its last change.
+     */
+    private Duration ttl = Duration.ofHours(2);
+
+    /**
+     * Sessions kept by the in-memory store; the least recently used are dropped first.
+     */
+    private long maxEntries = 10_000;
+
+    /**
+     * Answers accepted per risk flow; further answers are rejected.
+     */
+    private int maxAnswersPerFlow = 50;
+
+    /**
+     * How often the JDBC store deletes expired rows.
+     */
+    private Duration purgeInterval = Duration.ofMinutes(5);
+
+    public Store getStore() {
+        return store;
+    }
+
+    public void setStore(Store store) {
+        this.store = store;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public int getMaxAnswersPerFlow() {
+        return maxAnswersPerFlow;
+    }
+
+    public void setMaxAnswersPerFlow(int maxAnswersPerFlow) {
+        this.maxAnswersPerFlow = maxAnswersPerFlow;
+    }
+
+    public Duration getPurgeInterval() {
+        return purgeInterval;
+    }
+
+    public void setPurgeInterval(Duration purgeInterval) {
+        this.purgeInterval = purgeInterval;
+    }
+}
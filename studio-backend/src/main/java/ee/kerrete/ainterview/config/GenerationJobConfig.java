@@ -0,0 +1,68 @@
+package ee.kerrete.ainterview.config;
+
+import ee.kerrete.ainterview.arena.dto.CompanyPrepRequest;
+import ee.kerrete.ainterview.arena.dto.CoverLetterRequest;
+import ee.kerrete.ainterview.arena.dto.CvOptimizerJobRequest;
+import ee.kerrete.ainterview.arena.dto.LinkedinGeneratorRequest;
+import ee.kerrete.ainterview.arena.dto.SalaryBenchmarkRequest;
+import ee.kerrete.ainterview.arena.service.CompanyPrepService;
+import ee.kerrete.ainterview.arena.service.CoverLetterService;
+import ee.kerrete.ainterview.arena.service.CvOptimizerService;
+import ee.kerrete.ainterview.arena.service.LinkedinGeneratorService;
+import ee.kerrete.ainterview.arena.service.SalaryBenchmarkService;
+import ee.kerrete.ainterview.dto.RoadmapExportRequest;
+import ee.kerrete.ainterview.job.service.JobHandler;
+import ee.kerrete.ainterview.service.RoadmapExportService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Generators that can run as background jobs.
+ *
+ * - company-prep / cover-letter / linkedin-generator / salary-benchmark → arena generators
+ * - cv-optimizer   → arena CV analysis on already extracted CV text
+ * - roadmap-export → roadmap export (JSON form), which may generate a skill plan first
+ */
+@Configuration
+public class GenerationJobConfig {
+
+    public static final String COMPANY_PREP = "company-prep";
+    public static final String COVER_LETTER = "cover-letter";
+    public static final String LINKEDIN_GENERATOR = "linkedin-generator";
+    public static final String SALARY_BENCHMARK = "salary-benchmark";
+    public static final String CV_OPTIMIZER = "cv-optimizer";
+    public static final String ROADMAP_EXPORT = "roadmap-export";
+
+    @Bean
+    public JobHandler<CompanyPrepRequest> companyPrepJob(CompanyPrepService service) {
+        return JobHandler.of(COMPANY_PREP, CompanyPrepRequest.class, (request, user) -> service.analyze(request, user.id()));
+    }
+
+    @Bean
+    public JobHandler<CoverLetterRequest> coverLetterJob(CoverLetterService service) {
+        return JobHandler.of(COVER_LETTER, CoverLetterRequest.class, (request, user) -> service.generate(request, user.id()));
+    }
+
+    @Bean
+    public JobHandler<LinkedinGeneratorRequest> linkedinGeneratorJob(LinkedinGeneratorService service) {
+        return JobHandler.of(LINKEDIN_GENERATOR, LinkedinGeneratorRequest.class,
+                (request, user) -> service.generate(request, user.id()));
+    }
+
+    @Bean
+    public JobHandler<SalaryBenchmarkRequest> salaryBenchmarkJob(SalaryBenchmarkService service) {
+        return JobHandler.of(SALARY_BENCHMARK, SalaryBenchmarkRequest.class,
+                (request, user) -> service.analyze(request, user.id()));
+    }
+
+    @Bean
+    public JobHandler<CvOptimizerJobRequest> cvOptimizerJob(CvOptimizerService service) {
+        return JobHandler.of(CV_OPTIMIZER, CvOptimizerJobRequest.class,
+                (request, user) -> service.analyzeText(request.cvText(), request.targetRole()));
+    }
+
+    @Bean
+    public JobHandler<RoadmapExportRequest> roadmapExportJob(RoadmapExportService service) {
+        return JobHandler.of(ROADMAP_EXPORT, RoadmapExportRequest.class, (request, user) -> service.export(request));
+    }
+}
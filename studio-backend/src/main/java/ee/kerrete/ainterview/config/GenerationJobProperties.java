@@ -0,0 +1,133 @@
+package ee.kerrete.ainterview.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Background generation jobs (slow AI generations submitted via {@code .../jobs} endpoints).
+ *
+ * Bound from `application.yml` with prefix: app.jobs.*
+ */
+@ConfigurationProperties(prefix = "app.jobs")
+public class GenerationJobProperties {
+
+    /**
+     * Jobs run at the same time on one instance.
+     */
+    private int workers = 4;
+
+    /**
+     * Jobs of one user running at the same time across all instances; the rest wait in the queue.
+     */
+    private int maxRunningPerUser = 1;
+
+    /**
+     * Queued plus running jobs a user may have; further submissions get 429.
+     */
+    private int maxPendingPerUser = 5;
+
+    /**
+     * How often the queue table is polled for new jobs and for jobs finished on other instances.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * How often leases are renewed, expired leases recovered and old jobs deleted.
+     */
+    private Duration maintenanceInterval = Duration.ofMinutes(1);
+
+    /**
+     * A claimed job is owned by its instance for this long and renewed while it runs.
+     * Jobs whose lease ran out (instance died) are queued again.
+     */
+    private Duration lease = Duration.ofMinutes(5);
+
+    /**
+     * Times a job is started before a lost worker marks it failed. Jobs that fail
+     * in the handler are not retried.
+     */
+    private int maxAttempts = 2;
+
+    /**
+     * Finished jobs and their results are deleted after this long.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * Longest an SSE subscription waits for a job to finish.
+     */
+    private Duration emitterTimeout = Duration.ofMinutes(3);
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public int getMaxRunningPerUser() {
+        return maxRunningPerUser;
+    }
+
+    public void setMaxRunningPerUser(int maxRunningPerUser) {
+        this.maxRunningPerUser = maxRunningPerUser;
+    }
+
+    public int getMaxPendingPerUser() {
+        return maxPendingPerUser;
+    }
+
+    public void setMaxPendingPerUser(int maxPendingPerUser) {
+        this.maxPendingPerUser = maxPendingPerUser;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public Duration getMaintenanceInterval() {
+        return maintenanceInterval;
+    }
+
+    public void setMaintenanceInterval(Duration maintenanceInterval) {
+        this.maintenanceInterval = maintenanceInterval;
+    }
+
+    public Duration getLease() {
+        return lease;
+    }
+
+    public void setLease(Duration lease) {
+        this.lease = lease;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    public Duration getEmitterTimeout() {
+        return emitterTimeout;
+    }
+
+    public void setEmitterTimeout(Duration emitterTimeout) {
+        this.emitterTimeout = emitterTimeout;
+    }
+}
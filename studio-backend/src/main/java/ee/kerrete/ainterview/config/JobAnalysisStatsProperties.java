@@ -0,0 +1,93 @@
+package ee.kerrete.ainterview.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * In-memory Job Matcher statistics (JobAnalysisStatsService).
+ *
+ * Bound from `application.yml` with prefix: app.job-analysis-stats.*
+ */
+@ConfigurationProperties(prefix = "app.job-analysis-stats")
+public class JobAnalysisStatsProperties {
+
+    /**
+     * Most recent analyses kept per user.
+     */
+    private int recentPerUser = 20;
+
+    /**
+     * Users whose recent analyses are kept; the least recently used are dropped first.
+     */
+    private long maxUsers = 10_000;
+
+    /**
+     * Recent analyses of a user are dropped after this long without a new analysis or lookup.
+     */
+    private Duration userIdle = Duration.ofDays(1);
+
+    /**
+     * Hourly aggregates kept in memory and in the database.
+     */
+    private Duration hourlyRetention = Duration.ofHours(48);
+
+    /**
+     * Daily aggregates kept in memory; the database keeps all days.
+     */
+    private Duration dailyRetention = Duration.ofDays(90);
+
+    /**
+     * How often aggregates counted since the last checkpoint are written to the database.
+     * Also done on shutdown.
+     */
+    private Duration checkpointInterval = Duration.ofMinutes(1);
+
+    public int getRecentPerUser() {
+        return recentPerUser;
+    }
+
+    public void setRecentPerUser(int recentPerUser) {
+        this.recentPerUser = recentPerUser;
+    }
+
+    public long getMaxUsers() {
+        return maxUsers;
+    }
+
+    public void setMaxUsers(long maxUsers) {
+        this.maxUsers = maxUsers;
+    }
+
+    public Duration getUserIdle() {
+        return userIdle;
+    }
+
+    public void setUserIdle(Duration userIdle) {
+        this.userIdle = userIdle;
+    }
+
+    public Duration getHourlyRetention() {
+        return hourlyRetention;
+    }
+
+    public void setHourlyRetention(Duration hourlyRetention) {
+        this.hourlyRetention = hourlyRetention;
+    }
+
+    public Duration getDailyRetention() {
+        return dailyRetention;
+    }
+
+    public void setDailyRetention(Duration dailyRetention) {
+        this.dailyRetention = dailyRetention;
+    }
+
+    public Duration getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    public void setCheckpointInterval(Duration checkpointInterval) {
+        this.checkpointInterval = checkpointInterval;
+    }
+}
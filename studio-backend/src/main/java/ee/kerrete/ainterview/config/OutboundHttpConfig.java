@@ -0,0 +1,67 @@
+package ee.kerrete.ainterview.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Shared outbound HTTP transport.
+ *
+ * One JDK {@link HttpClient} backs every RestTemplate: it keeps connections
+ * alive and reuses them across requests, negotiates HTTP/2 via ALPN where the
+ * server supports it and falls back to HTTP/1.1 otherwise. The per-host limiter
+ * bounds concurrency and exposes saturation metrics through the actuator.
+ * With spring.threads.virtual.enabled the client's own work also runs on
+ * virtual threads, matching Tomcat's request threads.
+ *
+ * - aiRestTemplate          → LLM providers (long read timeout)
+ * - restTemplate (primary)  → pivot/external market data APIs, see ExternalApiConfig
+ */
+@Configuration
+@EnableConfigurationProperties(OutboundHttpProperties.class)
+public class OutboundHttpConfig {
+
+    @Bean
+    public HttpClient outboundHttpClient(OutboundHttpProperties properties, Environment environment) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(properties.getConnectTimeoutMs()))
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        return builder.build();
+    }
+
+    @Bean
+    public PerHostRequestLimiter perHostRequestLimiter(OutboundHttpProperties properties,
+                                                       MeterRegistry meterRegistry) {
+        return new PerHostRequestLimiter(properties, meterRegistry);
+    }
+
+    @Bean
+    public RestTemplate aiRestTemplate(HttpClient httpClient,
+                                       PerHostRequestLimiter limiter,
+                                       OutboundHttpProperties properties) {
+        return pooledRestTemplate(httpClient, limiter, properties.getAiReadTimeoutMs());
+    }
+
+    public static RestTemplate pooledRestTemplate(HttpClient httpClient,
+                                                  PerHostRequestLimiter limiter,
+                                                  long readTimeoutMs) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        RestTemplate restTemplate = new RestTemplate(factory);
+        restTemplate.getInterceptors().add(limiter);
+        return restTemplate;
+    }
+}
@@ -0,0 +1,93 @@
+package ee.kerrete.ainterview.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shared outbound HTTP transport settings (AI providers + pivot/external APIs).
+ *
+ * Bound from `application.yml` with prefix: app.http.*
+ */
+@ConfigurationProperties(prefix = "app.http")
+public class OutboundHttpProperties {
+
+    /**
+     * TCP/TLS connect timeout for every outbound call.
+     */
+    private long connectTimeoutMs = 5_000;
+
+    /**
+     * Read timeout for LLM calls – completions legitimately take tens of seconds.
+     */
+    private long aiReadTimeoutMs = 120_000;
+
+    /**
+     * Read timeout for GitHub / Hacker News / other market data APIs.
+     */
+    private long externalReadTimeoutMs = 10_000;
+
+    /**
+     * Default cap on concurrent in-flight requests per host.
+     */
+    private int maxRequestsPerHost = 32;
+
+    /**
+     * Per-host overrides of {@link #maxRequestsPerHost}, e.g. "[api.github.com]": 8.
+     */
+    private Map<String, Integer> hostLimits = new HashMap<>();
+
+    /**
+     * How long a caller waits for a free per-host slot before failing fast.
+     */
+    private long acquireTimeoutMs = 2_000;
+
+    public long getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+
+    public void setConnectTimeoutMs(long connectTimeoutMs) {
+        this.connectTimeoutMs = connectTimeoutMs;
+    }
+
+    public long getAiReadTimeoutMs() {
+        return aiReadTimeoutMs;
+    }
+
+    public void setAiReadTimeoutMs(long aiReadTimeoutMs) {
+        this.aiReadTimeoutMs = aiReadTimeoutMs;
+    }
+
+    public long getExternalReadTimeoutMs() {
+        return externalReadTimeoutMs;
+    }
+
+    public void setExternalReadTimeoutMs(long externalReadTimeoutMs) {
+        this.externalReadTimeoutMs = externalReadTimeoutMs;
+    }
+
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    public Map<String, Integer> getHostLimits() {
+        return hostLimits;
+    }
+
+    public void setHostLimits(Map<String, Integer> hostLimits) {
+        this.hostLimits = hostLimits;
+    }
+
+    public long getAcquireTimeoutMs() {
+        return acquireTimeoutMs;
+    }
+
+    public void setAcquireTimeoutMs(long acquireTimeoutMs) {
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+}
@@ -0,0 +1,135 @@
+package ee.kerrete.ainterview.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps concurrent in-flight requests per target host and publishes pool
+ * saturation metrics:
+ * <ul>
+ *   <li>{@code http.client.host.in_flight} / {@code http.client.host.limit} – gauges per host</li>
+ *   <li>{@code http.client.host.acquire} – time spent waiting for a slot</li>
+ *   <li>{@code http.client.host.rejected} – callers that gave up waiting</li>
+ * </ul>
+ * The slot is held until the response is closed, so streamed bodies count
+ * against the limit for as long as they are being read.
+ */
+public class PerHostRequestLimiter implements ClientHttpRequestInterceptor {
+
+    private final OutboundHttpProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, HostSlots> hosts = new ConcurrentHashMap<>();
+
+    public PerHostRequestLimiter(OutboundHttpProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        String host = request.getURI().getHost() != null ? request.getURI().getHost() : "unknown";
+        HostSlots slots = hosts.computeIfAbsent(host, this::register);
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = slots.permits.tryAcquire(properties.getAcquireTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrupted while waiting for a connection to " + host);
+        }
+        slots.acquireTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            slots.rejected.increment();
+            throw new ResourceAccessException("Outbound request limit reached for host " + host);
+        }
+
+        try {
+            return new SlotReleasingResponse(execution.execute(request, body), slots.permits);
+        } catch (IOException | RuntimeException e) {
+            slots.permits.release();
+            throw e;
+        }
+    }
+
+    private HostSlots register(String host) {
+        int limit = properties.getHostLimits().getOrDefault(host, properties.getMaxRequestsPerHost());
+        HostSlots slots = new HostSlots(
+                new Semaphore(limit),
+                Timer.builder("http.client.host.acquire").tag("host", host).register(meterRegistry),
+                Counter.builder("http.client.host.rejected").tag("host", host).register(meterRegistry)
+        );
+        Gauge.builder("http.client.host.in_flight", slots.permits, p -> limit - p.availablePermits())
+                .tag("host", host)
+                .register(meterRegistry);
+        Gauge.builder("http.client.host.limit", () -> limit)
+                .tag("host", host)
+                .register(meterRegistry);
+        return slots;
+    }
+
+    private record HostSlots(Semaphore permits, Timer acquireTimer, Counter rejected) {
+    }
+
+    private static final class SlotReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Semaphore permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        SlotReleasingResponse(ClientHttpResponse delegate, Semaphore permits) {
+            this.delegate = delegate;
+            this.permits = permits;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package ee.kerrete.ainterview.config;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import ee.kerrete.ainterview.model.*;
+import ee.kerrete.ainterview.payment.service.EntitlementService;
 import ee.kerrete.ainterview.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -42,6 +43,7 @@ public class ProdDataSeeder implements CommandLineRunner {
     private final TrainingTaskRepository trainingTaskRepository;
     private final TrainingProgressRepository trainingProgressRepository;
     private final PasswordEncoder passwordEncoder;
+    private final EntitlementService entitlementService;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Override
@@ -110,7 +112,12 @@ public class ProdDataSeeder implements CommandLineRunner {
                 existing.setPassword(passwordEncoder.encode(TEST_ADMIN_PASSWORD));
                 updated = true;
             }
-            if (updated) { existing.setUpdatedAt(now); appUserRepository.save(existing); }
+            if (updated) {
+                existing.setUpdatedAt(now);
+                appUserRepository.save(existing);
+                // The tier may have changed; don't let a cached entitlement outlive it
+                entitlementService.evict(existing.getId());
+            }
             return;
         }
 
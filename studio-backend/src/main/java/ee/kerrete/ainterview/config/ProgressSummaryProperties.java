@@ -0,0 +1,67 @@
+package ee.kerrete.ainterview.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Per-user progress read model (user_progress_summary) behind the dashboard endpoints.
+ *
+ * Bound from `application.yml` with prefix: app.progress-summary.*
+ */
+@ConfigurationProperties(prefix = "app.progress-summary")
+public class ProgressSummaryProperties {
+
+    /**
+     * Recompute every user's summary once the application is ready; turn on for
+     * the first deploy of the table or after changing how it is computed.
+     */
+    private boolean rebuildOnStartup = false;
+
+    /**
+     * Users whose rows are recomputed per transaction during a rebuild.
+     */
+    private int rebuildBatchSize = 500;
+
+    /**
+     * How often the consistency check compares the next batch of users with the source tables.
+     */
+    private Duration checkInterval = Duration.ofMinutes(5);
+
+    /**
+     * Users compared per check; the check walks through all users over successive runs.
+     */
+    private int checkBatchSize = 200;
+
+    public boolean isRebuildOnStartup() {
+        return rebuildOnStartup;
+    }
+
+    public void setRebuildOnStartup(boolean rebuildOnStartup) {
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    public int getRebuildBatchSize() {
+        return rebuildBatchSize;
+    }
+
+    public void setRebuildBatchSize(int rebuildBatchSize) {
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    public Duration getCheckInterval() {
+        return checkInterval;
+    }
+
+    public void setCheckInterval(Duration checkInterval) {
+        this.checkInterval = checkInterval;
+    }
+
+    public int getCheckBatchSize() {
+        return checkBatchSize;
+    }
+
+    public void setCheckBatchSize(int checkBatchSize) {
+        this.checkBatchSize = checkBatchSize;
+    }
+}
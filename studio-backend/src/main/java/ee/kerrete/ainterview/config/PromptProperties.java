@@ -0,0 +1,27 @@
+package ee.kerrete.ainterview.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Prompt and spec registry (PromptRegistry).
+ *
+ * Bound from `application.yml` with prefix: app.prompts.*
+ */
+@ConfigurationProperties(prefix = "app.prompts")
+public class PromptProperties {
+
+    /**
+     * Resource directory to read prompts/ and spec/ from instead of the
+     * classpath, and to watch for changes (e.g. src/main/resources in dev).
+     * Unset: classpath only, loaded once.
+     */
+    private String watchDir;
+
+    public String getWatchDir() {
+        return watchDir;
+    }
+
+    public void setWatchDir(String watchDir) {
+        this.watchDir = watchDir;
+    }
+}
@@ -3,6 +3,7 @@ package ee.kerrete.ainterview.config;
 import ee.kerrete.ainterview.auth.handler.AccessDeniedHandlerImpl;
 import ee.kerrete.ainterview.auth.handler.AuthenticationEntryPointImpl;
 import ee.kerrete.ainterview.auth.jwt.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -46,7 +47,9 @@ public class SecurityConfig {
 
     private static final String[] PUBLIC_ENDPOINTS = {
         "/api/auth/**",
-        "/actuator/**",
+        "/actuator/health",
+        "/actuator/health/**",
+        "/actuator/info",
         "/v3/api-docs/**",
         "/swagger-ui/**",
         "/swagger-ui.html",
@@ -93,6 +96,8 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> {
                 // Preflight must always be allowed
                 auth.requestMatchers(HttpMethod.OPTIONS, "/**").permitAll();
+                // SSE streams complete on an async dispatch; the original request was already authorized
+                auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
 
                 if (isLocalProfile) {
                     auth.requestMatchers("/h2-console/**").permitAll();
@@ -140,6 +145,8 @@ public class SecurityConfig {
                     .requestMatchers(HttpMethod.GET, "/api/sessions/history").authenticated()
                     .requestMatchers("/api/candidate/**").authenticated()
                     .requestMatchers("/api/studio/**").authenticated()
+                    // Mappings and metrics describe the deployment; only health and info are public
+                    .requestMatchers("/actuator/**").hasRole("ADMIN")
                     .anyRequest().authenticated();
             })
 
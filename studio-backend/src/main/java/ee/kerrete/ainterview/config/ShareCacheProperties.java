@@ -0,0 +1,67 @@
+package ee.kerrete.ainterview.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Rendered share-page cache (OG preview and shared session JSON).
+ *
+ * Bound from `application.yml` with prefix: app.share-cache.*
+ */
+@ConfigurationProperties(prefix = "app.share-cache")
+public class ShareCacheProperties {
+
+    /**
+     * Upper bound on cached pages; each share ID has up to one page per endpoint.
+     */
+    private long maxEntries = 10_000;
+
+    /**
+     * Longest time a rendered page is kept. Changes to a session evict its
+     * pages right away, so this only bounds changes made outside JPA.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * max-age sent to browsers, crawlers and CDNs; they revalidate with the ETag afterwards.
+     */
+    private Duration maxAge = Duration.ofSeconds(60);
+
+    /**
+     * Bodies smaller than this are served uncompressed only.
+     */
+    private int minGzipBytes = 256;
+
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    public int getMinGzipBytes() {
+        return minGzipBytes;
+    }
+
+    public void setMinGzipBytes(int minGzipBytes) {
+        this.minGzipBytes = minGzipBytes;
+    }
+}
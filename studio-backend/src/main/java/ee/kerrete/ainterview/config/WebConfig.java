@@ -1,9 +1,13 @@
 package ee.kerrete.ainterview.config;
 
+import ee.kerrete.ainterview.payment.service.EntitlementService;
 import ee.kerrete.ainterview.security.CurrentUserResolver;
+import ee.kerrete.ainterview.security.RequiresTierInterceptor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.util.List;
@@ -17,9 +21,15 @@ import java.util.List;
 public class WebConfig implements WebMvcConfigurer {
 
     private final CurrentUserResolver currentUserResolver;
+    private final ObjectProvider<EntitlementService> entitlementService;
 
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
         resolvers.add(currentUserResolver);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequiresTierInterceptor(entitlementService));
+    }
 }
@@ -0,0 +1,119 @@
+package ee.kerrete.ainterview.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Write-behind event pipelines (observer log, interview audit, analytics).
+ *
+ * Bound from `application.yml` with prefix: app.write-behind.*
+ * Pipelines without an entry under `specs` use `defaults`.
+ */
+@ConfigurationProperties(prefix = "app.write-behind")
+public class WriteBehindProperties {
+
+    private Spec defaults = new Spec();
+
+    /**
+     * Per-pipeline settings keyed by pipeline name, e.g. analytics.
+     */
+    private Map<String, Spec> specs = new HashMap<>();
+
+    public Spec specFor(String name) {
+        return specs.getOrDefault(name, defaults);
+    }
+
+    public Spec getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Spec defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Spec> getSpecs() {
+        return specs;
+    }
+
+    public void setSpecs(Map<String, Spec> specs) {
+        this.specs = specs;
+    }
+
+    /**
+     * What a producer does when the buffer is still full after {@link Spec#offerTimeout}.
+     */
+    public enum Overflow {
+        /** Discard the event and count it. */
+        DROP,
+        /** Write the event synchronously on the calling thread. */
+        CALLER_RUNS
+    }
+
+    public static class Spec {
+
+        /**
+         * Ring buffer slots; events waiting for or inside a flush count against it.
+         */
+        private int capacity = 10_000;
+
+        /**
+         * Rows per JDBC batch; a full batch is flushed without waiting for the interval.
+         */
+        private int batchSize = 200;
+
+        /**
+         * Longest time an event waits in the buffer before it is flushed.
+         */
+        private Duration flushInterval = Duration.ofMillis(250);
+
+        /**
+         * How long a producer blocks on a full buffer before the overflow policy applies.
+         */
+        private Duration offerTimeout = Duration.ofMillis(20);
+
+        private Overflow overflow = Overflow.CALLER_RUNS;
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public Duration getOfferTimeout() {
+            return offerTimeout;
+        }
+
+        public void setOfferTimeout(Duration offerTimeout) {
+            this.offerTimeout = offerTimeout;
+        }
+
+        public Overflow getOverflow() {
+            return overflow;
+        }
+
+        public void setOverflow(Overflow overflow) {
+            this.overflow = overflow;
+        }
+    }
+}
@@ -2,14 +2,10 @@ package ee.kerrete.ainterview.dejavu.service;
 
 import ee.kerrete.ainterview.dejavu.dto.DejaVuPredictionRequest;
 import ee.kerrete.ainterview.dejavu.dto.DejaVuPredictionResponse;
+import ee.kerrete.ainterview.prompt.PromptRegistry;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StreamUtils;
 
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -20,11 +16,12 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class DejaVuService {
 
-    @Value("classpath:prompts/deja_vu_lite.txt")
-    private Resource dejaVuPrompt;
+    private static final String PROMPT = "deja_vu_lite";
+
+    private final PromptRegistry promptRegistry;
 
     public DejaVuPredictionResponse predict(DejaVuPredictionRequest request) {
-        String prompt = readPrompt();
+        String prompt = promptRegistry.template(PROMPT).source();
         List<String> keywords = extractKeywords(request.jobDescription());
 
         List<String> questions = new ArrayList<>();
@@ -35,17 +32,6 @@ public class DejaVuService {
         return new DejaVuPredictionResponse(questions);
     }
 
-    private String readPrompt() {
-        if (dejaVuPrompt == null) {
-            return "";
-        }
-        try {
-            return StreamUtils.copyToString(dejaVuPrompt.getInputStream(), StandardCharsets.UTF_8);
-        } catch (IOException e) {
-            return "";
-        }
-    }
-
     private List<String> extractKeywords(String text) {
         if (text == null || text.isBlank()) {
             return List.of();
@@ -7,37 +7,26 @@ import ee.kerrete.ainterview.interview.model.InterviewAnswer;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
-import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Locale;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 public class AnswerAnalysisService {
 
     public InterviewNextQuestionResponseDto.LocalAnalysisDto localAnalysis(List<InterviewAnswer> answers) {
-        List<String> normalized = answers.stream()
+        List<String> answered = answers.stream()
             .map(InterviewAnswer::getAnswer)
             .filter(StringUtils::hasText)
-            .map(a -> a.toLowerCase(Locale.ROOT))
             .toList();
 
-        List<String> last3 = lastN(normalized, 3);
-        Map<String, Long> tokenFreq = tokenize(last3);
+        MarkerAutomaton.Scan scan = scan(lastN(answered, 3));
 
-        List<String> strengths = tokenFreq.entrySet().stream()
-            .filter(e -> e.getKey().matches("clear|team|impact|design|metrics|learn"))
-            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-            .map(e -> "Shows " + e.getKey())
-            .limit(3)
+        List<String> strengths = topMarkers(scan, AnswerMarkers.STRENGTH, AnswerMarkers.STRENGTH_MARKERS).stream()
+            .map(marker -> "Shows " + marker)
             .toList();
 
-        List<String> risks = tokenFreq.entrySet().stream()
-            .filter(e -> e.getKey().matches("maybe|unsure|problem|issue|delay|uncertain"))
-            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-            .map(e -> "Potential concern: " + e.getKey())
-            .limit(3)
+        List<String> risks = topMarkers(scan, AnswerMarkers.RISK, AnswerMarkers.RISK_MARKERS).stream()
+            .map(marker -> "Potential concern: " + marker)
             .toList();
 
         return InterviewNextQuestionResponseDto.LocalAnalysisDto.builder()
@@ -47,13 +36,12 @@ public class AnswerAnalysisService {
     }
 
     public InterviewSummaryResponseDto buildSummary(List<InterviewAnswer> answers) {
-        List<String> cleaned = answers.stream()
+        List<String> answered = answers.stream()
             .map(InterviewAnswer::getAnswer)
             .filter(StringUtils::hasText)
-            .map(a -> a.trim().toLowerCase(Locale.ROOT))
             .toList();
 
-        List<InterviewDimensionScoreDto> dimensionScores = dimensionScores(cleaned);
+        List<InterviewDimensionScoreDto> dimensionScores = dimensionScores(scan(answered));
         List<String> strengths = topDimensions(dimensionScores, true);
         List<String> weaknesses = topDimensions(dimensionScores, false);
 
@@ -74,19 +62,10 @@ public class AnswerAnalysisService {
             .build();
     }
 
-    private List<InterviewDimensionScoreDto> dimensionScores(List<String> answers) {
-        Map<String, Long> tokenFreq = tokenize(answers);
-
-        return List.of(
-            dimensionScore("ownership", averageScore(tokenFreq, List.of("own", "drive", "respons", "lead"))),
-            dimensionScore("communication", averageScore(tokenFreq, List.of("communicat", "clear", "present", "explain"))),
-            dimensionScore("collaboration", averageScore(tokenFreq, List.of("team", "together", "collabor", "stakeholder"))),
-            dimensionScore("problem_solving", averageScore(tokenFreq, List.of("solve", "debug", "design", "issue", "trade-off"))),
-            dimensionScore("learning_agility", averageScore(tokenFreq, List.of("learn", "adapt", "feedback", "improve"))),
-            dimensionScore("leadership", averageScore(tokenFreq, List.of("lead", "mentor", "coach", "align"))),
-            dimensionScore("resilience", averageScore(tokenFreq, List.of("stress", "pressure", "resilien", "recover", "fail"))),
-            dimensionScore("technical_communication", averageScore(tokenFreq, List.of("api", "design", "diagram", "architecture", "trade-off")))
-        );
+    private List<InterviewDimensionScoreDto> dimensionScores(MarkerAutomaton.Scan scan) {
+        return AnswerMarkers.DIMENSIONS.stream()
+            .map(d -> dimensionScore(d.name(), averageScore(scan, d.category())))
+            .toList();
     }
 
     private List<String> topDimensions(List<InterviewDimensionScoreDto> scores, boolean strengths) {
@@ -109,11 +88,26 @@ public class AnswerAnalysisService {
             .toList();
     }
 
-    private Map<String, Long> tokenize(List<String> slice) {
-        return slice.stream()
-            .flatMap(a -> List.of(a.toLowerCase(Locale.ROOT).split("\\W+")).stream())
-            .filter(StringUtils::hasText)
-            .collect(Collectors.groupingBy(s -> s, Collectors.counting()));
+    /**
+     * One automaton pass per answer, counts aggregated across the slice.
+     */
+    private MarkerAutomaton.Scan scan(List<String> slice) {
+        MarkerAutomaton.Scan scan = AnswerMarkers.newScan();
+        for (String answer : slice) {
+            AnswerMarkers.scan(answer, scan);
+        }
+        return scan;
+    }
+
+    /**
+     * Up to three markers that occurred, most frequent first; ties keep declaration order.
+     */
+    private List<String> topMarkers(MarkerAutomaton.Scan scan, String category, List<String> markers) {
+        return markers.stream()
+            .filter(marker -> scan.count(category, marker) > 0)
+            .sorted(Comparator.comparingInt((String marker) -> scan.count(category, marker)).reversed())
+            .limit(3)
+            .toList();
     }
 
     private InterviewDimensionScoreDto dimensionScore(String dimension, double score) {
@@ -124,15 +118,12 @@ public class AnswerAnalysisService {
             .build();
     }
 
-    private double averageScore(Map<String, Long> tokens, List<String> keywords) {
-        if (tokens.isEmpty()) {
+    private double averageScore(MarkerAutomaton.Scan scan, String category) {
+        if (scan.wordTokens() == 0) {
             return 0.5;
         }
-        long hits = keywords.stream()
-            .mapToLong(k -> tokens.getOrDefault(k, 0L))
-            .sum();
-        double ratio = (double) hits / Math.max(5, tokens.values().stream().mapToLong(Long::longValue).sum());
+        long hits = scan.total(category);
+        double ratio = (double) hits / Math.max(5, scan.wordTokens());
         return Math.min(1.0, 0.3 + ratio * 1.5);
     }
 }
-
@@ -0,0 +1,80 @@
+package ee.kerrete.ainterview.interview.service;
+
+import java.util.List;
+
+/**
+ * Every marker set used by the local answer analysers, compiled into one
+ * shared {@link MarkerAutomaton} so an answer is scanned once no matter how
+ * many categories are evaluated.
+ */
+public final class AnswerMarkers {
+
+    // tone / affect: substring presence, as matched by the original contains() loops
+    public static final String TONE_POSITIVE = "tone.positive";
+    public static final String TONE_NEGATIVE = "tone.negative";
+    public static final String AFFECT_ACTION = "affect.action";
+    public static final String AFFECT_OUTCOME = "affect.outcome";
+    public static final String AFFECT_STAKEHOLDER = "affect.stakeholder";
+
+    // answer analysis: whole \W-delimited tokens
+    public static final String STRENGTH = "analysis.strength";
+    public static final String RISK = "analysis.risk";
+
+    static final List<String> STRENGTH_MARKERS = List.of("clear", "team", "impact", "design", "metrics", "learn");
+    static final List<String> RISK_MARKERS = List.of("maybe", "unsure", "problem", "issue", "delay", "uncertain");
+
+    /**
+     * Interview dimensions and their keywords, in report order.
+     */
+    static final List<Dimension> DIMENSIONS = List.of(
+        new Dimension("ownership", List.of("own", "drive", "respons", "lead")),
+        new Dimension("communication", List.of("communicat", "clear", "present", "explain")),
+        new Dimension("collaboration", List.of("team", "together", "collabor", "stakeholder")),
+        new Dimension("problem_solving", List.of("solve", "debug", "design", "issue")),
+        new Dimension("learning_agility", List.of("learn", "adapt", "feedback", "improve")),
+        new Dimension("leadership", List.of("lead", "mentor", "coach", "align")),
+        new Dimension("resilience", List.of("stress", "pressure", "resilien", "recover", "fail")),
+        new Dimension("technical_communication", List.of("api", "design", "diagram", "architecture"))
+    );
+
+    static final MarkerAutomaton AUTOMATON = build();
+
+    private AnswerMarkers() {
+    }
+
+    public static MarkerAutomaton.Scan scan(CharSequence answer) {
+        return AUTOMATON.scan(answer);
+    }
+
+    public static MarkerAutomaton.Scan newScan() {
+        return new MarkerAutomaton.Scan(AUTOMATON);
+    }
+
+    public static void scan(CharSequence answer, MarkerAutomaton.Scan into) {
+        AUTOMATON.scan(answer, into);
+    }
+
+    private static MarkerAutomaton build() {
+        MarkerAutomaton.Builder builder = MarkerAutomaton.builder()
+            .category(TONE_POSITIVE, false, List.of(
+                "grateful", "thank", "excited", "proud", "pleased", "glad", "happy", "motivated", "learned", "improved"))
+            .category(TONE_NEGATIVE, false, List.of(
+                "frustrated", "angry", "upset", "hopeless", "stuck", "annoyed", "hate", "problematic", "fail", "failure"))
+            .category(AFFECT_ACTION, false, List.of("built", "led", "implemented", "designed", "created", "drove", "owned"))
+            .category(AFFECT_OUTCOME, false, List.of("result", "impact", "improved", "increased", "reduced", "metric", "kpi"))
+            .category(AFFECT_STAKEHOLDER, false, List.of("team", "stakeholder", "partner", "customer", "manager", "leadership"))
+            .category(STRENGTH, true, STRENGTH_MARKERS)
+            .category(RISK, true, RISK_MARKERS);
+        for (Dimension dimension : DIMENSIONS) {
+            builder.category(dimension.category(), true, dimension.keywords());
+        }
+        return builder.build();
+    }
+
+    record Dimension(String name, List<String> keywords) {
+
+        String category() {
+            return "dimension." + name;
+        }
+    }
+}
@@ -75,8 +75,16 @@ public class CandidateSummaryService {
         signals = dedupeSignals(signals, 8);
         evidence = trimEvidence(evidence, 3);
 
-        ToneAnalyzerService.ToneResult toneResult = toneAnalyzerService.analyze(answer);
-        AffectAnalyzerService.AffectResult affectResult = affectAnalyzerService.analyze(answer, toneResult);
+        ToneAnalyzerService.ToneResult toneResult;
+        AffectAnalyzerService.AffectResult affectResult;
+        if (answer == null || answer.isBlank()) {
+            toneResult = toneAnalyzerService.analyze(answer);
+            affectResult = affectAnalyzerService.analyze(answer, toneResult);
+        } else {
+            MarkerAutomaton.Scan markers = AnswerMarkers.scan(answer);
+            toneResult = toneAnalyzerService.analyze(markers);
+            affectResult = affectAnalyzerService.analyze(markers, toneResult);
+        }
         String band = deriveBand(last3Average);
         NarrativeService.NarrativeResult narrativeResult = narrativeService.buildNarrative(band, strengths, growth, signals.stream().map(CandidateSummaryDto.SignalDto::getLabel).toList(), toneResult.tone());
         Integer deliveryScore = computeDeliveryScore(stylePenaltyEnabled, toneResult, affectResult);
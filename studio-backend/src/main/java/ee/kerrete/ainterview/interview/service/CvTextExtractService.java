@@ -1,38 +1,34 @@
 package ee.kerrete.ainterview.interview.service;
 
+import ee.kerrete.ainterview.service.DocumentTextExtractor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class CvTextExtractService {
 
+    private final DocumentTextExtractor documentTextExtractor;
+
     /**
-     * Minimal deterministic extractor.
-     * - For text/* content types or .txt files, read UTF-8 text.
-     * - Otherwise return a safe placeholder so pipeline stays deterministic.
+     * Text of an uploaded CV (PDF, DOCX or text/* / .txt).
+     * - Unreadable files yield an empty string.
+     * - Other types return a safe placeholder so pipeline stays deterministic.
      */
     public String extractText(MultipartFile file) {
         if (file == null) {
             return "";
         }
-        String contentType = file.getContentType();
-        String name = file.getOriginalFilename() == null ? "" : file.getOriginalFilename().toLowerCase();
-        boolean treatAsText = (contentType != null && contentType.toLowerCase().startsWith("text/")) || name.endsWith(".txt");
-        if (treatAsText) {
-            try {
-                return new String(file.getBytes(), StandardCharsets.UTF_8);
-            } catch (IOException e) {
-                log.warn("Failed to read text CV file '{}'", name, e);
-                return "";
-            }
+        try {
+            return documentTextExtractor.extractText(file).orElse("[unsupported file type]");
+        } catch (IOException e) {
+            log.warn("Failed to read CV file '{}'", file.getOriginalFilename(), e);
+            return "";
         }
-        return "[unsupported file type]";
     }
 }
-
-
@@ -2,30 +2,57 @@ package ee.kerrete.ainterview.interview.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.kerrete.ainterview.config.WriteBehindProperties;
 import ee.kerrete.ainterview.interview.dto.InterviewAuditEventDto;
 import ee.kerrete.ainterview.interview.dto.ObserverLogEntryDto;
 import ee.kerrete.ainterview.model.InterviewSessionEvent;
 import ee.kerrete.ainterview.model.InterviewSessionEventType;
+import ee.kerrete.ainterview.repository.InterviewSessionEventBatchWriter;
 import ee.kerrete.ainterview.repository.InterviewSessionEventRepository;
-import lombok.RequiredArgsConstructor;
+import ee.kerrete.ainterview.support.WriteBehindBuffer;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+/**
+ * Interview audit trail. Events are appended through the "interview-audit"
+ * write-behind pipeline; the first page of a listing also includes events
+ * that are still waiting to be flushed (they have no id yet).
+ */
 @Service
-@RequiredArgsConstructor
 public class InterviewAuditService {
 
+    static final String PIPELINE = "interview-audit";
+
     private final InterviewSessionEventRepository repository;
     private final ObjectMapper objectMapper;
+    private final WriteBehindBuffer<InterviewSessionEvent> buffer;
+
+    public InterviewAuditService(InterviewSessionEventRepository repository,
+                                 InterviewSessionEventBatchWriter batchWriter,
+                                 WriteBehindProperties writeBehindProperties,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.buffer = new WriteBehindBuffer<>(PIPELINE, writeBehindProperties.specFor(PIPELINE),
+            batchWriter::insertAll, new TransactionTemplate(transactionManager), meterRegistry);
+    }
 
-    @Transactional
     public void appendEvent(UUID sessionUuid, InterviewSessionEventType type, Map<String, Object> payload) {
         String json = serialize(payload);
         InterviewSessionEvent event = InterviewSessionEvent.builder()
@@ -34,18 +61,25 @@ public class InterviewAuditService {
             .eventType(type)
             .payloadJson(json)
             .build();
-        repository.save(event);
+        buffer.offer(event);
+    }
+
+    /**
+     * Waits until every event appended so far has been written.
+     */
+    public boolean flush(Duration timeout) {
+        return buffer.flush(timeout);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        buffer.close();
     }
 
     @Transactional(readOnly = true)
     public List<InterviewAuditEventDto> listEvents(UUID sessionUuid, int limit, Long cursor) {
         int capped = Math.max(1, Math.min(limit, 200));
-        List<InterviewSessionEvent> events;
-        if (cursor != null) {
-            events = repository.findTop200BySessionUuidAndIdLessThanOrderByCreatedAtDesc(sessionUuid, cursor);
-        } else {
-            events = repository.findTop200BySessionUuidOrderByCreatedAtDesc(sessionUuid);
-        }
+        List<InterviewSessionEvent> events = findNewestFirst(sessionUuid, cursor);
         return events.stream()
             .limit(capped)
             .map(this::toDto)
@@ -55,18 +89,27 @@ public class InterviewAuditService {
     @Transactional(readOnly = true)
     public List<ObserverLogEntryDto> listObserverLog(UUID sessionUuid, int limit, Long cursor) {
         int capped = Math.max(1, Math.min(limit, 200));
-        List<InterviewSessionEvent> events;
-        if (cursor != null) {
-            events = repository.findTop200BySessionUuidAndIdLessThanOrderByCreatedAtDesc(sessionUuid, cursor);
-        } else {
-            events = repository.findTop200BySessionUuidOrderByCreatedAtDesc(sessionUuid);
-        }
+        List<InterviewSessionEvent> events = findNewestFirst(sessionUuid, cursor);
         return events.stream()
             .limit(capped)
             .map(this::toObserverDto)
             .collect(Collectors.toList());
     }
 
+    private List<InterviewSessionEvent> findNewestFirst(UUID sessionUuid, Long cursor) {
+        if (cursor != null) {
+            return repository.findTop200BySessionUuidAndIdLessThanOrderByCreatedAtDesc(sessionUuid, cursor);
+        }
+        return buffer.readThrough(e -> sessionUuid.equals(e.getSessionUuid()), pending -> {
+            List<InterviewSessionEvent> events = new ArrayList<>(repository.findTop200BySessionUuidOrderByCreatedAtDesc(sessionUuid));
+            if (!pending.isEmpty()) {
+                events.addAll(pending);
+                events.sort(Comparator.comparing(InterviewSessionEvent::getCreatedAt).reversed());
+            }
+            return events;
+        });
+    }
+
     private InterviewAuditEventDto toDto(InterviewSessionEvent e) {
         return InterviewAuditEventDto.builder()
             .id(e.getId() == null ? null : String.valueOf(e.getId()))
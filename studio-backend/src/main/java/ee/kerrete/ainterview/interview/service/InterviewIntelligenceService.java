@@ -1,6 +1,5 @@
 package ee.kerrete.ainterview.interview.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import ee.kerrete.ainterview.interview.dto.CandidateSummaryDto;
@@ -9,6 +8,8 @@ import ee.kerrete.ainterview.interview.dto.InterviewProfileDto;
 import ee.kerrete.ainterview.interview.dto.InterviewNextQuestionRequestDto;
 import ee.kerrete.ainterview.model.InterviewSession;
 import ee.kerrete.ainterview.model.InterviewSessionEventType;
+import ee.kerrete.ainterview.model.InterviewTurn;
+import ee.kerrete.ainterview.prompt.PromptRegistry;
 import ee.kerrete.ainterview.repository.InterviewSessionRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -18,7 +19,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Deterministic interview flow with persisted questionCount / asked IDs to avoid
@@ -43,10 +44,15 @@ public class InterviewIntelligenceService {
     private final InterviewProfileService interviewProfileService;
     private final ToneAnalyzerService toneAnalyzerService;
     private final AffectAnalyzerService affectAnalyzerService;
+    private final InterviewTurnLog interviewTurnLog;
     private final ObjectMapper objectMapper;
+    private final PromptRegistry promptRegistry;
     private ObjectMapper lenientMapper;
 
-    private QuestionBank bank;
+    private static final String QUESTION_BANK = "question-bank-seed-v1.json";
+
+    private volatile ParsedBank bank;
+    private final ReentrantLock bankLock = new ReentrantLock();
 
     @jakarta.annotation.PostConstruct
     void initMapper() {
@@ -63,16 +69,15 @@ public class InterviewIntelligenceService {
         InterviewSession session = interviewSessionRepository.findBySessionUuid(sessionUuid)
             .orElseThrow(() -> new EntityNotFoundException("Interview session not found: " + sessionUuid));
 
-        List<QaEntry> qa = readQa(session.getQuestionAnswers());
-        List<Double> scores = readScores(session.getQuestionAnswers());
-        Set<String> askedIds = readAskedIds(session.getAskedQuestionIds());
+        InterviewTurnLog.Tail turns = interviewTurnLog.load(session);
+        Set<String> askedIds = turns.askedIds();
         CandidateSummaryDto candidateSummary = candidateSummaryService.loadFromSession(session);
         InterviewProfileDto interviewProfile = interviewProfileService.loadProfile(sessionUuid);
 
-        int questionCount = Optional.ofNullable(session.getQuestionCount()).orElse(qa.size());
-        questionCount = Math.max(questionCount, qa.size());
-        int answered = scores.size();
-        boolean firstQuestion = questionCount == 0 || qa.isEmpty();
+        int questionCount = Optional.ofNullable(session.getQuestionCount()).orElse(turns.turnCount());
+        questionCount = Math.max(questionCount, turns.turnCount());
+        int answered = turns.answeredCount();
+        boolean firstQuestion = questionCount == 0 || turns.turnCount() == 0;
 
         String trimmedAnswer = request == null ? null : request.answer();
         trimmedAnswer = trimmedAnswer == null ? null : trimmedAnswer.trim();
@@ -82,23 +87,18 @@ public class InterviewIntelligenceService {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Answer required for next question.");
             }
         } else {
-            if (qa.isEmpty()) {
+            if (turns.turnCount() == 0) {
                 if (session.getCurrentQuestionId() == null || session.getCurrentQuestionText() == null) {
                     log.debug("submitAnswer called with no active question for session {} (id={} currentQuestionId={} questionCount={} askedSize={})",
                         sessionUuid, session.getId(), session.getCurrentQuestionId(), session.getQuestionCount(), askedIds.size());
                     throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No question to answer yet; request next question first.");
                 }
-                qa.add(new QaEntry(session.getCurrentQuestionId(), session.getCurrentQuestionText(), null));
-            }
-            QaEntry last = qa.get(qa.size() - 1);
-            if (last.getAnswer() == null) {
-                last.setAnswer(trimmedAnswer);
             }
-            updateAnswerBuffers(session, trimmedAnswer);
-            scores.add(score(trimmedAnswer));
+            interviewTurnLog.recordAnswer(turns, session, trimmedAnswer, InterviewTurnLog.answerScore(trimmedAnswer));
         }
-        questionCount = Math.max(questionCount, qa.size());
-        answered = scores.size();
+        questionCount = Math.max(questionCount, turns.turnCount());
+        answered = turns.answeredCount();
+        List<Double> scores = turns.recentScores();
 
         String decision = questionCount == 0 ? "opening" : "probe";
 
@@ -107,16 +107,17 @@ public class InterviewIntelligenceService {
         double last5 = averageLast(scores, 5);
         FitBlock fit = computeFit(answered, last1, last3, last5);
 
-        if (trimmedAnswer != null && !trimmedAnswer.isBlank() && !qa.isEmpty()) {
-            QaEntry lastAnswered = qa.get(qa.size() - 1);
+        if (trimmedAnswer != null && !trimmedAnswer.isBlank() && turns.last() != null) {
+            InterviewTurn lastAnswered = turns.last();
 
-            ToneAnalyzerService.ToneResult toneResult = toneAnalyzerService.analyze(trimmedAnswer);
-            AffectAnalyzerService.AffectResult affectResult = affectAnalyzerService.analyze(trimmedAnswer, toneResult);
+            MarkerAutomaton.Scan markers = AnswerMarkers.scan(trimmedAnswer);
+            ToneAnalyzerService.ToneResult toneResult = toneAnalyzerService.analyze(markers);
+            AffectAnalyzerService.AffectResult affectResult = affectAnalyzerService.analyze(markers, toneResult);
 
             candidateSummary = candidateSummaryService.recordTurn(
                 session,
                 lastAnswered.getQuestionId(),
-                lastAnswered.getQuestion(),
+                lastAnswered.getQuestionText(),
                 trimmedAnswer,
                 decision,
                 fit.fitScore,
@@ -128,7 +129,7 @@ public class InterviewIntelligenceService {
 
             Map<String, Object> answerEvent = new java.util.LinkedHashMap<>();
             answerEvent.put("questionId", lastAnswered.getQuestionId());
-            answerEvent.put("question", lastAnswered.getQuestion());
+            answerEvent.put("question", lastAnswered.getQuestionText());
             answerEvent.put("answer", trimmedAnswer);
             answerEvent.put("answerShort", trimmedAnswer.length() <= 120 ? trimmedAnswer : trimmedAnswer.substring(0, 117) + "...");
             answerEvent.put("decision", decision);
@@ -162,9 +163,8 @@ public class InterviewIntelligenceService {
             session.setCurrentQuestionId(null);
             session.setCurrentQuestionText(null);
             session.setQuestionCount(questionCount);
-            session.setQuestionAnswers(writeQa(qa));
-            session.setAskedQuestionIds(writeAskedIds(askedIds));
             interviewSessionRepository.save(session);
+            interviewTurnLog.save(turns);
             interviewAuditService.appendEvent(sessionUuid, InterviewSessionEventType.DECISION_MADE,
                 decisionPayload("complete", "no_available_question", session, null, questionCount, answered, fit, last1, last3, last5, progress, null));
             return InterviewIntelligenceResponseDto.builder()
@@ -180,9 +180,8 @@ public class InterviewIntelligenceService {
                 .build();
         }
 
-        // Mark served: add QA entry, increment questionCount, persist
-        qa.add(new QaEntry(pick.id(), pick.text(), null));
-        askedIds.add(pick.id());
+        // Mark served: append turn, increment questionCount, persist
+        interviewTurnLog.recordQuestion(turns, session.getId(), pick.id(), pick.text());
         questionCount += 1;
         session.setCurrentQuestionId(pick.id());
         session.setCurrentQuestionText(pick.text());
@@ -194,11 +193,10 @@ public class InterviewIntelligenceService {
             session.setCurrentDimension(null);
         }
         session.setQuestionCount(questionCount);
-        session.setQuestionAnswers(writeQa(qa));
-        session.setAskedQuestionIds(writeAskedIds(askedIds));
         session.setCreatedAt(Optional.ofNullable(session.getCreatedAt()).orElse(LocalDateTime.now()));
 
         interviewSessionRepository.save(session);
+        interviewTurnLog.save(turns);
 
         InterviewIntelligenceResponseDto.Progress progress = progress(questionCount, last1, last3, last5, session.getCurrentDimension());
         InterviewIntelligenceResponseDto.FitBreakdown breakdown = buildBreakdown(answered, fit, last3, last5);
@@ -234,90 +232,6 @@ public class InterviewIntelligenceService {
             .build();
     }
 
-    private void updateAnswerBuffers(InterviewSession session, String answer) {
-        session.setLast1Answer(answer);
-
-        List<String> last3 = readStringList(session.getLast3Answers());
-        appendCapped(last3, answer, 3);
-        session.setLast3Answers(writeStringList(last3));
-
-        List<String> last5 = readStringList(session.getLast5Answers());
-        appendCapped(last5, answer, 5);
-        session.setLast5Answers(writeStringList(last5));
-    }
-
-    private void appendCapped(List<String> list, String value, int cap) {
-        list.add(value);
-        while (list.size() > cap) {
-            list.remove(0);
-        }
-    }
-
-    private List<String> readStringList(String json) {
-        if (json == null || json.isBlank()) {
-            return new ArrayList<>();
-        }
-        try {
-            return lenientMapper.readValue(json, new TypeReference<List<String>>() {});
-        } catch (IOException e) {
-            return new ArrayList<>();
-        }
-    }
-
-    private String writeStringList(List<String> values) {
-        try {
-            return objectMapper.writeValueAsString(values == null ? List.of() : values);
-        } catch (IOException e) {
-            return "[]";
-        }
-    }
-
-    private List<QaEntry> readQa(String json) {
-        if (json == null || json.isBlank()) {
-            return new ArrayList<>();
-        }
-        try {
-            return lenientMapper.readValue(json, new TypeReference<List<QaEntry>>() {});
-        } catch (IOException e) {
-            return new ArrayList<>();
-        }
-    }
-
-    private List<Double> readScores(String json) {
-        if (json == null || json.isBlank()) {
-            return new ArrayList<>();
-        }
-        try {
-            List<Map<String, Object>> raw = lenientMapper.readValue(json, new TypeReference<List<Map<String, Object>>>() {});
-            List<Double> scores = new ArrayList<>();
-            for (Map<String, Object> m : raw) {
-                if (m == null) continue;
-                if (m.containsKey("avg")) {
-                    Object v = m.get("avg");
-                    if (v instanceof Number n) {
-                        scores.add(n.doubleValue());
-                        continue;
-                    }
-                }
-                Object ans = m.get("answer");
-                if (ans != null) {
-                    scores.add(score(String.valueOf(ans)));
-                }
-            }
-            return scores;
-        } catch (IOException e) {
-            return new ArrayList<>();
-        }
-    }
-
-    private String writeQa(List<QaEntry> qa) {
-        try {
-            return objectMapper.writeValueAsString(qa == null ? List.of() : qa);
-        } catch (IOException e) {
-            throw new IllegalStateException("Failed to serialize questionAnswers", e);
-        }
-    }
-
     private Selection selectQuestion(String decision, Set<String> askedIds, int questionCount, int answered, InterviewProfileDto profile) {
         // Opening: prefer CV-driven dimension if available
         if ("opening".equals(decision) && questionCount == 0 && answered == 0) {
@@ -403,41 +317,36 @@ public class InterviewIntelligenceService {
         };
     }
 
-    private Set<String> readAskedIds(String json) {
-        if (json == null || json.isBlank()) {
-            return new LinkedHashSet<>();
-        }
-        try {
-            List<String> list = lenientMapper.readValue(json, new TypeReference<List<String>>() {});
-            return new LinkedHashSet<>(list);
-        } catch (IOException e) {
-            return new LinkedHashSet<>();
-        }
-    }
-
-    private String writeAskedIds(Set<String> asked) {
+    /**
+     * Parsed once per version of the spec document in the prompt registry, so a
+     * dev reload of the file is picked up. A ReentrantLock instead of a
+     * synchronized method keeps a virtual thread from pinning its carrier
+     * during the parse, and every later call is a volatile read and a version
+     * comparison with no monitor.
+     */
+    private QuestionBank bank() {
+        PromptRegistry.Document spec = promptRegistry.spec(QUESTION_BANK)
+            .orElseThrow(() -> new IllegalStateException(QUESTION_BANK + " not found"));
+        ParsedBank loaded = bank;
+        if (loaded != null && loaded.version().equals(spec.version())) {
+            return loaded.bank();
+        }
+        bankLock.lock();
         try {
-            return objectMapper.writeValueAsString(asked == null ? List.of() : new ArrayList<>(asked));
-        } catch (IOException e) {
-            return "[]";
-        }
-    }
-
-    private synchronized QuestionBank bank() {
-        ensureMapper();
-        if (bank == null) {
-            bank = loadBank();
+            if (bank == null || !bank.version().equals(spec.version())) {
+                ensureMapper();
+                bank = new ParsedBank(spec.version(), loadBank(spec));
+            }
+            return bank.bank();
+        } finally {
+            bankLock.unlock();
         }
-        return bank;
     }
 
-    private QuestionBank loadBank() {
+    private QuestionBank loadBank(PromptRegistry.Document spec) {
         ensureMapper();
-        try (var is = getClass().getClassLoader().getResourceAsStream("spec/question-bank-seed-v1.json")) {
-            if (is == null) {
-                throw new IllegalStateException("question-bank-seed-v1.json not found");
-            }
-            return lenientMapper.readValue(is, QuestionBank.class);
+        try {
+            return lenientMapper.readValue(spec.text(), QuestionBank.class);
         } catch (Exception e) {
             throw new IllegalStateException("Failed to load question bank", e);
         }
@@ -454,13 +363,6 @@ public class InterviewIntelligenceService {
         }
     }
 
-    private double score(String answer) {
-        if (answer == null || answer.isBlank()) return 0.0;
-        int words = answer.trim().split("\\s+").length;
-        double raw = (words / 20.0) * 5.0;
-        return clamp(raw, 0.0, 5.0);
-    }
-
     private record Question(String id, String text) {}
 
     private FitBlock computeFit(int answered, double last1, double last3, double last5) {
@@ -632,37 +534,7 @@ public class InterviewIntelligenceService {
         return sub.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
     }
 
-    @com.fasterxml.jackson.annotation.JsonIgnoreProperties(ignoreUnknown = true)
-    private static class QaEntry {
-        private String questionId;
-        private String question;
-        private String answer;
-
-        public QaEntry() {
-        }
-
-        public QaEntry(String questionId, String question, String answer) {
-            this.questionId = questionId;
-            this.question = question;
-            this.answer = answer;
-        }
-
-        public String getQuestionId() {
-            return questionId;
-        }
-
-        public String getQuestion() {
-            return question;
-        }
-
-        public String getAnswer() {
-            return answer;
-        }
-
-        public void setAnswer(String answer) {
-            this.answer = answer;
-        }
-    }
+    private record ParsedBank(String version, QuestionBank bank) { }
 
     private record QuestionBank(String version, Constraints constraints, List<String> styles, List<String> intro, List<Dimension> dimensions) { }
 
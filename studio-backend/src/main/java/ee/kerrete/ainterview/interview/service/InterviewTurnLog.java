@@ -0,0 +1,278 @@
+package ee.kerrete.ainterview.interview.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.kerrete.ainterview.model.InterviewSession;
+import ee.kerrete.ainterview.model.InterviewTurn;
+import ee.kerrete.ainterview.model.InterviewTurnSummary;
+import ee.kerrete.ainterview.repository.InterviewSessionRepository;
+import ee.kerrete.ainterview.repository.InterviewTurnRepository;
+import ee.kerrete.ainterview.repository.InterviewTurnSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Append-only turn log of an interview session ({@code interview_turn}) with a
+ * rolling summary row ({@code interview_turn_summary}).
+ *
+ * A turn loads the summary, the last turn and the asked question ids – never
+ * the full Q&A history – and writes one small row per question or answer.
+ * Sessions that still only have the legacy {@code question_answers} and
+ * {@code asked_question_ids} JSON are imported on first access, under a lock
+ * on the session row so concurrent first turns import once.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InterviewTurnLog {
+
+    /** Scores kept in the summary; enough for the last-5 average. */
+    static final int RECENT_SCORES = 5;
+
+    private final InterviewTurnRepository turnRepository;
+    private final InterviewTurnSummaryRepository summaryRepository;
+    private final InterviewSessionRepository sessionRepository;
+    private final ObjectMapper objectMapper;
+
+    public Tail load(InterviewSession session) {
+        InterviewTurnSummary summary = summaryRepository.findById(session.getId()).orElse(null);
+        if (summary == null) {
+            // A concurrent first turn waits here and then finds the summary the other one imported
+            sessionRepository.findForUpdateById(session.getId());
+            summary = summaryRepository.findById(session.getId()).orElse(null);
+            if (summary == null) {
+                return importLegacy(session);
+            }
+        }
+        InterviewTurn last = turnRepository.findTopBySessionIdOrderByTurnIndexDesc(session.getId()).orElse(null);
+        Set<String> askedIds = new LinkedHashSet<>(readIds(summary.getLegacyAskedIds()));
+        askedIds.addAll(turnRepository.findQuestionIds(session.getId()));
+        return new Tail(summary, last, askedIds, parseScores(summary.getRecentScores()));
+    }
+
+    /**
+     * Records an answer: fills in the open turn, or opens turn 0 from the
+     * session's current question when the log is still empty.
+     */
+    public void recordAnswer(Tail tail, InterviewSession session, String answer, double score) {
+        InterviewTurn last = tail.last;
+        if (last == null) {
+            last = appendTurn(tail, session.getId(), session.getCurrentQuestionId(), session.getCurrentQuestionText());
+        }
+        if (last.getAnswer() == null) {
+            last.setAnswer(answer);
+            last.setScore(score);
+            last.setAnsweredAt(LocalDateTime.now());
+            turnRepository.save(last);
+        }
+        tail.summary.setAnsweredCount(tail.summary.getAnsweredCount() + 1);
+        tail.recentScores.add(score);
+        while (tail.recentScores.size() > RECENT_SCORES) {
+            tail.recentScores.remove(0);
+        }
+        tail.summary.setRecentScores(formatScores(tail.recentScores));
+    }
+
+    public void recordQuestion(Tail tail, Long sessionId, String questionId, String questionText) {
+        appendTurn(tail, sessionId, questionId, questionText);
+        if (questionId != null) {
+            tail.askedIds.add(questionId);
+        }
+    }
+
+    public void save(Tail tail) {
+        summaryRepository.save(tail.summary);
+    }
+
+    /**
+     * Deterministic answer score used for fit: 20 words or more scores 5.
+     */
+    static double answerScore(String answer) {
+        if (answer == null || answer.isBlank()) return 0.0;
+        int words = answer.trim().split("\\s+").length;
+        double raw = (words / 20.0) * 5.0;
+        return Math.max(0.0, Math.min(5.0, raw));
+    }
+
+    private InterviewTurn appendTurn(Tail tail, Long sessionId, String questionId, String questionText) {
+        InterviewTurn turn = InterviewTurn.builder()
+            .sessionId(sessionId)
+            .turnIndex(tail.summary.getTurnCount())
+            .questionId(questionId)
+            .questionText(questionText)
+            .build();
+        turnRepository.save(turn);
+        tail.summary.setTurnCount(tail.summary.getTurnCount() + 1);
+        tail.last = turn;
+        return turn;
+    }
+
+    /**
+     * Imports question_answers as turns and keeps asked_question_ids in the
+     * summary. The current question opens a last, unanswered turn when
+     * question_answers did not record it, so the next answer fills it in.
+     */
+    private Tail importLegacy(InterviewSession session) {
+        List<Map<String, Object>> legacy = readLegacyQa(session.getQuestionAnswers());
+        List<String> legacyAskedIds = readIds(session.getAskedQuestionIds());
+        List<InterviewTurn> turns = new ArrayList<>(legacy.size());
+        List<Double> scores = new ArrayList<>();
+        Set<String> askedIds = new LinkedHashSet<>();
+        for (Map<String, Object> entry : legacy) {
+            if (entry == null) continue;
+            Object answer = entry.get("answer");
+            Double score = null;
+            if (entry.get("avg") instanceof Number n) {
+                score = n.doubleValue();
+            } else if (answer != null) {
+                score = answerScore(String.valueOf(answer));
+            }
+            if (score != null) {
+                scores.add(score);
+            }
+            String questionId = entry.get("questionId") == null ? null : String.valueOf(entry.get("questionId"));
+            if (questionId != null) {
+                askedIds.add(questionId);
+            }
+            turns.add(InterviewTurn.builder()
+                .sessionId(session.getId())
+                .turnIndex(turns.size())
+                .questionId(questionId)
+                .questionText(entry.get("question") == null ? null : String.valueOf(entry.get("question")))
+                .answer(answer == null ? null : String.valueOf(answer))
+                .score(score)
+                .build());
+        }
+        String currentId = session.getCurrentQuestionId();
+        if (currentId != null && !askedIds.contains(currentId)) {
+            askedIds.add(currentId);
+            turns.add(InterviewTurn.builder()
+                .sessionId(session.getId())
+                .turnIndex(turns.size())
+                .questionId(currentId)
+                .questionText(session.getCurrentQuestionText())
+                .build());
+        }
+        askedIds.addAll(legacyAskedIds);
+        if (!turns.isEmpty()) {
+            turnRepository.saveAll(turns);
+            log.debug("Imported {} legacy turns for interview session {}", turns.size(), session.getId());
+        }
+
+        List<Double> recent = new ArrayList<>(scores.subList(Math.max(0, scores.size() - RECENT_SCORES), scores.size()));
+        InterviewTurnSummary summary = InterviewTurnSummary.builder()
+            .sessionId(session.getId())
+            .turnCount(turns.size())
+            .answeredCount(scores.size())
+            .recentScores(formatScores(recent))
+            .legacyAskedIds(legacyAskedIds.isEmpty() ? null : writeIds(legacyAskedIds))
+            .build();
+        return new Tail(summary, turns.isEmpty() ? null : turns.get(turns.size() - 1), askedIds, recent);
+    }
+
+    private List<Map<String, Object>> readLegacyQa(String json) {
+        if (json == null || json.isBlank()) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<List<Map<String, Object>>>() {});
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+
+    private List<String> readIds(String json) {
+        if (json == null || json.isBlank()) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<List<String>>() {});
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+
+    private String writeIds(List<String> ids) {
+        try {
+            return objectMapper.writeValueAsString(ids);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize question ids", e);
+        }
+    }
+
+    private static List<Double> parseScores(String csv) {
+        List<Double> scores = new ArrayList<>(RECENT_SCORES + 1);
+        if (csv == null || csv.isBlank()) {
+            return scores;
+        }
+        for (String part : csv.split(",")) {
+            try {
+                scores.add(Double.parseDouble(part.trim()));
+            } catch (NumberFormatException ignored) {
+                // skip a damaged entry rather than failing the turn
+            }
+        }
+        return scores;
+    }
+
+    private static String formatScores(List<Double> scores) {
+        StringBuilder csv = new StringBuilder();
+        for (Double score : scores) {
+            if (!csv.isEmpty()) {
+                csv.append(',');
+            }
+            csv.append(score);
+        }
+        return csv.toString();
+    }
+
+    /**
+     * Per-request view of a session's log: summary row, the last turn and the
+     * ids of every question asked so far. Mutated by the record methods.
+     */
+    public static final class Tail {
+
+        private final InterviewTurnSummary summary;
+        private InterviewTurn last;
+        private final Set<String> askedIds;
+        private final List<Double> recentScores;
+
+        Tail(InterviewTurnSummary summary, InterviewTurn last, Set<String> askedIds, List<Double> recentScores) {
+            this.summary = summary;
+            this.last = last;
+            this.askedIds = askedIds;
+            this.recentScores = new ArrayList<>(recentScores);
+        }
+
+        public int turnCount() {
+            return summary.getTurnCount();
+        }
+
+        public int answeredCount() {
+            return summary.getAnsweredCount();
+        }
+
+        public InterviewTurn last() {
+            return last;
+        }
+
+        public Set<String> askedIds() {
+            return askedIds;
+        }
+
+        /** Up to {@value InterviewTurnLog#RECENT_SCORES} most recent answer scores, oldest first. */
+        public List<Double> recentScores() {
+            return recentScores;
+        }
+    }
+}
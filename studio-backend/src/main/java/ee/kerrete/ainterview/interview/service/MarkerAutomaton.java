@@ -0,0 +1,393 @@
+package ee.kerrete.ainterview.interview.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aho–Corasick automaton over lower-case ASCII markers, grouped into named
+ * categories. {@link #scan} walks the answer once, lower-casing char by char,
+ * and in the same pass collects:
+ * <ul>
+ *   <li>per-marker hit counts – substring hits, or whole-token hits for
+ *       categories registered with {@code wholeWord}</li>
+ *   <li>whitespace token count ({@code split("\\s+")} semantics)</li>
+ *   <li>word token count ({@code split("\\W+")} semantics, empties dropped)</li>
+ *   <li>alphanumeric token count and a hash sketch of distinct tokens</li>
+ * </ul>
+ * No lower-cased copy or token strings are created. Instances are immutable
+ * and safe to share between threads.
+ */
+public final class MarkerAutomaton {
+
+    private static final int ALPHABET = 128;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int[] delta;
+    private final int[][] outputs;
+    private final int[] markerLength;
+    private final int[] markerCategory;
+    private final boolean[] categoryWholeWord;
+    private final int[][] categoryMarkers;
+    private final Map<String, Integer> categories;
+    private final List<Map<String, Integer>> markersByCategory;
+
+    private MarkerAutomaton(Builder builder) {
+        int categoryCount = builder.categories.size();
+        categories = new HashMap<>();
+        markersByCategory = new ArrayList<>(categoryCount);
+        categoryWholeWord = new boolean[categoryCount];
+        categoryMarkers = new int[categoryCount][];
+
+        List<String> patterns = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        int c = 0;
+        for (Map.Entry<String, Builder.Category> entry : builder.categories.entrySet()) {
+            categories.put(entry.getKey(), c);
+            categoryWholeWord[c] = entry.getValue().wholeWord();
+            Map<String, Integer> ids = new LinkedHashMap<>();
+            for (String marker : entry.getValue().markers()) {
+                if (!ids.containsKey(marker)) {
+                    ids.put(marker, patterns.size());
+                    patterns.add(marker);
+                    owners.add(c);
+                }
+            }
+            markersByCategory.add(Map.copyOf(ids));
+            categoryMarkers[c] = ids.values().stream().mapToInt(Integer::intValue).toArray();
+            c++;
+        }
+
+        markerLength = patterns.stream().mapToInt(String::length).toArray();
+        markerCategory = owners.stream().mapToInt(Integer::intValue).toArray();
+
+        // trie
+        List<int[]> gotoRows = new ArrayList<>();
+        List<List<Integer>> out = new ArrayList<>();
+        gotoRows.add(newRow());
+        out.add(new ArrayList<>());
+        for (int id = 0; id < patterns.size(); id++) {
+            int state = 0;
+            String marker = patterns.get(id);
+            for (int i = 0; i < marker.length(); i++) {
+                int ch = marker.charAt(i);
+                int next = gotoRows.get(state)[ch];
+                if (next < 0) {
+                    next = gotoRows.size();
+                    gotoRows.get(state)[ch] = next;
+                    gotoRows.add(newRow());
+                    out.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            out.get(state).add(id);
+        }
+
+        // failure links, folded into a dense transition table (BFS order)
+        int states = gotoRows.size();
+        delta = new int[states * ALPHABET];
+        int[] fail = new int[states];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int ch = 0; ch < ALPHABET; ch++) {
+            int next = gotoRows.get(0)[ch];
+            if (next > 0) {
+                fail[next] = 0;
+                delta[ch] = next;
+                queue.add(next);
+            } else {
+                delta[ch] = 0;
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            out.get(state).addAll(out.get(fail[state]));
+            for (int ch = 0; ch < ALPHABET; ch++) {
+                int next = gotoRows.get(state)[ch];
+                if (next > 0) {
+                    fail[next] = delta[fail[state] * ALPHABET + ch];
+                    delta[state * ALPHABET + ch] = next;
+                    queue.add(next);
+                } else {
+                    delta[state * ALPHABET + ch] = delta[fail[state] * ALPHABET + ch];
+                }
+            }
+        }
+
+        outputs = new int[states][];
+        for (int s = 0; s < states; s++) {
+            outputs[s] = out.get(s).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int markerCount() {
+        return markerLength.length;
+    }
+
+    /**
+     * Scans a single text.
+     */
+    public Scan scan(CharSequence text) {
+        Scan scan = new Scan(this);
+        scan(text, scan);
+        return scan;
+    }
+
+    /**
+     * Scans {@code text} and adds its counts to {@code into}, so several
+     * answers can be aggregated without concatenating them.
+     */
+    public void scan(CharSequence text, Scan into) {
+        if (into.automaton != this) {
+            throw new IllegalArgumentException("Scan belongs to a different automaton");
+        }
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int[] counts = into.counts;
+        int state = 0;
+
+        boolean inSpaceToken = false;
+        int spaceTokens = 0;
+        boolean inWord = false;
+        int words = 0;
+        boolean inAlnum = false;
+        int alnumTokens = 0;
+        long hash = 0;
+
+        for (int i = 0; i < length; i++) {
+            char ch = Character.toLowerCase(text.charAt(i));
+
+            if (isRegexSpace(ch)) {
+                inSpaceToken = false;
+            } else if (!inSpaceToken) {
+                inSpaceToken = true;
+                spaceTokens++;
+            }
+
+            boolean word = isWordChar(ch);
+            if (word && !inWord) {
+                words++;
+            }
+            inWord = word;
+
+            if (isAlnum(ch)) {
+                if (!inAlnum) {
+                    inAlnum = true;
+                    alnumTokens++;
+                    hash = FNV_OFFSET;
+                }
+                hash = (hash ^ ch) * FNV_PRIME;
+            } else if (inAlnum) {
+                inAlnum = false;
+                into.addToken(hash);
+            }
+
+            state = ch < ALPHABET ? delta[state * ALPHABET + ch] : 0;
+            int[] hits = outputs[state];
+            for (int h = 0; h < hits.length; h++) {
+                int id = hits[h];
+                if (categoryWholeWord[markerCategory[id]]) {
+                    int start = i - markerLength[id] + 1;
+                    if (start > 0 && isWordChar(Character.toLowerCase(text.charAt(start - 1)))) {
+                        continue;
+                    }
+                    if (i + 1 < length && isWordChar(Character.toLowerCase(text.charAt(i + 1)))) {
+                        continue;
+                    }
+                }
+                counts[id]++;
+            }
+        }
+        if (inAlnum) {
+            into.addToken(hash);
+        }
+
+        // String.split keeps a leading empty token when the text starts with a separator
+        if (spaceTokens > 0 && isRegexSpace(Character.toLowerCase(text.charAt(0)))) {
+            spaceTokens++;
+        }
+        if (alnumTokens > 0 && !isAlnum(Character.toLowerCase(text.charAt(0)))) {
+            alnumTokens++;
+            into.addToken(FNV_OFFSET);
+        }
+
+        into.whitespaceTokens += spaceTokens;
+        into.wordTokens += words;
+        into.alnumTokens += alnumTokens;
+    }
+
+    private int category(String name) {
+        Integer index = categories.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown marker category: " + name);
+        }
+        return index;
+    }
+
+    private static int[] newRow() {
+        int[] row = new int[ALPHABET];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    /** {@code \s} without UNICODE_CHARACTER_CLASS. */
+    private static boolean isRegexSpace(char ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000B' || ch == '\f' || ch == '\r';
+    }
+
+    /** {@code \w} without UNICODE_CHARACTER_CLASS. */
+    private static boolean isWordChar(char ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9') || ch == '_';
+    }
+
+    private static boolean isAlnum(char ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= '0' && ch <= '9');
+    }
+
+    public static final class Builder {
+
+        private final Map<String, Category> categories = new LinkedHashMap<>();
+
+        private record Category(boolean wholeWord, List<String> markers) {
+        }
+
+        /**
+         * Registers a category. Markers must be lower-case ASCII; whole-word
+         * markers may only contain {@code [a-z0-9_]} since they have to equal
+         * a complete {@code \W}-delimited token.
+         */
+        public Builder category(String name, boolean wholeWord, Collection<String> markers) {
+            for (String marker : markers) {
+                if (marker == null || marker.isEmpty()) {
+                    throw new IllegalArgumentException("Empty marker in category " + name);
+                }
+                for (int i = 0; i < marker.length(); i++) {
+                    char ch = marker.charAt(i);
+                    if (ch >= ALPHABET || Character.toLowerCase(ch) != ch || (wholeWord && !isWordChar(ch))) {
+                        throw new IllegalArgumentException("Unsupported marker '" + marker + "' in category " + name);
+                    }
+                }
+            }
+            if (categories.putIfAbsent(name, new Category(wholeWord, List.copyOf(markers))) != null) {
+                throw new IllegalArgumentException("Duplicate marker category: " + name);
+            }
+            return this;
+        }
+
+        public MarkerAutomaton build() {
+            return new MarkerAutomaton(this);
+        }
+    }
+
+    /**
+     * Counters from one or more {@link #scan} passes.
+     */
+    public static final class Scan {
+
+        private final MarkerAutomaton automaton;
+        private final int[] counts;
+        private int whitespaceTokens;
+        private int wordTokens;
+        private int alnumTokens;
+        private long[] tokenHashes = new long[64];
+        private int distinctTokens;
+
+        public Scan(MarkerAutomaton automaton) {
+            this.automaton = automaton;
+            this.counts = new int[automaton.markerCount()];
+        }
+
+        /** Number of different markers of the category that were found. */
+        public int distinct(String category) {
+            int found = 0;
+            for (int id : automaton.categoryMarkers[automaton.category(category)]) {
+                if (counts[id] > 0) {
+                    found++;
+                }
+            }
+            return found;
+        }
+
+        /** Sum of hits over all markers of the category. */
+        public int total(String category) {
+            int sum = 0;
+            for (int id : automaton.categoryMarkers[automaton.category(category)]) {
+                sum += counts[id];
+            }
+            return sum;
+        }
+
+        public int count(String category, String marker) {
+            Integer id = automaton.markersByCategory.get(automaton.category(category)).get(marker);
+            return id == null ? 0 : counts[id];
+        }
+
+        public int whitespaceTokens() {
+            return whitespaceTokens;
+        }
+
+        public int wordTokens() {
+            return wordTokens;
+        }
+
+        public int alnumTokens() {
+            return alnumTokens;
+        }
+
+        public int distinctAlnumTokens() {
+            return distinctTokens;
+        }
+
+        /**
+         * Distinct / total alphanumeric tokens; 1.0 when there are none.
+         * Distinctness is by 64-bit hash, so collisions are negligible.
+         */
+        public double uniquenessRatio() {
+            return alnumTokens == 0 ? 1.0 : (double) distinctTokens / alnumTokens;
+        }
+
+        private void addToken(long hash) {
+            long key = hash == 0 ? 1 : hash;
+            if (distinctTokens * 2 >= tokenHashes.length) {
+                long[] old = tokenHashes;
+                tokenHashes = new long[old.length * 2];
+                for (long existing : old) {
+                    if (existing != 0) {
+                        insert(existing);
+                    }
+                }
+            }
+            if (insert(key)) {
+                distinctTokens++;
+            }
+        }
+
+        private boolean insert(long key) {
+            int mask = tokenHashes.length - 1;
+            int slot = (int) (key ^ (key >>> 32)) & mask;
+            while (true) {
+                long current = tokenHashes[slot];
+                if (current == 0) {
+                    tokenHashes[slot] = key;
+                    return true;
+                }
+                if (current == key) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+    }
+}
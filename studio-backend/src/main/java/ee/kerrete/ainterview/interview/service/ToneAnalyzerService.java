@@ -2,9 +2,6 @@ package ee.kerrete.ainterview.interview.service;
 
 import org.springframework.stereotype.Service;
 
-import java.util.Locale;
-import java.util.Set;
-
 @Service
 public class ToneAnalyzerService {
 
@@ -12,9 +9,15 @@ public class ToneAnalyzerService {
         if (answer == null || answer.isBlank()) {
             return new ToneResult("NEUTRAL", "No answer content", 0);
         }
-        String lower = answer.toLowerCase(Locale.ROOT);
-        int positive = countMatches(lower, POSITIVE_MARKERS);
-        int negative = countMatches(lower, NEGATIVE_MARKERS);
+        return analyze(AnswerMarkers.scan(answer));
+    }
+
+    /**
+     * Tone from an existing {@link AnswerMarkers} scan of a non-blank answer.
+     */
+    public ToneResult analyze(MarkerAutomaton.Scan scan) {
+        int positive = scan.distinct(AnswerMarkers.TONE_POSITIVE);
+        int negative = scan.distinct(AnswerMarkers.TONE_NEGATIVE);
         String tone;
         String reason;
         int intensity;
@@ -34,25 +37,5 @@ public class ToneAnalyzerService {
         return new ToneResult(tone, reason, intensity);
     }
 
-    private int countMatches(String text, Set<String> markers) {
-        int count = 0;
-        for (String m : markers) {
-            if (text.contains(m)) {
-                count++;
-            }
-        }
-        return count;
-    }
-
     public record ToneResult(String tone, String reason, int intensity) {}
-
-    private static final Set<String> POSITIVE_MARKERS = Set.of(
-        "grateful", "thank", "excited", "proud", "pleased", "glad", "happy", "motivated", "learned", "improved"
-    );
-
-    private static final Set<String> NEGATIVE_MARKERS = Set.of(
-        "frustrated", "angry", "upset", "hopeless", "stuck", "annoyed", "hate", "problematic", "fail", "failure"
-    );
 }
-
-
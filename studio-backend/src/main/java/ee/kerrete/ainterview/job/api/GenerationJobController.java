@@ -0,0 +1,59 @@
+package ee.kerrete.ainterview.job.api;
+
+import ee.kerrete.ainterview.job.dto.GenerationJobResponse;
+import ee.kerrete.ainterview.job.service.GenerationJobService;
+import ee.kerrete.ainterview.security.AuthenticatedUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Status of background generation jobs. Jobs are submitted through the
+ * {@code .../jobs} endpoint of each generator, which answers 202 with the job
+ * and a {@code Location} pointing here.
+ */
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+public class GenerationJobController {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final GenerationJobService generationJobService;
+
+    @GetMapping("/{id}")
+    public GenerationJobResponse get(@PathVariable UUID id, @AuthenticationPrincipal AuthenticatedUser user) {
+        return generationJobService.get(id, user);
+    }
+
+    /**
+     * Pushes {@code done} or {@code error} once the job finishes; see
+     * {@link ee.kerrete.ainterview.job.service.GenerationJobEvents}.
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable UUID id, @AuthenticationPrincipal AuthenticatedUser user) {
+        return generationJobService.subscribe(id, user);
+    }
+
+    /**
+     * 202 for a newly queued job, 200 when an idempotent retry returned an
+     * existing one.
+     */
+    public static ResponseEntity<GenerationJobResponse> accepted(GenerationJobService.Submission submission) {
+        GenerationJobResponse job = submission.job();
+        URI location = URI.create("/api/jobs/" + job.id());
+        if (!submission.created()) {
+            return ResponseEntity.ok().location(location).body(job);
+        }
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+}
@@ -0,0 +1,38 @@
+package ee.kerrete.ainterview.job.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import ee.kerrete.ainterview.job.model.GenerationJob;
+import ee.kerrete.ainterview.job.model.GenerationJobStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Job status as returned by polling and pushed over SSE; {@code result} is
+ * the generator's normal response body once the job succeeded.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GenerationJobResponse(
+    UUID id,
+    String type,
+    GenerationJobStatus status,
+    @JsonRawValue String result,
+    String error,
+    LocalDateTime createdAt,
+    LocalDateTime startedAt,
+    LocalDateTime finishedAt
+) {
+    public static GenerationJobResponse from(GenerationJob job) {
+        return new GenerationJobResponse(
+            job.getId(),
+            job.getJobType(),
+            job.getStatus(),
+            job.getResultJson(),
+            job.getError(),
+            job.getCreatedAt(),
+            job.getStartedAt(),
+            job.getFinishedAt()
+        );
+    }
+}
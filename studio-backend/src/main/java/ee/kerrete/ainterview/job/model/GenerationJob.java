@@ -0,0 +1,74 @@
+package ee.kerrete.ainterview.job.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A queued AI generation. The table is the queue: workers claim QUEUED rows
+ * with a lease, and RUNNING rows whose lease ran out are queued again.
+ */
+@Entity
+@Table(name = "generation_job")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class GenerationJob {
+
+    @Id
+    @GeneratedValue
+    @UuidGenerator
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "user_email")
+    private String userEmail;
+
+    @Column(name = "job_type", nullable = false, length = 50)
+    private String jobType;
+
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private GenerationJobStatus status;
+
+    @Column(name = "request_json", columnDefinition = "TEXT", nullable = false)
+    private String requestJson;
+
+    @Column(name = "result_json", columnDefinition = "TEXT")
+    private String resultJson;
+
+    @Column(name = "error", length = 500)
+    private String error;
+
+    @Builder.Default
+    @Column(name = "attempts", nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    public void prePersist() {
+        if (createdAt == null) createdAt = LocalDateTime.now();
+        if (status == null) status = GenerationJobStatus.QUEUED;
+    }
+}
@@ -0,0 +1,12 @@
+package ee.kerrete.ainterview.job.model;
+
+public enum GenerationJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+}
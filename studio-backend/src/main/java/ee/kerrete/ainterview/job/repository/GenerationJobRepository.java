@@ -0,0 +1,124 @@
+package ee.kerrete.ainterview.job.repository;
+
+import ee.kerrete.ainterview.job.model.GenerationJob;
+import ee.kerrete.ainterview.job.model.GenerationJobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Queue operations on {@code generation_job}. State changes are conditional
+ * updates so that two instances can never both claim or finish a job; the
+ * returned row count tells the caller whether it won.
+ */
+@Repository
+public interface GenerationJobRepository extends JpaRepository<GenerationJob, UUID> {
+
+    Optional<GenerationJob> findByUserIdAndJobTypeAndIdempotencyKey(Long userId, String jobType, String idempotencyKey);
+
+    long countByUserIdAndStatusIn(Long userId, Collection<GenerationJobStatus> statuses);
+
+    /**
+     * Oldest queued jobs whose owner is below {@code maxRunning} running jobs.
+     */
+    @Query("""
+        select j from GenerationJob j
+        where j.status = ee.kerrete.ainterview.job.model.GenerationJobStatus.QUEUED
+          and (select count(r) from GenerationJob r
+               where r.userId = j.userId
+                 and r.status = ee.kerrete.ainterview.job.model.GenerationJobStatus.RUNNING) < :maxRunning
+        order by j.createdAt
+        """)
+    List<GenerationJob> findClaimable(@Param("maxRunning") long maxRunning, Pageable page);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        update GenerationJob j
+        set j.status = ee.kerrete.ainterview.job.model.GenerationJobStatus.RUNNING,
+            j.leaseOwner = :owner, j.leaseUntil = :leaseUntil, j.startedAt = :now, j.attempts = j.attempts + 1
+        where j.id = :id and j.status = ee.kerrete.ainterview.job.model.GenerationJobStatus.QUEUED
+        """)
+    int claim(@Param("id") UUID id,
+              @Param("owner") String owner,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Hands a claimed job back to the queue without counting the attempt.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        update GenerationJob j
+        set j.status = ee.kerrete.ainterview.job.model.GenerationJobStatus.QUEUED,
+            j.leaseOwner = null, j.leaseUntil = null, j.attempts = j.attempts - 1
+        where j.id = :id and j.leaseOwner = :owner
+          and j.status = ee.kerrete.ainterview.job.model.GenerationJobStatus.RUNNING
+        """)
+    int release(@Param("id") UUID id, @Param("owner") String owner);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        update GenerationJob j
+        set j.status = :status, j.resultJson = :result, j.error = :error, j.finishedAt = :now, j.leaseUntil = null
+        where j.id = :id and j.leaseOwner = :owner
+          and j.status = ee.kerrete.ainterview.job.model.GenerationJobStatus.RUNNING
+        """)
+    int finish(@Param("id") UUID id,
+               @Param("owner") String owner,
+               @Param("status") GenerationJobStatus status,
+               @Param("result") String result,
+               @Param("error") String error,
+               @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+        update GenerationJob j set j.leaseUntil = :leaseUntil
+        where j.id in :ids and j.leaseOwner = :owner
+          and j.status = ee.kerrete.ainterview.job.model.GenerationJobStatus.RUNNING
+        """)
+    int renewLeases(@Param("ids") Collection<UUID> ids,
+                    @Param("owner") String owner,
+                    @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Transactional
+    @Modifying
+    @Query("""
+        update GenerationJob j
+        set j.status = ee.kerrete.ainterview.job.model.GenerationJobStatus.QUEUED, j.leaseOwner = null, j.leaseUntil = null
+        where j.status = ee.kerrete.ainterview.job.model.GenerationJobStatus.RUNNING
+          and j.leaseUntil < :now and j.attempts < :maxAttempts
+        """)
+    int requeueExpired(@Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts);
+
+    @Transactional
+    @Modifying
+    @Query("""
+        update GenerationJob j
+        set j.status = ee.kerrete.ainterview.job.model.GenerationJobStatus.FAILED,
+            j.error = :error, j.finishedAt = :now, j.leaseUntil = null
+        where j.status = ee.kerrete.ainterview.job.model.GenerationJobStatus.RUNNING
+          and j.leaseUntil < :now and j.attempts >= :maxAttempts
+        """)
+    int failExpired(@Param("now") LocalDateTime now,
+                    @Param("maxAttempts") int maxAttempts,
+                    @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query("delete from GenerationJob j where j.finishedAt < :before")
+    int deleteFinishedBefore(@Param("before") LocalDateTime before);
+}
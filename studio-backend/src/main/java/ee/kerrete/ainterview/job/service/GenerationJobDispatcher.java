@@ -0,0 +1,281 @@
+package ee.kerrete.ainterview.job.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.kerrete.ainterview.config.GenerationJobProperties;
+import ee.kerrete.ainterview.job.dto.GenerationJobResponse;
+import ee.kerrete.ainterview.job.model.GenerationJob;
+import ee.kerrete.ainterview.job.model.GenerationJobStatus;
+import ee.kerrete.ainterview.job.repository.GenerationJobRepository;
+import ee.kerrete.ainterview.security.AuthenticatedUser;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Claims queued jobs and runs them on a bounded worker pool.
+ *
+ * Every poll claims at most as many jobs as there are idle workers, oldest
+ * first, skipping users that already have {@code max-running-per-user} jobs
+ * running anywhere. A claim is a lease: it is renewed while the job runs, and
+ * if the instance dies the job is queued again once the lease expires, up to
+ * {@code max-attempts} starts. A job that fails in its handler is not retried,
+ * so a slow provider is never billed twice for one submission.
+ *
+ * Worker slots are counted here rather than by the executor: a finishing
+ * worker dispatches the next job itself, and an executor that blocks on its
+ * own limit would wait for the very slot that worker still holds.
+ */
+@Component
+@Slf4j
+public class GenerationJobDispatcher {
+
+    static final String WORKER_LOST = "Generation was interrupted, please submit it again";
+
+    private final GenerationJobRepository repository;
+    private final GenerationJobEvents events;
+    private final GenerationJobProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<String, JobHandler<?>> handlers = new HashMap<>();
+    private final Executor executor;
+    private final String workerId;
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+    private final Semaphore slots;
+
+    public GenerationJobDispatcher(GenerationJobRepository repository,
+                                   GenerationJobEvents events,
+                                   GenerationJobProperties properties,
+                                   ObjectMapper objectMapper,
+                                   List<JobHandler<?>> handlers,
+                                   Environment environment) {
+        this(repository, events, properties, objectMapper, handlers, workerExecutor(properties, environment));
+    }
+
+    GenerationJobDispatcher(GenerationJobRepository repository,
+                            GenerationJobEvents events,
+                            GenerationJobProperties properties,
+                            ObjectMapper objectMapper,
+                            List<JobHandler<?>> handlers,
+                            Executor executor) {
+        this.repository = repository;
+        this.events = events;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.slots = new Semaphore(properties.getWorkers());
+        this.workerId = hostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+        for (JobHandler<?> handler : handlers) {
+            if (this.handlers.putIfAbsent(handler.type(), handler) != null) {
+                throw new IllegalStateException("Duplicate job handler for type " + handler.type());
+            }
+        }
+    }
+
+    private static AsyncTaskExecutor workerExecutor(GenerationJobProperties properties, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("generation-job-");
+            virtual.setVirtualThreads(true);
+            // No concurrency limit: it blocks the caller, see the class comment
+            return virtual;
+        }
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setThreadNamePrefix("generation-job-");
+        pool.setCorePoolSize(properties.getWorkers());
+        pool.setMaxPoolSize(properties.getWorkers());
+        pool.setQueueCapacity(properties.getWorkers());
+        pool.initialize();
+        return pool;
+    }
+
+    @PreDestroy
+    void shutdown() throws Exception {
+        if (executor instanceof DisposableBean disposable) {
+            disposable.destroy();
+        } else if (executor instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        // Interrupted jobs go straight back to the queue instead of waiting for their lease to expire
+        for (UUID id : Set.copyOf(running)) {
+            repository.release(id, workerId);
+        }
+    }
+
+    public boolean supports(String type) {
+        return handlers.containsKey(type);
+    }
+
+    /**
+     * Starts queued jobs now instead of on the next poll; called after a
+     * submission and whenever a worker becomes idle.
+     */
+    public void wakeUp() {
+        try {
+            dispatch();
+        } catch (RuntimeException e) {
+            log.warn("Generation job dispatch failed", e);
+        }
+    }
+
+    /**
+     * Claims and starts as many queued jobs as there are idle workers.
+     */
+    synchronized void dispatch() {
+        int idle = slots.availablePermits();
+        if (idle <= 0) {
+            return;
+        }
+        List<GenerationJob> candidates =
+                repository.findClaimable(properties.getMaxRunningPerUser(), PageRequest.of(0, idle * 2));
+        // One job per user per round: the running count in the query does not see this round's claims
+        Set<Long> users = new HashSet<>();
+        for (GenerationJob job : candidates) {
+            if (!users.add(job.getUserId())) {
+                continue;
+            }
+            if (!slots.tryAcquire()) {
+                break;
+            }
+            if (!claim(job)) {
+                slots.release();
+                continue;
+            }
+            running.add(job.getId());
+            try {
+                executor.execute(() -> run(job));
+            } catch (RejectedExecutionException e) {
+                running.remove(job.getId());
+                slots.release();
+                repository.release(job.getId(), workerId);
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.poll-interval:PT1S}")
+    public void poll() {
+        try {
+            dispatch();
+            publishFinishedElsewhere();
+        } catch (RuntimeException e) {
+            log.warn("Generation job poll failed", e);
+        }
+    }
+
+    /**
+     * Renews this instance's leases, recovers jobs of lost workers and
+     * deletes finished jobs past retention.
+     */
+    @Scheduled(fixedDelayString = "${app.jobs.maintenance-interval:PT1M}")
+    public void maintain() {
+        LocalDateTime now = LocalDateTime.now();
+        Set<UUID> mine = Set.copyOf(running);
+        if (!mine.isEmpty()) {
+            repository.renewLeases(mine, workerId, now.plus(properties.getLease()));
+        }
+        int requeued = repository.requeueExpired(now, properties.getMaxAttempts());
+        int failed = repository.failExpired(now, properties.getMaxAttempts(), WORKER_LOST);
+        if (requeued > 0 || failed > 0) {
+            log.warn("Recovered generation jobs with expired leases: {} queued again, {} failed", requeued, failed);
+        }
+        repository.deleteFinishedBefore(now.minus(properties.getRetention()));
+    }
+
+    private boolean claim(GenerationJob job) {
+        if (!handlers.containsKey(job.getJobType())) {
+            log.debug("No handler for generation job type {} on this instance", job.getJobType());
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return repository.claim(job.getId(), workerId, now, now.plus(properties.getLease())) == 1;
+    }
+
+    private void run(GenerationJob job) {
+        GenerationJobStatus status = GenerationJobStatus.FAILED;
+        String result = null;
+        String error = null;
+        try {
+            result = objectMapper.writeValueAsString(invoke(handlers.get(job.getJobType()), job));
+            status = GenerationJobStatus.SUCCEEDED;
+        } catch (ResponseStatusException e) {
+            error = e.getReason();
+        } catch (Exception e) {
+            log.warn("Generation job {} ({}) failed", job.getId(), job.getJobType(), e);
+            error = "Generation failed";
+        }
+        try {
+            finish(job.getId(), status, result, error);
+        } catch (RuntimeException e) {
+            // Left RUNNING: the job is queued again once its lease expires
+            log.error("Could not store the outcome of generation job {}", job.getId(), e);
+        } finally {
+            running.remove(job.getId());
+            slots.release();
+        }
+        wakeUp();
+    }
+
+    private <R> Object invoke(JobHandler<R> handler, GenerationJob job) throws Exception {
+        R request = objectMapper.readValue(job.getRequestJson(), handler.requestType());
+        AuthenticatedUser user = new AuthenticatedUser(job.getUserId(), job.getUserEmail(), null);
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+        SecurityContextHolder.setContext(context);
+        try {
+            return handler.run(request, user);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void finish(UUID id, GenerationJobStatus status, String result, String error) {
+        if (repository.finish(id, workerId, status, result, error, LocalDateTime.now()) == 0) {
+            log.warn("Generation job {} lost its lease before finishing; result discarded", id);
+            return;
+        }
+        repository.findById(id).map(GenerationJobResponse::from).ifPresent(events::publish);
+    }
+
+    private void publishFinishedElsewhere() {
+        Set<UUID> watched = events.watched();
+        if (watched.isEmpty()) {
+            return;
+        }
+        for (GenerationJob job : repository.findAllById(watched)) {
+            if (job.getStatus().isFinished()) {
+                events.publish(GenerationJobResponse.from(job));
+            }
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ee.kerrete.ainterview.job.service;
+
+import ee.kerrete.ainterview.config.GenerationJobProperties;
+import ee.kerrete.ainterview.job.dto.GenerationJobResponse;
+import ee.kerrete.ainterview.job.model.GenerationJobStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * SSE subscriptions to job completion on this instance:
+ * <ul>
+ *   <li>{@code status} – the job as it was when the subscription opened</li>
+ *   <li>{@code done}   – the finished job including its result</li>
+ *   <li>{@code error}  – {"message": "..."} if the job failed</li>
+ * </ul>
+ * The stream completes after {@code done} or {@code error}. Jobs finished by
+ * another instance are picked up by the dispatcher, which polls the
+ * {@link #watched()} jobs.
+ */
+@Component
+@Slf4j
+public class GenerationJobEvents {
+
+    private final GenerationJobProperties properties;
+    private final Map<UUID, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    public GenerationJobEvents(GenerationJobProperties properties) {
+        this.properties = properties;
+    }
+
+    public SseEmitter subscribe(GenerationJobResponse current) {
+        SseEmitter emitter = new SseEmitter(properties.getEmitterTimeout().toMillis());
+        if (current.status().isFinished()) {
+            sendFinished(emitter, current);
+            return emitter;
+        }
+        UUID id = current.id();
+        subscribers.computeIfAbsent(id, key -> new CopyOnWriteArrayList<>()).add(emitter);
+        Runnable remove = () -> subscribers.computeIfPresent(id, (key, list) -> {
+            list.remove(emitter);
+            return list.isEmpty() ? null : list;
+        });
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        try {
+            emitter.send(SseEmitter.event().name("status").data(current));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * Pushes a finished job to its subscribers and closes their streams.
+     */
+    public void publish(GenerationJobResponse finished) {
+        List<SseEmitter> emitters = subscribers.remove(finished.id());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            sendFinished(emitter, finished);
+        }
+    }
+
+    /**
+     * Jobs with at least one open subscription.
+     */
+    public Set<UUID> watched() {
+        return Set.copyOf(subscribers.keySet());
+    }
+
+    private void sendFinished(SseEmitter emitter, GenerationJobResponse job) {
+        try {
+            if (job.status() == GenerationJobStatus.FAILED) {
+                String message = job.error() != null ? job.error() : "Generation failed";
+                emitter.send(SseEmitter.event().name("error").data(Map.of("message", message)));
+            } else {
+                emitter.send(SseEmitter.event().name("done").data(job));
+            }
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Job event subscriber for {} went away: {}", job.id(), e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+}
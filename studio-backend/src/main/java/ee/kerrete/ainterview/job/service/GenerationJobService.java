@@ -0,0 +1,124 @@
+package ee.kerrete.ainterview.job.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.kerrete.ainterview.config.GenerationJobProperties;
+import ee.kerrete.ainterview.job.dto.GenerationJobResponse;
+import ee.kerrete.ainterview.job.model.GenerationJob;
+import ee.kerrete.ainterview.job.model.GenerationJobStatus;
+import ee.kerrete.ainterview.job.repository.GenerationJobRepository;
+import ee.kerrete.ainterview.security.AuthenticatedUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Submission and lookup of background generation jobs.
+ *
+ * A submission with an {@code Idempotency-Key} returns the job already
+ * created for that key (same user and type) instead of queueing the
+ * generation again, so client retries after a timeout do not pay twice.
+ */
+@Service
+@RequiredArgsConstructor
+public class GenerationJobService {
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
+
+    private final GenerationJobRepository repository;
+    private final GenerationJobDispatcher dispatcher;
+    private final GenerationJobEvents events;
+    private final GenerationJobProperties properties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param created false when an earlier job with the same idempotency key was returned
+     */
+    public record Submission(GenerationJobResponse job, boolean created) {
+    }
+
+    public Submission submit(String type, Object request, AuthenticatedUser user, String idempotencyKey) {
+        if (!dispatcher.supports(type)) {
+            throw new IllegalArgumentException("No job handler for type " + type);
+        }
+        String key = StringUtils.hasText(idempotencyKey) ? idempotencyKey.trim() : null;
+        if (key != null && key.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Idempotency-Key is too long");
+        }
+        String requestJson = toJson(request);
+
+        if (key != null) {
+            Optional<GenerationJob> existing = repository.findByUserIdAndJobTypeAndIdempotencyKey(user.id(), type, key);
+            if (existing.isPresent()) {
+                return replay(existing.get(), requestJson);
+            }
+        }
+
+        long pending = repository.countByUserIdAndStatusIn(user.id(),
+                EnumSet.of(GenerationJobStatus.QUEUED, GenerationJobStatus.RUNNING));
+        if (pending >= properties.getMaxPendingPerUser()) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many generations in progress, wait for one to finish");
+        }
+
+        GenerationJob job;
+        try {
+            job = repository.saveAndFlush(GenerationJob.builder()
+                    .userId(user.id())
+                    .userEmail(user.email())
+                    .jobType(type)
+                    .idempotencyKey(key)
+                    .status(GenerationJobStatus.QUEUED)
+                    .requestJson(requestJson)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Concurrent submission with the same key won the insert
+            GenerationJob winner = key == null ? null
+                    : repository.findByUserIdAndJobTypeAndIdempotencyKey(user.id(), type, key).orElse(null);
+            if (winner == null) {
+                throw e;
+            }
+            return replay(winner, requestJson);
+        }
+        dispatcher.wakeUp();
+        return new Submission(GenerationJobResponse.from(job), true);
+    }
+
+    public GenerationJobResponse get(UUID id, AuthenticatedUser user) {
+        return GenerationJobResponse.from(load(id, user));
+    }
+
+    public SseEmitter subscribe(UUID id, AuthenticatedUser user) {
+        return events.subscribe(GenerationJobResponse.from(load(id, user)));
+    }
+
+    private GenerationJob load(UUID id, AuthenticatedUser user) {
+        return repository.findById(id)
+                .filter(job -> job.getUserId().equals(user.id()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Job not found"));
+    }
+
+    private Submission replay(GenerationJob job, String requestJson) {
+        if (!job.getRequestJson().equals(requestJson)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used for a different request");
+        }
+        return new Submission(GenerationJobResponse.from(job), false);
+    }
+
+    private String toJson(Object request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize job request", e);
+        }
+    }
+}
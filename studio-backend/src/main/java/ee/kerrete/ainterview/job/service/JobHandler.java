@@ -0,0 +1,42 @@
+package ee.kerrete.ainterview.job.service;
+
+import ee.kerrete.ainterview.security.AuthenticatedUser;
+
+import java.util.function.BiFunction;
+
+/**
+ * Runs one type of generation job. Register implementations as beans; the
+ * request is stored as JSON and read back as {@link #requestType()}, the
+ * returned object is stored as the job result JSON.
+ *
+ * Handlers run on a worker thread with the submitting user in the security
+ * context. Throw {@code ResponseStatusException} for failures whose reason
+ * the user may see.
+ */
+public interface JobHandler<R> {
+
+    String type();
+
+    Class<R> requestType();
+
+    Object run(R request, AuthenticatedUser user);
+
+    static <R> JobHandler<R> of(String type, Class<R> requestType, BiFunction<R, AuthenticatedUser, ?> run) {
+        return new JobHandler<>() {
+            @Override
+            public String type() {
+                return type;
+            }
+
+            @Override
+            public Class<R> requestType() {
+                return requestType;
+            }
+
+            @Override
+            public Object run(R request, AuthenticatedUser user) {
+                return run.apply(request, user);
+            }
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package ee.kerrete.ainterview.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+
+/**
+ * Client analytics event as posted to /api/analytics/event.
+ */
+@Entity
+@Table(name = "analytics_event")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalyticsEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "event_name", length = 64, nullable = false)
+    private String eventName;
+
+    @Column(name = "session_id", length = 64)
+    private String sessionId;
+
+    /**
+     * Timestamp reported by the client; informational only.
+     */
+    @Column(name = "client_ts")
+    private OffsetDateTime clientTs;
+
+    @Column(name = "properties_json", columnDefinition = "text")
+    private String propertiesJson;
+}
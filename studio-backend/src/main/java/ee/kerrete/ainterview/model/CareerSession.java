@@ -1,5 +1,6 @@
 package ee.kerrete.ainterview.model;
 
+import ee.kerrete.ainterview.og.ShareCacheInvalidator;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -8,6 +9,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "interview_studio_session")
+@EntityListeners(ShareCacheInvalidator.class)
 @Getter
 @Setter
 @NoArgsConstructor
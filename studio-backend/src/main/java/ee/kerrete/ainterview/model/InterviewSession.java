@@ -16,12 +16,19 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * Q&A history lives in {@code interview_turn}; {@link #questionAnswers} and
+ * {@link #askedQuestionIds} are legacy columns. {@code @DynamicUpdate} keeps a
+ * turn from rewriting the large text columns it did not change.
+ */
 @Entity
 @Table(name = "interview_session")
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -81,7 +88,8 @@ public class InterviewSession {
     private String currentQuestionText;
 
     /**
-     * Serialized list of Q&A pairs (JSON stored as text for simplicity).
+     * Legacy serialized list of Q&A pairs, imported into {@code interview_turn}
+     * on first access and no longer written.
      */
     @Lob
     @Column(name = "question_answers", columnDefinition = "CLOB")
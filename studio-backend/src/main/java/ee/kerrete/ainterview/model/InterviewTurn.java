@@ -0,0 +1,65 @@
+package ee.kerrete.ainterview.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One served question of an interview session and, once given, its answer.
+ * Rows are only ever appended, apart from filling in the answer of the open turn.
+ */
+@Entity
+@Table(name = "interview_turn")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InterviewTurn {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    @Column(name = "turn_index", nullable = false)
+    private Integer turnIndex;
+
+    @Column(name = "question_id")
+    private String questionId;
+
+    @Column(name = "question_text", columnDefinition = "text")
+    private String questionText;
+
+    @Column(name = "answer", columnDefinition = "text")
+    private String answer;
+
+    @Column(name = "score")
+    private Double score;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "answered_at")
+    private LocalDateTime answeredAt;
+
+    @PrePersist
+    void prePersist() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ee.kerrete.ainterview.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Rolling per-session aggregate over {@link InterviewTurn}s, so a turn never
+ * has to read the whole log: turn and answer counts plus the most recent
+ * answer scores (comma separated, oldest first). Sessions imported from the
+ * legacy columns also keep their asked question ids (JSON array) here.
+ *
+ * Versioned, so two turns racing on one session cannot both save.
+ */
+@Entity
+@Table(name = "interview_turn_summary")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InterviewTurnSummary {
+
+    @Id
+    @Column(name = "session_id")
+    private Long sessionId;
+
+    @Column(name = "turn_count", nullable = false)
+    private Integer turnCount;
+
+    @Column(name = "answered_count", nullable = false)
+    private Integer answeredCount;
+
+    @Column(name = "recent_scores", length = 128)
+    private String recentScores;
+
+    @Column(name = "legacy_asked_ids", columnDefinition = "text")
+    private String legacyAskedIds;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -1,5 +1,6 @@
 package ee.kerrete.ainterview.model;
 
+import ee.kerrete.ainterview.service.UserProgressSummaryListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -8,6 +9,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "roadmap_task")
+@EntityListeners(UserProgressSummaryListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,5 +1,6 @@
 package ee.kerrete.ainterview.model;
 
+import ee.kerrete.ainterview.service.UserProgressSummaryListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -7,6 +8,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "training_task")
+@EntityListeners(UserProgressSummaryListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,38 @@
+package ee.kerrete.ainterview.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Kasutaja progressi kokkuvõte (tabel user_progress_summary), mida
+ * dashboardi endpointid loevad ühe primaarvõtme päringuga.
+ *
+ * Hoitakse ajakohasena UserProgressSummaryService kaudu iga kord, kui
+ * kasutaja training_task, roadmap_task või job_analysis_session ridu muudetakse.
+ *
+ * @param lastTaskActivityAt viimati loodud treening-taski updatedAt (või createdAt)
+ * @param lastAnalysisAt     viimase Job Matcheri analüüsi createdAt
+ */
+public record UserProgressSummary(
+        String email,
+        int trainingTasks,
+        int completedTrainingTasks,
+        int roadmapTasks,
+        int completedRoadmapTasks,
+        int jobAnalyses,
+        LocalDateTime lastTaskActivityAt,
+        LocalDateTime lastAnalysisAt,
+        Double lastAnalysisScore,
+        String lastAnalysisSummary
+) {
+
+    /**
+     * Kasutaja, kellel pole veel ühtegi taski ega analüüsi.
+     */
+    public static UserProgressSummary empty(String email) {
+        return new UserProgressSummary(email, 0, 0, 0, 0, 0, null, null, null, null);
+    }
+
+    public boolean hasJobAnalysis() {
+        return jobAnalyses > 0;
+    }
+}
@@ -2,38 +2,61 @@ package ee.kerrete.ainterview.og;
 
 import ee.kerrete.ainterview.session.dto.SessionResponse;
 import ee.kerrete.ainterview.session.service.CareerSessionService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.HtmlUtils;
 
 @RestController
 @RequestMapping("/api/og")
 @RequiredArgsConstructor
+@Slf4j
 public class OgController {
 
+    private static final String FALLBACK_TITLE = "CareerRisk — AI Career Risk Assessment";
+    private static final String FALLBACK_DESCRIPTION =
+        "Free 3-minute AI career risk assessment. Find out if your job is at risk.";
+
     private final CareerSessionService sessionService;
+    private final SharePageCache sharePageCache;
 
     @GetMapping(value = "/share/{shareId}", produces = MediaType.TEXT_HTML_VALUE)
-    public String getShareOg(@PathVariable String shareId) {
+    public ResponseEntity<byte[]> getShareOg(@PathVariable String shareId, HttpServletRequest request) {
+        try {
+            return sharePageCache.respond(SharePageCache.Kind.OG_HTML, shareId, request,
+                () -> SharePageCache.Page.html(renderShareOg(shareId)));
+        } catch (Exception e) {
+            // Transient failures get the generic preview, uncached
+            log.warn("Failed to render OG page for share {}", shareId, e);
+            SharePageCache.Page page = SharePageCache.Page.html(buildOgHtml(FALLBACK_TITLE, FALLBACK_DESCRIPTION, shareId));
+            return ResponseEntity.ok().contentType(page.contentType()).body(page.body());
+        }
+    }
+
+    private String renderShareOg(String shareId) {
         try {
             SessionResponse session = sessionService.getByShareId(shareId);
             String title = "Career Risk: " + session.targetRole() + " — " + session.status();
             String description = "AI career risk assessment for " + session.targetRole() + ". Status: " + session.status();
             return buildOgHtml(title, description, shareId);
-        } catch (Exception e) {
-            return buildOgHtml(
-                "CareerRisk — AI Career Risk Assessment",
-                "Free 3-minute AI career risk assessment. Find out if your job is at risk.",
-                shareId
-            );
+        } catch (ResponseStatusException e) {
+            if (e.getStatusCode() != HttpStatus.NOT_FOUND) {
+                throw e;
+            }
+            return buildOgHtml(FALLBACK_TITLE, FALLBACK_DESCRIPTION, shareId);
         }
     }
 
     private String buildOgHtml(String title, String description, String shareId) {
-        String url = "https://careerrisk.ee/share/" + shareId;
+        String url = HtmlUtils.htmlEscape("https://careerrisk.ee/share/" + shareId);
         return """
             <!DOCTYPE html>
             <html>
@@ -48,6 +71,6 @@ public class OgController {
             </head>
             <body></body>
             </html>
-            """.formatted(title, description, url, url);
+            """.formatted(HtmlUtils.htmlEscape(title), HtmlUtils.htmlEscape(description), url, url);
     }
 }
@@ -0,0 +1,34 @@
+package ee.kerrete.ainterview.og;
+
+import ee.kerrete.ainterview.model.CareerSession;
+import ee.kerrete.ainterview.studio.model.InterviewStudioSession;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener on the shareable session entities (instantiated through
+ * Spring's bean container) that evicts their rendered share pages from
+ * {@link SharePageCache} whenever a session is written. The cache is looked
+ * up lazily for the same reason as in RoleProfileIndexListener.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShareCacheInvalidator {
+
+    private final ObjectProvider<SharePageCache> sharePageCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onChange(Object entity) {
+        if (entity instanceof CareerSession session) {
+            sharePageCache.getObject().evict(session.getShareId());
+        } else if (entity instanceof InterviewStudioSession session) {
+            sharePageCache.getObject().evict(session.getShareId());
+        }
+    }
+}
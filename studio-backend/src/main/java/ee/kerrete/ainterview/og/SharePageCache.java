@@ -0,0 +1,223 @@
+package ee.kerrete.ainterview.og;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import ee.kerrete.ainterview.config.ShareCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Rendered public share pages keyed by page kind and share ID.
+ *
+ * A page is rendered once, hashed into a strong ETag and gzipped once;
+ * repeated hits are answered from memory, with 304 for a matching
+ * {@code If-None-Match}. The gzip body is a separate representation with its
+ * own ETag. Pages of a share ID are evicted by {@link ShareCacheInvalidator}
+ * when the underlying session changes.
+ *
+ * Brotli is not offered: there is no encoder on the classpath and gzip
+ * already covers every crawler and browser.
+ */
+@Component
+public class SharePageCache {
+
+    public enum Kind {
+        OG_HTML,
+        CAREER_SESSION,
+        STUDIO_SESSION
+    }
+
+    /**
+     * An uncompressed page body.
+     */
+    public record Page(MediaType contentType, byte[] body) {
+
+        public static Page html(String html) {
+            return new Page(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8), html.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private record Key(Kind kind, String shareId) {
+    }
+
+    private record Rendered(MediaType contentType, byte[] identity, byte[] gzip, String etag, String gzipEtag) {
+    }
+
+    private final ShareCacheProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, Rendered> cache;
+    private final CacheControl cacheControl;
+
+    public SharePageCache(ShareCacheProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        this.cacheControl = CacheControl.maxAge(properties.getMaxAge()).cachePublic();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "share-page");
+    }
+
+    /**
+     * Serves the page for {@code shareId}, rendering it on a miss. A
+     * {@code render} that returns null yields an uncached 404; exceptions
+     * propagate and are not cached either.
+     */
+    public ResponseEntity<byte[]> respond(Kind kind, String shareId, HttpServletRequest request, Supplier<Page> render) {
+        Rendered rendered = cache.get(new Key(kind, shareId), key -> {
+            Page page = render.get();
+            return page == null ? null : render(page);
+        });
+        if (rendered == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        boolean gzip = rendered.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? rendered.gzipEtag() : rendered.etag();
+        if (notModified(request.getHeader(HttpHeaders.IF_NONE_MATCH), rendered)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(rendered.contentType())
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return builder.body(rendered.gzip());
+        }
+        return builder.body(rendered.identity());
+    }
+
+    /**
+     * {@link #respond} for a JSON body; {@code body} returning null yields a 404.
+     */
+    public ResponseEntity<byte[]> respondJson(Kind kind, String shareId, HttpServletRequest request, Supplier<?> body) {
+        return respond(kind, shareId, request, () -> {
+            Object value = body.get();
+            if (value == null) {
+                return null;
+            }
+            try {
+                return new Page(MediaType.APPLICATION_JSON, objectMapper.writeValueAsBytes(value));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Failed to serialize shared page", e);
+            }
+        });
+    }
+
+    /**
+     * Drops every page of {@code shareId}, now and again when the current
+     * transaction completes so a concurrent reader cannot re-cache the old
+     * state in between.
+     */
+    public void evict(String shareId) {
+        if (shareId == null) {
+            return;
+        }
+        invalidate(shareId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(shareId);
+                }
+            });
+        }
+    }
+
+    private void invalidate(String shareId) {
+        for (Kind kind : Kind.values()) {
+            cache.invalidate(new Key(kind, shareId));
+        }
+    }
+
+    private Rendered render(Page page) {
+        byte[] identity = page.body();
+        String tag = tag(identity);
+        byte[] gzip = identity.length >= properties.getMinGzipBytes() ? gzip(identity) : null;
+        return new Rendered(page.contentType(), identity, gzip, "\"" + tag + "\"", "\"" + tag + "-gzip\"");
+    }
+
+    private static boolean notModified(String ifNoneMatch, Rendered rendered) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(rendered.etag()) || tag.equals(rendered.gzipEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            if (!coding.equals("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            boolean rejected = Arrays.stream(tokens).skip(1)
+                    .map(String::trim)
+                    .anyMatch(param -> param.matches("(?i)q=0(\\.0*)?"));
+            return !rejected;
+        }
+        return false;
+    }
+
+    private static String tag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
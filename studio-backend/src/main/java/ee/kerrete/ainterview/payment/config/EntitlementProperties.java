@@ -0,0 +1,42 @@
+package ee.kerrete.ainterview.payment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Entitlement (effective tier) cache settings.
+ *
+ * Bound from `application.yml` with prefix: app.entitlements.*
+ */
+@ConfigurationProperties(prefix = "app.entitlements")
+public class EntitlementProperties {
+
+    /**
+     * Upper bound on cached users.
+     */
+    private long maxEntries = 50_000;
+
+    /**
+     * Longest time an entry is trusted. Entries of a subscription that ends
+     * sooner expire at subscriptionEndsAt instead; payment webhooks and the
+     * expiry job evict explicitly, so this only bounds changes made elsewhere.
+     */
+    private Duration maxTtl = Duration.ofMinutes(15);
+
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public Duration getMaxTtl() {
+        return maxTtl;
+    }
+
+    public void setMaxTtl(Duration maxTtl) {
+        this.maxTtl = maxTtl;
+    }
+}
@@ -0,0 +1,134 @@
+package ee.kerrete.ainterview.payment.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import ee.kerrete.ainterview.model.AppUser;
+import ee.kerrete.ainterview.model.UserTier;
+import ee.kerrete.ainterview.payment.config.EntitlementProperties;
+import ee.kerrete.ainterview.repository.AppUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Effective tier per user, cached so tier checks do not load the AppUser row
+ * on every request.
+ *
+ * An entry expires at the user's subscriptionEndsAt when that comes before
+ * app.entitlements.max-ttl, so a cancelled subscription drops to FREE on
+ * time. Code that changes tier or subscription state calls {@link #evict}.
+ */
+@Service
+public class EntitlementService {
+
+    private final AppUserRepository appUserRepository;
+    private final Cache<Long, Entitlement> cache;
+
+    public EntitlementService(AppUserRepository appUserRepository,
+                              EntitlementProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.appUserRepository = appUserRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfter(new Expiry<Long, Entitlement>() {
+                    @Override
+                    public long expireAfterCreate(Long key, Entitlement value, long currentTime) {
+                        return value.ttl(properties.getMaxTtl()).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long key, Entitlement value, long currentTime,
+                                                  long currentDuration) {
+                        return value.ttl(properties.getMaxTtl()).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long key, Entitlement value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "entitlements");
+    }
+
+    /**
+     * Effective tier of the user, or empty when the user does not exist.
+     */
+    public Optional<UserTier> effectiveTier(Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        Entitlement entitlement = cache.get(userId, id -> appUserRepository.findById(id)
+                .map(Entitlement::of)
+                .orElse(null));
+        return Optional.ofNullable(entitlement).map(Entitlement::tier);
+    }
+
+    /**
+     * Throws 404 for an unknown user and 403 when the effective tier is below
+     * {@code required}.
+     */
+    public void requireTier(Long userId, UserTier required) {
+        UserTier tier = effectiveTier(userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        if (!tier.isAtLeast(required)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, tierLabel(required) + " tier required");
+        }
+    }
+
+    /**
+     * Drops the cached entitlement now and, inside a transaction, again after
+     * commit so a concurrent request cannot re-cache the pre-commit state.
+     */
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    private static String tierLabel(UserTier tier) {
+        return switch (tier) {
+            case ARENA_PRO -> "Pro";
+            case STARTER -> "Starter";
+            case FREE -> "Free";
+        };
+    }
+
+    record Entitlement(UserTier tier, LocalDateTime subscriptionEndsAt) {
+
+        static Entitlement of(AppUser user) {
+            return new Entitlement(user.getEffectiveTier(), user.getSubscriptionEndsAt());
+        }
+
+        Duration ttl(Duration maxTtl) {
+            if (subscriptionEndsAt == null) {
+                return maxTtl;
+            }
+            Duration untilEnd = Duration.between(LocalDateTime.now(), subscriptionEndsAt);
+            if (untilEnd.isNegative() || untilEnd.isZero()) {
+                return maxTtl;
+            }
+            return untilEnd.compareTo(maxTtl) < 0 ? untilEnd : maxTtl;
+        }
+    }
+}
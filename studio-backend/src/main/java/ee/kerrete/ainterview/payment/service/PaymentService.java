@@ -37,6 +37,7 @@ public class PaymentService {
     private final AppUserRepository appUserRepository;
     private final ObjectMapper objectMapper;
     private final GeoService geoService;
+    private final EntitlementService entitlementService;
 
     public CheckoutResponse createCheckout(Long userId, CheckoutRequest request, String clientIp) {
         AppUser user = appUserRepository.findById(userId)
@@ -283,6 +284,7 @@ public class PaymentService {
             }
 
             appUserRepository.save(user);
+            entitlementService.evict(user.getId());
             log.info("User {} upgraded to {} via Stripe checkout ({})", userId, finalTier, finalPaymentType);
         });
     }
@@ -323,6 +325,7 @@ public class PaymentService {
             }
 
             appUserRepository.save(user);
+            entitlementService.evict(user.getId());
             log.info("Subscription {} updated: status={}, tier={}", subscriptionId, status, user.getTier());
         });
     }
@@ -338,6 +341,7 @@ public class PaymentService {
             user.setSubscriptionStatus(SubscriptionStatus.EXPIRED);
             user.setTier(UserTier.FREE);
             appUserRepository.save(user);
+            entitlementService.evict(user.getId());
             log.info("Subscription {} deleted, user {} downgraded to FREE", subscriptionId, user.getId());
         });
     }
@@ -353,6 +357,7 @@ public class PaymentService {
             appUserRepository.findBySubscriptionId(subscriptionId).ifPresent(user -> {
                 user.setSubscriptionStatus(SubscriptionStatus.PAST_DUE);
                 appUserRepository.save(user);
+                entitlementService.evict(user.getId());
                 log.warn("Payment failed for subscription {}, user {}", subscriptionId, user.getId());
             });
         }
@@ -17,6 +17,7 @@ import java.time.LocalDateTime;
 public class SubscriptionExpiryJob {
 
     private final AppUserRepository appUserRepository;
+    private final EntitlementService entitlementService;
 
     @Scheduled(cron = "0 0 3 * * *") // daily at 03:00
     @Transactional
@@ -27,6 +28,7 @@ public class SubscriptionExpiryJob {
             user.setTier(UserTier.FREE);
             user.setSubscriptionStatus(SubscriptionStatus.EXPIRED);
             appUserRepository.save(user);
+            entitlementService.evict(user.getId());
         }
         if (!expired.isEmpty()) {
             log.info("Expired {} Pro subscriptions", expired.size());
@@ -1,7 +1,7 @@
 package ee.kerrete.ainterview.pivot.api;
 
+import ee.kerrete.ainterview.pivot.dto.CandidateSearchPage;
 import ee.kerrete.ainterview.pivot.dto.CandidateSearchRequest;
-import ee.kerrete.ainterview.pivot.dto.CandidateSearchResult;
 import ee.kerrete.ainterview.pivot.dto.MarketplaceProfileResponse;
 import ee.kerrete.ainterview.pivot.dto.MarketplaceProfileUpdateRequest;
 import ee.kerrete.ainterview.pivot.service.CandidateSearchService;
@@ -20,8 +20,6 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 @RestController
 @RequestMapping({"/api/studio/marketplace", "/api/marketplace"})
 @Validated
@@ -50,7 +48,7 @@ public class MarketplaceController {
 
     @GetMapping("/candidates/search")
     @PreAuthorize("hasAnyRole('INTERVIEWER','ORG_ADMIN')")
-    public List<CandidateSearchResult> searchCandidates(@ModelAttribute CandidateSearchRequest request) {
+    public CandidateSearchPage searchCandidates(@ModelAttribute CandidateSearchRequest request) {
         return candidateSearchService.search(request);
     }
 }
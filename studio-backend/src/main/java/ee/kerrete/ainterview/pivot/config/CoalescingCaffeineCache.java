@@ -0,0 +1,55 @@
+package ee.kerrete.ainterview.pivot.config;
+
+import ee.kerrete.ainterview.support.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Caffeine-backed Spring cache whose misses on the {@code sync = true} path
+ * are coalesced by a {@link SingleFlight} instead of Caffeine's per-entry
+ * compute.
+ *
+ * Both keep one load per key, but a compute holds a lock on the hash bin for
+ * the whole remote call, which also stalls unrelated keys in that bin, and it
+ * cannot say how many callers were spared. Here the loader runs outside the
+ * map and its result is put afterwards; waiting callers are counted as
+ * {@code singleflight.calls{name=<cache>, result=coalesced}}.
+ */
+class CoalescingCaffeineCache extends CaffeineCache {
+
+    private final SingleFlight<Object, Object> loads;
+
+    CoalescingCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                            MeterRegistry meterRegistry) {
+        super(name, cache, true);
+        this.loads = new SingleFlight<>(name, meterRegistry);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // getIfPresent counts the hit or miss and triggers refresh-ahead on stale hits
+        Object stored = getNativeCache().getIfPresent(key);
+        if (stored == null) {
+            stored = loads.execute(key, () -> load(key, valueLoader));
+        }
+        return (T) fromStoreValue(stored);
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        // A caller that missed just before the previous load finished must not load again
+        Object stored = getNativeCache().policy().getIfPresentQuietly(key);
+        if (stored != null) {
+            return stored;
+        }
+        try {
+            stored = toStoreValue(valueLoader.call());
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        getNativeCache().put(key, stored);
+        return stored;
+    }
+}
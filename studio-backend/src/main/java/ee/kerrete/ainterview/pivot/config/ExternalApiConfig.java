@@ -3,12 +3,17 @@ package ee.kerrete.ainterview.pivot.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import ee.kerrete.ainterview.config.OutboundHttpConfig;
+import ee.kerrete.ainterview.config.OutboundHttpProperties;
+import ee.kerrete.ainterview.config.PerHostRequestLimiter;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.context.annotation.Primary;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+
 /**
  * Configuration for external API integrations (GitHub, Hacker News).
  */
@@ -16,12 +21,16 @@ import org.springframework.web.client.RestTemplate;
 @EnableCaching
 public class ExternalApiConfig {
 
+    /**
+     * Pooled transport for GitHub / Hacker News etc. Primary so the external
+     * services keep injecting a plain RestTemplate; AI clients ask for aiRestTemplate.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(5000);
-        factory.setReadTimeout(10000);
-        return new RestTemplate(factory);
+    @Primary
+    public RestTemplate restTemplate(HttpClient outboundHttpClient,
+                                     PerHostRequestLimiter limiter,
+                                     OutboundHttpProperties properties) {
+        return OutboundHttpConfig.pooledRestTemplate(outboundHttpClient, limiter, properties.getExternalReadTimeoutMs());
     }
 
     @Bean
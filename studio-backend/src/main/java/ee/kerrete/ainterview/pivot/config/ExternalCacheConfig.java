@@ -0,0 +1,70 @@
+package ee.kerrete.ainterview.pivot.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.AbstractCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collection;
+
+/**
+ * Bounded, expiring Caffeine caches for the {@code @Cacheable} pivot/external
+ * services (GitHub, Hacker News, company radar, job x-ray ...).
+ *
+ * Each cache records statistics; Spring Boot binds them to Micrometer, so they
+ * show up under /actuator/metrics as {@code cache.gets{cache=..., result=hit|miss}},
+ * {@code cache.evictions}, {@code cache.size} etc. Concurrent misses for the
+ * same key share one load, counted as {@code singleflight.calls{name=<cache>}}.
+ */
+@Configuration
+@EnableConfigurationProperties(ExternalCacheProperties.class)
+public class ExternalCacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(ExternalCacheProperties properties, MeterRegistry meterRegistry) {
+        return new ExternalCacheManager(properties, meterRegistry);
+    }
+
+    static Cache buildCache(String name, ExternalCacheProperties.Spec spec, Caffeine<Object, Object> builder,
+                            MeterRegistry meterRegistry) {
+        builder.maximumSize(spec.getMaxSize())
+                .expireAfterWrite(spec.getTtl())
+                .recordStats();
+        if (spec.getRefreshAfter() != null) {
+            builder.refreshAfterWrite(spec.getRefreshAfter());
+            return RefreshAheadCaffeineCache.create(name, builder, meterRegistry);
+        }
+        return new CoalescingCaffeineCache(name, builder.build(), meterRegistry);
+    }
+
+    /**
+     * Creates the configured caches up front (so their metrics are bound at
+     * startup) and any other requested cache lazily with the defaults.
+     */
+    static final class ExternalCacheManager extends AbstractCacheManager {
+
+        private final ExternalCacheProperties properties;
+        private final MeterRegistry meterRegistry;
+
+        ExternalCacheManager(ExternalCacheProperties properties, MeterRegistry meterRegistry) {
+            this.properties = properties;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        protected Collection<? extends Cache> loadCaches() {
+            return properties.getSpecs().entrySet().stream()
+                    .map(e -> buildCache(e.getKey(), e.getValue(), Caffeine.newBuilder(), meterRegistry))
+                    .toList();
+        }
+
+        @Override
+        protected Cache getMissingCache(String name) {
+            return buildCache(name, properties.getDefaults(), Caffeine.newBuilder(), meterRegistry);
+        }
+    }
+}
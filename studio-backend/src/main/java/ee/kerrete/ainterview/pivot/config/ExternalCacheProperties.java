@@ -0,0 +1,89 @@
+package ee.kerrete.ainterview.pivot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Spring cache settings for the pivot/external services.
+ *
+ * Bound from `application.yml` with prefix: app.cache.*
+ * Every cache is size-bounded and expires; caches without an entry under
+ * `specs` use `defaults`.
+ */
+@ConfigurationProperties(prefix = "app.cache")
+public class ExternalCacheProperties {
+
+    private Spec defaults = new Spec();
+
+    /**
+     * Per-cache settings keyed by cache name, e.g. github-profile.
+     */
+    private Map<String, Spec> specs = new HashMap<>();
+
+    public Spec specFor(String name) {
+        return specs.getOrDefault(name, defaults);
+    }
+
+    public Spec getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Spec defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Spec> getSpecs() {
+        return specs;
+    }
+
+    public void setSpecs(Map<String, Spec> specs) {
+        this.specs = specs;
+    }
+
+    public static class Spec {
+
+        /**
+         * Entries expire this long after they were written.
+         */
+        private Duration ttl = Duration.ofHours(1);
+
+        /**
+         * Upper bound on entries; least valuable entries are evicted first.
+         */
+        private long maxSize = 1_000;
+
+        /**
+         * When set, an entry read after this age is served as-is while it is
+         * reloaded in the background (refresh-ahead). Must be shorter than ttl;
+         * requires the caching method to use {@code @Cacheable(sync = true)}.
+         */
+        private Duration refreshAfter;
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getRefreshAfter() {
+            return refreshAfter;
+        }
+
+        public void setRefreshAfter(Duration refreshAfter) {
+            this.refreshAfter = refreshAfter;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package ee.kerrete.ainterview.pivot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Background Hacker News ingestion settings.
+ *
+ * Bound from `application.yml` with prefix: app.hn.ingest.*
+ * The refresher polls on its own schedule; user requests only read the
+ * in-memory index and never wait on the HN / Algolia APIs.
+ */
+@ConfigurationProperties(prefix = "app.hn.ingest")
+public class HackerNewsIngestProperties {
+
+    /**
+     * When false the index stays empty and the default signals are served.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Delay between the end of one poll and the start of the next
+     * (read by the @Scheduled trigger, listed here for documentation).
+     */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+    /**
+     * How many of the current top stories are kept in the index.
+     */
+    private int topStories = 100;
+
+    /**
+     * Item fetches running at the same time.
+     */
+    private int concurrency = 8;
+
+    /**
+     * Upper bound on item requests started per second.
+     */
+    private double maxRequestsPerSecond = 20;
+
+    /**
+     * Give up on the remaining item fetches of a poll after this long;
+     * they are retried on the next poll.
+     */
+    private Duration pollTimeout = Duration.ofSeconds(60);
+
+    private String apiBase = "https://hacker-news.firebaseio.com/v0";
+
+    private String searchApiBase = "https://hn.algolia.com/api/v1";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public int getTopStories() {
+        return topStories;
+    }
+
+    public void setTopStories(int topStories) {
+        this.topStories = topStories;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public double getMaxRequestsPerSecond() {
+        return maxRequestsPerSecond;
+    }
+
+    public void setMaxRequestsPerSecond(double maxRequestsPerSecond) {
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+    }
+
+    public Duration getPollTimeout() {
+        return pollTimeout;
+    }
+
+    public void setPollTimeout(Duration pollTimeout) {
+        this.pollTimeout = pollTimeout;
+    }
+
+    public String getApiBase() {
+        return apiBase;
+    }
+
+    public void setApiBase(String apiBase) {
+        this.apiBase = apiBase;
+    }
+
+    public String getSearchApiBase() {
+        return searchApiBase;
+    }
+
+    public void setSearchApiBase(String searchApiBase) {
+        this.searchApiBase = searchApiBase;
+    }
+}
@@ -0,0 +1,80 @@
+package ee.kerrete.ainterview.pivot.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.support.NullValue;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caffeine-backed Spring cache with refresh-ahead.
+ *
+ * Caffeine can only refresh through a CacheLoader, but a {@code @Cacheable}
+ * method is only known at call time. So every {@link #get(Object, Callable)}
+ * (the {@code sync = true} path) remembers its value loader per key, and the
+ * cache's loader replays it when Caffeine decides an entry is due for refresh.
+ * Remembered loaders are dropped together with their entries. Misses are
+ * coalesced as in {@link CoalescingCaffeineCache}.
+ */
+final class RefreshAheadCaffeineCache extends CoalescingCaffeineCache {
+
+    private final Map<Object, Callable<?>> loaders;
+
+    private RefreshAheadCaffeineCache(String name, LoadingCache<Object, Object> cache,
+                                      Map<Object, Callable<?>> loaders, MeterRegistry meterRegistry) {
+        super(name, cache, meterRegistry);
+        this.loaders = loaders;
+    }
+
+    static RefreshAheadCaffeineCache create(String name, Caffeine<Object, Object> builder, MeterRegistry meterRegistry) {
+        Map<Object, Callable<?>> loaders = new ConcurrentHashMap<>();
+        LoadingCache<Object, Object> cache = builder
+                .evictionListener((key, value, cause) -> loaders.remove(key))
+                .build(key -> {
+                    Callable<?> loader = loaders.get(key);
+                    if (loader == null) {
+                        return null;
+                    }
+                    Object value = loader.call();
+                    return value != null ? value : NullValue.INSTANCE;
+                });
+        return new RefreshAheadCaffeineCache(name, cache, loaders, meterRegistry);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        loaders.put(key, valueLoader);
+        return super.get(key, valueLoader);
+    }
+
+    @Override
+    public void evict(Object key) {
+        super.evict(key);
+        loaders.remove(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        loaders.remove(key);
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        loaders.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        loaders.clear();
+        return super.invalidate();
+    }
+
+    int rememberedLoaders() {
+        return loaders.size();
+    }
+}
@@ -0,0 +1,74 @@
+package ee.kerrete.ainterview.pivot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Risk analysis fan-out settings.
+ *
+ * Bound from `application.yml` with prefix: app.risk-analysis.*
+ * Every section of the analysis is computed concurrently; a section that misses
+ * its deadline is replaced with its default payload.
+ */
+@ConfigurationProperties(prefix = "app.risk-analysis")
+public class RiskAnalysisProperties {
+
+    /**
+     * Deadline for a section without its own entry in {@link #sectionTimeouts}.
+     */
+    private Duration sectionTimeout = Duration.ofSeconds(3);
+
+    /**
+     * Per-section overrides keyed by section name, e.g. marketSignals: 5s.
+     */
+    private Map<String, Duration> sectionTimeouts = new HashMap<>();
+
+    /**
+     * Worker threads shared by all in-flight analyses (platform threads only).
+     */
+    private int poolSize = 16;
+
+    /**
+     * Sections waiting for a worker; beyond this a section degrades immediately.
+     */
+    private int queueCapacity = 256;
+
+    public Duration timeoutFor(String section) {
+        return sectionTimeouts.getOrDefault(section, sectionTimeout);
+    }
+
+    public Duration getSectionTimeout() {
+        return sectionTimeout;
+    }
+
+    public void setSectionTimeout(Duration sectionTimeout) {
+        this.sectionTimeout = sectionTimeout;
+    }
+
+    public Map<String, Duration> getSectionTimeouts() {
+        return sectionTimeouts;
+    }
+
+    public void setSectionTimeouts(Map<String, Duration> sectionTimeouts) {
+        this.sectionTimeouts = sectionTimeouts;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+}
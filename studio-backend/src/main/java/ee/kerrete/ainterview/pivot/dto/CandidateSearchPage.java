@@ -0,0 +1,19 @@
+package ee.kerrete.ainterview.pivot.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One page of candidate search results. {@code hasNext} tells whether asking
+ * for {@code page + 1} returns more candidates.
+ */
+@Value
+@Builder
+public class CandidateSearchPage {
+    List<CandidateSearchResult> items;
+    int page;
+    int size;
+    boolean hasNext;
+}
@@ -9,5 +9,7 @@ public class CandidateSearchRequest {
     private Double minCareerRiskScore;
     private String location;
     private VisibilityLevel visibility;
+    private Integer page;  // 0-based, default 0
+    private Integer size;  // default 50, max 200
 }
 
@@ -0,0 +1,13 @@
+package ee.kerrete.ainterview.pivot.dto;
+
+import lombok.Builder;
+import lombok.Value;
+import java.util.List;
+
+@Value
+@Builder
+public class RiskAnalysisMetadataDto {
+    long totalMs;
+    boolean degraded; // true when at least one section fell back to its default payload
+    List<SectionTimingDto> sections;
+}
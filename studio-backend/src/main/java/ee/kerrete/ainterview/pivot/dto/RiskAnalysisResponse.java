@@ -16,4 +16,5 @@ public class RiskAnalysisResponse {
     List<MarketSignalDto> marketSignals;
     List<MarketMetricDto> marketMetrics;
     List<DisruptedRoleDto> disruptedRoles;
+    RiskAnalysisMetadataDto metadata;
 }
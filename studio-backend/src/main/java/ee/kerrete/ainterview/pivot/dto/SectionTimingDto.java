@@ -0,0 +1,12 @@
+package ee.kerrete.ainterview.pivot.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class SectionTimingDto {
+    String section;
+    long durationMs;
+    String status; // ok, timeout, error, rejected
+}
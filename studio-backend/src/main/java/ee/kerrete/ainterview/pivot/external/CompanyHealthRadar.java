@@ -79,7 +79,7 @@ public class CompanyHealthRadar {
                     List.of("Governance chaos", "Compute costs", "Competition rising"), 8))
     );
 
-    @Cacheable(value = "company-health", key = "#companyName")
+    @Cacheable(value = "company-health", key = "#companyName", sync = true)
     public CompanyHealthReport analyzeCompany(String companyName) {
         log.info("Analyzing health for company: {}", companyName);
 
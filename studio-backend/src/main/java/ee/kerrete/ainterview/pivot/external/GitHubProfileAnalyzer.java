@@ -38,7 +38,7 @@ public class GitHubProfileAnalyzer {
 
     private static final String GITHUB_API = "https://api.github.com";
 
-    @Cacheable(value = "github-profile", key = "#username")
+    @Cacheable(value = "github-profile", key = "#username", sync = true)
     public CareerDNA analyzeProfile(String username) {
         log.info("Analyzing GitHub profile for: {}", username);
 
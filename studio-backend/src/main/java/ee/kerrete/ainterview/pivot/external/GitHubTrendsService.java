@@ -27,7 +27,7 @@ public class GitHubTrendsService {
     /**
      * Get trending AI/ML repositories - indicates where AI capability is advancing
      */
-    @Cacheable(value = "github-ai-trends", key = "'ai-repos'")
+    @Cacheable(value = "github-ai-trends", key = "'ai-repos'", sync = true)
     public List<Map<String, Object>> getTrendingAIRepos() {
         try {
             String since = LocalDate.now().minusDays(30).format(DateTimeFormatter.ISO_DATE);
@@ -62,7 +62,7 @@ public class GitHubTrendsService {
     /**
      * Get language popularity trends - indicates skill demand shifts
      */
-    @Cacheable(value = "github-language-trends", key = "'languages'")
+    @Cacheable(value = "github-language-trends", key = "'languages'", sync = true)
     public Map<String, LanguageTrend> getLanguageTrends() {
         // GitHub doesn't have a direct language trends API, so we use repo search
         // to estimate language momentum
@@ -111,7 +111,7 @@ public class GitHubTrendsService {
     /**
      * Get AI code assistant adoption metrics - direct threat indicator
      */
-    @Cacheable(value = "github-ai-tools", key = "'ai-coding-tools'")
+    @Cacheable(value = "github-ai-tools", key = "'ai-coding-tools'", sync = true)
     public List<AIToolMetric> getAICodingToolMetrics() {
         List<AIToolMetric> metrics = new ArrayList<>();
 
@@ -1,12 +1,9 @@
 package ee.kerrete.ainterview.pivot.external;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -17,16 +14,16 @@ import java.util.stream.Collectors;
 /**
  * Fetches real-time tech industry signals from Hacker News.
  * Tracks: Layoff announcements, AI breakthroughs, hiring trends, company news.
+ *
+ * Reads from {@link HackerNewsStoryIndex}, which is refreshed in the background,
+ * so none of these methods block on the HN API.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class HackerNewsService {
 
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
-
-    private static final String HN_API_BASE = "https://hacker-news.firebaseio.com/v0";
+    private final HackerNewsStoryIndex storyIndex;
 
     // Patterns to detect relevant news
     private static final Pattern LAYOFF_PATTERN = Pattern.compile(
@@ -41,57 +38,28 @@ public class HackerNewsService {
     /**
      * Get recent layoff/job market signals from HN
      */
-    @Cacheable(value = "hn-signals", key = "'job-market'")
+    @Cacheable(value = "hn-signals", key = "'job-market'", sync = true)
     public List<MarketSignal> getJobMarketSignals() {
         List<MarketSignal> signals = new ArrayList<>();
 
-        try {
-            // Get top stories
-            String topStoriesUrl = HN_API_BASE + "/topstories.json";
-            Integer[] storyIds = restTemplate.getForObject(topStoriesUrl, Integer[].class);
-
-            if (storyIds == null) return getDefaultSignals();
-
-            // Analyze first 100 stories
-            int analyzed = 0;
-            for (int i = 0; i < Math.min(100, storyIds.length) && signals.size() < 15; i++) {
-                try {
-                    String storyUrl = HN_API_BASE + "/item/" + storyIds[i] + ".json";
-                    String response = restTemplate.getForObject(storyUrl, String.class);
-                    JsonNode story = objectMapper.readTree(response);
-
-                    if (story == null || !story.has("title")) continue;
-
-                    String title = story.get("title").asText();
-                    String url = story.has("url") ? story.get("url").asText() : "";
-                    int score = story.has("score") ? story.get("score").asInt() : 0;
-                    long time = story.has("time") ? story.get("time").asLong() : 0;
-
-                    // Categorize the story
-                    SignalType type = categorizeStory(title);
-                    if (type != null && score > 50) {
-                        signals.add(new MarketSignal(
-                            storyIds[i].toString(),
-                            type,
-                            title,
-                            "Hacker News",
-                            formatTimeAgo(time),
-                            calculateRelevance(score, time),
-                            extractCompanyMentions(title),
-                            url,
-                            score
-                        ));
-                    }
-
-                    analyzed++;
-                    if (analyzed % 10 == 0) Thread.sleep(50); // Rate limiting
-                } catch (Exception e) {
-                    log.trace("Error processing story {}: {}", storyIds[i], e.getMessage());
-                }
+        for (HackerNewsStoryIndex.Story story : storyIndex.topStories()) {
+            if (signals.size() >= 15) break;
+
+            // Categorize the story
+            SignalType type = categorizeStory(story.title());
+            if (type != null && story.score() > 50) {
+                signals.add(new MarketSignal(
+                    String.valueOf(story.id()),
+                    type,
+                    story.title(),
+                    "Hacker News",
+                    formatTimeAgo(story.time()),
+                    calculateRelevance(story.score(), story.time()),
+                    extractCompanyMentions(story.title()),
+                    story.url(),
+                    story.score()
+                ));
             }
-        } catch (Exception e) {
-            log.warn("Failed to fetch HN signals: {}", e.getMessage());
-            return getDefaultSignals();
         }
 
         return signals.isEmpty() ? getDefaultSignals() : signals;
@@ -100,33 +68,21 @@ public class HackerNewsService {
     /**
      * Get "Who's Hiring" thread data for real job market pulse
      */
-    @Cacheable(value = "hn-hiring", key = "'whos-hiring'")
+    @Cacheable(value = "hn-hiring", key = "'whos-hiring'", sync = true)
     public HiringPulse getHiringPulse() {
-        try {
-            // Search for recent "Who's Hiring" threads
-            String searchUrl = "https://hn.algolia.com/api/v1/search?query=who%20is%20hiring&tags=story&hitsPerPage=5";
-            String response = restTemplate.getForObject(searchUrl, String.class);
-            JsonNode root = objectMapper.readTree(response);
-            JsonNode hits = root.get("hits");
-
-            if (hits != null && hits.isArray() && hits.size() > 0) {
-                JsonNode latestThread = hits.get(0);
-                String threadTitle = latestThread.get("title").asText();
-                int numComments = latestThread.has("num_comments") ? latestThread.get("num_comments").asInt() : 0;
-                String objectId = latestThread.get("objectID").asText();
-
-                // Analyze job posting patterns from comments
-                Map<String, Integer> techMentions = analyzeJobPostings(objectId);
-
-                return new HiringPulse(
-                    threadTitle,
-                    numComments,
-                    techMentions,
-                    estimateTrend(numComments)
-                );
-            }
-        } catch (Exception e) {
-            log.warn("Failed to fetch hiring pulse: {}", e.getMessage());
+        List<HackerNewsStoryIndex.SearchHit> threads = storyIndex.hiringThreads();
+        if (!threads.isEmpty()) {
+            HackerNewsStoryIndex.SearchHit latestThread = threads.get(0);
+
+            // Analyze job posting patterns from comments
+            Map<String, Integer> techMentions = analyzeJobPostings(latestThread.objectId());
+
+            return new HiringPulse(
+                latestThread.title(),
+                latestThread.numComments(),
+                techMentions,
+                estimateTrend(latestThread.numComments())
+            );
         }
 
         return getDefaultHiringPulse();
@@ -135,38 +91,23 @@ public class HackerNewsService {
     /**
      * Get AI-specific news and developments
      */
-    @Cacheable(value = "hn-ai-news", key = "'ai-developments'")
+    @Cacheable(value = "hn-ai-news", key = "'ai-developments'", sync = true)
     public List<AIDevelopment> getAIDevelopments() {
         List<AIDevelopment> developments = new ArrayList<>();
 
-        try {
-            String searchUrl = "https://hn.algolia.com/api/v1/search?query=AI%20OR%20LLM%20OR%20GPT&tags=story&hitsPerPage=30";
-            String response = restTemplate.getForObject(searchUrl, String.class);
-            JsonNode root = objectMapper.readTree(response);
-            JsonNode hits = root.get("hits");
-
-            if (hits != null && hits.isArray()) {
-                for (JsonNode hit : hits) {
-                    String title = hit.get("title").asText();
-                    int points = hit.has("points") ? hit.get("points").asInt() : 0;
-                    String url = hit.has("url") ? hit.get("url").asText() : "";
-
-                    // Filter for high-impact AI news
-                    if (points > 100 && isSignificantAINews(title)) {
-                        developments.add(new AIDevelopment(
-                            title,
-                            categorizeAIImpact(title),
-                            points,
-                            url,
-                            extractAffectedRoles(title)
-                        ));
-                    }
-
-                    if (developments.size() >= 10) break;
-                }
+        for (HackerNewsStoryIndex.SearchHit hit : storyIndex.aiStories()) {
+            // Filter for high-impact AI news
+            if (hit.points() > 100 && isSignificantAINews(hit.title())) {
+                developments.add(new AIDevelopment(
+                    hit.title(),
+                    categorizeAIImpact(hit.title()),
+                    hit.points(),
+                    hit.url(),
+                    extractAffectedRoles(hit.title())
+                ));
             }
-        } catch (Exception e) {
-            log.warn("Failed to fetch AI developments: {}", e.getMessage());
+
+            if (developments.size() >= 10) break;
         }
 
         return developments.isEmpty() ? getDefaultAIDevelopments() : developments;
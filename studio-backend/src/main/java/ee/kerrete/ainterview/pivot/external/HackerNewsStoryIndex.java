@@ -0,0 +1,319 @@
+package ee.kerrete.ainterview.pivot.external;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.kerrete.ainterview.pivot.config.HackerNewsIngestProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.thread.Threading;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rolling in-memory index of Hacker News stories, kept warm by a scheduled poll.
+ *
+ * Each poll reads the top story ids, fetches only ids not already indexed
+ * (concurrently, paced to app.hn.ingest.max-requests-per-second) and drops
+ * stories that fell out of the top list. The two Algolia searches used for the
+ * hiring pulse and AI news are refreshed on the same poll. When anything changed
+ * the hn-* caches are cleared so {@link HackerNewsService} recomputes from the
+ * new snapshot. Readers never touch the network; before the first poll
+ * completes they see empty lists.
+ *
+ * The scheduled method only hands the poll to a dedicated hn-refresh thread,
+ * which may wait up to app.hn.ingest.poll-timeout on the item fetches, so the
+ * shared scheduler stays free for the other jobs. A poll still running when
+ * the next one is due is not doubled up.
+ */
+@Slf4j
+@Component
+public class HackerNewsStoryIndex {
+
+    static final List<String> DERIVED_CACHES = List.of("hn-signals", "hn-hiring", "hn-ai-news");
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final HackerNewsIngestProperties properties;
+    private final CacheManager cacheManager;
+    private final AsyncTaskExecutor executor;
+    private final ThreadPoolTaskExecutor refresher;
+    private final RequestPacer pacer;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private final Map<Integer, Story> stories = new ConcurrentHashMap<>();
+    private final Set<Integer> skipped = ConcurrentHashMap.newKeySet();
+    private volatile List<Integer> ranking = List.of();
+    private volatile List<SearchHit> hiringThreads = List.of();
+    private volatile List<SearchHit> aiStories = List.of();
+    private volatile Instant lastRefresh;
+
+    public HackerNewsStoryIndex(RestTemplate restTemplate,
+                                ObjectMapper objectMapper,
+                                HackerNewsIngestProperties properties,
+                                CacheManager cacheManager,
+                                Environment environment) {
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.cacheManager = cacheManager;
+        this.pacer = new RequestPacer(properties.getMaxRequestsPerSecond());
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("hn-ingest-");
+            virtual.setVirtualThreads(true);
+            virtual.setConcurrencyLimit(properties.getConcurrency());
+            executor = virtual;
+        } else {
+            ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+            pool.setThreadNamePrefix("hn-ingest-");
+            pool.setCorePoolSize(properties.getConcurrency());
+            pool.setMaxPoolSize(properties.getConcurrency());
+            pool.initialize();
+            executor = pool;
+        }
+        refresher = new ThreadPoolTaskExecutor();
+        refresher.setThreadNamePrefix("hn-refresh-");
+        refresher.setCorePoolSize(1);
+        refresher.setMaxPoolSize(1);
+        refresher.initialize();
+    }
+
+    /**
+     * Current top stories in HN ranking order (only ids fetched so far).
+     */
+    public List<Story> topStories() {
+        List<Story> result = new ArrayList<>();
+        for (Integer id : ranking) {
+            Story story = stories.get(id);
+            if (story != null) {
+                result.add(story);
+            }
+        }
+        return result;
+    }
+
+    public List<SearchHit> hiringThreads() {
+        return hiringThreads;
+    }
+
+    public List<SearchHit> aiStories() {
+        return aiStories;
+    }
+
+    public Instant lastRefresh() {
+        return lastRefresh;
+    }
+
+    @Scheduled(fixedDelayString = "${app.hn.ingest.refresh-interval:PT5M}",
+            initialDelayString = "${app.hn.ingest.initial-delay:PT5S}")
+    public void scheduleRefresh() {
+        triggerRefresh();
+    }
+
+    /**
+     * Starts {@link #refresh()} on the hn-refresh thread and returns at once;
+     * a no-op while the previous poll is still running.
+     */
+    CompletableFuture<Void> triggerRefresh() {
+        if (!properties.isEnabled() || !refreshing.compareAndSet(false, true)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            return refresher.submitCompletable(this::refresh).whenComplete((ignored, e) -> {
+                refreshing.set(false);
+                if (e != null) {
+                    log.warn("HN refresh failed: {}", e.getMessage());
+                }
+            });
+        } catch (TaskRejectedException e) {
+            refreshing.set(false); // shutting down
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * One full poll on the calling thread; blocks up to the poll timeout.
+     */
+    public void refresh() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        boolean changed = refreshStories();
+        changed |= refreshSearches();
+        lastRefresh = Instant.now();
+        if (changed) {
+            for (String name : DERIVED_CACHES) {
+                Cache cache = cacheManager.getCache(name);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+        }
+    }
+
+    private boolean refreshStories() {
+        Integer[] ids;
+        try {
+            ids = restTemplate.getForObject(properties.getApiBase() + "/topstories.json", Integer[].class);
+        } catch (Exception e) {
+            log.warn("Failed to fetch HN top stories: {}", e.getMessage());
+            return false;
+        }
+        if (ids == null) {
+            return false;
+        }
+
+        List<Integer> window = Arrays.stream(ids).limit(properties.getTopStories()).toList();
+        List<Integer> fresh = window.stream()
+                .filter(id -> !stories.containsKey(id) && !skipped.contains(id))
+                .toList();
+
+        List<CompletableFuture<Void>> fetches = fresh.stream()
+                .map(id -> CompletableFuture.runAsync(() -> fetchItem(id), executor))
+                .toList();
+        try {
+            CompletableFuture.allOf(fetches.toArray(CompletableFuture[]::new))
+                    .get(properties.getPollTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("HN poll timed out with {} of {} new items outstanding",
+                    fetches.stream().filter(f -> !f.isDone()).count(), fresh.size());
+        } catch (ExecutionException e) {
+            log.warn("HN poll failed: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Set<Integer> keep = new HashSet<>(window);
+        stories.keySet().retainAll(keep);
+        skipped.retainAll(keep);
+
+        boolean changed = !fresh.isEmpty() || !window.equals(ranking);
+        ranking = window;
+        log.debug("HN index refreshed: {} ranked, {} new ids, {} indexed", window.size(), fresh.size(), stories.size());
+        return changed;
+    }
+
+    private void fetchItem(int id) {
+        try {
+            pacer.acquire();
+            String response = restTemplate.getForObject(properties.getApiBase() + "/item/" + id + ".json", String.class);
+            JsonNode item = response == null ? null : objectMapper.readTree(response);
+            if (item == null || !item.has("title") || item.path("deleted").asBoolean() || item.path("dead").asBoolean()) {
+                skipped.add(id);
+                return;
+            }
+            stories.put(id, new Story(
+                    id,
+                    item.get("title").asText(),
+                    item.path("url").asText(""),
+                    item.path("score").asInt(0),
+                    item.path("time").asLong(0)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // not recorded, so the id is retried on the next poll
+            log.trace("Error fetching HN item {}: {}", id, e.getMessage());
+        }
+    }
+
+    private boolean refreshSearches() {
+        boolean changed = false;
+        List<SearchHit> hiring = search("who%20is%20hiring", 5);
+        if (hiring != null && !hiring.equals(hiringThreads)) {
+            hiringThreads = hiring;
+            changed = true;
+        }
+        List<SearchHit> ai = search("AI%20OR%20LLM%20OR%20GPT", 30);
+        if (ai != null && !ai.equals(aiStories)) {
+            aiStories = ai;
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * @return the hits, or {@code null} on failure so the previous snapshot is kept
+     */
+    private List<SearchHit> search(String query, int hitsPerPage) {
+        try {
+            String url = properties.getSearchApiBase() + "/search?query=" + query
+                    + "&tags=story&hitsPerPage=" + hitsPerPage;
+            String response = restTemplate.getForObject(url, String.class);
+            JsonNode hits = response == null ? null : objectMapper.readTree(response).get("hits");
+            if (hits == null || !hits.isArray()) {
+                return null;
+            }
+            List<SearchHit> result = new ArrayList<>(hits.size());
+            for (JsonNode hit : hits) {
+                if (!hit.hasNonNull("title")) {
+                    continue;
+                }
+                result.add(new SearchHit(
+                        hit.path("objectID").asText(""),
+                        hit.get("title").asText(),
+                        hit.path("points").asInt(0),
+                        hit.path("num_comments").asInt(0),
+                        hit.path("url").asText("")));
+            }
+            return List.copyOf(result);
+        } catch (Exception e) {
+            log.warn("Failed to search HN for {}: {}", query, e.getMessage());
+            return null;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws Exception {
+        refresher.destroy();
+        if (executor instanceof DisposableBean disposable) {
+            disposable.destroy();
+        } else if (executor instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    public record Story(int id, String title, String url, int score, long time) {}
+
+    public record SearchHit(String objectId, String title, int points, int numComments, String url) {}
+
+    /**
+     * Spaces request starts evenly: each caller reserves the next free slot and
+     * sleeps until it.
+     */
+    static final class RequestPacer {
+
+        private final long intervalNanos;
+        private final AtomicLong nextSlot = new AtomicLong(System.nanoTime());
+
+        RequestPacer(double perSecond) {
+            this.intervalNanos = perSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / perSecond) : 0;
+        }
+
+        void acquire() throws InterruptedException {
+            long now = System.nanoTime();
+            long previous = nextSlot.getAndAccumulate(now, (next, t) -> Math.max(next, t) + intervalNanos);
+            long wait = Math.max(previous, now) - now;
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        }
+    }
+}
@@ -72,7 +72,7 @@ public class JobPostingXRay {
             new EmergingSkill("Observability", "OpenTelemetry/Datadog", 78, "6 months", 80)
     );
 
-    @Cacheable(value = "job-xray", key = "#role")
+    @Cacheable(value = "job-xray", key = "#role", sync = true)
     public JobMarketXRay analyzeMarket(String role) {
         log.info("Analyzing job market for role: {}", role);
 
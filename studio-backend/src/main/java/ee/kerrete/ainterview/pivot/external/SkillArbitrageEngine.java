@@ -98,7 +98,7 @@ public class SkillArbitrageEngine {
                     List.of("Security", "AI/ML", "Compliance")))
     );
 
-    @Cacheable(value = "skill-arbitrage", key = "#currentSkills.hashCode()")
+    @Cacheable(value = "skill-arbitrage", key = "#currentSkills.hashCode()", sync = true)
     public ArbitrageReport analyzeOpportunities(List<String> currentSkills, String currentRole, int yearsExperience) {
         log.info("Analyzing skill arbitrage for {} skills, role: {}", currentSkills.size(), currentRole);
 
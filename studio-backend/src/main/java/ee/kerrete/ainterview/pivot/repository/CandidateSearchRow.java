@@ -0,0 +1,21 @@
+package ee.kerrete.ainterview.pivot.repository;
+
+import ee.kerrete.ainterview.pivot.enums.VisibilityLevel;
+
+/**
+ * One candidate as returned by {@link PivotMarketplaceProfileRepository#searchCandidates}:
+ * marketplace profile columns plus the latest role match and career risk score.
+ */
+public record CandidateSearchRow(
+        Long marketplaceProfileId,
+        Long profileId,
+        String headline,
+        String anonymizedLabel,
+        String locationPreference,
+        boolean openToInterview,
+        VisibilityLevel visibility,
+        String targetRole,
+        String jobseekerFullName,
+        Double matchScore,
+        Double careerRiskScore) {
+}
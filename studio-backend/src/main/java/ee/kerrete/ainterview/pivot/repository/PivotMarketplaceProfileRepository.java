@@ -2,7 +2,11 @@ package ee.kerrete.ainterview.pivot.repository;
 
 import ee.kerrete.ainterview.pivot.entity.PivotMarketplaceProfile;
 import ee.kerrete.ainterview.pivot.enums.VisibilityLevel;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Collection;
 import java.util.List;
@@ -13,5 +17,42 @@ public interface PivotMarketplaceProfileRepository extends JpaRepository<PivotMa
     Optional<PivotMarketplaceProfile> findByProfileId(Long profileId);
 
     List<PivotMarketplaceProfile> findByVisibilityIn(Collection<VisibilityLevel> visibilities);
-}
 
+    /**
+     * Candidate search in one round trip. Role/location are lower-case LIKE
+     * patterns (use "%" for no filter, escape with '\'). The latest role match
+     * and risk score per profile are picked by computed_at, ties broken by id;
+     * profiles without a score pass only when {@code minCareerRiskScore} is null.
+     * The slice reads one row past the page to tell whether another page follows.
+     */
+    @Query("""
+            SELECT new ee.kerrete.ainterview.pivot.repository.CandidateSearchRow(
+                mp.id, tp.id, mp.headline, mp.anonymizedLabel, mp.locationPreference, mp.openToInterview,
+                mp.visibility, tp.targetRole, u.fullName, rm.matchScore, rs.overallScore)
+            FROM PivotMarketplaceProfile mp
+            JOIN mp.profile tp
+            JOIN tp.jobseeker u
+            LEFT JOIN PivotRoleMatch rm ON rm.profile = tp
+            LEFT JOIN PivotCareerRiskScore rs ON rs.profile = tp
+            WHERE mp.visibility IN :visibilities
+              AND LOWER(COALESCE(tp.targetRole, '')) LIKE :rolePattern ESCAPE '\\'
+              AND LOWER(COALESCE(mp.locationPreference, '')) LIKE :locationPattern ESCAPE '\\'
+              AND (rm IS NULL OR NOT EXISTS (
+                    SELECT 1 FROM PivotRoleMatch newer
+                    WHERE newer.profile = tp
+                      AND (newer.computedAt > rm.computedAt
+                           OR (newer.computedAt = rm.computedAt AND newer.id > rm.id))))
+              AND (rs IS NULL OR NOT EXISTS (
+                    SELECT 1 FROM PivotCareerRiskScore newer
+                    WHERE newer.profile = tp
+                      AND (newer.computedAt > rs.computedAt
+                           OR (newer.computedAt = rs.computedAt AND newer.id > rs.id))))
+              AND (:minCareerRiskScore IS NULL OR rs.overallScore >= :minCareerRiskScore)
+            ORDER BY rs.overallScore DESC NULLS LAST, mp.id
+            """)
+    Slice<CandidateSearchRow> searchCandidates(@Param("visibilities") Collection<VisibilityLevel> visibilities,
+                                               @Param("rolePattern") String rolePattern,
+                                               @Param("locationPattern") String locationPattern,
+                                               @Param("minCareerRiskScore") Double minCareerRiskScore,
+                                               Pageable page);
+}
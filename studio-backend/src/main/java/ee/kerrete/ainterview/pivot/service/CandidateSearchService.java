@@ -1,34 +1,38 @@
 package ee.kerrete.ainterview.pivot.service;
 
+import ee.kerrete.ainterview.pivot.dto.CandidateSearchPage;
 import ee.kerrete.ainterview.pivot.dto.CandidateSearchRequest;
 import ee.kerrete.ainterview.pivot.dto.CandidateSearchResult;
-import ee.kerrete.ainterview.pivot.entity.PivotMarketplaceProfile;
-import ee.kerrete.ainterview.pivot.entity.PivotRoleMatch;
-import ee.kerrete.ainterview.pivot.entity.TransitionProfile;
 import ee.kerrete.ainterview.pivot.enums.VisibilityLevel;
-import ee.kerrete.ainterview.pivot.repository.PivotCareerRiskScoreRepository;
+import ee.kerrete.ainterview.pivot.repository.CandidateSearchRow;
 import ee.kerrete.ainterview.pivot.repository.PivotMarketplaceProfileRepository;
-import ee.kerrete.ainterview.pivot.repository.PivotRoleMatchRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.util.List;
 import java.util.Locale;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CandidateSearchService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
     private final PivotMarketplaceProfileRepository marketplaceProfileRepository;
-    private final PivotRoleMatchRepository roleMatchRepository;
-    private final PivotCareerRiskScoreRepository careerRiskScoreRepository;
 
+    /**
+     * Filters, the min-risk threshold, ordering (risk desc, nulls last) and
+     * paging all run in a single query; see
+     * {@link PivotMarketplaceProfileRepository#searchCandidates}. The page
+     * says whether another one follows, so clients know when to stop.
+     */
     @Transactional(readOnly = true)
-    public List<CandidateSearchResult> search(CandidateSearchRequest request) {
+    public CandidateSearchPage search(CandidateSearchRequest request) {
         VisibilityLevel requested = request.getVisibility();
         List<VisibilityLevel> visibilityFilter;
         if (requested == null || requested == VisibilityLevel.OFF) {
@@ -37,85 +41,63 @@ public class CandidateSearchService {
             visibilityFilter = List.of(requested);
         }
 
-        List<PivotMarketplaceProfile> candidates = marketplaceProfileRepository.findByVisibilityIn(visibilityFilter);
-
-        return candidates.stream()
-            .filter(profile -> filterByRole(profile.getProfile(), request.getTargetRole()))
-            .filter(profile -> filterByLocation(profile, request.getLocation()))
-            .map(profile -> toResult(profile, request.getMinCareerRiskScore()))
-            .flatMap(Optional::stream)
-            .sorted(this::compareByScoreDescNullsLast)
-            .collect(Collectors.toList());
-    }
-
-    private boolean filterByRole(TransitionProfile profile, String requestedRole) {
-        if (!StringUtils.hasText(requestedRole)) {
-            return true;
-        }
-        String target = profile.getTargetRole() != null ? profile.getTargetRole().toLowerCase(Locale.ROOT) : "";
-        return target.contains(requestedRole.toLowerCase(Locale.ROOT));
+        int page = request.getPage() != null ? Math.max(0, request.getPage()) : 0;
+        int size = request.getSize() != null
+            ? Math.min(MAX_PAGE_SIZE, Math.max(1, request.getSize()))
+            : DEFAULT_PAGE_SIZE;
+
+        Slice<CandidateSearchRow> rows = marketplaceProfileRepository.searchCandidates(
+            visibilityFilter,
+            containsPattern(request.getTargetRole()),
+            containsPattern(request.getLocation()),
+            request.getMinCareerRiskScore(),
+            PageRequest.of(page, size));
+
+        return CandidateSearchPage.builder()
+            .items(rows.stream().map(this::toResult).toList())
+            .page(page)
+            .size(size)
+            .hasNext(rows.hasNext())
+            .build();
     }
 
-    private boolean filterByLocation(PivotMarketplaceProfile profile, String requestedLocation) {
-        if (!StringUtils.hasText(requestedLocation)) {
-            return true;
+    /**
+     * Case-insensitive "contains" as a LIKE pattern, with LIKE wildcards in the
+     * user input escaped.
+     */
+    static String containsPattern(String value) {
+        if (!StringUtils.hasText(value)) {
+            return "%";
         }
-        String location = profile.getLocationPreference() != null
-            ? profile.getLocationPreference().toLowerCase(Locale.ROOT)
-            : "";
-        return location.contains(requestedLocation.toLowerCase(Locale.ROOT));
+        String escaped = value.toLowerCase(Locale.ROOT)
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+        return "%" + escaped + "%";
     }
 
-    private Optional<CandidateSearchResult> toResult(PivotMarketplaceProfile profile, Double minCareerRiskScoreVal) {
-        TransitionProfile transitionProfile = profile.getProfile();
-        PivotRoleMatch lastMatch = roleMatchRepository.findTopByProfileOrderByComputedAtDesc(transitionProfile).orElse(null);
-        Double latestCareerRisk = careerRiskScoreRepository.findTopByProfileOrderByComputedAtDesc(transitionProfile)
-            .map(score -> score.getOverallScore())
-            .orElse(null);
-
-        if (minCareerRiskScoreVal != null && (latestCareerRisk == null || latestCareerRisk < minCareerRiskScoreVal)) {
-            return Optional.empty();
-        }
-
-        String displayName = profile.getVisibility().allowsIdentifiedView()
-            ? transitionProfile.getJobseeker().getFullName()
-            : defaultAnonLabel(profile);
+    private CandidateSearchResult toResult(CandidateSearchRow row) {
+        String displayName = row.visibility().allowsIdentifiedView()
+            ? row.jobseekerFullName()
+            : defaultAnonLabel(row);
 
-        CandidateSearchResult result = CandidateSearchResult.builder()
-            .profileId(transitionProfile.getId())
+        return CandidateSearchResult.builder()
+            .profileId(row.profileId())
             .displayName(displayName)
-            .headline(profile.getHeadline())
-            .targetRole(transitionProfile.getTargetRole())
-            .visibility(profile.getVisibility())
-            .matchScore(lastMatch != null ? lastMatch.getMatchScore() : null)
-            .careerRiskScore(latestCareerRisk)
-            .locationPreference(profile.getLocationPreference())
-            .openToInterview(profile.isOpenToInterview())
+            .headline(row.headline())
+            .targetRole(row.targetRole())
+            .visibility(row.visibility())
+            .matchScore(row.matchScore())
+            .careerRiskScore(row.careerRiskScore())
+            .locationPreference(row.locationPreference())
+            .openToInterview(row.openToInterview())
             .build();
-
-        return Optional.of(result);
-    }
-
-    private int compareByScoreDescNullsLast(CandidateSearchResult left, CandidateSearchResult right) {
-        Double l = left.getCareerRiskScore();
-        Double r = right.getCareerRiskScore();
-        if (l == null && r == null) {
-            return 0;
-        }
-        if (l == null) {
-            return 1;
-        }
-        if (r == null) {
-            return -1;
-        }
-        return Double.compare(r, l);
     }
 
-    private String defaultAnonLabel(PivotMarketplaceProfile profile) {
-        if (StringUtils.hasText(profile.getAnonymizedLabel())) {
-            return profile.getAnonymizedLabel();
+    private String defaultAnonLabel(CandidateSearchRow row) {
+        if (StringUtils.hasText(row.anonymizedLabel())) {
+            return row.anonymizedLabel();
         }
-        return "Candidate-" + profile.getId();
+        return "Candidate-" + row.marketplaceProfileId();
     }
 }
-
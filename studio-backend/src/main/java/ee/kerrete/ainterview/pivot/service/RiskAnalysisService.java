@@ -5,12 +5,26 @@ import ee.kerrete.ainterview.pivot.external.EstonianJobMarketService;
 import ee.kerrete.ainterview.pivot.external.GitHubTrendsService;
 import ee.kerrete.ainterview.pivot.external.HackerNewsService;
 import ee.kerrete.ainterview.pivot.external.ONetAutomationService;
-import lombok.RequiredArgsConstructor;
+import ee.kerrete.ainterview.pivot.config.RiskAnalysisProperties;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
 import java.time.Year;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -28,30 +42,155 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class RiskAnalysisService {
 
     private final ONetAutomationService onetService;
     private final GitHubTrendsService githubService;
     private final HackerNewsService hnService;
     private final EstonianJobMarketService estonianJobMarketService;
+    private final RiskAnalysisProperties properties;
+    private final Executor executor;
+
+    public RiskAnalysisService(ONetAutomationService onetService,
+                               GitHubTrendsService githubService,
+                               HackerNewsService hnService,
+                               EstonianJobMarketService estonianJobMarketService,
+                               RiskAnalysisProperties properties,
+                               Environment environment) {
+        this(onetService, githubService, hnService, estonianJobMarketService, properties,
+                sectionExecutor(properties, environment));
+    }
+
+    RiskAnalysisService(ONetAutomationService onetService,
+                        GitHubTrendsService githubService,
+                        HackerNewsService hnService,
+                        EstonianJobMarketService estonianJobMarketService,
+                        RiskAnalysisProperties properties,
+                        Executor executor) {
+        this.onetService = onetService;
+        this.githubService = githubService;
+        this.hnService = hnService;
+        this.estonianJobMarketService = estonianJobMarketService;
+        this.properties = properties;
+        this.executor = executor;
+    }
+
+    /**
+     * Bounded so a burst of analyses cannot pile unbounded work onto the external
+     * APIs; sections rejected here fall back to their default payload.
+     */
+    private static AsyncTaskExecutor sectionExecutor(RiskAnalysisProperties properties, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("risk-analysis-");
+            virtual.setVirtualThreads(true);
+            virtual.setConcurrencyLimit(properties.getPoolSize() + properties.getQueueCapacity());
+            return virtual;
+        }
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setThreadNamePrefix("risk-analysis-");
+        pool.setCorePoolSize(properties.getPoolSize());
+        pool.setMaxPoolSize(properties.getPoolSize());
+        pool.setQueueCapacity(properties.getQueueCapacity());
+        pool.initialize();
+        return pool;
+    }
 
+    /**
+     * Computes all sections concurrently. Each section has its own deadline
+     * (app.risk-analysis.section-timeout[s]); a section that times out or fails
+     * is returned as an empty list and marked in {@code metadata.sections}, so
+     * the response takes as long as the slowest section rather than the sum.
+     * A timed-out section keeps running in the background and still warms the
+     * external service caches for the next request.
+     */
     public RiskAnalysisResponse getAnalysisForSession(String sessionId, String currentRole) {
         log.info("Generating risk analysis for session {} with role {}", sessionId, currentRole);
-
-        return RiskAnalysisResponse.builder()
-                .threatVectors(generateThreatVectors(currentRole))
-                .skillMatrix(generateSkillMatrix(currentRole))
-                .vitalSigns(generateVitalSigns(currentRole))
-                .aiMilestones(generateAIMilestones(currentRole))
-                .scenarios(generateScenarios(currentRole))
-                .skillDecay(generateSkillDecay(currentRole))
-                .marketSignals(generateMarketSignals(currentRole))
-                .marketMetrics(generateMarketMetrics())
-                .disruptedRoles(generateDisruptedRoles())
+        long start = System.nanoTime();
+
+        var threatVectors = section("threatVectors", () -> generateThreatVectors(currentRole));
+        var skillMatrix = section("skillMatrix", () -> generateSkillMatrix(currentRole));
+        var vitalSigns = section("vitalSigns", () -> generateVitalSigns(currentRole));
+        var aiMilestones = section("aiMilestones", () -> generateAIMilestones(currentRole));
+        var scenarios = section("scenarios", () -> generateScenarios(currentRole));
+        var skillDecay = section("skillDecay", () -> generateSkillDecay(currentRole));
+        var marketSignals = section("marketSignals", () -> generateMarketSignals(currentRole));
+        var marketMetrics = section("marketMetrics", this::generateMarketMetrics);
+        var disruptedRoles = section("disruptedRoles", this::generateDisruptedRoles);
+
+        List<SectionTimingDto> timings = new ArrayList<>();
+        RiskAnalysisResponse.RiskAnalysisResponseBuilder response = RiskAnalysisResponse.builder()
+                .threatVectors(await(threatVectors, timings))
+                .skillMatrix(await(skillMatrix, timings))
+                .vitalSigns(await(vitalSigns, timings))
+                .aiMilestones(await(aiMilestones, timings))
+                .scenarios(await(scenarios, timings))
+                .skillDecay(await(skillDecay, timings))
+                .marketSignals(await(marketSignals, timings))
+                .marketMetrics(await(marketMetrics, timings))
+                .disruptedRoles(await(disruptedRoles, timings));
+
+        boolean degraded = timings.stream().anyMatch(t -> !"ok".equals(t.getStatus()));
+        if (degraded) {
+            log.warn("Risk analysis for session {} degraded: {}", sessionId, timings);
+        }
+        return response
+                .metadata(RiskAnalysisMetadataDto.builder()
+                        .totalMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                        .degraded(degraded)
+                        .sections(timings)
+                        .build())
                 .build();
     }
 
+    private <T> CompletableFuture<SectionResult<T>> section(String name, Supplier<List<T>> generator) {
+        long start = System.nanoTime();
+        CompletableFuture<List<T>> work;
+        try {
+            work = CompletableFuture.supplyAsync(generator, executor);
+        } catch (RejectedExecutionException e) {
+            work = CompletableFuture.failedFuture(e);
+        }
+        return work
+                .orTimeout(properties.timeoutFor(name).toMillis(), TimeUnit.MILLISECONDS)
+                .handle((value, error) -> {
+                    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    if (error == null) {
+                        return new SectionResult<>(value, timing(name, elapsedMs, "ok"));
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    String status = cause instanceof TimeoutException ? "timeout"
+                            : cause instanceof RejectedExecutionException ? "rejected"
+                            : "error";
+                    if ("error".equals(status)) {
+                        log.warn("Risk analysis section {} failed: {}", name, cause.getMessage());
+                    }
+                    return new SectionResult<>(List.<T>of(), timing(name, elapsedMs, status));
+                });
+    }
+
+    private static <T> List<T> await(CompletableFuture<SectionResult<T>> section, List<SectionTimingDto> timings) {
+        SectionResult<T> result = section.join();
+        timings.add(result.timing());
+        return result.value();
+    }
+
+    private static SectionTimingDto timing(String section, long durationMs, String status) {
+        return SectionTimingDto.builder().section(section).durationMs(durationMs).status(status).build();
+    }
+
+    private record SectionResult<T>(List<T> value, SectionTimingDto timing) {
+    }
+
+    @PreDestroy
+    void shutdown() throws Exception {
+        if (executor instanceof DisposableBean disposable) {
+            disposable.destroy();
+        } else if (executor instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
     // Public API methods for individual endpoints
     public List<ThreatVectorDto> getThreatVectors(String sessionId, String role) {
         return generateThreatVectors(role);
@@ -0,0 +1,259 @@
+package ee.kerrete.ainterview.prompt;
+
+import ee.kerrete.ainterview.config.PromptProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Every prompt and spec resource, read once at startup.
+ *
+ * - prompts/** → {@link PromptTemplate}, named by path below prompts/ without
+ *   the .txt extension, e.g. {@code arena/cover-letter.user}
+ * - spec/**    → {@link Document}, named by path below spec/, e.g.
+ *   {@code question-bank-seed-v1.json}
+ *
+ * Both carry a version: the first 12 hex chars of the SHA-256 of the text,
+ * usable in cache keys that must change with the prompt.
+ *
+ * With app.prompts.watch-dir set (dev), the files are read from that
+ * directory instead of the classpath and re-read when they change; a
+ * template that no longer compiles keeps its previous version. Callers look
+ * templates up per use rather than keeping them, so a reload takes effect on
+ * the next request. An empty read is taken for a save in progress and
+ * ignored, so a watched file cannot be emptied at runtime.
+ */
+@Component
+@Slf4j
+public class PromptRegistry {
+
+    static final String PROMPTS = "prompts";
+    static final String SPEC = "spec";
+    private static final String PROMPT_EXTENSION = ".txt";
+
+    /**
+     * A spec resource as loaded; immutable.
+     */
+    public record Document(String name, String version, String text) {
+    }
+
+    private final PromptProperties properties;
+    private final Map<String, PromptTemplate> templates = new ConcurrentHashMap<>();
+    private final Map<String, Document> documents = new ConcurrentHashMap<>();
+    private volatile WatchService watchService;
+
+    public PromptRegistry(PromptProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * A registry loaded from the classpath without a Spring context, for
+     * tests and tools.
+     */
+    public static PromptRegistry fromClasspath() {
+        PromptRegistry registry = new PromptRegistry(new PromptProperties());
+        try {
+            registry.load();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load prompts", e);
+        }
+        return registry;
+    }
+
+    @PostConstruct
+    void load() throws IOException {
+        Path dir = watchDir();
+        if (dir != null) {
+            loadDirectory(dir);
+            watch(dir);
+        } else {
+            loadClasspath();
+        }
+        log.info("Prompt registry loaded {} templates and {} spec documents{}", templates.size(), documents.size(),
+                dir != null ? " from " + dir + " (watching)" : "");
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        WatchService watcher = watchService;
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException when there is no such prompt; prompt
+     *         names are fixed in code, a missing one is a packaging error
+     */
+    public PromptTemplate template(String name) {
+        PromptTemplate template = templates.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown prompt " + name);
+        }
+        return template;
+    }
+
+    public Optional<Document> spec(String name) {
+        return Optional.ofNullable(documents.get(name));
+    }
+
+    private void loadClasspath() throws IOException {
+        ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(getClass().getClassLoader());
+        for (String root : new String[] {PROMPTS, SPEC}) {
+            String marker = "/" + root + "/";
+            for (Resource resource : resolver.getResources("classpath*:" + root + "/**/*")) {
+                if (!resource.isReadable()) {
+                    continue; // directories
+                }
+                String url = resource.getURL().toString();
+                int at = url.lastIndexOf(marker);
+                if (at < 0) {
+                    continue;
+                }
+                try (InputStream in = resource.getInputStream()) {
+                    put(root, url.substring(at + marker.length()), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+        }
+    }
+
+    private void loadDirectory(Path dir) throws IOException {
+        for (String root : new String[] {PROMPTS, SPEC}) {
+            Path base = dir.resolve(root);
+            if (!Files.isDirectory(base)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(base)) {
+                for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                    put(root, relative(base, file), Files.readString(file));
+                }
+            }
+        }
+    }
+
+    private void put(String root, String path, String text) {
+        String version = version(text);
+        if (PROMPTS.equals(root)) {
+            String name = path.endsWith(PROMPT_EXTENSION)
+                    ? path.substring(0, path.length() - PROMPT_EXTENSION.length())
+                    : path;
+            templates.put(name, PromptTemplate.compile(name, version, text));
+        } else {
+            documents.put(path, new Document(path, version, text));
+        }
+    }
+
+    private Path watchDir() {
+        if (!StringUtils.hasText(properties.getWatchDir())) {
+            return null;
+        }
+        Path dir = Path.of(properties.getWatchDir()).toAbsolutePath().normalize();
+        if (!Files.isDirectory(dir)) {
+            log.warn("app.prompts.watch-dir {} is not a directory, using the classpath", dir);
+            return null;
+        }
+        return dir;
+    }
+
+    private void watch(Path dir) throws IOException {
+        WatchService watcher = FileSystems.getDefault().newWatchService();
+        for (String root : new String[] {PROMPTS, SPEC}) {
+            Path base = dir.resolve(root);
+            if (Files.isDirectory(base)) {
+                register(watcher, base);
+            }
+        }
+        watchService = watcher;
+        Thread thread = new Thread(() -> pollChanges(dir, watcher), "prompt-registry-watch");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void register(WatchService watcher, Path base) throws IOException {
+        try (Stream<Path> dirs = Files.walk(base)) {
+            for (Path sub : (Iterable<Path>) dirs.filter(Files::isDirectory)::iterator) {
+                sub.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        }
+    }
+
+    private void pollChanges(Path dir, WatchService watcher) {
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                Path parent = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context() instanceof Path changed) {
+                        reload(dir, watcher, parent.resolve(changed));
+                    }
+                }
+                key.reset();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // shutting down
+        }
+    }
+
+    private void reload(Path dir, WatchService watcher, Path file) {
+        try {
+            String root = dir.relativize(file).getName(0).toString();
+            Path base = dir.resolve(root);
+            if (Files.isDirectory(file)) {
+                register(watcher, file);
+                return;
+            }
+            if (!Files.isRegularFile(file)) {
+                return;
+            }
+            String text = Files.readString(file);
+            if (text.isEmpty()) {
+                // Editors truncate before writing; the write itself sends another event
+                log.debug("Skipping empty read of {}", file);
+                return;
+            }
+            put(root, relative(base, file), text);
+            log.info("Reloaded {}/{}", root, relative(base, file));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Keeping previous version of {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static String relative(Path base, Path file) {
+        return base.relativize(file).toString().replace('\\', '/');
+    }
+
+    static String version(String text) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
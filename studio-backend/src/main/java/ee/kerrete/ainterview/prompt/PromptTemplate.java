@@ -0,0 +1,228 @@
+package ee.kerrete.ainterview.prompt;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A prompt split once into literal text and placeholders.
+ *
+ * Placeholders are written {@code {{name}}} or {@code {{name:type}}}, type
+ * being {@code text} (default, any value via {@link String#valueOf}),
+ * {@code int} (a {@link Number}) or {@code list} (a {@link Collection}, joined
+ * with ", "). Single braces, as in the JSON examples of system prompts, are
+ * plain text. A name may occur more than once.
+ *
+ * Rendering sizes one StringBuilder up front and appends the literals and
+ * values into it; a template without placeholders returns its text as is.
+ * Instances are immutable and shared; {@link #version()} is a hash of the
+ * source and changes whenever the text does.
+ */
+public final class PromptTemplate {
+
+    public enum Type {
+        TEXT, INT, LIST
+    }
+
+    private final String name;
+    private final String version;
+    private final String source;
+    /** Literal before placeholder i; one more literal than placeholders. */
+    private final String[] literals;
+    /** Slot of the value for placeholder i. */
+    private final int[] slots;
+    private final Map<String, Integer> slotByName;
+    private final Type[] slotTypes;
+    private final int literalLength;
+
+    private PromptTemplate(String name, String version, String source, List<String> literals, List<Integer> slots,
+                           Map<String, Integer> slotByName, List<Type> slotTypes) {
+        this.name = name;
+        this.version = version;
+        this.source = source;
+        this.literals = literals.toArray(String[]::new);
+        this.slots = slots.stream().mapToInt(Integer::intValue).toArray();
+        this.slotByName = Collections.unmodifiableMap(new LinkedHashMap<>(slotByName));
+        this.slotTypes = slotTypes.toArray(Type[]::new);
+        this.literalLength = literals.stream().mapToInt(String::length).sum();
+    }
+
+    /**
+     * Tokenizes {@code source}; fails on an unterminated or malformed
+     * placeholder, or a name used with two different types.
+     */
+    public static PromptTemplate compile(String name, String version, String source) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        Map<String, Integer> slotByName = new LinkedHashMap<>();
+        List<Type> slotTypes = new ArrayList<>();
+
+        int from = 0;
+        int open = source.indexOf("{{", from);
+        while (open >= 0) {
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalArgumentException("Prompt " + name + ": unterminated placeholder at " + open);
+            }
+            String spec = source.substring(open + 2, close).trim();
+            int colon = spec.indexOf(':');
+            String placeholder = colon < 0 ? spec : spec.substring(0, colon).trim();
+            Type type = colon < 0 ? Type.TEXT : parseType(name, spec.substring(colon + 1).trim());
+            if (!isIdentifier(placeholder)) {
+                throw new IllegalArgumentException("Prompt " + name + ": invalid placeholder {{" + spec + "}}");
+            }
+            Integer slot = slotByName.get(placeholder);
+            if (slot == null) {
+                slot = slotTypes.size();
+                slotByName.put(placeholder, slot);
+                slotTypes.add(type);
+            } else if (colon >= 0 && slotTypes.get(slot) != type) {
+                throw new IllegalArgumentException("Prompt " + name + ": {{" + placeholder + "}} used with two types");
+            }
+            literals.add(source.substring(from, open));
+            slots.add(slot);
+            from = close + 2;
+            open = source.indexOf("{{", from);
+        }
+        literals.add(source.substring(from));
+        return new PromptTemplate(name, version, source, literals, slots, slotByName, slotTypes);
+    }
+
+    private static Type parseType(String name, String type) {
+        try {
+            return Type.valueOf(type.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Prompt " + name + ": unknown placeholder type " + type);
+        }
+    }
+
+    private static boolean isIdentifier(String s) {
+        if (s.isEmpty() || !Character.isJavaIdentifierStart(s.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < s.length(); i++) {
+            if (!Character.isJavaIdentifierPart(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String version() {
+        return version;
+    }
+
+    public String source() {
+        return source;
+    }
+
+    /** Placeholder names in order of first use. */
+    public Set<String> placeholders() {
+        return slotByName.keySet();
+    }
+
+    public Binding bind() {
+        return new Binding();
+    }
+
+    /**
+     * Renders with every placeholder taken from {@code values}; extra keys
+     * are an error too, they usually mean a renamed placeholder.
+     */
+    public String render(Map<String, ?> values) {
+        Binding binding = bind();
+        values.forEach(binding::set);
+        return binding.render();
+    }
+
+    @Override
+    public String toString() {
+        return name + "@" + version;
+    }
+
+    /**
+     * Values for one rendering; not thread-safe, use one per call.
+     */
+    public final class Binding {
+
+        private final String[] values = new String[slotTypes.length];
+
+        private Binding() {
+        }
+
+        public Binding set(String placeholder, Object value) {
+            Integer slot = slotByName.get(placeholder);
+            if (slot == null) {
+                throw new IllegalArgumentException("Prompt " + name + " has no placeholder {{" + placeholder + "}}");
+            }
+            values[slot] = format(placeholder, slotTypes[slot], value);
+            return this;
+        }
+
+        public String render() {
+            if (values.length == 0) {
+                return literals[0];
+            }
+            int length = literalLength;
+            for (int slot = 0; slot < values.length; slot++) {
+                if (values[slot] == null) {
+                    throw new IllegalStateException("Prompt " + name + ": no value for {{" + nameOf(slot) + "}}");
+                }
+            }
+            for (int slot : slots) {
+                length += values[slot].length();
+            }
+            StringBuilder out = new StringBuilder(length);
+            for (int i = 0; i < slots.length; i++) {
+                out.append(literals[i]).append(values[slots[i]]);
+            }
+            return out.append(literals[slots.length]).toString();
+        }
+
+        private String format(String placeholder, Type type, Object value) {
+            switch (type) {
+                case INT:
+                    if (!(value instanceof Number)) {
+                        throw new IllegalArgumentException(
+                                "Prompt " + name + ": {{" + placeholder + ":int}} needs a number, got " + value);
+                    }
+                    return value.toString();
+                case LIST:
+                    if (!(value instanceof Collection<?> items)) {
+                        throw new IllegalArgumentException(
+                                "Prompt " + name + ": {{" + placeholder + ":list}} needs a collection, got " + value);
+                    }
+                    StringBuilder joined = new StringBuilder();
+                    Iterator<?> it = items.iterator();
+                    while (it.hasNext()) {
+                        joined.append(it.next());
+                        if (it.hasNext()) {
+                            joined.append(", ");
+                        }
+                    }
+                    return joined.toString();
+                default:
+                    return String.valueOf(value);
+            }
+        }
+
+        private String nameOf(int slot) {
+            for (Map.Entry<String, Integer> entry : slotByName.entrySet()) {
+                if (entry.getValue() == slot) {
+                    return entry.getKey();
+                }
+            }
+            return "#" + slot;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ee.kerrete.ainterview.repository;
+
+import ee.kerrete.ainterview.model.AnalyticsEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * JDBC batch insert for client analytics events flushed by the write-behind
+ * pipeline; generated ids are not read back.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AnalyticsEventBatchWriter {
+
+    private static final String INSERT = "INSERT INTO analytics_event "
+            + "(received_at, event_name, session_id, client_ts, properties_json) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void insertAll(List<AnalyticsEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, events, events.size(), (ps, e) -> {
+            ps.setTimestamp(1, Timestamp.valueOf(e.getReceivedAt()));
+            ps.setString(2, e.getEventName());
+            ps.setString(3, e.getSessionId());
+            ps.setObject(4, e.getClientTs(), Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setString(5, e.getPropertiesJson());
+        });
+    }
+}
@@ -0,0 +1,38 @@
+package ee.kerrete.ainterview.repository;
+
+import ee.kerrete.ainterview.model.InterviewSessionEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * JDBC batch insert for interview audit events flushed by the write-behind
+ * pipeline. InterviewSessionEvent uses IDENTITY ids, which makes Hibernate
+ * insert row by row; generated ids are not read back.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InterviewSessionEventBatchWriter {
+
+    private static final String INSERT = "INSERT INTO interview_session_event "
+            + "(session_uuid, created_at, event_type, payload_json) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void insertAll(List<InterviewSessionEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, events, events.size(), (ps, e) -> {
+            ps.setObject(1, e.getSessionUuid());
+            ps.setTimestamp(2, Timestamp.valueOf(e.getCreatedAt()));
+            ps.setString(3, e.getEventType().name());
+            ps.setString(4, e.getPayloadJson());
+        });
+    }
+}
@@ -1,7 +1,11 @@
 package ee.kerrete.ainterview.repository;
 
 import ee.kerrete.ainterview.model.InterviewSession;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -9,5 +13,12 @@ import java.util.UUID;
 public interface InterviewSessionRepository extends JpaRepository<InterviewSession, Long> {
 
     Optional<InterviewSession> findBySessionUuid(UUID sessionUuid);
+
+    /**
+     * Locks the session row so concurrent first turns import the legacy history one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from InterviewSession s where s.id = :id")
+    Optional<InterviewSession> findForUpdateById(@Param("id") Long id);
 }
 
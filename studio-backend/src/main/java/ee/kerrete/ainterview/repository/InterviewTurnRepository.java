@@ -0,0 +1,19 @@
+package ee.kerrete.ainterview.repository;
+
+import ee.kerrete.ainterview.model.InterviewTurn;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface InterviewTurnRepository extends JpaRepository<InterviewTurn, Long> {
+
+    Optional<InterviewTurn> findTopBySessionIdOrderByTurnIndexDesc(Long sessionId);
+
+    List<InterviewTurn> findBySessionIdOrderByTurnIndexAsc(Long sessionId);
+
+    @Query("select t.questionId from InterviewTurn t where t.sessionId = :sessionId and t.questionId is not null")
+    List<String> findQuestionIds(@Param("sessionId") Long sessionId);
+}
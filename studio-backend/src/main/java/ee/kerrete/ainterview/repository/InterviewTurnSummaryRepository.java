@@ -0,0 +1,7 @@
+package ee.kerrete.ainterview.repository;
+
+import ee.kerrete.ainterview.model.InterviewTurnSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface InterviewTurnSummaryRepository extends JpaRepository<InterviewTurnSummary, Long> {
+}
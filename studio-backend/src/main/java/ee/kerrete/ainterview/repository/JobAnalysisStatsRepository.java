@@ -0,0 +1,106 @@
+package ee.kerrete.ainterview.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checkpointed Job Matcher aggregates: one row per granularity (HOUR, DAY)
+ * and bucket start. Rows are written as deltas so several instances can add
+ * to the same bucket without overwriting each other.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobAnalysisStatsRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String SELECT_SINCE = "SELECT bucket_start, analyses, scored, score_sum "
+            + "FROM job_analysis_stats_bucket WHERE granularity = ? AND bucket_start >= ?";
+
+    private static final String SELECT_TOTALS = "SELECT COALESCE(SUM(analyses), 0), COALESCE(SUM(scored), 0), "
+            + "COALESCE(SUM(score_sum), 0) FROM job_analysis_stats_bucket WHERE granularity = ?";
+
+    private static final String ADD = "UPDATE job_analysis_stats_bucket "
+            + "SET analyses = analyses + ?, scored = scored + ?, score_sum = score_sum + ?, updated_at = ? "
+            + "WHERE granularity = ? AND bucket_start = ?";
+
+    private static final String INSERT = "INSERT INTO job_analysis_stats_bucket "
+            + "(granularity, bucket_start, analyses, scored, score_sum, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_BEFORE = "DELETE FROM job_analysis_stats_bucket "
+            + "WHERE granularity = ? AND bucket_start < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Aggregate of one bucket (or, for {@link #addAll}, a change to one).
+     * {@code scored} counts the analyses that had a match score.
+     */
+    public record Bucket(String granularity, LocalDateTime start, long analyses, long scored, double scoreSum) {
+    }
+
+    public List<Bucket> findSince(String granularity, LocalDateTime from) {
+        return jdbcTemplate.query(SELECT_SINCE,
+                (rs, i) -> new Bucket(granularity, rs.getTimestamp(1).toLocalDateTime(),
+                        rs.getLong(2), rs.getLong(3), rs.getDouble(4)),
+                granularity, Timestamp.valueOf(from));
+    }
+
+    /**
+     * Sum over all buckets of one granularity; {@code start} is null.
+     */
+    public Bucket totals(String granularity) {
+        return jdbcTemplate.queryForObject(SELECT_TOTALS,
+                (rs, i) -> new Bucket(granularity, null, rs.getLong(1), rs.getLong(2), rs.getDouble(3)),
+                granularity);
+    }
+
+    /**
+     * Adds each delta to its bucket row, creating rows that do not exist yet.
+     */
+    @Transactional
+    public void addAll(List<Bucket> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] updated = jdbcTemplate.batchUpdate(ADD, deltas, BATCH_SIZE, (ps, delta) -> {
+            ps.setLong(1, delta.analyses());
+            ps.setLong(2, delta.scored());
+            ps.setDouble(3, delta.scoreSum());
+            ps.setTimestamp(4, now);
+            ps.setString(5, delta.granularity());
+            ps.setTimestamp(6, Timestamp.valueOf(delta.start()));
+        });
+
+        List<Bucket> missing = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : updated) {
+            for (int rows : batch) {
+                Bucket delta = deltas.get(index++);
+                if (rows == 0) {
+                    missing.add(delta);
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT, missing, BATCH_SIZE, (ps, delta) -> {
+            ps.setString(1, delta.granularity());
+            ps.setTimestamp(2, Timestamp.valueOf(delta.start()));
+            ps.setLong(3, delta.analyses());
+            ps.setLong(4, delta.scored());
+            ps.setDouble(5, delta.scoreSum());
+            ps.setTimestamp(6, now);
+        });
+    }
+
+    public int deleteBefore(String granularity, LocalDateTime before) {
+        return jdbcTemplate.update(DELETE_BEFORE, granularity, Timestamp.valueOf(before));
+    }
+}
@@ -0,0 +1,45 @@
+package ee.kerrete.ainterview.repository;
+
+import ee.kerrete.ainterview.model.ObserverLogEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * JDBC batch insert for observer log events flushed by the write-behind
+ * pipeline. Ids and timestamps are assigned when the event is recorded.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ObserverLogBatchWriter {
+
+    private static final String INSERT = "INSERT INTO observer_log "
+            + "(id, session_uuid, created_at, stage, risk_before, risk_after, confidence_before, confidence_after, "
+            + "signals_json, weaknesses_json, rationale_summary) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void insertAll(List<ObserverLogEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, events, events.size(), (ps, e) -> {
+            ps.setObject(1, e.getId());
+            ps.setObject(2, e.getSessionUuid());
+            ps.setObject(3, e.getCreatedAt());
+            ps.setString(4, e.getStage().name());
+            ps.setObject(5, e.getRiskBefore());
+            ps.setObject(6, e.getRiskAfter());
+            ps.setObject(7, e.getConfidenceBefore());
+            ps.setObject(8, e.getConfidenceAfter());
+            ps.setString(9, e.getSignalsJson());
+            ps.setString(10, e.getWeaknessesJson());
+            ps.setString(11, e.getRationaleSummary());
+        });
+    }
+}
@@ -0,0 +1,155 @@
+package ee.kerrete.ainterview.repository;
+
+import ee.kerrete.ainterview.model.UserProgressSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * user_progress_summary: one row per user email, recomputed from the source
+ * tables rather than adjusted by deltas, so a refresh also repairs a row that
+ * has drifted.
+ *
+ * {@link #refresh} must run inside the transaction that changed the source
+ * rows, after they were flushed.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserProgressSummaryRepository {
+
+    private static final String SELECT = "SELECT email, training_tasks, training_tasks_completed, roadmap_tasks, "
+            + "roadmap_tasks_completed, job_analyses, last_task_activity_at, last_analysis_at, last_analysis_score, "
+            + "last_analysis_summary FROM user_progress_summary WHERE email = ?";
+
+    private static final String COUNTS = "SELECT "
+            + "(SELECT COUNT(*) FROM training_task WHERE email = ?), "
+            + "(SELECT COUNT(*) FROM training_task WHERE email = ? AND completed = TRUE), "
+            + "(SELECT COUNT(*) FROM roadmap_task WHERE email = ?), "
+            + "(SELECT COUNT(*) FROM roadmap_task WHERE email = ? AND completed = TRUE), "
+            + "(SELECT COUNT(*) FROM job_analysis_session WHERE email = ?)";
+
+    // Same order as findByEmailOrderByCreatedAtDesc / findTopByEmailOrderByCreatedAtDesc, id breaks ties
+    private static final String LAST_TASK = "SELECT COALESCE(updated_at, created_at) FROM training_task "
+            + "WHERE email = ? ORDER BY created_at DESC, id DESC LIMIT 1";
+
+    private static final String LAST_ANALYSIS = "SELECT created_at, match_score, summary FROM job_analysis_session "
+            + "WHERE email = ? ORDER BY created_at DESC, id DESC LIMIT 1";
+
+    private static final String INSERT_IF_ABSENT = "INSERT INTO user_progress_summary (email, updated_at) "
+            + "VALUES (?, ?) ON CONFLICT DO NOTHING";
+
+    private static final String LOCK = "SELECT email FROM user_progress_summary WHERE email = ? FOR UPDATE";
+
+    private static final String UPDATE = "UPDATE user_progress_summary SET training_tasks = ?, "
+            + "training_tasks_completed = ?, roadmap_tasks = ?, roadmap_tasks_completed = ?, job_analyses = ?, "
+            + "last_task_activity_at = ?, last_analysis_at = ?, last_analysis_score = ?, last_analysis_summary = ?, "
+            + "updated_at = ? WHERE email = ?";
+
+    private static final String EMAILS_AFTER = "SELECT email FROM ("
+            + "SELECT email FROM training_task UNION SELECT email FROM roadmap_task "
+            + "UNION SELECT email FROM job_analysis_session UNION SELECT email FROM user_progress_summary"
+            + ") e WHERE email IS NOT NULL AND email > ? ORDER BY email LIMIT ?";
+
+    private static final String TOTAL_JOB_ANALYSES = "SELECT COALESCE(SUM(job_analyses), 0) FROM user_progress_summary";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<UserProgressSummary> findByEmail(String email) {
+        return jdbcTemplate.query(SELECT, UserProgressSummaryRepository::map, email).stream().findFirst();
+    }
+
+    /**
+     * Computes the summary from training_task, roadmap_task and
+     * job_analysis_session without touching the stored row.
+     */
+    public UserProgressSummary compute(String email) {
+        int[] counts = jdbcTemplate.queryForObject(COUNTS, (rs, i) -> new int[]{
+                rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4), rs.getInt(5)
+        }, email, email, email, email, email);
+        LocalDateTime lastTask = jdbcTemplate.query(LAST_TASK, (rs, i) -> toLocalDateTime(rs.getTimestamp(1)), email)
+                .stream().findFirst().orElse(null);
+        List<UserProgressSummary> lastAnalysis = jdbcTemplate.query(LAST_ANALYSIS, (rs, i) ->
+                new UserProgressSummary(email, 0, 0, 0, 0, 0, null,
+                        toLocalDateTime(rs.getTimestamp(1)), getDouble(rs, 2), rs.getString(3)), email);
+        UserProgressSummary last = lastAnalysis.isEmpty() ? UserProgressSummary.empty(email) : lastAnalysis.get(0);
+        return new UserProgressSummary(email, counts[0], counts[1], counts[2], counts[3], counts[4], lastTask,
+                last.lastAnalysisAt(), last.lastAnalysisScore(), last.lastAnalysisSummary());
+    }
+
+    /**
+     * Recomputes and stores the user's row, creating it if needed. The row is
+     * locked before the source tables are read, so concurrent refreshes for the
+     * same user run one after the other and the later one sees the earlier's
+     * committed changes.
+     */
+    public UserProgressSummary refresh(String email) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(INSERT_IF_ABSENT, email, now);
+        jdbcTemplate.queryForList(LOCK, String.class, email);
+
+        UserProgressSummary summary = compute(email);
+        jdbcTemplate.update(UPDATE,
+                summary.trainingTasks(),
+                summary.completedTrainingTasks(),
+                summary.roadmapTasks(),
+                summary.completedRoadmapTasks(),
+                summary.jobAnalyses(),
+                toTimestamp(summary.lastTaskActivityAt()),
+                toTimestamp(summary.lastAnalysisAt()),
+                summary.lastAnalysisScore(),
+                summary.lastAnalysisSummary(),
+                now,
+                email);
+        return summary;
+    }
+
+    /**
+     * Emails that have source rows or a summary row, in order, after
+     * {@code after} (use "" to start).
+     */
+    public List<String> findEmailsAfter(String after, int limit) {
+        return jdbcTemplate.queryForList(EMAILS_AFTER, String.class, after, limit);
+    }
+
+    /**
+     * Job Matcher analyses over all users that have an email.
+     */
+    public long totalJobAnalyses() {
+        Long total = jdbcTemplate.queryForObject(TOTAL_JOB_ANALYSES, Long.class);
+        return total != null ? total : 0;
+    }
+
+    private static UserProgressSummary map(ResultSet rs, int rowNum) throws SQLException {
+        return new UserProgressSummary(
+                rs.getString(1),
+                rs.getInt(2),
+                rs.getInt(3),
+                rs.getInt(4),
+                rs.getInt(5),
+                rs.getInt(6),
+                toLocalDateTime(rs.getTimestamp(7)),
+                toLocalDateTime(rs.getTimestamp(8)),
+                getDouble(rs, 9),
+                rs.getString(10));
+    }
+
+    private static Double getDouble(ResultSet rs, int column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime time) {
+        return time != null ? Timestamp.valueOf(time) : null;
+    }
+}
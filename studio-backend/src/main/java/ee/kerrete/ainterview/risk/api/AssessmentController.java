@@ -1,60 +1,69 @@
 package ee.kerrete.ainterview.risk.api;
 
-import ee.kerrete.ainterview.model.AppUser;
 import ee.kerrete.ainterview.model.UserTier;
-import ee.kerrete.ainterview.repository.AppUserRepository;
+import ee.kerrete.ainterview.payment.service.EntitlementService;
 import ee.kerrete.ainterview.risk.service.RoleQuestionBank;
+import ee.kerrete.ainterview.risk.state.FlowStateStore;
 import ee.kerrete.ainterview.security.AuthenticatedUser;
 import ee.kerrete.ainterview.support.SessionIdParser;
-import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * REST controller for the assessment flow used by the frontend-risk app.
  * Provides endpoints for starting assessments and retrieving results.
+ * Session progress is kept in the {@link FlowStateStore} under namespace
+ * {@code assessment}.
  */
 @RestController
 @RequestMapping("/api/risk/assessment")
-@RequiredArgsConstructor
 public class AssessmentController {
 
+    static final String NAMESPACE = "assessment";
+
+    private static final List<String> NEGATIVE_SIGNALS = List.of(
+        "no experience", "none", "never", "not sure", "no idea",
+        "career switch", "changing careers", "entry level", "beginner",
+        "unemployed", "laid off", "fired", "struggling",
+        "not confident", "low confidence", "worried", "scared"
+    );
+
     private final SessionIdParser sessionIdParser;
-    private final AppUserRepository appUserRepository;
+    private final EntitlementService entitlementService;
     private final RoleQuestionBank roleQuestionBank;
-
-    // Track question progress per session
-    private final java.util.concurrent.ConcurrentHashMap<String, Integer> sessionQuestionIndex = new java.util.concurrent.ConcurrentHashMap<>();
-    // Store role-specific questions per session
-    private final java.util.concurrent.ConcurrentHashMap<String, List<Map<String, Object>>> sessionQuestions = new java.util.concurrent.ConcurrentHashMap<>();
-    // Store submitted answers per session
-    private final java.util.concurrent.ConcurrentHashMap<String, List<Map<String, Object>>> sessionAnswers = new java.util.concurrent.ConcurrentHashMap<>();
-    // Store skipped question count per session
-    private final java.util.concurrent.ConcurrentHashMap<String, Integer> sessionSkips = new java.util.concurrent.ConcurrentHashMap<>();
-    // Store current role per session
-    private final java.util.concurrent.ConcurrentHashMap<String, String> sessionRoles = new java.util.concurrent.ConcurrentHashMap<>();
+    private final FlowStateStore.Namespace<AssessmentState> sessions;
+
+    public AssessmentController(SessionIdParser sessionIdParser,
+                                EntitlementService entitlementService,
+                                RoleQuestionBank roleQuestionBank,
+                                FlowStateStore flowStateStore) {
+        this.sessionIdParser = sessionIdParser;
+        this.entitlementService = entitlementService;
+        this.roleQuestionBank = roleQuestionBank;
+        this.sessions = flowStateStore.namespace(NAMESPACE, AssessmentState.class);
+    }
 
     /**
      * Start a new assessment session.
      */
     @PostMapping("/start")
     public ResponseEntity<StartAssessmentResponse> startAssessment(@RequestBody(required = false) StartAssessmentRequest request) {
-        String sessionId = "session-" + System.currentTimeMillis();
-        sessionQuestionIndex.put(sessionId, 0);
+        // Unique across instances; a timestamp alone collides under concurrent starts
+        String sessionId = "session-" + UUID.randomUUID();
 
         String currentRole = "";
         if (request != null && request.experience() != null) {
             currentRole = request.experience().currentRole();
         }
-        sessionRoles.put(sessionId, currentRole != null ? currentRole : "");
-        sessionAnswers.put(sessionId, new java.util.ArrayList<>());
-        sessionSkips.put(sessionId, 0);
-        sessionQuestions.put(sessionId, roleQuestionBank.getQuestionsForRole(currentRole));
+        sessions.put(sessionId, AssessmentState.start(currentRole != null ? currentRole : ""));
 
         return ResponseEntity.ok(new StartAssessmentResponse(sessionId));
     }
@@ -73,9 +82,11 @@ public class AssessmentController {
     @PostMapping("/next-question")
     public ResponseEntity<Map<String, Object>> getNextQuestion(@RequestBody Map<String, String> request) {
         String sessionId = request.get("sessionId");
-        int idx = sessionQuestionIndex.getOrDefault(sessionId, 0);
+        AssessmentState state = state(sessionId);
+        int idx = state.questionIndex();
 
-        List<Map<String, Object>> questions = sessionQuestions.getOrDefault(sessionId, roleQuestionBank.getQuestionsForRole(""));
+        // Questions are looked up by role on each step rather than stored per session
+        List<Map<String, Object>> questions = roleQuestionBank.getQuestionsForRole(state.role());
 
         if (idx >= questions.size()) {
             return ResponseEntity.status(404).body(Map.of(
@@ -95,13 +106,16 @@ public class AssessmentController {
     }
 
     /**
-     * Submit an answer to a question.
+     * Submit an answer to a question. Answers 404 when the session is unknown
+     * or has expired, since the answer could not be recorded.
      */
     @PostMapping("/submit-answer")
     public ResponseEntity<Map<String, Object>> submitAnswer(@RequestBody Map<String, Object> request) {
         String sessionId = (String) request.get("sessionId");
-        sessionQuestionIndex.merge(sessionId, 1, Integer::sum);
-        sessionAnswers.computeIfAbsent(sessionId, k -> new java.util.ArrayList<>()).add(request);
+        // Only what the result needs is kept: the answer count and whether it had a negative signal
+        boolean negative = hasNegativeSignal(request);
+        sessions.update(requireSessionId(sessionId), state -> state.answered(negative))
+            .orElseThrow(AssessmentController::sessionNotFound);
         return ResponseEntity.ok(Map.of(
             "sessionId", sessionId,
             "success", true,
@@ -110,13 +124,13 @@ public class AssessmentController {
     }
 
     /**
-     * Skip a question.
+     * Skip a question. Answers 404 when the session is unknown or has expired.
      */
     @PostMapping("/skip-question")
     public ResponseEntity<Map<String, Object>> skipQuestion(@RequestBody Map<String, Object> request) {
         String sessionId = (String) request.get("sessionId");
-        sessionQuestionIndex.merge(sessionId, 1, Integer::sum);
-        sessionSkips.merge(sessionId, 1, Integer::sum);
+        sessions.update(requireSessionId(sessionId), AssessmentState::skipped)
+            .orElseThrow(AssessmentController::sessionNotFound);
         return ResponseEntity.ok(Map.of(
             "sessionId", sessionId,
             "success", true,
@@ -184,8 +198,7 @@ public class AssessmentController {
 
         UserTier effectiveTier = UserTier.FREE;
         if (authUser != null && authUser.id() != null) {
-            effectiveTier = appUserRepository.findById(authUser.id())
-                .map(AppUser::getEffectiveTier)
+            effectiveTier = entitlementService.effectiveTier(authUser.id())
                 .orElse(UserTier.FREE);
         }
 
@@ -202,37 +215,48 @@ public class AssessmentController {
         return ResponseEntity.ok(result);
     }
 
-    private int computeRiskPercent(String sessionId) {
-        int risk = 35; // base risk
+    private AssessmentState state(String sessionId) {
+        return sessionId == null
+            ? AssessmentState.start("")
+            : sessions.get(sessionId).orElseGet(() -> AssessmentState.start(""));
+    }
 
-        // +5 per skipped question
-        int skips = sessionSkips.getOrDefault(sessionId, 0);
-        risk += skips * 5;
+    private static String requireSessionId(String sessionId) {
+        if (sessionId == null || sessionId.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sessionId is required");
+        }
+        return sessionId;
+    }
 
-        // Analyze answers for negative signals
-        List<Map<String, Object>> answers = sessionAnswers.getOrDefault(sessionId, List.of());
-        List<String> negativeSignals = List.of(
-            "no experience", "none", "never", "not sure", "no idea",
-            "career switch", "changing careers", "entry level", "beginner",
-            "unemployed", "laid off", "fired", "struggling",
-            "not confident", "low confidence", "worried", "scared"
-        );
+    private static ResponseStatusException sessionNotFound() {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Assessment session not found or expired");
+    }
 
-        for (Map<String, Object> answer : answers) {
-            String answerText = String.valueOf(answer.getOrDefault("answer", "")).toLowerCase();
-            String selectedOption = String.valueOf(answer.getOrDefault("selectedOption", "")).toLowerCase();
-            String combined = answerText + " " + selectedOption;
+    private static boolean hasNegativeSignal(Map<String, Object> answer) {
+        String answerText = String.valueOf(answer.getOrDefault("answer", "")).toLowerCase();
+        String selectedOption = String.valueOf(answer.getOrDefault("selectedOption", "")).toLowerCase();
+        String combined = answerText + " " + selectedOption;
 
-            for (String signal : negativeSignals) {
-                if (combined.contains(signal)) {
-                    risk += 10;
-                    break; // only +10 per answer max
-                }
+        for (String signal : NEGATIVE_SIGNALS) {
+            if (combined.contains(signal)) {
+                return true;
             }
         }
+        return false;
+    }
+
+    private int computeRiskPercent(AssessmentState state) {
+        int risk = 35; // base risk
+
+        // +5 per skipped question
+        int skips = state.skips();
+        risk += skips * 5;
+
+        // +10 per answer with a negative signal (only +10 per answer max)
+        risk += state.negativeAnswers() * 10;
 
         // If no answers submitted at all (all skipped or empty session), higher risk
-        if (answers.isEmpty() && skips > 0) {
+        if (state.answers() == 0 && skips > 0) {
             risk += 15;
         }
 
@@ -240,10 +264,11 @@ public class AssessmentController {
     }
 
     private AssessmentResultResponse createMockAssessment(String sessionId) {
-        int riskPercent = computeRiskPercent(sessionId);
+        AssessmentState state = state(sessionId);
+        int riskPercent = computeRiskPercent(state);
         String riskBand = riskPercent >= 65 ? "HIGH" : riskPercent >= 40 ? "MEDIUM" : "LOW";
-        int confidence = Math.max(50, 95 - sessionSkips.getOrDefault(sessionId, 0) * 5);
-        String currentRole = sessionRoles.getOrDefault(sessionId, "Software Engineer");
+        int confidence = Math.max(50, 95 - state.skips() * 5);
+        String currentRole = state.role();
         if (currentRole == null || currentRole.isBlank()) currentRole = "Software Engineer";
 
         return new AssessmentResultResponse(
@@ -270,6 +295,26 @@ public class AssessmentController {
         );
     }
 
+    /**
+     * Progress of one assessment session: role, next question, and the
+     * answer counts the result is computed from.
+     */
+    record AssessmentState(String role, int questionIndex, int answers, int negativeAnswers, int skips) {
+
+        static AssessmentState start(String role) {
+            return new AssessmentState(role, 0, 0, 0, 0);
+        }
+
+        AssessmentState answered(boolean negative) {
+            return new AssessmentState(role, questionIndex + 1, answers + 1,
+                negativeAnswers + (negative ? 1 : 0), skips);
+        }
+
+        AssessmentState skipped() {
+            return new AssessmentState(role, questionIndex + 1, answers, negativeAnswers, skips + 1);
+        }
+    }
+
     // Request/Response DTOs
     public record StartAssessmentRequest(
         String cvFileId,
@@ -8,10 +8,11 @@ import ee.kerrete.ainterview.risk.dto.RiskFlowAnswerRequest;
 import ee.kerrete.ainterview.risk.dto.RiskFlowAnswerResponse;
 import ee.kerrete.ainterview.risk.dto.RiskFlowEvaluateRequest;
 import ee.kerrete.ainterview.risk.dto.RiskFlowEvaluateResponse;
-import lombok.RequiredArgsConstructor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import ee.kerrete.ainterview.dto.ObserverLogCreateCommand;
 import ee.kerrete.ainterview.model.ObserverStage;
+import ee.kerrete.ainterview.config.FlowStateProperties;
+import ee.kerrete.ainterview.risk.state.FlowStateStore;
 import ee.kerrete.ainterview.service.ObserverLogService;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -20,19 +21,36 @@ import org.springframework.web.server.ResponseStatusException;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Question/answer risk flow. The state of each flow lives in the
+ * {@link FlowStateStore} under namespace {@code risk-flow}, so any instance
+ * can serve the next step and idle flows expire.
+ */
 @Service
-@RequiredArgsConstructor
 public class RiskFlowService {
 
+    static final String NAMESPACE = "risk-flow";
+
     private final RiskQuestionBank questionBank;
     private final ObserverLogService observerLogService;
     private final ObjectMapper objectMapper;
-
-    private final Map<UUID, FlowState> flows = new ConcurrentHashMap<>();
+    private final FlowStateStore.Namespace<FlowState> flows;
+    private final int maxAnswers;
+
+    public RiskFlowService(RiskQuestionBank questionBank,
+                           ObserverLogService observerLogService,
+                           ObjectMapper objectMapper,
+                           FlowStateStore flowStateStore,
+                           FlowStateProperties flowStateProperties) {
+        this.questionBank = questionBank;
+        this.observerLogService = observerLogService;
+        this.objectMapper = objectMapper;
+        this.flows = flowStateStore.namespace(NAMESPACE, FlowState.class);
+        this.maxAnswers = flowStateProperties.getMaxAnswersPerFlow();
+    }
 
     public RiskFlowStartResponse start(String email, RiskFlowStartRequest request) {
         UUID flowId = UUID.randomUUID();
@@ -40,14 +58,8 @@ public class RiskFlowService {
                 ? "STANDARD"
                 : request.getMode().trim();
 
-        FlowState state = new FlowState();
-        state.email = email;
-        state.servedCount = 0;
-        state.questions = new ArrayList<>(questionBank.questionsForMode(mode));
-        if (state.questions.isEmpty()) {
-            state.questions = new ArrayList<>(questionBank.defaultQuestions());
-        }
-        flows.put(flowId, state);
+        // Only the mode is stored, the questions are looked up again on each step
+        flows.put(flowId.toString(), new FlowState(email, mode, 0, List.of()));
 
         return RiskFlowStartResponse.builder()
                 .flowId(flowId)
@@ -63,16 +75,22 @@ public class RiskFlowService {
 
     public RiskFlowNextResponse next(String email, RiskFlowNextRequest request) {
         UUID flowId = resolveFlowId(request);
-        FlowState state = flows.get(flowId);
-        if (state == null) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Flow not found");
-        }
-        if (!email.equals(state.email)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Flow does not belong to user");
-        }
-
-        int total = state.questions.size();
-        if (state.servedCount >= total) {
+        FlowState state = owned(flowId, email);
+        List<String> questions = questionsFor(state.mode());
+        int total = questions.size();
+
+        // Index served by this call, -1 once every question has been served
+        AtomicInteger served = new AtomicInteger();
+        flows.update(flowId.toString(), current -> {
+            if (current.servedCount() >= total) {
+                served.set(-1);
+                return current;
+            }
+            served.set(current.servedCount());
+            return current.withServedCount(current.servedCount() + 1);
+        }).orElseThrow(RiskFlowService::flowNotFound);
+
+        if (served.get() < 0) {
             return RiskFlowNextResponse.builder()
                     .flowId(flowId.toString())
                     .questionId(null)
@@ -83,12 +101,11 @@ public class RiskFlowService {
                     .build();
         }
 
-        int index = state.servedCount;
-        String questionText = state.questions.get(index);
+        int index = served.get();
+        String questionText = questions.get(index);
         String questionId = flowId.toString() + ":" + index;
-        state.servedCount = index + 1;
 
-        boolean done = state.servedCount >= total;
+        boolean done = index + 1 >= total;
 
         return RiskFlowNextResponse.builder()
                 .flowId(flowId.toString())
@@ -102,22 +119,25 @@ public class RiskFlowService {
 
     public RiskFlowAnswerResponse answer(String email, RiskFlowAnswerRequest request) {
         UUID flowId = resolveFlowId(request.getFlowId(), request.getSessionId());
-        FlowState state = flows.get(flowId);
-        if (state == null) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Flow not found");
-        }
-        if (!email.equals(state.email)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Flow does not belong to user");
-        }
-        String qId = request.getQuestionId() == null ? flowId + ":" + state.servedCount : request.getQuestionId();
+        owned(flowId, email);
         String ans = request.getAnswer() == null ? "" : request.getAnswer().trim();
-        state.answers.add(new AnswerEntry(qId, ans, Instant.now().toString()));
+        String receivedAt = Instant.now().toString();
+        FlowState state = flows.update(flowId.toString(), current -> {
+            if (current.answers().size() >= maxAnswers) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Too many answers for this flow");
+            }
+            String questionId = request.getQuestionId() == null
+                    ? flowId + ":" + current.servedCount()
+                    : request.getQuestionId();
+            return current.withAnswer(new AnswerEntry(questionId, ans, receivedAt));
+        }).orElseThrow(RiskFlowService::flowNotFound);
+        String qId = state.answers().get(state.answers().size() - 1).questionId();
 
         if (request.getSessionId() != null) {
             observerLogService.record(ObserverLogCreateCommand.builder()
                     .sessionUuid(request.getSessionId())
-                    .stage(resolveClarifyingStage(state.answers.size()))
-                    .signalsJson(buildSignalsJson(state.answers))
+                    .stage(resolveClarifyingStage(state.answers().size()))
+                    .signalsJson(buildSignalsJson(state.answers()))
                     .rationaleSummary(buildRationaleSummary(ans))
                     .build());
         }
@@ -160,13 +180,7 @@ public class RiskFlowService {
 
     public RiskFlowEvaluateResponse evaluate(String email, RiskFlowEvaluateRequest request) {
         UUID flowId = resolveFlowId(request.getFlowId(), request.getSessionId());
-        FlowState state = flows.get(flowId);
-        if (state == null) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Flow not found");
-        }
-        if (!email.equals(state.email)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Flow does not belong to user");
-        }
+        owned(flowId, email);
         return RiskFlowEvaluateResponse.builder()
                 .flowId(flowId.toString())
                 .status("EVALUATED")
@@ -187,24 +201,37 @@ public class RiskFlowService {
         return resolved;
     }
 
-    private static class FlowState {
-        String email;
-        int servedCount;
-        List<String> questions;
-        List<AnswerEntry> answers = new ArrayList<>();
+    private FlowState owned(UUID flowId, String email) {
+        FlowState state = flows.get(flowId.toString()).orElseThrow(RiskFlowService::flowNotFound);
+        if (!email.equals(state.email())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Flow does not belong to user");
+        }
+        return state;
+    }
+
+    private List<String> questionsFor(String mode) {
+        List<String> questions = questionBank.questionsForMode(mode);
+        return questions.isEmpty() ? questionBank.defaultQuestions() : questions;
+    }
+
+    private static ResponseStatusException flowNotFound() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Flow not found");
     }
 
-    @SuppressWarnings("unused")
-    private static class AnswerEntry {
-        final String questionId;
-        final String answer;
-        final String receivedAt;
+    record FlowState(String email, String mode, int servedCount, List<AnswerEntry> answers) {
+
+        FlowState withServedCount(int count) {
+            return new FlowState(email, mode, count, answers);
+        }
 
-        AnswerEntry(String questionId, String answer, String receivedAt) {
-            this.questionId = questionId;
-            this.answer = answer;
-            this.receivedAt = receivedAt;
+        FlowState withAnswer(AnswerEntry answer) {
+            List<AnswerEntry> next = new ArrayList<>(answers.size() + 1);
+            next.addAll(answers);
+            next.add(answer);
+            return new FlowState(email, mode, servedCount, List.copyOf(next));
         }
     }
-}
 
+    record AnswerEntry(String questionId, String answer, String receivedAt) {
+    }
+}
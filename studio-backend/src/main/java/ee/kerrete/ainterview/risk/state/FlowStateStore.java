@@ -0,0 +1,59 @@
+package ee.kerrete.ainterview.risk.state;
+
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Short-lived per-session state of the risk flows, kept by namespace and
+ * session ID until app.flow-state.ttl after its last change.
+ *
+ * States are immutable records: the in-memory store hands out the stored
+ * instance, the JDBC store a copy read back from JSON. Changes go through
+ * {@link #update}, which applies them atomically per session; a change may be
+ * applied more than once under contention and must not have side effects.
+ *
+ * Evictions are counted as {@code flow.state.evictions{store, cause}}.
+ */
+public interface FlowStateStore {
+
+    <T> Optional<T> get(String namespace, String id, Class<T> type);
+
+    void put(String namespace, String id, Object state);
+
+    /**
+     * Replaces the state with {@code change} applied to it and returns the
+     * result; empty when there is no state. Exceptions thrown by
+     * {@code change} propagate and leave the state as it was, as does
+     * returning the same instance. A store that cannot apply the change
+     * because of concurrent writers throws a 409 {@code ResponseStatusException}.
+     */
+    <T> Optional<T> update(String namespace, String id, Class<T> type, UnaryOperator<T> change);
+
+    void remove(String namespace, String id);
+
+    default <T> Namespace<T> namespace(String name, Class<T> type) {
+        return new Namespace<>(this, name, type);
+    }
+
+    /**
+     * The store bound to one namespace and state type.
+     */
+    record Namespace<T>(FlowStateStore store, String name, Class<T> type) {
+
+        public Optional<T> get(String id) {
+            return store.get(name, id, type);
+        }
+
+        public void put(String id, T state) {
+            store.put(name, id, state);
+        }
+
+        public Optional<T> update(String id, UnaryOperator<T> change) {
+            return store.update(name, id, type, change);
+        }
+
+        public void remove(String id) {
+            store.remove(name, id);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package ee.kerrete.ainterview.risk.state;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import ee.kerrete.ainterview.config.FlowStateProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Flow state in a Caffeine map of this instance, bounded by
+ * app.flow-state.max-entries and expiring app.flow-state.ttl after the last
+ * write. Sessions are not shared with other instances; use the JDBC store for
+ * more than one node.
+ */
+public class InMemoryFlowStateStore implements FlowStateStore {
+
+    private record Key(String namespace, String id) {
+    }
+
+    private final Cache<Key, Object> states;
+
+    public InMemoryFlowStateStore(FlowStateProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    InMemoryFlowStateStore(FlowStateProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        Counter expired = evictions(meterRegistry, "expired");
+        Counter size = evictions(meterRegistry, "size");
+        this.states = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfterWrite(properties.getTtl())
+                .ticker(ticker)
+                .removalListener((Key key, Object state, RemovalCause cause) -> {
+                    if (cause == RemovalCause.EXPIRED) {
+                        expired.increment();
+                    } else if (cause == RemovalCause.SIZE) {
+                        size.increment();
+                    }
+                })
+                // removal listeners run on the calling thread, the count is exact in tests
+                .executor(Runnable::run)
+                .build();
+        Gauge.builder("flow.state.size", states, Cache::estimatedSize)
+                .tag("store", "memory")
+                .register(meterRegistry);
+    }
+
+    private static Counter evictions(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder("flow.state.evictions")
+                .tag("store", "memory")
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public <T> Optional<T> get(String namespace, String id, Class<T> type) {
+        return Optional.ofNullable(states.getIfPresent(new Key(namespace, id))).map(type::cast);
+    }
+
+    @Override
+    public void put(String namespace, String id, Object state) {
+        states.put(new Key(namespace, id), state);
+    }
+
+    @Override
+    public <T> Optional<T> update(String namespace, String id, Class<T> type, UnaryOperator<T> change) {
+        Object updated = states.asMap().computeIfPresent(new Key(namespace, id),
+                (key, current) -> change.apply(type.cast(current)));
+        return Optional.ofNullable(updated).map(type::cast);
+    }
+
+    @Override
+    public void remove(String namespace, String id) {
+        states.invalidate(new Key(namespace, id));
+    }
+
+    void cleanUp() {
+        states.cleanUp();
+    }
+}
@@ -0,0 +1,187 @@
+package ee.kerrete.ainterview.risk.state;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.kerrete.ainterview.config.FlowStateProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Flow state as JSON rows in flow_state, shared by all instances.
+ *
+ * Every row carries a version; {@link #update} reads the row, applies the
+ * change and writes it back only if the version is unchanged, retrying a few
+ * times when another instance got there first and answering 409 when every
+ * attempt lost. Rows past expires_at read as
+ * absent and are deleted every app.flow-state.purge-interval.
+ */
+@Slf4j
+public class JdbcFlowStateStore implements FlowStateStore {
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    private static final String SELECT = "SELECT state, version, expires_at FROM flow_state "
+            + "WHERE namespace = ? AND state_id = ?";
+
+    private static final String INSERT = "INSERT INTO flow_state "
+            + "(namespace, state_id, state, version, expires_at, updated_at) VALUES (?, ?, ?, 0, ?, ?)";
+
+    private static final String REPLACE = "UPDATE flow_state "
+            + "SET state = ?, version = version + 1, expires_at = ?, updated_at = ? "
+            + "WHERE namespace = ? AND state_id = ?";
+
+    private static final String COMPARE_AND_SET = REPLACE + " AND version = ?";
+
+    private static final String DELETE = "DELETE FROM flow_state WHERE namespace = ? AND state_id = ?";
+
+    private static final String DELETE_EXPIRED = "DELETE FROM flow_state WHERE expires_at <= ?";
+
+    private static final String COUNT = "SELECT COUNT(*) FROM flow_state";
+
+    private record Row(String json, long version, LocalDateTime expiresAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final FlowStateProperties properties;
+    private final Clock clock;
+    private final Counter expired;
+    private final AtomicLong rows = new AtomicLong();
+
+    public JdbcFlowStateStore(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                              FlowStateProperties properties, MeterRegistry meterRegistry) {
+        this(jdbcTemplate, objectMapper, properties, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    JdbcFlowStateStore(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                       FlowStateProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.clock = clock;
+        this.expired = Counter.builder("flow.state.evictions")
+                .tag("store", "jdbc")
+                .tag("cause", "expired")
+                .register(meterRegistry);
+        // Row count as of the last purge, a COUNT(*) per scrape would be too much
+        Gauge.builder("flow.state.size", rows, AtomicLong::get)
+                .tag("store", "jdbc")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public <T> Optional<T> get(String namespace, String id, Class<T> type) {
+        return find(namespace, id)
+                .filter(row -> isLive(row, now()))
+                .map(row -> read(row.json(), type));
+    }
+
+    @Override
+    public void put(String namespace, String id, Object state) {
+        String json = write(state);
+        LocalDateTime now = now();
+        if (jdbcTemplate.update(REPLACE, json, expiry(now), Timestamp.valueOf(now), namespace, id) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(INSERT, namespace, id, json, expiry(now), Timestamp.valueOf(now));
+        } catch (DuplicateKeyException e) {
+            // inserted concurrently; the later put wins as it would in memory
+            jdbcTemplate.update(REPLACE, json, expiry(now), Timestamp.valueOf(now), namespace, id);
+        }
+    }
+
+    @Override
+    public <T> Optional<T> update(String namespace, String id, Class<T> type, UnaryOperator<T> change) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            LocalDateTime now = now();
+            Optional<Row> row = find(namespace, id).filter(r -> isLive(r, now));
+            if (row.isEmpty()) {
+                return Optional.empty();
+            }
+            T current = read(row.get().json(), type);
+            T updated = change.apply(current);
+            if (updated == current) {
+                return Optional.of(current);
+            }
+            int changed = jdbcTemplate.update(COMPARE_AND_SET, write(updated), expiry(now), Timestamp.valueOf(now),
+                    namespace, id, row.get().version());
+            if (changed > 0) {
+                return Optional.of(updated);
+            }
+        }
+        log.warn("Flow state {}/{} changed concurrently {} times", namespace, id, MAX_ATTEMPTS);
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "Flow changed concurrently, please retry");
+    }
+
+    @Override
+    public void remove(String namespace, String id) {
+        jdbcTemplate.update(DELETE, namespace, id);
+    }
+
+    @Scheduled(fixedDelayString = "${app.flow-state.purge-interval:PT5M}",
+            initialDelayString = "${app.flow-state.purge-interval:PT5M}")
+    public void purgeExpired() {
+        try {
+            int deleted = jdbcTemplate.update(DELETE_EXPIRED, Timestamp.valueOf(now()));
+            expired.increment(deleted);
+            Long count = jdbcTemplate.queryForObject(COUNT, Long.class);
+            rows.set(count != null ? count : 0);
+            if (deleted > 0) {
+                log.debug("Purged {} expired flow states", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Purging expired flow states failed, retrying next run: {}", e.getMessage());
+        }
+    }
+
+    private Optional<Row> find(String namespace, String id) {
+        List<Row> found = jdbcTemplate.query(SELECT,
+                (rs, i) -> new Row(rs.getString(1), rs.getLong(2), rs.getTimestamp(3).toLocalDateTime()),
+                namespace, id);
+        return found.stream().findFirst();
+    }
+
+    private static boolean isLive(Row row, LocalDateTime now) {
+        return row.expiresAt().isAfter(now);
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    private Timestamp expiry(LocalDateTime now) {
+        return Timestamp.valueOf(now.plus(properties.getTtl()));
+    }
+
+    private String write(Object state) {
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Flow state " + state.getClass().getSimpleName() + " is not serializable", e);
+        }
+    }
+
+    private <T> T read(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored flow state is not a " + type.getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ee.kerrete.ainterview.security;
+
+import ee.kerrete.ainterview.model.UserTier;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts a controller method (or every method of a controller) to users
+ * whose effective tier is at least {@link #value()}.
+ *
+ * <p>Usage example:</p>
+ * <pre>
+ * {@code @RequiresTier(UserTier.ARENA_PRO)}
+ * {@code @PostMapping("/generate")}
+ * public CoverLetterResponse generate(...) { ... }
+ * </pre>
+ *
+ * <p>Checked by {@link RequiresTierInterceptor} before the handler runs:
+ * 401 without an authenticated user, 404 for an unknown user, 403 below the
+ * required tier.</p>
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequiresTier {
+
+    UserTier value();
+}
@@ -0,0 +1,60 @@
+package ee.kerrete.ainterview.security;
+
+import ee.kerrete.ainterview.payment.service.EntitlementService;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Enforces {@link RequiresTier} on controller methods using the cached
+ * entitlements of {@link EntitlementService}.
+ *
+ * <p>The service is looked up lazily so MVC slice tests that never hit an
+ * annotated handler do not need it.</p>
+ *
+ * <p>Only the initial REQUEST dispatch is checked. When an async handler
+ * (e.g. an {@code SseEmitter}) completes, Spring runs the interceptors again
+ * on an ASYNC dispatch; the JWT filter does not run there and the security
+ * context is empty, and the tier was already enforced before the response
+ * was committed.</p>
+ */
+public class RequiresTierInterceptor implements HandlerInterceptor {
+
+    private final ObjectProvider<EntitlementService> entitlementService;
+
+    public RequiresTierInterceptor(ObjectProvider<EntitlementService> entitlementService) {
+        this.entitlementService = entitlementService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        if (!(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        RequiresTier required = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), RequiresTier.class);
+        if (required == null) {
+            required = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), RequiresTier.class);
+        }
+        if (required == null) {
+            return true;
+        }
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof AuthenticatedUser user) || user.id() == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Authentication required");
+        }
+        entitlementService.getObject().requireTier(user.id(), required.value());
+        return true;
+    }
+}
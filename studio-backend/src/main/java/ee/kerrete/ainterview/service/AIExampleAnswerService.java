@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import ee.kerrete.ainterview.dto.EvaluateAnswerRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
@@ -26,7 +27,8 @@ public class AIExampleAnswerService {
     private String model;
 
     private final ObjectMapper objectMapper;
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Qualifier("aiRestTemplate")
+    private final RestTemplate restTemplate;
 
     public String generateExampleStarAnswer(String question) throws Exception {
         String prompt = """
@@ -6,6 +6,7 @@ import ee.kerrete.ainterview.dto.AdaptiveAnalysisRequest;
 import ee.kerrete.ainterview.dto.AdaptiveAnalysisResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
@@ -30,7 +31,8 @@ public class AiAdaptiveService {
     @Value("${openai.model:gpt-4.1-mini}")
     private String model;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Qualifier("aiRestTemplate")
+    private final RestTemplate restTemplate;
 
     public AdaptiveAnalysisResponse analyzeAnswer(AdaptiveAnalysisRequest request) {
         try {
@@ -8,6 +8,7 @@ import ee.kerrete.ainterview.dto.EvaluateAnswerRequest;
 import ee.kerrete.ainterview.dto.EvaluateAnswerResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
@@ -35,7 +36,8 @@ public class AiEvaluationClient {
     @Value("${openai.model:gpt-4.1-mini}")
     private String model;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Qualifier("aiRestTemplate")
+    private final RestTemplate restTemplate;
 
     private String chatCompletionsUrl() {
         return baseUrl.endsWith("/")
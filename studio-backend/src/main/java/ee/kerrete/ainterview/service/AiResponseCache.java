@@ -0,0 +1,232 @@
+package ee.kerrete.ainterview.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import ee.kerrete.ainterview.config.AiCacheProperties;
+import ee.kerrete.ainterview.support.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Response cache in front of the AI providers.
+ *
+ * Tier 1 – exact: SHA-256 over the whitespace-normalised system prompt, user
+ * prompt, model and max tokens. Tier 2 – semantic (per feature, optional):
+ * nearest previous user prompt in the same feature/model/system-prompt bucket
+ * by cosine similarity of {@link PromptEmbedder} vectors.
+ *
+ * Only features configured under app.ai.cache.features are cached; each has its
+ * own TTL. Entries are size-bounded and evicted by Caffeine. Lookups are counted
+ * as {@code ai.cache.lookups{feature, result=hit|semantic_hit|miss}}.
+ *
+ * Identical requests to a cached feature that are in flight at the same time
+ * share one provider call, keyed like tier 1; counted as
+ * {@code singleflight.calls{name=ai-completion}}. Uncached features are
+ * sampled completions and every call goes to the provider on its own.
+ * Opting a feature in therefore also declares that one reply may be shared
+ * between callers.
+ */
+@Component
+public class AiResponseCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final AiCacheProperties properties;
+    private final PromptEmbedder embedder;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, CachedCompletion> exact;
+    private final Map<String, SemanticBucket> semantic = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final SingleFlight<String, String> inFlight;
+
+    public AiResponseCache(AiCacheProperties properties, PromptEmbedder embedder, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.embedder = embedder;
+        this.meterRegistry = meterRegistry;
+        this.exact = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfter(new Expiry<String, CachedCompletion>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedCompletion value, long currentTime) {
+                        return value.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedCompletion value, long currentTime,
+                                                  long currentDuration) {
+                        return value.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedCompletion value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, exact, "ai-response");
+        this.inFlight = new SingleFlight<>("ai-completion", meterRegistry);
+    }
+
+    /**
+     * Returns a cached completion for an opted-in feature or calls {@code loader}.
+     * A {@code null} from the loader (empty provider response) is not cached;
+     * exceptions propagate to the caller untouched.
+     */
+    public String getOrCompute(String feature, String model, int maxTokens,
+                               String systemPrompt, String userPrompt, Supplier<String> loader) {
+        AiCacheProperties.Feature config = properties.isEnabled() ? properties.feature(feature) : null;
+        if (config == null) {
+            return loader.get();
+        }
+        String system = normalize(systemPrompt);
+        String user = normalize(userPrompt);
+        String key = sha256(feature, model, String.valueOf(maxTokens), system, user);
+
+        CachedCompletion cached = exact.getIfPresent(key);
+        if (cached != null) {
+            count(feature, "hit");
+            return cached.text();
+        }
+
+        SemanticBucket bucket = null;
+        float[] vector = null;
+        if (config.isSemantic()) {
+            bucket = semantic.computeIfAbsent(sha256(feature, model, String.valueOf(maxTokens), system),
+                    k -> new SemanticBucket(properties.getMaxSemanticEntriesPerBucket()));
+            vector = embedder.embed(user);
+            String nearestKey = bucket.nearest(vector, config.getSimilarityThreshold());
+            CachedCompletion near = nearestKey != null ? exact.getIfPresent(nearestKey) : null;
+            if (near != null) {
+                count(feature, "semantic_hit");
+                return near.text();
+            }
+        }
+
+        count(feature, "miss");
+        SemanticBucket semanticBucket = bucket;
+        float[] semanticVector = vector;
+        return inFlight.execute(key, () -> {
+            // Filled by a call that finished between our lookup and joining the flight
+            CachedCompletion fresh = exact.policy().getIfPresentQuietly(key);
+            if (fresh != null) {
+                return fresh.text();
+            }
+            String text = loader.get();
+            if (text != null) {
+                exact.put(key, new CachedCompletion(text, config.getTtl()));
+                if (semanticBucket != null) {
+                    semanticBucket.add(semanticVector, key);
+                }
+            }
+            return text;
+        });
+    }
+
+    public void invalidateAll() {
+        exact.invalidateAll();
+        semantic.clear();
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String nfc = Normalizer.normalize(text, Normalizer.Form.NFC);
+        return WHITESPACE.matcher(nfc).replaceAll(" ").trim();
+    }
+
+    private void count(String feature, String result) {
+        counters.computeIfAbsent(feature + '|' + result, k -> Counter.builder("ai.cache.lookups")
+                .tag("feature", feature)
+                .tag("result", result)
+                .register(meterRegistry)).increment();
+    }
+
+    private static String sha256(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record CachedCompletion(String text, Duration ttl) {
+    }
+
+    /**
+     * Most recent prompt vectors for one feature/model/system prompt. A stale
+     * entry whose exact key has expired simply misses in tier 1 and is skipped.
+     */
+    private static final class SemanticBucket {
+
+        private final int capacity;
+        private final Deque<Map.Entry<float[], String>> entries = new ArrayDeque<>();
+        private final ReentrantLock lock = new ReentrantLock();
+
+        SemanticBucket(int capacity) {
+            this.capacity = capacity;
+        }
+
+        String nearest(float[] vector, double threshold) {
+            lock.lock();
+            try {
+                String best = null;
+                double bestScore = threshold;
+                for (Map.Entry<float[], String> entry : entries) {
+                    double score = dot(vector, entry.getKey());
+                    if (score >= bestScore) {
+                        bestScore = score;
+                        best = entry.getValue();
+                    }
+                }
+                return best;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void add(float[] vector, String key) {
+            lock.lock();
+            try {
+                entries.addFirst(Map.entry(vector, key));
+                while (entries.size() > capacity) {
+                    entries.removeLast();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private static double dot(float[] a, float[] b) {
+            double sum = 0;
+            for (int i = 0; i < a.length && i < b.length; i++) {
+                sum += a[i] * b[i];
+            }
+            return sum;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package ee.kerrete.ainterview.service;
 import ee.kerrete.ainterview.model.Question;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AiService {
 
@@ -10,6 +11,27 @@ public interface AiService {
 
     String createChatCompletion(String systemPrompt, String userPrompt);
 
+    /**
+     * Same as {@link #createChatCompletion(String, String)}, tagged with a feature
+     * name (e.g. "salary-benchmark") so the response cache can apply that
+     * feature's opt-in and TTL.
+     */
+    default String createChatCompletion(String feature, String systemPrompt, String userPrompt) {
+        return createChatCompletion(systemPrompt, userPrompt);
+    }
+
+    /**
+     * Streaming variant of {@link #createChatCompletion(String, String)}.
+     * {@code onDelta} receives each text fragment as the provider emits it;
+     * the return value is the full concatenated completion.
+     * Implementations without streaming support emit the whole text once.
+     */
+    default String streamChatCompletion(String systemPrompt, String userPrompt, Consumer<String> onDelta) {
+        String text = createChatCompletion(systemPrompt, userPrompt);
+        onDelta.accept(text);
+        return text;
+    }
+
     String evaluateAnswer(String question, String answer);
 
     List<Question> generateQuestionsFromCv(String cvText, int technicalCount, int softCount);
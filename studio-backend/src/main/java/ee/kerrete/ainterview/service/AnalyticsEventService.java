@@ -0,0 +1,91 @@
+package ee.kerrete.ainterview.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.kerrete.ainterview.config.WriteBehindProperties;
+import ee.kerrete.ainterview.model.AnalyticsEvent;
+import ee.kerrete.ainterview.repository.AnalyticsEventBatchWriter;
+import ee.kerrete.ainterview.support.WriteBehindBuffer;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+/**
+ * Accepts client analytics events and hands them to the "analytics"
+ * write-behind pipeline. The endpoint is public, so field sizes are capped
+ * and malformed events are ignored rather than rejected.
+ */
+@Service
+public class AnalyticsEventService {
+
+    static final String PIPELINE = "analytics";
+    static final int MAX_NAME_LENGTH = 64;
+    static final int MAX_PROPERTIES_LENGTH = 4_000;
+
+    private final ObjectMapper objectMapper;
+    private final WriteBehindBuffer<AnalyticsEvent> buffer;
+
+    public AnalyticsEventService(AnalyticsEventBatchWriter batchWriter,
+                                 WriteBehindProperties writeBehindProperties,
+                                 MeterRegistry meterRegistry,
+                                 ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.buffer = new WriteBehindBuffer<>(PIPELINE, writeBehindProperties.specFor(PIPELINE),
+                batchWriter::insertAll, meterRegistry);
+    }
+
+    /**
+     * Queues a {@code {event, properties, timestamp, sessionId}} payload.
+     * Returns false when the payload has no event name.
+     */
+    public boolean track(Map<String, Object> payload) {
+        if (payload == null || !(payload.get("event") instanceof String name) || name.isBlank()) {
+            return false;
+        }
+        buffer.offer(AnalyticsEvent.builder()
+                .receivedAt(LocalDateTime.now())
+                .eventName(truncate(name.trim(), MAX_NAME_LENGTH))
+                .sessionId(payload.get("sessionId") instanceof String s ? truncate(s, MAX_NAME_LENGTH) : null)
+                .clientTs(parseTimestamp(payload.get("timestamp")))
+                .propertiesJson(serialize(payload.get("properties")))
+                .build());
+        return true;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        buffer.close();
+    }
+
+    private String serialize(Object properties) {
+        if (!(properties instanceof Map<?, ?> map) || map.isEmpty()) {
+            return null;
+        }
+        try {
+            String json = objectMapper.writeValueAsString(map);
+            return json.length() > MAX_PROPERTIES_LENGTH ? null : json;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static OffsetDateTime parseTimestamp(Object value) {
+        if (!(value instanceof String s)) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(s);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String truncate(String value, int max) {
+        return value.length() <= max ? value : value.substring(0, max);
+    }
+}
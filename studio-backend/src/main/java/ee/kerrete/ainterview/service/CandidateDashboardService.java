@@ -20,9 +20,9 @@ import ee.kerrete.ainterview.dto.dashboard.DashboardResponse;
 import ee.kerrete.ainterview.dto.dashboard.DashboardTrainingDto;
 import ee.kerrete.ainterview.model.JobAnalysisSession;
 import ee.kerrete.ainterview.model.TrainingProgress;
+import ee.kerrete.ainterview.model.UserProgressSummary;
 import ee.kerrete.ainterview.repository.JobAnalysisSessionRepository;
 import ee.kerrete.ainterview.repository.TrainingProgressRepository;
-import ee.kerrete.ainterview.repository.TrainingTaskRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -42,7 +42,7 @@ public class CandidateDashboardService {
     private final RoleMatchRepository roleMatchRepository;
     private final CareerRiskScoreRepository careerRiskScoreRepository;
     private final RoleProfileRepository roleProfileRepository;
-    private final TrainingTaskRepository trainingTaskRepository;
+    private final UserProgressSummaryService userProgressSummaryService;
     private final TrainingProgressRepository trainingProgressRepository;
     private final JobAnalysisSessionRepository jobAnalysisSessionRepository;
     private final ObjectMapper objectMapper;
@@ -137,8 +137,9 @@ public class CandidateDashboardService {
     }
 
     private DashboardTrainingDto buildTraining(String email) {
-        long totalTasks = trainingTaskRepository.countByEmail(email);
-        long completed = trainingTaskRepository.countByEmailAndCompletedIsTrue(email);
+        UserProgressSummary summary = userProgressSummaryService.get(email);
+        long totalTasks = summary.trainingTasks();
+        long completed = summary.completedTrainingTasks();
         TrainingProgress progress = trainingProgressRepository.findByEmail(email).orElse(null);
         Integer percent = progress != null ? progress.getTrainingProgressPercent() : null;
         String status = progress != null && progress.getStatus() != null ? progress.getStatus().name() : "NOT_STARTED";
@@ -1,19 +1,27 @@
 package ee.kerrete.ainterview.service;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import ee.kerrete.ainterview.config.ClaudeProperties;
 import ee.kerrete.ainterview.model.Question;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Primary;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 @Service
 @Primary
@@ -21,14 +29,33 @@ import java.util.List;
 public class ClaudeApiService implements AiService {
 
     private final ClaudeProperties properties;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+    private final AiResponseCache responseCache;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    public ClaudeApiService(ClaudeProperties properties) {
+    public ClaudeApiService(ClaudeProperties properties,
+            @Qualifier("aiRestTemplate") RestTemplate restTemplate,
+            AiResponseCache responseCache) {
         this.properties = properties;
+        this.restTemplate = restTemplate;
+        this.responseCache = responseCache;
     }
 
-    private String callClaude(String systemPrompt, List<ClaudeMessage> messages, int maxTokens) {
+    private String callClaude(String feature, String systemPrompt, List<ClaudeMessage> messages, int maxTokens) {
+        try {
+            String text = responseCache.getOrCompute(feature, properties.getModel(), maxTokens,
+                    systemPrompt, userText(messages), () -> exchange(systemPrompt, messages, maxTokens));
+            return text != null ? text : "AI did not return a response.";
+        } catch (Exception e) {
+            log.error("Claude API request failed", e);
+            return "Claude API request failed: " + e.getMessage();
+        }
+    }
+
+    /**
+     * One non-streaming /messages round trip; {@code null} when the model returned no content.
+     */
+    private String exchange(String systemPrompt, List<ClaudeMessage> messages, int maxTokens) {
         String url = properties.getBaseUrl() + "/messages";
 
         ClaudeRequest body = ClaudeRequest.builder()
@@ -45,21 +72,97 @@ public class ClaudeApiService implements AiService {
 
         HttpEntity<ClaudeRequest> entity = new HttpEntity<>(body, headers);
 
-        try {
-            ResponseEntity<ClaudeResponse> response =
-                    restTemplate.exchange(url, HttpMethod.POST, entity, ClaudeResponse.class);
+        ResponseEntity<ClaudeResponse> response =
+                restTemplate.exchange(url, HttpMethod.POST, entity, ClaudeResponse.class);
 
-            if (response.getBody() == null ||
-                    response.getBody().content == null ||
-                    response.getBody().content.isEmpty()) {
-                return "AI did not return a response.";
-            }
+        if (response.getBody() == null ||
+                response.getBody().content == null ||
+                response.getBody().content.isEmpty()) {
+            return null;
+        }
+
+        return response.getBody().content.get(0).text.trim();
+    }
 
-            return response.getBody().content.get(0).text.trim();
+    private static String userText(List<ClaudeMessage> messages) {
+        StringBuilder sb = new StringBuilder();
+        for (ClaudeMessage message : messages) {
+            sb.append(message.getRole()).append(": ").append(message.getContent()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Same request as {@link #callClaude} but with {@code stream: true}; the
+     * event stream is parsed incrementally and every {@code text_delta} is
+     * handed to {@code onDelta} before the next one is read.
+     *
+     * @throws ResponseStatusException 502 when the request fails or the stream
+     *         ends before {@code message_stop}; the deltas already sent are then
+     *         an incomplete reply and must not be kept
+     * @throws UncheckedIOException from {@code onDelta}, unchanged
+     */
+    private String streamClaude(String systemPrompt, List<ClaudeMessage> messages, int maxTokens,
+                                Consumer<String> onDelta) {
+        String url = properties.getBaseUrl() + "/messages";
+
+        ClaudeRequest body = ClaudeRequest.builder()
+                .model(properties.getModel())
+                .maxTokens(maxTokens)
+                .system(systemPrompt)
+                .messages(messages)
+                .stream(true)
+                .build();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+        headers.set("x-api-key", properties.getApiKey());
+        headers.set("anthropic-version", "2023-06-01");
+
+        StringBuilder text = new StringBuilder();
+        AtomicBoolean stopped = new AtomicBoolean();
+        try {
+            restTemplate.execute(url, HttpMethod.POST,
+                    restTemplate.httpEntityCallback(new HttpEntity<>(body, headers)),
+                    response -> {
+                        ServerSentEventReader.read(response.getBody(), (event, data) -> {
+                            JsonNode node = objectMapper.readTree(data);
+                            String type = node.path("type").asText(event);
+                            if ("content_block_delta".equals(type)
+                                    && "text_delta".equals(node.path("delta").path("type").asText())) {
+                                String delta = node.path("delta").path("text").asText("");
+                                if (!delta.isEmpty()) {
+                                    text.append(delta);
+                                    onDelta.accept(delta);
+                                }
+                            } else if ("message_stop".equals(type)) {
+                                stopped.set(true);
+                            } else if ("error".equals(type)) {
+                                throw new IOException(node.path("error").path("message").asText("stream error"));
+                            }
+                        });
+                        return null;
+                    });
+        } catch (UncheckedIOException e) {
+            // onDelta failed: the client went away, let the caller abandon the work
+            throw e;
         } catch (Exception e) {
-            log.error("Claude API request failed", e);
-            return "Claude API request failed: " + e.getMessage();
+            log.error("Claude API streaming request failed after {} chars", text.length(), e);
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Claude API request failed");
+        }
+
+        if (!stopped.get()) {
+            // connection closed without message_stop: the text is truncated
+            log.error("Claude API stream ended without message_stop after {} chars", text.length());
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Claude API stream ended early");
         }
+        if (text.length() == 0) {
+            String empty = "AI did not return a response.";
+            onDelta.accept(empty);
+            return empty;
+        }
+        return text.toString().trim();
     }
 
     @Override
@@ -67,15 +170,28 @@ public class ClaudeApiService implements AiService {
         List<ClaudeMessage> messages = List.of(
                 new ClaudeMessage("user", prompt)
         );
-        return callClaude("You are a helpful AI assistant.", messages, 2048);
+        return callClaude("complete", "You are a helpful AI assistant.", messages, 2048);
     }
 
     @Override
     public String createChatCompletion(String systemPrompt, String userPrompt) {
+        return createChatCompletion("chat", systemPrompt, userPrompt);
+    }
+
+    @Override
+    public String createChatCompletion(String feature, String systemPrompt, String userPrompt) {
         List<ClaudeMessage> messages = List.of(
                 new ClaudeMessage("user", userPrompt)
         );
-        return callClaude(systemPrompt, messages, 2048);
+        return callClaude(feature, systemPrompt, messages, 2048);
+    }
+
+    @Override
+    public String streamChatCompletion(String systemPrompt, String userPrompt, Consumer<String> onDelta) {
+        List<ClaudeMessage> messages = List.of(
+                new ClaudeMessage("user", userPrompt)
+        );
+        return streamClaude(systemPrompt, messages, 2048, onDelta);
     }
 
     @Override
@@ -106,7 +222,7 @@ public class ClaudeApiService implements AiService {
                 new ClaudeMessage("user", userPrompt)
         );
 
-        return callClaude(systemPrompt, messages, 800);
+        return callClaude("evaluate-answer", systemPrompt, messages, 800);
     }
 
     @Override
@@ -138,7 +254,7 @@ public class ClaudeApiService implements AiService {
                 new ClaudeMessage("user", userPrompt)
         );
 
-        String json = callClaude(systemPrompt, messages, 1200);
+        String json = callClaude("cv-questions", systemPrompt, messages, 1200);
 
         try {
             Question[] arr = objectMapper.readValue(json, Question[].class);
@@ -203,7 +319,7 @@ public class ClaudeApiService implements AiService {
                 new ClaudeMessage("user", userPrompt)
         );
 
-        return callClaude(systemPrompt, messages, 1800);
+        return callClaude("skill-plan", systemPrompt, messages, 1800);
     }
 
     // ============ DTOs for Claude API ============
@@ -221,6 +337,9 @@ public class ClaudeApiService implements AiService {
 
         private String system;
         private List<ClaudeMessage> messages;
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Boolean stream;
     }
 
     @Getter
@@ -2,11 +2,9 @@ package ee.kerrete.ainterview.service;
 
 import ee.kerrete.ainterview.dto.DashboardResponse;
 import ee.kerrete.ainterview.dto.UserProfileDto;
-import ee.kerrete.ainterview.model.JobAnalysisSession;
 import ee.kerrete.ainterview.model.TrainingProgress;
+import ee.kerrete.ainterview.model.UserProgressSummary;
 import ee.kerrete.ainterview.repository.CvSummaryRepository;
-import ee.kerrete.ainterview.repository.JobAnalysisSessionRepository;
-import ee.kerrete.ainterview.repository.RoadmapTaskRepository;
 import ee.kerrete.ainterview.repository.TrainingProgressRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -19,8 +17,7 @@ public class DashboardService {
     private final UserProfileService userProfileService;
     private final CvSummaryRepository cvSummaryRepository;
     private final TrainingProgressRepository trainingProgressRepository;
-    private final RoadmapTaskRepository roadmapTaskRepository;
-    private final JobAnalysisSessionRepository jobAnalysisSessionRepository;
+    private final UserProgressSummaryService userProgressSummaryService;
 
     @Transactional(readOnly = true)
     public DashboardResponse get(String email) {
@@ -29,8 +26,9 @@ public class DashboardService {
         TrainingProgress progress = trainingProgressRepository.findByEmail(email)
                 .orElse(null);
 
-        int totalRoadmapTasks = Math.toIntExact(roadmapTaskRepository.countByEmail(email));
-        int completedRoadmap = Math.toIntExact(roadmapTaskRepository.countByEmailAndCompletedIsTrue(email));
+        UserProgressSummary summary = userProgressSummaryService.get(email);
+        int totalRoadmapTasks = summary.roadmapTasks();
+        int completedRoadmap = summary.completedRoadmapTasks();
 
         int totalTrainingTasks = totalRoadmapTasks;
         int completedTrainingTasks = completedRoadmap;
@@ -40,14 +38,14 @@ public class DashboardService {
             completedTrainingTasks += progress.getCompletedTasks();
         }
 
-        JobAnalysisSession last = jobAnalysisSessionRepository.findTopByEmailOrderByCreatedAtDesc(email).orElse(null);
-        Double lastScore = last != null ? last.getMatchScore() : (progress != null ? progress.getLastMatchScore() : null);
-        String lastSummary = last != null ? last.getSummary() : (progress != null ? progress.getLastMatchSummary() : null);
+        boolean hasAnalysis = summary.hasJobAnalysis();
+        Double lastScore = hasAnalysis ? summary.lastAnalysisScore() : (progress != null ? progress.getLastMatchScore() : null);
+        String lastSummary = hasAnalysis ? summary.lastAnalysisSummary() : (progress != null ? progress.getLastMatchSummary() : null);
         String lastActive = null;
         if (progress != null && progress.getLastActivityAt() != null) {
             lastActive = progress.getLastActivityAt().toString();
-        } else if (last != null && last.getCreatedAt() != null) {
-            lastActive = last.getCreatedAt().toString();
+        } else if (summary.lastAnalysisAt() != null) {
+            lastActive = summary.lastAnalysisAt().toString();
         }
 
         boolean cvUploaded = cvSummaryRepository.existsByEmail(email);
@@ -0,0 +1,352 @@
+package ee.kerrete.ainterview.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import ee.kerrete.ainterview.config.DocumentExtractionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Plain text from uploaded CVs (PDF, DOCX, plain text), shared by the
+ * interview CV flow and the arena CV optimizer.
+ *
+ * The upload is hashed in one streaming pass; SHA-256 plus the detected type
+ * keys a cache of extracted text, so the same file uploaded again is not
+ * parsed again. On a miss PDF and DOCX uploads are written to a temp file
+ * instead of a heap array:
+ * <ul>
+ *   <li>PDFs are opened from the file with a main-memory stream cache capped
+ *   at max-main-memory, and read up to max-pages. Long documents are split
+ *   into page ranges extracted in parallel, each range on its own
+ *   PDDocument because PDFBox documents are not thread-safe.</li>
+ *   <li>DOCX bodies are streamed out of the zip with StAX.</li>
+ * </ul>
+ * Text is cut off at max-chars.
+ */
+@Component
+@Slf4j
+public class DocumentTextExtractor {
+
+    public enum DocumentType {
+        PDF,
+        DOCX,
+        TEXT
+    }
+
+    private static final String DOCX_CONTENT_TYPE =
+            "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+    private static final String WORD_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final byte[] PDF_MAGIC = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ZIP_MAGIC = {'P', 'K', 3, 4};
+
+    private record Fingerprint(String sha256, byte[] head) {
+    }
+
+    private final DocumentExtractionProperties properties;
+    private final Executor executor;
+    private final Cache<String, String> cache;
+
+    public DocumentTextExtractor(DocumentExtractionProperties properties,
+                                 Environment environment,
+                                 MeterRegistry meterRegistry) {
+        this(properties, pageExecutor(properties, environment), meterRegistry);
+    }
+
+    DocumentTextExtractor(DocumentExtractionProperties properties, Executor executor, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.executor = executor;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getCacheMaxChars())
+                .weigher((String key, String text) -> text.length())
+                .expireAfterAccess(properties.getCacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "document-text");
+    }
+
+    private static AsyncTaskExecutor pageExecutor(DocumentExtractionProperties properties, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("pdf-pages-");
+            virtual.setVirtualThreads(true);
+            virtual.setConcurrencyLimit(properties.getPoolSize());
+            return virtual;
+        }
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setThreadNamePrefix("pdf-pages-");
+        pool.setCorePoolSize(properties.getPoolSize());
+        pool.setMaxPoolSize(properties.getPoolSize());
+        pool.setQueueCapacity(properties.getPoolSize() * 4);
+        pool.initialize();
+        return pool;
+    }
+
+    @PreDestroy
+    void shutdown() throws Exception {
+        if (executor instanceof DisposableBean disposable) {
+            disposable.destroy();
+        } else if (executor instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * Returns the text of {@code file}, or empty when it is neither PDF, DOCX
+     * nor text. Throws when the file cannot be read or parsed.
+     */
+    public Optional<String> extractText(MultipartFile file) throws IOException {
+        Fingerprint fingerprint = fingerprint(file);
+        DocumentType type = detect(file.getContentType(), file.getOriginalFilename(), fingerprint.head());
+        if (type == null) {
+            return Optional.empty();
+        }
+        String key = type.name() + ':' + fingerprint.sha256();
+        String cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        String text = type == DocumentType.TEXT ? plainText(file) : fromTempFile(file, type);
+        if (text.length() > properties.getMaxChars()) {
+            log.debug("Extracted text of {} cut off at {} characters", file.getOriginalFilename(), properties.getMaxChars());
+            text = text.substring(0, properties.getMaxChars());
+        }
+        cache.put(key, text);
+        return Optional.of(text);
+    }
+
+    static DocumentType detect(String contentType, String filename, byte[] head) {
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        if (startsWith(head, PDF_MAGIC)) {
+            return DocumentType.PDF;
+        }
+        if (startsWith(head, ZIP_MAGIC) && (type.equals(DOCX_CONTENT_TYPE) || name.endsWith(".docx"))) {
+            return DocumentType.DOCX;
+        }
+        if (type.contains("pdf") || name.endsWith(".pdf")) {
+            return DocumentType.PDF;
+        }
+        if (type.startsWith("text/") || name.endsWith(".txt")) {
+            return DocumentType.TEXT;
+        }
+        return null;
+    }
+
+    private String fromTempFile(MultipartFile file, DocumentType type) throws IOException {
+        Path tmp = Files.createTempFile("cv-upload-", type == DocumentType.PDF ? ".pdf" : ".docx");
+        try {
+            file.transferTo(tmp);
+            return type == DocumentType.PDF ? pdfText(tmp) : docxText(tmp);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private String pdfText(Path path) throws IOException {
+        try (PDDocument document = loadPdf(path)) {
+            int pages = Math.min(document.getNumberOfPages(), properties.getMaxPages());
+            int perTask = Math.max(1, properties.getPagesPerTask());
+            if (pages < properties.getParallelPageThreshold() || pages <= perTask) {
+                return strip(document, 1, pages);
+            }
+
+            // First range on this thread with the open document, the rest on the pool
+            List<CompletableFuture<String>> rest = new ArrayList<>();
+            for (int start = 1 + perTask; start <= pages; start += perTask) {
+                int from = start;
+                int to = Math.min(pages, start + perTask - 1);
+                rest.add(stripAsync(path, from, to));
+            }
+            StringBuilder text = new StringBuilder(strip(document, 1, perTask));
+            for (CompletableFuture<String> range : rest) {
+                text.append(join(range));
+            }
+            return text.toString();
+        }
+    }
+
+    private CompletableFuture<String> stripAsync(Path path, int from, int to) throws IOException {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try (PDDocument document = loadPdf(path)) {
+                    return strip(document, from, to);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            try (PDDocument document = loadPdf(path)) {
+                return CompletableFuture.completedFuture(strip(document, from, to));
+            }
+        }
+    }
+
+    private PDDocument loadPdf(Path path) throws IOException {
+        return Loader.loadPDF(path.toFile(), MemoryUsageSetting.setupMixed(properties.getMaxMainMemory().toBytes()).streamCache);
+    }
+
+    private static String strip(PDDocument document, int from, int to) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setStartPage(from);
+        stripper.setEndPage(to);
+        return stripper.getText(document);
+    }
+
+    private static String join(CompletableFuture<String> range) throws IOException {
+        try {
+            return range.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private String docxText(Path path) throws IOException {
+        try (ZipFile zip = new ZipFile(path.toFile())) {
+            ZipEntry body = zip.getEntry("word/document.xml");
+            if (body == null) {
+                throw new IOException("Not a Word document: word/document.xml is missing");
+            }
+            try (InputStream in = zip.getInputStream(body)) {
+                return docxBody(in, properties.getMaxChars());
+            }
+        }
+    }
+
+    /**
+     * Text runs of a WordprocessingML body, one line per paragraph. Stops
+     * reading once {@code maxChars} are collected.
+     */
+    static String docxBody(InputStream in, int maxChars) throws IOException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        StringBuilder text = new StringBuilder();
+        try {
+            XMLStreamReader reader = factory.createXMLStreamReader(in);
+            try {
+                boolean inRun = false;
+                boolean inText = false;
+                while (reader.hasNext() && text.length() < maxChars) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT && WORD_NS.equals(reader.getNamespaceURI())) {
+                        switch (reader.getLocalName()) {
+                            case "r" -> inRun = true;
+                            case "t" -> inText = inRun;
+                            case "tab" -> {
+                                if (inRun) {
+                                    text.append('\t');
+                                }
+                            }
+                            case "br", "cr" -> {
+                                if (inRun) {
+                                    text.append('\n');
+                                }
+                            }
+                            default -> { }
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT && WORD_NS.equals(reader.getNamespaceURI())) {
+                        switch (reader.getLocalName()) {
+                            case "r" -> inRun = false;
+                            case "t" -> inText = false;
+                            case "p" -> text.append('\n');
+                            default -> { }
+                        }
+                    } else if (inText && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)) {
+                        text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed Word document", e);
+        }
+        return text.toString();
+    }
+
+    private String plainText(MultipartFile file) throws IOException {
+        int maxChars = properties.getMaxChars();
+        StringBuilder text = new StringBuilder();
+        char[] buffer = new char[8192];
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            int read;
+            while (text.length() < maxChars
+                    && (read = reader.read(buffer, 0, Math.min(buffer.length, maxChars - text.length()))) > 0) {
+                text.append(buffer, 0, read);
+            }
+        }
+        return text.toString();
+    }
+
+    private static Fingerprint fingerprint(MultipartFile file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        byte[] head = new byte[8];
+        int headLength = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = file.getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                if (headLength < head.length) {
+                    int copy = Math.min(read, head.length - headLength);
+                    System.arraycopy(buffer, 0, head, headLength, copy);
+                    headLength += copy;
+                }
+                digest.update(buffer, 0, read);
+            }
+        }
+        return new Fingerprint(HexFormat.of().formatHex(digest.digest()), Arrays.copyOf(head, headLength));
+    }
+
+    private static boolean startsWith(byte[] head, byte[] magic) {
+        return head.length >= magic.length && Arrays.equals(head, 0, magic.length, magic, 0, magic.length);
+    }
+}
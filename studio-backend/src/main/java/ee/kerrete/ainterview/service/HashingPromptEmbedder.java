@@ -0,0 +1,55 @@
+package ee.kerrete.ainterview.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Local, dependency-free embedder: hashes lower-cased word unigrams and
+ * bigrams into a fixed number of buckets (feature hashing) and normalises the
+ * result. Good enough to catch re-sent prompts that differ only in wording
+ * order, punctuation or a few words, without a network round trip.
+ */
+@Component
+public class HashingPromptEmbedder implements PromptEmbedder {
+
+    private static final int DIMENSIONS = 512;
+
+    @Override
+    public float[] embed(String text) {
+        float[] vector = new float[DIMENSIONS];
+        if (text == null || text.isBlank()) {
+            return vector;
+        }
+
+        String previous = null;
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            add(vector, token.hashCode());
+            if (previous != null) {
+                add(vector, (previous + ' ' + token).hashCode());
+            }
+            previous = token;
+        }
+
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        if (norm > 0) {
+            float inv = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= inv;
+            }
+        }
+        return vector;
+    }
+
+    private static void add(float[] vector, int hash) {
+        int h = hash * 0x9E3779B1;
+        int index = (h >>> 1) % DIMENSIONS;
+        vector[index] += (h & 1) == 0 ? 1f : -1f;
+    }
+}
@@ -13,6 +13,7 @@ import ee.kerrete.ainterview.repository.RoadmapTaskRepository;
 import ee.kerrete.ainterview.repository.TrainingProgressRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
@@ -32,6 +33,10 @@ public class JobAnalysisService {
     private final RoadmapTaskRepository roadmapTaskRepository;
     private final JobAnalysisSessionRepository jobAnalysisSessionRepository;
     private final TrainingProgressRepository trainingProgressRepository;
+    private final JobAnalysisStatsService jobAnalysisStatsService;
+
+    @Qualifier("aiRestTemplate")
+    private final RestTemplate restTemplate;
 
     @Value("${openai.api-key:}")
     private String apiKey;
@@ -61,8 +66,6 @@ public class JobAnalysisService {
         try {
             String prompt = buildPrompt(request);
 
-            RestTemplate restTemplate = new RestTemplate();
-
             // OpenAI chat/completions payload
             Map<String, Object> body = Map.of(
                     "model", model,
@@ -309,6 +312,7 @@ public class JobAnalysisService {
                     .createdAt(LocalDateTime.now())
                     .build();
             jobAnalysisSessionRepository.save(session);
+            jobAnalysisStatsService.record(session.getEmail(), session.getMatchScore(), session.getSummary());
         } catch (Exception e) {
             log.warn("Persisting job analysis session failed", e);
         }
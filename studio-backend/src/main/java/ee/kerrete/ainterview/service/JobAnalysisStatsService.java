@@ -1,24 +1,123 @@
 package ee.kerrete.ainterview.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import ee.kerrete.ainterview.config.JobAnalysisStatsProperties;
 import ee.kerrete.ainterview.dto.JobAnalysisRequest;
 import ee.kerrete.ainterview.dto.JobAnalysisResponse;
+import ee.kerrete.ainterview.repository.JobAnalysisStatsRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Hoiab Job Matcheri analüüside ajalugu mälus.
- * Key: email, Value: analüüside nimekiri.
+ * Job Matcheri analüüside statistika.
+ *
+ * - kogusummad (analüüside arv, keskmine match skoor) LongAdder/DoubleAdder
+ *   loenduritena; käivitumisel loetakse varasemad päevad andmebaasist
+ * - tunni- ja päevapõhised koondid (arv, keskmine skoor) mälus, hoitakse
+ *   app.job-analysis-stats.hourly-retention / daily-retention jagu
+ * - kasutaja kohta ringpuhver viimastest analüüsidest (piiratud suurusega,
+ *   kasutajate arv samuti piiratud); kasutaja analüüside koguarv tuleb
+ *   user_progress_summary reast
+ *
+ * Viimasest checkpointist saadik lisandunud koondid lisatakse tabelisse
+ * job_analysis_stats_bucket iga checkpoint-interval järel ja sulgemisel;
+ * ebaõnnestunud kirjutust proovitakse järgmisel korral uuesti. Kõik päringud
+ * (v.a. koondite loetelud) on O(1).
  */
 @Service
+@Slf4j
 public class JobAnalysisStatsService {
 
-    private final ConcurrentHashMap<String, List<JobAnalysisRecord>> historyByEmail =
-            new ConcurrentHashMap<>();
+    static final String HOUR = "HOUR";
+    static final String DAY = "DAY";
+
+    /**
+     * @param scored       analüüsid, millel oli match skoor
+     * @param averageScore keskmine match skoor (0–100) või null, kui skoore pole
+     */
+    public record Aggregate(long analyses, long scored, Double averageScore) {
+
+        static final Aggregate EMPTY = new Aggregate(0, 0, null);
+    }
+
+    public record BucketAggregate(LocalDateTime start, Aggregate aggregate) {
+    }
+
+    /**
+     * @param totalAnalyses      kõik kasutaja analüüsid
+     * @param recentAnalyses     mälus hoitud viimaste analüüside arv
+     * @param recentAverageScore nende keskmine match skoor
+     */
+    public record UserStats(String email,
+                            long totalAnalyses,
+                            int recentAnalyses,
+                            Double recentAverageScore,
+                            JobAnalysisRecord last) {
+    }
+
+    private final JobAnalysisStatsRepository repository;
+    private final UserProgressSummaryService userProgressSummaryService;
+    private final JobAnalysisStatsProperties properties;
+    private final Clock clock;
+    private final Tally global = new Tally();
+    private final Map<LocalDateTime, Bucket> hourly = new ConcurrentHashMap<>();
+    private final Map<LocalDateTime, Bucket> daily = new ConcurrentHashMap<>();
+    private final Cache<String, RecentAnalyses> recentByEmail;
+
+    @Autowired
+    public JobAnalysisStatsService(JobAnalysisStatsRepository repository,
+                                   UserProgressSummaryService userProgressSummaryService,
+                                   JobAnalysisStatsProperties properties) {
+        this(repository, userProgressSummaryService, properties, Clock.systemDefaultZone());
+    }
+
+    JobAnalysisStatsService(JobAnalysisStatsRepository repository,
+                            UserProgressSummaryService userProgressSummaryService,
+                            JobAnalysisStatsProperties properties,
+                            Clock clock) {
+        this.repository = repository;
+        this.userProgressSummaryService = userProgressSummaryService;
+        this.properties = properties;
+        this.clock = clock;
+        this.recentByEmail = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxUsers())
+                .expireAfterAccess(properties.getUserIdle())
+                .build();
+    }
+
+    @PostConstruct
+    void warmUp() {
+        global.addRow(repository.totals(DAY));
+        LocalDateTime now = LocalDateTime.now(clock);
+        int hours = load(hourly, HOUR, now.truncatedTo(ChronoUnit.HOURS).minus(properties.getHourlyRetention()));
+        int days = load(daily, DAY, now.truncatedTo(ChronoUnit.DAYS).minus(properties.getDailyRetention()));
+        log.info("Loaded job analysis stats: {} analyses, {} hourly and {} daily buckets",
+                global.analyses.sum(), hours, days);
+    }
+
+    private int load(Map<LocalDateTime, Bucket> buckets, String granularity, LocalDateTime from) {
+        List<JobAnalysisStatsRepository.Bucket> rows = repository.findSince(granularity, from);
+        for (JobAnalysisStatsRepository.Bucket row : rows) {
+            buckets.computeIfAbsent(row.start(), k -> new Bucket()).total.addRow(row);
+        }
+        return rows.size();
+    }
 
     /**
      * Logi iga analüüs pärast JobAnalysisService.analyze() väljakutset.
@@ -27,62 +126,258 @@ public class JobAnalysisStatsService {
         if (request == null) {
             return;
         }
+        record(request.getEmail(),
+                response != null ? response.getMatchScore() : null,
+                response != null ? response.getSummary() : null);
+    }
 
-        String email = request.getEmail();
+    /**
+     * Loeb ühe salvestatud analüüsi; {@code matchScore} skaalal 0–100.
+     */
+    public void record(String email, Double matchScore, String summary) {
         if (email == null || email.isBlank()) {
             // Kui email puudub, ei seo kasutajaga
             return;
         }
+        LocalDateTime now = LocalDateTime.now(clock);
+        global.add(matchScore);
+        hourly.computeIfAbsent(now.truncatedTo(ChronoUnit.HOURS), k -> new Bucket()).add(matchScore);
+        daily.computeIfAbsent(now.truncatedTo(ChronoUnit.DAYS), k -> new Bucket()).add(matchScore);
+        recentByEmail.get(email, k -> new RecentAnalyses(properties.getRecentPerUser()))
+                .add(new JobAnalysisRecord(email, matchScore, summary, OffsetDateTime.now(clock)));
+    }
+
+    /**
+     * Kõigi analüüside koond (kõigi kasutajate peale).
+     */
+    public Aggregate global() {
+        return global.snapshot();
+    }
+
+    /**
+     * Jooksva tunni koond.
+     */
+    public Aggregate currentHour() {
+        Bucket bucket = hourly.get(LocalDateTime.now(clock).truncatedTo(ChronoUnit.HOURS));
+        return bucket != null ? bucket.total.snapshot() : Aggregate.EMPTY;
+    }
+
+    /**
+     * Tänase päeva koond.
+     */
+    public Aggregate today() {
+        Bucket bucket = daily.get(LocalDateTime.now(clock).truncatedTo(ChronoUnit.DAYS));
+        return bucket != null ? bucket.total.snapshot() : Aggregate.EMPTY;
+    }
+
+    /**
+     * Viimase {@code hours} tunni koondid, uuem enne (ka tühjad tunnid).
+     */
+    public List<BucketAggregate> lastHours(int hours) {
+        return last(hourly, ChronoUnit.HOURS, hours);
+    }
 
-        Double matchScore = response != null ? response.getMatchScore() : null;
-        String summary = response != null ? response.getSummary() : null;
+    /**
+     * Viimase {@code days} päeva koondid, uuem enne (ka tühjad päevad).
+     */
+    public List<BucketAggregate> lastDays(int days) {
+        return last(daily, ChronoUnit.DAYS, days);
+    }
 
-        JobAnalysisRecord record = new JobAnalysisRecord(
-                email,
-                matchScore,
-                summary,
-                OffsetDateTime.now()
-        );
+    private List<BucketAggregate> last(Map<LocalDateTime, Bucket> buckets, ChronoUnit unit, int count) {
+        LocalDateTime start = LocalDateTime.now(clock).truncatedTo(unit);
+        List<BucketAggregate> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime bucketStart = start.minus(i, unit);
+            Bucket bucket = buckets.get(bucketStart);
+            result.add(new BucketAggregate(bucketStart, bucket != null ? bucket.total.snapshot() : Aggregate.EMPTY));
+        }
+        return result;
+    }
 
-        historyByEmail
-                .computeIfAbsent(email, k -> new ArrayList<>())
-                .add(record);
+    /**
+     * Kasutaja statistika: koguarv user_progress_summary reast, viimased
+     * analüüsid mälust.
+     */
+    public UserStats forUser(String email) {
+        if (email == null || email.isBlank()) {
+            return new UserStats(email, 0, 0, null, null);
+        }
+        long total = userProgressSummaryService.get(email).jobAnalyses();
+        RecentAnalyses recent = recentByEmail.getIfPresent(email);
+        if (recent == null) {
+            return new UserStats(email, total, 0, null, null);
+        }
+        return recent.toStats(email, total);
     }
 
     /**
      * Kõigi analüüside koguarv (kõigi kasutajate peale).
      */
     public int getTotalAnalyses() {
-        return historyByEmail.values()
-                .stream()
-                .mapToInt(List::size)
-                .sum();
+        return Math.toIntExact(global.analyses.sum());
     }
 
     /**
      * Antud emailiga tehtud analüüside arv.
      */
     public int getTotalAnalysesFor(String email) {
-        if (email == null || email.isBlank()) {
-            return 0;
-        }
-        return historyByEmail
-                .getOrDefault(email, Collections.emptyList())
-                .size();
+        return Math.toIntExact(forUser(email).totalAnalyses());
     }
 
     /**
-     * Viimane analüüs antud emaili jaoks (või null, kui puudub).
+     * Viimane analüüs antud emaili jaoks (või null, kui see pole mälus).
      */
     public JobAnalysisRecord getLastFor(String email) {
         if (email == null || email.isBlank()) {
             return null;
         }
-        List<JobAnalysisRecord> list = historyByEmail.get(email);
-        if (list == null || list.isEmpty()) {
-            return null;
+        RecentAnalyses recent = recentByEmail.getIfPresent(email);
+        return recent != null ? recent.last() : null;
+    }
+
+    /**
+     * Lisab viimasest checkpointist saadik loetud koondid andmebaasi ning
+     * unustab säilitusajast vanemad koondid.
+     */
+    @Scheduled(fixedDelayString = "${app.job-analysis-stats.checkpoint-interval:PT1M}",
+            initialDelayString = "${app.job-analysis-stats.checkpoint-interval:PT1M}")
+    public synchronized void checkpoint() {
+        List<JobAnalysisStatsRepository.Bucket> deltas = new ArrayList<>();
+        List<Bucket> sources = new ArrayList<>();
+        drain(hourly, HOUR, deltas, sources);
+        drain(daily, DAY, deltas, sources);
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime hourlyCutoff = now.truncatedTo(ChronoUnit.HOURS).minus(properties.getHourlyRetention());
+        try {
+            repository.addAll(deltas);
+        } catch (RuntimeException e) {
+            for (int i = 0; i < deltas.size(); i++) {
+                sources.get(i).pending.addRow(deltas.get(i));
+            }
+            log.warn("Failed to checkpoint {} job analysis stats buckets, retrying on next checkpoint",
+                    deltas.size(), e);
+            return;
+        }
+        // Deltas are committed by now; a failed purge must not put them back
+        try {
+            repository.deleteBefore(HOUR, hourlyCutoff);
+        } catch (RuntimeException e) {
+            log.warn("Failed to purge hourly job analysis stats before {}, retrying on next checkpoint",
+                    hourlyCutoff, e);
+        }
+        prune(hourly, hourlyCutoff);
+        prune(daily, now.truncatedTo(ChronoUnit.DAYS).minus(properties.getDailyRetention()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        checkpoint();
+    }
+
+    private static void drain(Map<LocalDateTime, Bucket> buckets, String granularity,
+                              List<JobAnalysisStatsRepository.Bucket> deltas, List<Bucket> sources) {
+        buckets.forEach((start, bucket) -> {
+            JobAnalysisStatsRepository.Bucket delta = bucket.pending.drain(granularity, start);
+            if (delta.analyses() != 0 || delta.scored() != 0) {
+                deltas.add(delta);
+                sources.add(bucket);
+            }
+        });
+    }
+
+    private static void prune(Map<LocalDateTime, Bucket> buckets, LocalDateTime cutoff) {
+        buckets.entrySet().removeIf(entry -> entry.getKey().isBefore(cutoff)
+                && entry.getValue().pending.analyses.sum() == 0);
+    }
+
+    /**
+     * Analüüside arv, skooriga analüüside arv ja skooride summa.
+     */
+    private static final class Tally {
+        private final LongAdder analyses = new LongAdder();
+        private final LongAdder scored = new LongAdder();
+        private final DoubleAdder scoreSum = new DoubleAdder();
+
+        void add(Double matchScore) {
+            analyses.increment();
+            if (matchScore != null) {
+                scored.increment();
+                scoreSum.add(matchScore);
+            }
+        }
+
+        void addRow(JobAnalysisStatsRepository.Bucket row) {
+            analyses.add(row.analyses());
+            scored.add(row.scored());
+            scoreSum.add(row.scoreSum());
+        }
+
+        Aggregate snapshot() {
+            long scoredCount = scored.sum();
+            return new Aggregate(analyses.sum(), scoredCount, scoredCount > 0 ? scoreSum.sum() / scoredCount : null);
+        }
+
+        /**
+         * Reads and resets the tally. An analysis counted concurrently lands in
+         * this or the next drain, never in none.
+         */
+        JobAnalysisStatsRepository.Bucket drain(String granularity, LocalDateTime start) {
+            return new JobAnalysisStatsRepository.Bucket(granularity, start,
+                    analyses.sumThenReset(), scored.sumThenReset(), scoreSum.sumThenReset());
+        }
+    }
+
+    /**
+     * Üks tunni- või päevakoond: kogu koond päringute jaoks ja viimasest
+     * checkpointist saadik lisandunu.
+     */
+    private static final class Bucket {
+        private final Tally total = new Tally();
+        private final Tally pending = new Tally();
+
+        void add(Double matchScore) {
+            total.add(matchScore);
+            pending.add(matchScore);
+        }
+    }
+
+    /**
+     * Kasutaja viimased analüüsid ringpuhvris koos nende skooride jooksva summaga.
+     */
+    private static final class RecentAnalyses {
+        private final JobAnalysisRecord[] slots;
+        private int next;
+        private int size;
+        private int scored;
+        private double scoreSum;
+
+        RecentAnalyses(int capacity) {
+            this.slots = new JobAnalysisRecord[Math.max(1, capacity)];
+        }
+
+        synchronized void add(JobAnalysisRecord record) {
+            JobAnalysisRecord evicted = slots[next];
+            if (evicted != null && evicted.getMatchScore() != null) {
+                scored--;
+                scoreSum -= evicted.getMatchScore();
+            }
+            slots[next] = record;
+            next = (next + 1) % slots.length;
+            size = Math.min(size + 1, slots.length);
+            if (record.getMatchScore() != null) {
+                scored++;
+                scoreSum += record.getMatchScore();
+            }
+        }
+
+        synchronized JobAnalysisRecord last() {
+            return size == 0 ? null : slots[(next - 1 + slots.length) % slots.length];
+        }
+
+        synchronized UserStats toStats(String email, long total) {
+            return new UserStats(email, total, size, scored > 0 ? scoreSum / scored : null, last());
         }
-        return list.get(list.size() - 1);
     }
 
     /**
@@ -1,33 +1,68 @@
 package ee.kerrete.ainterview.service;
 
+import ee.kerrete.ainterview.config.WriteBehindProperties;
 import ee.kerrete.ainterview.dto.ObserverLogCreateCommand;
 import ee.kerrete.ainterview.dto.ObserverLogDto;
 import ee.kerrete.ainterview.model.ObserverLogEvent;
+import ee.kerrete.ainterview.repository.ObserverLogBatchWriter;
 import ee.kerrete.ainterview.repository.ObserverLogEventRepository;
-import lombok.RequiredArgsConstructor;
+import ee.kerrete.ainterview.support.WriteBehindBuffer;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+/**
+ * Observer log of risk-flow stages. Events are recorded through the
+ * "observer-log" write-behind pipeline; reads merge in events that are
+ * still waiting to be flushed.
+ */
 @Service
-@RequiredArgsConstructor
 public class ObserverLogService {
 
+    static final String PIPELINE = "observer-log";
+
     private final ObserverLogEventRepository repository;
+    private final WriteBehindBuffer<ObserverLogEvent> buffer;
+
+    public ObserverLogService(ObserverLogEventRepository repository,
+                              ObserverLogBatchWriter batchWriter,
+                              WriteBehindProperties writeBehindProperties,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.buffer = new WriteBehindBuffer<>(PIPELINE, writeBehindProperties.specFor(PIPELINE),
+                batchWriter::insertAll, new TransactionTemplate(transactionManager), meterRegistry);
+    }
 
+    @Transactional(readOnly = true)
     public List<ObserverLogDto> getForSession(UUID sessionUuid) {
         if (sessionUuid == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sessionUuid is required");
         }
-        return repository.findBySessionUuidOrderByCreatedAtAsc(sessionUuid)
-                .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return buffer.readThrough(e -> sessionUuid.equals(e.getSessionUuid()), pending -> {
+            List<ObserverLogEvent> events = new ArrayList<>(repository.findBySessionUuidOrderByCreatedAtAsc(sessionUuid));
+            if (!pending.isEmpty()) {
+                events.addAll(pending);
+                events.sort(Comparator.comparing(ObserverLogEvent::getCreatedAt));
+            }
+            return events.stream()
+                    .map(this::toDto)
+                    .collect(Collectors.toList());
+        });
     }
 
     public void record(ObserverLogCreateCommand cmd) {
@@ -35,6 +70,8 @@ public class ObserverLogService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sessionUuid and stage are required");
         }
         ObserverLogEvent entity = new ObserverLogEvent();
+        entity.setId(UUID.randomUUID());
+        entity.setCreatedAt(OffsetDateTime.now());
         entity.setSessionUuid(cmd.getSessionUuid());
         entity.setStage(cmd.getStage());
         entity.setRiskBefore(cmd.getRiskBefore());
@@ -44,7 +81,19 @@ public class ObserverLogService {
         entity.setSignalsJson(normalize(cmd.getSignalsJson()));
         entity.setWeaknessesJson(normalize(cmd.getWeaknessesJson()));
         entity.setRationaleSummary(normalize(cmd.getRationaleSummary()));
-        repository.save(entity);
+        buffer.offer(entity);
+    }
+
+    /**
+     * Waits until every event recorded so far has been written.
+     */
+    public boolean flush(Duration timeout) {
+        return buffer.flush(timeout);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        buffer.close();
     }
 
     private String normalize(String value) {
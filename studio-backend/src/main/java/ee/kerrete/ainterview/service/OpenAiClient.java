@@ -1,17 +1,25 @@
 package ee.kerrete.ainterview.service;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import ee.kerrete.ainterview.config.OpenAiProperties;
 import ee.kerrete.ainterview.model.Question;
 import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /**
  * Ühtne OpenAI kliendi wrapper.
@@ -20,32 +28,55 @@ import java.util.List;
  * - generateQuestionsFromCv(...)→ tagastab List<Question>
  * - generateSkillBoosterPlan(...)→ tagastab JSON stringi SkillPlanResponse jaoks
  * - complete(...)              → lihtne "üks prompt" helper (kasutab StarAnswerController jms)
+ * - streamChatCompletion(...)  → sama mis createChatCompletion, aga tokenid voogedastusena (SSE)
  */
 @Service
+@Slf4j
 public class OpenAiClient implements AiService {
 
     private final OpenAiProperties properties;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+    private final AiResponseCache responseCache;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    public OpenAiClient(OpenAiProperties properties) {
+    public OpenAiClient(OpenAiProperties properties,
+            @Qualifier("aiRestTemplate") RestTemplate restTemplate,
+            AiResponseCache responseCache) {
         this.properties = properties;
+        this.restTemplate = restTemplate;
+        this.responseCache = responseCache;
     }
 
     /* =======================================================================
        PÕHI-MEETOD: madala taseme chat completion
        ======================================================================= */
 
-    private String callChat(List<ChatMessage> messages,
+    private String callChat(String feature,
+                            List<ChatMessage> messages,
                             Integer maxTokens,
                             Double temperature) {
+        int tokens = maxTokens != null ? maxTokens : 2048;
+        try {
+            String text = responseCache.getOrCompute(feature, properties.getModel(), tokens,
+                    contentOf(messages, true), contentOf(messages, false),
+                    () -> exchange(messages, tokens, temperature));
+            return text != null ? text : "AI ei tagastanud vastust.";
+        } catch (Exception e) {
+            e.printStackTrace();
+            return "OpenAI päring ebaõnnestus: " + e.getMessage();
+        }
+    }
 
+    /**
+     * Üks /chat/completions päring; null kui mudel sisu ei tagastanud.
+     */
+    private String exchange(List<ChatMessage> messages, int maxTokens, Double temperature) {
         String url = properties.getBaseUrl() + "/chat/completions";
 
         OpenAiRequest body = OpenAiRequest.builder()
                 .model(properties.getModel())
                 .messages(messages)
-                .maxTokens(maxTokens != null ? maxTokens : 2048)
+                .maxTokens(maxTokens)
                 .temperature(temperature != null ? temperature : 0.7)
                 .build();
 
@@ -55,22 +86,94 @@ public class OpenAiClient implements AiService {
 
         HttpEntity<OpenAiRequest> entity = new HttpEntity<>(body, headers);
 
-        try {
-            ResponseEntity<OpenAiResponse> response =
-                    restTemplate.exchange(url, HttpMethod.POST, entity, OpenAiResponse.class);
-
-            if (response.getBody() == null ||
-                    response.getBody().choices == null ||
-                    response.getBody().choices.isEmpty() ||
-                    response.getBody().choices.get(0).message == null) {
-                return "AI ei tagastanud vastust.";
+        ResponseEntity<OpenAiResponse> response =
+                restTemplate.exchange(url, HttpMethod.POST, entity, OpenAiResponse.class);
+
+        if (response.getBody() == null ||
+                response.getBody().choices == null ||
+                response.getBody().choices.isEmpty() ||
+                response.getBody().choices.get(0).message == null ||
+                response.getBody().choices.get(0).message.content == null) {
+            return null;
+        }
+
+        return response.getBody().choices.get(0).message.content.trim();
+    }
+
+    private static String contentOf(List<ChatMessage> messages, boolean system) {
+        StringBuilder sb = new StringBuilder();
+        for (ChatMessage message : messages) {
+            if ("system".equals(message.getRole()) == system) {
+                sb.append(message.getRole()).append(": ").append(message.getContent()).append('\n');
             }
+        }
+        return sb.toString();
+    }
+
+    /* =======================================================================
+       VOOGEDASTUS: stream=true, SSE sündmused loetakse jooksvalt.
+       Kui voog katkeb enne [DONE], visatakse 502 – poolikut vastust ei tagastata.
+       ======================================================================= */
 
-            return response.getBody().choices.get(0).message.content.trim();
+    private String streamChat(List<ChatMessage> messages,
+                              Integer maxTokens,
+                              Double temperature,
+                              Consumer<String> onDelta) {
+
+        String url = properties.getBaseUrl() + "/chat/completions";
+
+        OpenAiRequest body = OpenAiRequest.builder()
+                .model(properties.getModel())
+                .messages(messages)
+                .maxTokens(maxTokens != null ? maxTokens : 2048)
+                .temperature(temperature != null ? temperature : 0.7)
+                .stream(true)
+                .build();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+        headers.setBearerAuth(properties.getApiKey());
+
+        StringBuilder text = new StringBuilder();
+        AtomicBoolean done = new AtomicBoolean();
+        try {
+            restTemplate.execute(url, HttpMethod.POST,
+                    restTemplate.httpEntityCallback(new HttpEntity<>(body, headers)),
+                    response -> {
+                        ServerSentEventReader.read(response.getBody(), (event, data) -> {
+                            if ("[DONE]".equals(data)) {
+                                done.set(true);
+                                return;
+                            }
+                            JsonNode delta = objectMapper.readTree(data)
+                                    .path("choices").path(0).path("delta").path("content");
+                            if (delta.isTextual() && !delta.asText().isEmpty()) {
+                                text.append(delta.asText());
+                                onDelta.accept(delta.asText());
+                            }
+                        });
+                        return null;
+                    });
+        } catch (UncheckedIOException e) {
+            // onDelta ebaõnnestus: klient katkestas, töö jäetakse pooleli
+            throw e;
         } catch (Exception e) {
-            e.printStackTrace();
-            return "OpenAI päring ebaõnnestus: " + e.getMessage();
+            log.error("OpenAI streaming request failed after {} chars", text.length(), e);
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "OpenAI päring ebaõnnestus");
+        }
+
+        if (!done.get()) {
+            // ühendus sulgus enne [DONE] sündmust: tekst on poolik
+            log.error("OpenAI stream ended without [DONE] after {} chars", text.length());
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "OpenAI voog katkes enne lõppu");
         }
+        if (text.length() == 0) {
+            String empty = "AI ei tagastanud vastust.";
+            onDelta.accept(empty);
+            return empty;
+        }
+        return text.toString().trim();
     }
 
     /* =======================================================================
@@ -83,7 +186,7 @@ public class OpenAiClient implements AiService {
                 new ChatMessage("system", "You are a helpful AI assistant."),
                 new ChatMessage("user", prompt)
         );
-        return callChat(messages, 2048, 0.8);
+        return callChat("complete", messages, 2048, 0.8);
     }
 
     /* =======================================================================
@@ -97,11 +200,25 @@ public class OpenAiClient implements AiService {
      */
     @Override
     public String createChatCompletion(String systemPrompt, String userPrompt) {
+        return createChatCompletion("chat", systemPrompt, userPrompt);
+    }
+
+    @Override
+    public String createChatCompletion(String feature, String systemPrompt, String userPrompt) {
+        List<ChatMessage> messages = List.of(
+                new ChatMessage("system", systemPrompt),
+                new ChatMessage("user", userPrompt)
+        );
+        return callChat(feature, messages, 2048, 0.7);
+    }
+
+    @Override
+    public String streamChatCompletion(String systemPrompt, String userPrompt, Consumer<String> onDelta) {
         List<ChatMessage> messages = List.of(
                 new ChatMessage("system", systemPrompt),
                 new ChatMessage("user", userPrompt)
         );
-        return callChat(messages, 2048, 0.7);
+        return streamChat(messages, 2048, 0.7, onDelta);
     }
 
     /* =======================================================================
@@ -141,7 +258,7 @@ public class OpenAiClient implements AiService {
                 new ChatMessage("user", userPrompt)
         );
 
-        return callChat(messages, 800, 0.7);
+        return callChat("evaluate-answer", messages, 800, 0.7);
     }
 
     /* =======================================================================
@@ -185,7 +302,7 @@ public class OpenAiClient implements AiService {
                 new ChatMessage("user", userPrompt)
         );
 
-        String json = callChat(messages, 1200, 0.8);
+        String json = callChat("cv-questions", messages, 1200, 0.8);
 
         try {
             Question[] arr = objectMapper.readValue(json, Question[].class);
@@ -265,7 +382,7 @@ public class OpenAiClient implements AiService {
                 new ChatMessage("user", userPrompt)
         );
 
-        return callChat(messages, 1800, 0.7);
+        return callChat("skill-plan", messages, 1800, 0.7);
     }
 
     /* =======================================================================
@@ -285,6 +402,9 @@ public class OpenAiClient implements AiService {
         private Integer maxTokens;
 
         private Double temperature;
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Boolean stream;
     }
 
     @Getter
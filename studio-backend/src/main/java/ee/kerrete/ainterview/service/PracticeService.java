@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import ee.kerrete.ainterview.dto.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
@@ -29,7 +30,8 @@ public class PracticeService {
     @Value("${openai.model:gpt-4.1-mini}")
     private String model;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Qualifier("aiRestTemplate")
+    private final RestTemplate restTemplate;
 
     public PracticeSessionResponse createSession(PracticeSessionRequest request) {
         List<PracticeQuestionDto> questions = questionBank.getQuestionsFor(request.getBlockers());
@@ -1,9 +1,8 @@
 package ee.kerrete.ainterview.service;
 
 import ee.kerrete.ainterview.dto.ProfileOverviewResponse;
-import ee.kerrete.ainterview.model.JobAnalysisSession;
 import ee.kerrete.ainterview.model.TrainingProgress;
-import ee.kerrete.ainterview.repository.JobAnalysisSessionRepository;
+import ee.kerrete.ainterview.model.UserProgressSummary;
 import ee.kerrete.ainterview.repository.TrainingProgressRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -11,7 +10,7 @@ import org.springframework.stereotype.Service;
 /**
  * Teenus, mis annab profiili ülevaate.
  *
- * Loeb Job Matcheri ajaloo põhjal:
+ * Loeb Job Matcheri ajaloo kasutaja progressi kokkuvõttest (UserProgressSummary):
  *  - mitut analüüsi on kokku tehtud
  *  - mitu analüüsi antud emailiga
  *  - viimase analüüsi skoor ja kokkuvõte
@@ -21,22 +20,18 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class ProfileOverviewService {
 
-    private final JobAnalysisSessionRepository jobAnalysisSessionRepository;
+    private final UserProgressSummaryService userProgressSummaryService;
     private final TrainingProgressRepository trainingProgressRepository;
 
     public ProfileOverviewResponse getOverview(String email) {
 
-        int totalAnalyses = Math.toIntExact(jobAnalysisSessionRepository.count());
-        int totalAnalysesForEmail = email != null
-                ? Math.toIntExact(jobAnalysisSessionRepository.countByEmail(email))
-                : 0;
+        int totalAnalyses = Math.toIntExact(userProgressSummaryService.totalJobAnalyses());
+        UserProgressSummary summary = userProgressSummaryService.get(email);
+        int totalAnalysesForEmail = summary.jobAnalyses();
 
-        JobAnalysisSession last =
-                email != null ? jobAnalysisSessionRepository.findTopByEmailOrderByCreatedAtDesc(email).orElse(null) : null;
-
-        Double lastScore = last != null ? last.getMatchScore() : null;
-        String lastSummary = last != null ? last.getSummary() : null;
-        String lastActive = last != null && last.getCreatedAt() != null ? last.getCreatedAt().toString() : null;
+        Double lastScore = summary.lastAnalysisScore();
+        String lastSummary = summary.lastAnalysisSummary();
+        String lastActive = summary.lastAnalysisAt() != null ? summary.lastAnalysisAt().toString() : null;
 
         TrainingProgress progress = email != null
                 ? trainingProgressRepository.findByEmail(email).orElse(null)
@@ -3,8 +3,8 @@ package ee.kerrete.ainterview.service;
 import ee.kerrete.ainterview.dto.TrainingProgressDto;
 import ee.kerrete.ainterview.model.TrainingProgress;
 import ee.kerrete.ainterview.model.TrainingStatus;
+import ee.kerrete.ainterview.model.UserProgressSummary;
 import ee.kerrete.ainterview.repository.TrainingProgressRepository;
-import ee.kerrete.ainterview.repository.TrainingTaskRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,13 +15,14 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class ProgressService {
 
-    private final TrainingTaskRepository trainingTaskRepository;
+    private final UserProgressSummaryService userProgressSummaryService;
     private final TrainingProgressRepository trainingProgressRepository;
 
     @Transactional(readOnly = true)
     public TrainingProgressDto getProgress(String email) {
-        long totalTasks = trainingTaskRepository.countByEmail(email);
-        long completedTasks = trainingTaskRepository.countByEmailAndCompletedIsTrue(email);
+        UserProgressSummary summary = userProgressSummaryService.get(email);
+        long totalTasks = summary.trainingTasks();
+        long completedTasks = summary.completedTrainingTasks();
 
         TrainingProgress progress = trainingProgressRepository.findByEmail(email)
                 .orElseGet(() -> TrainingProgress.builder()
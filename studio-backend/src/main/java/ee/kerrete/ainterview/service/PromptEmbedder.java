@@ -0,0 +1,10 @@
+package ee.kerrete.ainterview.service;
+
+/**
+ * Turns a prompt into a fixed-length, L2-normalised vector for the semantic
+ * tier of {@link AiResponseCache}. Swap the bean to use a hosted embedding model.
+ */
+public interface PromptEmbedder {
+
+    float[] embed(String text);
+}
@@ -75,7 +75,7 @@ public class RoadmapExportService {
         return response;
     }
 
-    private void validateRequest(RoadmapExportRequest request) {
+    public void validateRequest(RoadmapExportRequest request) {
         if (request == null || request.getSessionUuid() == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sessionUuid is required");
         }
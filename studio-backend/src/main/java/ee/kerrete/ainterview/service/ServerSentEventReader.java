@@ -0,0 +1,66 @@
+package ee.kerrete.ainterview.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal incremental parser for {@code text/event-stream} bodies.
+ * Reads the stream line by line and dispatches every event as soon as its
+ * terminating blank line arrives, so callers see tokens while the provider
+ * is still generating.
+ */
+final class ServerSentEventReader {
+
+    @FunctionalInterface
+    interface EventHandler {
+        void onEvent(String event, String data) throws IOException;
+    }
+
+    private ServerSentEventReader() {
+    }
+
+    static void read(InputStream body, EventHandler handler) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String event = null;
+        StringBuilder data = new StringBuilder();
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                if (data.length() > 0) {
+                    handler.onEvent(event, data.toString());
+                }
+                event = null;
+                data.setLength(0);
+                continue;
+            }
+            if (line.startsWith(":")) {
+                continue; // comment / keep-alive
+            }
+
+            int colon = line.indexOf(':');
+            String field = colon < 0 ? line : line.substring(0, colon);
+            String value = colon < 0 ? "" : line.substring(colon + 1);
+            if (value.startsWith(" ")) {
+                value = value.substring(1);
+            }
+
+            if ("event".equals(field)) {
+                event = value;
+            } else if ("data".equals(field)) {
+                if (data.length() > 0) {
+                    data.append('\n');
+                }
+                data.append(value);
+            }
+        }
+
+        // stream closed without a trailing blank line
+        if (data.length() > 0) {
+            handler.onEvent(event, data.toString());
+        }
+    }
+}
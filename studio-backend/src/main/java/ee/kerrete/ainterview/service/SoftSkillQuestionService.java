@@ -10,6 +10,7 @@ import ee.kerrete.ainterview.model.TrainingTask;
 import ee.kerrete.ainterview.repository.TrainingTaskRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
@@ -41,7 +42,8 @@ public class SoftSkillQuestionService {
     @Value("${openai.model:gpt-4.1-mini}")
     private String model;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Qualifier("aiRestTemplate")
+    private final RestTemplate restTemplate;
 
     /**
      * Põhimeetod, mida controller kutsub.
@@ -18,6 +18,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -58,7 +59,8 @@ public class SoftSkillsCoachService {
     @Value("${openai.model:gpt-4.1-mini}")
     private String model;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Qualifier("aiRestTemplate")
+    private final RestTemplate restTemplate;
 
     public CoachStateResponse getState(String email) {
         String skillKey = resolveCurrentSkill(email);
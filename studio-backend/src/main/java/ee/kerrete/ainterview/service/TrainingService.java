@@ -2,12 +2,10 @@ package ee.kerrete.ainterview.service;
 
 import ee.kerrete.ainterview.dto.TrainingProgressResponse;
 import ee.kerrete.ainterview.dto.TrainingTaskRequest;
-import ee.kerrete.ainterview.model.JobAnalysisSession;
 import ee.kerrete.ainterview.model.TrainingProgress;
 import ee.kerrete.ainterview.model.TrainingStatus;
 import ee.kerrete.ainterview.model.TrainingTask;
-import ee.kerrete.ainterview.repository.JobAnalysisSessionRepository;
-import ee.kerrete.ainterview.repository.RoadmapTaskRepository;
+import ee.kerrete.ainterview.model.UserProgressSummary;
 import ee.kerrete.ainterview.repository.TrainingProgressRepository;
 import ee.kerrete.ainterview.repository.TrainingTaskRepository;
 import lombok.RequiredArgsConstructor;
@@ -15,7 +13,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -23,8 +20,7 @@ public class TrainingService {
 
     private final TrainingTaskRepository trainingTaskRepository;
     private final TrainingProgressRepository trainingProgressRepository;
-    private final JobAnalysisSessionRepository jobAnalysisSessionRepository;
-    private final RoadmapTaskRepository roadmapTaskRepository;
+    private final UserProgressSummaryService userProgressSummaryService;
 
     /**
      * VANA signatuur, mida kasutavad ProgressController ja TrainingProgressController:
@@ -50,18 +46,19 @@ public class TrainingService {
     /**
      * Põhimeetod progressi arvutamiseks (vanade kontrollerite jaoks).
      *
-     * Arvutab:
+     * Arvutab kasutaja progressi kokkuvõtte (UserProgressSummary) põhjal:
      *  - totalTasks, completedTasks
      *  - trainingProgressPercent (0–100)
      *  - lastActivityAt = max(viimane treening-task, viimane Job Matcheri sessioon)
      */
     @Transactional(readOnly = true)
     public TrainingProgressResponse getTrainingProgress(String email) {
-        long totalTasksCount = trainingTaskRepository.countByEmail(email);
-        long completedTasksCount = trainingTaskRepository.countByEmailAndCompletedIsTrue(email);
+        UserProgressSummary summary = userProgressSummaryService.get(email);
+        long totalTasksCount = summary.trainingTasks();
+        long completedTasksCount = summary.completedTrainingTasks();
 
-        long roadmapTotal = roadmapTaskRepository.countByEmail(email);
-        long roadmapCompleted = roadmapTaskRepository.countByEmailAndCompletedIsTrue(email);
+        long roadmapTotal = summary.roadmapTasks();
+        long roadmapCompleted = summary.completedRoadmapTasks();
 
         int totalTasks = Math.toIntExact(totalTasksCount);
         int completedTasks = Math.toIntExact(completedTasksCount);
@@ -80,24 +77,11 @@ public class TrainingService {
         // Ümardame Integeriks (0–100)
         int roundedPercent = (int) Math.round(progressPercent);
 
-        // 1) Viimane aktiivsus treening-taskide järgi (updatedAt > createdAt)
-        List<TrainingTask> tasks = trainingTaskRepository.findByEmailOrderByCreatedAtDesc(email);
-
-        LocalDateTime lastTaskActivity = null;
-        if (!tasks.isEmpty()) {
-            TrainingTask latest = tasks.get(0);
-            if (latest.getUpdatedAt() != null) {
-                lastTaskActivity = latest.getUpdatedAt();
-            } else {
-                lastTaskActivity = latest.getCreatedAt();
-            }
-        }
+        // 1) Viimane aktiivsus treening-taskide järgi (viimase taski updatedAt > createdAt)
+        LocalDateTime lastTaskActivity = summary.lastTaskActivityAt();
 
         // 2) Viimane aktiivsus Job Matcheri järgi (JobAnalysisSession.createdAt)
-        LocalDateTime lastJobActivity = jobAnalysisSessionRepository
-                .findTopByEmailOrderByCreatedAtDesc(email)
-                .map(JobAnalysisSession::getCreatedAt)
-                .orElse(null);
+        LocalDateTime lastJobActivity = summary.lastAnalysisAt();
 
         // 3) Viimane aktiivsus kokku: max(lastTaskActivity, lastJobActivity)
         LocalDateTime lastActivity = null;
@@ -133,7 +117,7 @@ public class TrainingService {
         progress.setTrainingProgressPercent(roundedPercent);
         progress.setLastActivityAt(lastActivity);
         progress.setLastUpdated(lastActivity != null ? lastActivity : LocalDateTime.now());
-        progress.setTotalJobAnalyses(Math.toIntExact(jobAnalysisSessionRepository.countByEmail(email)));
+        progress.setTotalJobAnalyses(summary.jobAnalyses());
 
         if (totalTasks == 0) {
             progress.setStatus(TrainingStatus.NOT_STARTED);
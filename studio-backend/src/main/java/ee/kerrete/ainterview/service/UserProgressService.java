@@ -1,12 +1,9 @@
 package ee.kerrete.ainterview.service;
 
 import ee.kerrete.ainterview.dto.UserProgressResponse;
-import ee.kerrete.ainterview.model.JobAnalysisSession;
 import ee.kerrete.ainterview.model.TrainingProgress;
-import ee.kerrete.ainterview.model.TrainingTask;
-import ee.kerrete.ainterview.repository.JobAnalysisSessionRepository;
+import ee.kerrete.ainterview.model.UserProgressSummary;
 import ee.kerrete.ainterview.repository.TrainingProgressRepository;
-import ee.kerrete.ainterview.repository.TrainingTaskRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,8 +16,7 @@ import java.util.List;
 public class UserProgressService {
 
     private final TrainingProgressRepository trainingProgressRepository;
-    private final TrainingTaskRepository trainingTaskRepository;
-    private final JobAnalysisSessionRepository jobAnalysisSessionRepository;
+    private final UserProgressSummaryService userProgressSummaryService;
 
     /**
      * Põhimeetod kasutaja profiili progressi jaoks.
@@ -30,8 +26,11 @@ public class UserProgressService {
         // Võtame TrainingProgress, kui olemas
         TrainingProgress progress = trainingProgressRepository.findByEmail(email).orElse(null);
 
+        // Tasktide ja Job Matcheri kokkuvõte ühe päringuga
+        UserProgressSummary summary = userProgressSummaryService.get(email);
+
         // Mitu Job Matcheri analüüsi on tehtud
-        long totalJobAnalyses = jobAnalysisSessionRepository.countByEmail(email);
+        long totalJobAnalyses = summary.jobAnalyses();
 
         // Mitu treeningsessiooni – hoiame TrainingProgressis
         int totalTrainingSessions = progress != null ? progress.getTotalTrainingSessions() : 0;
@@ -44,21 +43,7 @@ public class UserProgressService {
             lastActive = progress.getLastActivityAt();
         } else {
             // 2) arvutame viimase aktiivsuse treening-taskide ja Job Matcheri põhjal
-            LocalDateTime lastTaskActivity = trainingTaskRepository.findByEmailOrderByCreatedAtDesc(email)
-                    .stream()
-                    .findFirst()
-                    .map(task -> {
-                        LocalDateTime updated = task.getUpdatedAt();
-                        return updated != null ? updated : task.getCreatedAt();
-                    })
-                    .orElse(null);
-
-            LocalDateTime lastJobActivity = jobAnalysisSessionRepository
-                    .findTopByEmailOrderByCreatedAtDesc(email)
-                    .map(JobAnalysisSession::getCreatedAt)
-                    .orElse(null);
-
-            lastActive = max(lastTaskActivity, lastJobActivity);
+            lastActive = max(summary.lastTaskActivityAt(), summary.lastAnalysisAt());
         }
 
         // Viimane match skoor + kokkuvõte
@@ -72,14 +57,8 @@ public class UserProgressService {
 
         // Kui TrainingProgressis EI OLE skoori, proovime viimasest JobAnalysisSessionist.
         // (Kokkuvõtet me enam JobAnalysisSessionist ei küsi – pole getMatchSummary meetodit.)
-        if (lastMatchScore == null) {
-            JobAnalysisSession lastJob = jobAnalysisSessionRepository
-                    .findTopByEmailOrderByCreatedAtDesc(email)
-                    .orElse(null);
-
-            if (lastJob != null) {
-                lastMatchScore = lastJob.getMatchScore();
-            }
+        if (lastMatchScore == null && summary.hasJobAnalysis()) {
+            lastMatchScore = summary.lastAnalysisScore();
         }
 
         // Treeningu progress protsentides
@@ -0,0 +1,118 @@
+package ee.kerrete.ainterview.service;
+
+import ee.kerrete.ainterview.config.ProgressSummaryProperties;
+import ee.kerrete.ainterview.model.UserProgressSummary;
+import ee.kerrete.ainterview.repository.UserProgressSummaryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Backfill and consistency check for user_progress_summary.
+ *
+ * - {@link #rebuild()} recomputes every user's row, batch by batch; it runs on
+ *   startup when app.progress-summary.rebuild-on-startup is set.
+ * - {@link #check()} compares the next batch of users with the source tables on
+ *   every app.progress-summary.check-interval and recomputes rows that differ or
+ *   are missing. Results are counted as
+ *   {@code progress.summary.checked{result=ok|stale|missing}}.
+ */
+@Slf4j
+@Component
+public class UserProgressSummaryJob {
+
+    private final UserProgressSummaryRepository repository;
+    private final ProgressSummaryProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter ok;
+    private final Counter stale;
+    private final Counter missing;
+
+    private volatile String checkCursor = "";
+
+    public UserProgressSummaryJob(UserProgressSummaryRepository repository,
+                                  ProgressSummaryProperties properties,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ok = checked(meterRegistry, "ok");
+        this.stale = checked(meterRegistry, "stale");
+        this.missing = checked(meterRegistry, "missing");
+    }
+
+    private static Counter checked(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("progress.summary.checked")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (properties.isRebuildOnStartup()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recomputes the summary of every user that has tasks, analyses or a
+     * summary row. Each batch commits on its own, so a rebuild can be
+     * interrupted and run again.
+     *
+     * @return number of users refreshed
+     */
+    public int rebuild() {
+        long started = System.currentTimeMillis();
+        int refreshed = 0;
+        String after = "";
+        List<String> batch;
+        while (!(batch = repository.findEmailsAfter(after, properties.getRebuildBatchSize())).isEmpty()) {
+            List<String> emails = batch;
+            transactionTemplate.executeWithoutResult(status -> emails.forEach(repository::refresh));
+            refreshed += emails.size();
+            after = emails.get(emails.size() - 1);
+        }
+        log.info("Rebuilt progress summaries of {} users in {} ms", refreshed, System.currentTimeMillis() - started);
+        return refreshed;
+    }
+
+    /**
+     * Compares the next batch of users with the source tables and repairs the
+     * rows that differ. Starts over from the first user after the last one.
+     */
+    @Scheduled(fixedDelayString = "${app.progress-summary.check-interval:PT5M}",
+            initialDelayString = "${app.progress-summary.check-interval:PT5M}")
+    public void check() {
+        List<String> batch = repository.findEmailsAfter(checkCursor, properties.getCheckBatchSize());
+        if (batch.isEmpty()) {
+            checkCursor = "";
+            return;
+        }
+        int repaired = 0;
+        for (String email : batch) {
+            Optional<UserProgressSummary> stored = repository.findByEmail(email);
+            UserProgressSummary actual = repository.compute(email);
+            if (stored.isPresent() && stored.get().equals(actual)) {
+                ok.increment();
+                continue;
+            }
+            (stored.isPresent() ? stale : missing).increment();
+            transactionTemplate.executeWithoutResult(status -> repository.refresh(email));
+            repaired++;
+        }
+        checkCursor = batch.get(batch.size() - 1);
+        if (repaired > 0) {
+            log.warn("Progress summary check repaired {} of {} users", repaired, batch.size());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package ee.kerrete.ainterview.service;
+
+import ee.kerrete.ainterview.model.JobAnalysisSession;
+import ee.kerrete.ainterview.model.RoadmapTask;
+import ee.kerrete.ainterview.model.TrainingTask;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener on the entities behind the progress summary
+ * (instantiated through Spring's bean container) that hands the owner's email
+ * to {@link UserProgressSummaryService}. The service is looked up lazily for
+ * the same reason as in RoleProfileIndexListener.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserProgressSummaryListener {
+
+    private final ObjectProvider<UserProgressSummaryService> summaryService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onChange(Object entity) {
+        if (entity instanceof TrainingTask task) {
+            summaryService.getObject().markChanged(task.getEmail());
+        } else if (entity instanceof RoadmapTask task) {
+            summaryService.getObject().markChanged(task.getEmail());
+        } else if (entity instanceof JobAnalysisSession session) {
+            summaryService.getObject().markChanged(session.getEmail());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package ee.kerrete.ainterview.service;
+
+import ee.kerrete.ainterview.model.UserProgressSummary;
+import ee.kerrete.ainterview.repository.UserProgressSummaryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Maintains and serves the per-user progress read model
+ * ({@link UserProgressSummary}).
+ *
+ * UserProgressSummaryListener reports every write to a training task, roadmap
+ * task or job analysis. The affected emails are collected per Hibernate
+ * session and their rows are recomputed once, just before that transaction
+ * commits. This runs after Hibernate's final flush, so changes that only
+ * surface when dirty entities are flushed at commit are included as well, and
+ * the summary commits or rolls back together with the change.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserProgressSummaryService {
+
+    private final UserProgressSummaryRepository repository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * The user's summary. Inside a read-write transaction that has already
+     * changed this user's rows, it is computed from those uncommitted rows, so
+     * callers that write and then report progress see their own change.
+     * A user without a row yet (none of their rows has changed since the
+     * table was introduced) gets it computed from the source tables.
+     */
+    @Transactional(readOnly = true)
+    public UserProgressSummary get(String email) {
+        if (email == null) {
+            return UserProgressSummary.empty(null);
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            entityManager.flush();
+            Set<String> pending = pending(false);
+            if (pending != null && pending.contains(email)) {
+                return repository.compute(email);
+            }
+        }
+        return repository.findByEmail(email).orElseGet(() -> repository.compute(email));
+    }
+
+    /**
+     * Job Matcher analyses over all users, summed from the summary rows.
+     */
+    @Transactional(readOnly = true)
+    public long totalJobAnalyses() {
+        return repository.totalJobAnalyses();
+    }
+
+    /**
+     * Marks the user's summary for a refresh when the current transaction
+     * commits. Called by UserProgressSummaryListener.
+     */
+    void markChanged(String email) {
+        if (!StringUtils.hasText(email)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            log.debug("Source row for {} changed outside a transaction, summary is left to the consistency check",
+                    email);
+            return;
+        }
+        pending(true).add(email);
+    }
+
+    /**
+     * Emails changed in the current session, registering the commit hooks the
+     * first time.
+     */
+    private Set<String> pending(boolean create) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(session);
+        if (pending != null || !create) {
+            return pending;
+        }
+        Set<String> emails = new LinkedHashSet<>();
+        TransactionSynchronizationManager.bindResource(session, emails);
+        session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) s -> refreshAll(emails));
+        session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, s) ->
+                TransactionSynchronizationManager.unbindResourceIfPossible(session));
+        return emails;
+    }
+
+    private void refreshAll(Set<String> emails) {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        for (String email : List.copyOf(emails)) {
+            repository.refresh(email);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package ee.kerrete.ainterview.session.api;
 
 import ee.kerrete.ainterview.model.AppUser;
+import ee.kerrete.ainterview.og.SharePageCache;
 import ee.kerrete.ainterview.session.dto.ClarifyingQuestionRequest;
 import ee.kerrete.ainterview.session.dto.ClarifyingQuestionResponse;
 import ee.kerrete.ainterview.session.dto.CreateSessionRequest;
@@ -9,6 +10,7 @@ import ee.kerrete.ainterview.session.dto.SessionResponse;
 import ee.kerrete.ainterview.session.dto.SessionSummary;
 import ee.kerrete.ainterview.session.service.CareerSessionService;
 import ee.kerrete.ainterview.auth.service.EmailService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -25,6 +27,7 @@ public class CareerSessionController {
 
     private final CareerSessionService service;
     private final EmailService emailService;
+    private final SharePageCache sharePageCache;
 
     @PostMapping
     public ResponseEntity<SessionResponse> create(
@@ -56,8 +59,9 @@ public class CareerSessionController {
     }
 
     @GetMapping("/share/{shareId}")
-    public SessionResponse getShared(@PathVariable String shareId) {
-        return service.getByShareId(shareId);
+    public ResponseEntity<byte[]> getShared(@PathVariable String shareId, HttpServletRequest request) {
+        return sharePageCache.respondJson(SharePageCache.Kind.CAREER_SESSION, shareId, request,
+                () -> service.getByShareId(shareId));
     }
 
     @PostMapping("/{id}/save-email")
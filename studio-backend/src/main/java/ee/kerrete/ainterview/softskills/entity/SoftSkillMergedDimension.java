@@ -49,6 +49,22 @@ public class SoftSkillMergedDimension {
 
     @Column(columnDefinition = "CLOB")
     private String explanation;
+
+    /**
+     * Running sum and count of the evaluation scores behind {@link #mergedScore}.
+     * Null on rows merged before running totals existed.
+     */
+    @Column(name = "score_sum")
+    private Long scoreSum;
+
+    @Column(name = "score_count")
+    private Integer scoreCount;
+
+    /**
+     * Latest comment per source as a JSON object; {@link #explanation} is rendered from it.
+     */
+    @Column(name = "last_comments", columnDefinition = "CLOB")
+    private String lastComments;
 }
 
 
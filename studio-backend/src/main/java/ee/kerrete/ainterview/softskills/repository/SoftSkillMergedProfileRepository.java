@@ -1,10 +1,16 @@
 package ee.kerrete.ainterview.softskills.repository;
 
 import ee.kerrete.ainterview.softskills.entity.SoftSkillMergedProfile;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,6 +19,21 @@ public interface SoftSkillMergedProfileRepository extends JpaRepository<SoftSkil
 
     Optional<SoftSkillMergedProfile> findByEmail(String email);
 
+    /**
+     * Locks the profile row so concurrent evaluations for the same user update the running totals one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from SoftSkillMergedProfile p where p.email = :email")
+    Optional<SoftSkillMergedProfile> findForUpdateByEmail(@Param("email") String email);
+
+    /**
+     * Creates an empty profile row unless the user already has one, so there is always a row to lock.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO legacy_soft_skill_merged_profile (id, email, created_at, updated_at) "
+            + "VALUES (:id, :email, :now, :now) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id, @Param("email") String email, @Param("now") LocalDateTime now);
+
     /**
      * Default stub to keep legacy in-memory test implementations compiling across Spring Data versions.
      */
@@ -22,6 +22,7 @@ public class SoftSkillEvaluationService {
 
     private final SoftSkillEvaluationRepository evaluationRepository;
     private final SoftSkillDimensionService dimensionService;
+    private final SoftSkillMergerService mergerService;
 
     @Transactional
     public List<SoftSkillEvaluationResponse> createEvaluations(SoftSkillEvaluationRequest request) {
@@ -47,6 +48,7 @@ public class SoftSkillEvaluationService {
                 .build();
 
             SoftSkillEvaluation saved = evaluationRepository.save(entity);
+            mergerService.applyEvaluation(saved);
             responses.add(SoftSkillMapper.toDto(saved));
         }
         return responses;
@@ -1,5 +1,8 @@
 package ee.kerrete.ainterview.softskills.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import ee.kerrete.ainterview.softskills.dto.SoftSkillMergedProfileResponse;
 import ee.kerrete.ainterview.softskills.entity.SoftSkillEvaluation;
 import ee.kerrete.ainterview.softskills.entity.SoftSkillMergedDimension;
@@ -13,18 +16,33 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
+/**
+ * Maintains one merged soft-skill profile per user.
+ *
+ * Each merged dimension keeps a running score sum and count plus the latest
+ * comment per source, so a new evaluation is folded in with
+ * {@link #applyEvaluation} without reading the user's evaluation history.
+ * {@link #mergeForUser} rebuilds the whole profile from scratch.
+ */
 @Service
 @RequiredArgsConstructor
 public class SoftSkillMergerService {
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<TreeMap<String, String>> COMMENTS_TYPE = new TypeReference<>() { };
+    private static final Comparator<SoftSkillEvaluation> OLDEST_FIRST =
+            Comparator.comparing(SoftSkillEvaluation::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+
     private final SoftSkillEvaluationRepository evaluationRepository;
     private final SoftSkillMergedProfileRepository mergedProfileRepository;
 
@@ -49,56 +67,50 @@ public class SoftSkillMergerService {
                         () -> new EnumMap<>(SoftSkillDimension.class),
                         Collectors.mapping(DimensionWrapper::evaluation, Collectors.toList())
                 ));
-
-        // Build merged dimension entities deterministically (sorted by enum order)
-        List<SoftSkillMergedDimension> mergedDimensions = new ArrayList<>();
-        for (SoftSkillDimension dimension : SoftSkillDimension.values()) {
-            List<SoftSkillEvaluation> perDim = byDimension.get(dimension);
-            if (perDim == null || perDim.isEmpty()) {
-                continue;
-            }
-
-            int mergedScore = computeAverageScore(perDim);
-            String explanation = buildExplanation(perDim);
-
-            SoftSkillMergedDimension mergedDimension = SoftSkillMergedDimension.builder()
-                    .dimension(dimension)
-                    .mergedScore(mergedScore)
-                    .explanation(explanation)
-                    .build();
-            mergedDimensions.add(mergedDimension);
-        }
-
-        if (mergedDimensions.isEmpty()) {
+        if (byDimension.isEmpty()) {
             return Optional.empty();
         }
 
-        int overallScore = (int) Math.round(
-                mergedDimensions.stream()
-                        .map(SoftSkillMergedDimension::getMergedScore)
-                        .filter(score -> score != null)
-                        .mapToInt(Integer::intValue)
-                        .average()
-                        .orElse(0.0)
-        );
+        SoftSkillMergedProfile profile = lockOrCreateProfile(email);
 
-        SoftSkillMergedProfile profile = mergedProfileRepository.findByEmail(email)
-                .orElseGet(() -> SoftSkillMergedProfile.builder()
-                        .email(email)
-                        .build()
-                );
+        // Update existing dimension rows in place, drop the ones without evaluations
+        profile.getDimensions().removeIf(dim -> !byDimension.containsKey(dim.getDimension()));
+        byDimension.forEach((dimension, perDim) -> {
+            SoftSkillMergedDimension merged = dimensionRow(profile, dimension);
+            rebuild(merged, perDim);
+        });
 
-        profile.setOverallScore(overallScore);
+        SoftSkillMergedProfile saved = save(profile);
+        return Optional.ofNullable(SoftSkillMapper.toDto(saved));
+    }
 
-        // Replace dimension collection with the new merged values
-        profile.getDimensions().clear();
-        for (SoftSkillMergedDimension dim : mergedDimensions) {
-            dim.setProfile(profile);
-            profile.getDimensions().add(dim);
+    /**
+     * Folds one newly saved evaluation into its dimension's running totals.
+     * Only that dimension row and the profile's overall score change. A row
+     * merged before running totals existed is rebuilt from its evaluations
+     * once.
+     */
+    @Transactional
+    public void applyEvaluation(SoftSkillEvaluation evaluation) {
+        SoftSkillDimension dimension = resolveEnumDimension(evaluation.getDimension());
+        if (dimension == null || evaluation.getScore() == null) {
+            return;
         }
 
-        SoftSkillMergedProfile saved = mergedProfileRepository.save(profile);
-        return Optional.ofNullable(SoftSkillMapper.toDto(saved));
+        SoftSkillMergedProfile profile = lockOrCreateProfile(evaluation.getEmail());
+        SoftSkillMergedDimension merged = dimensionRow(profile, dimension);
+        if (merged.getScoreCount() == null) {
+            List<SoftSkillEvaluation> history = evaluationRepository.findByEmail(evaluation.getEmail()).stream()
+                    .filter(e -> dimension == resolveEnumDimension(e.getDimension()))
+                    .filter(e -> !isSame(e, evaluation))
+                    .toList();
+            rebuild(merged, history);
+        }
+
+        TreeMap<String, String> comments = readComments(merged.getLastComments());
+        accumulate(merged, comments, evaluation);
+        render(merged, comments);
+        save(profile);
     }
 
     @Transactional(readOnly = true)
@@ -107,27 +119,95 @@ public class SoftSkillMergerService {
                 .map(SoftSkillMapper::toDto);
     }
 
-    private int computeAverageScore(List<SoftSkillEvaluation> evaluations) {
-        return (int) Math.round(
-                evaluations.stream()
-                        .map(SoftSkillEvaluation::getScore)
+    /**
+     * Inserts the user's row if missing and then locks it, so two first
+     * evaluations for a new user are merged one after the other instead of
+     * both starting from an empty profile.
+     */
+    private SoftSkillMergedProfile lockOrCreateProfile(String email) {
+        mergedProfileRepository.insertIfAbsent(UUID.randomUUID(), email, LocalDateTime.now());
+        return mergedProfileRepository.findForUpdateByEmail(email)
+                .orElseThrow(() -> new IllegalStateException("Merged soft-skill profile missing for " + email));
+    }
+
+    private SoftSkillMergedDimension dimensionRow(SoftSkillMergedProfile profile, SoftSkillDimension dimension) {
+        for (SoftSkillMergedDimension dim : profile.getDimensions()) {
+            if (dim.getDimension() == dimension) {
+                return dim;
+            }
+        }
+        SoftSkillMergedDimension dim = SoftSkillMergedDimension.builder()
+                .profile(profile)
+                .dimension(dimension)
+                .build();
+        profile.getDimensions().add(dim);
+        return dim;
+    }
+
+    private void rebuild(SoftSkillMergedDimension merged, List<SoftSkillEvaluation> evaluations) {
+        merged.setScoreSum(0L);
+        merged.setScoreCount(0);
+        TreeMap<String, String> comments = new TreeMap<>();
+        evaluations.stream()
+                .sorted(OLDEST_FIRST)
+                .forEach(e -> accumulate(merged, comments, e));
+        render(merged, comments);
+    }
+
+    private void accumulate(SoftSkillMergedDimension merged, Map<String, String> comments, SoftSkillEvaluation evaluation) {
+        if (evaluation.getScore() == null) {
+            return;
+        }
+        merged.setScoreSum(merged.getScoreSum() + evaluation.getScore());
+        merged.setScoreCount(merged.getScoreCount() + 1);
+        SoftSkillSource src = evaluation.getSource();
+        comments.put(src != null ? src.name() : "UNKNOWN",
+                StringUtils.hasText(evaluation.getComment()) ? evaluation.getComment().trim() : null);
+    }
+
+    private void render(SoftSkillMergedDimension merged, TreeMap<String, String> comments) {
+        int count = merged.getScoreCount();
+        merged.setMergedScore(count == 0 ? 0 : (int) Math.round((double) merged.getScoreSum() / count));
+        merged.setLastComments(writeComments(comments));
+        merged.setExplanation(comments.entrySet().stream()
+                .map(entry -> entry.getKey() + ": " + (entry.getValue() != null ? entry.getValue() : "no comment provided"))
+                .collect(Collectors.joining(" | ")));
+    }
+
+    private SoftSkillMergedProfile save(SoftSkillMergedProfile profile) {
+        profile.getDimensions().sort(Comparator.comparing(SoftSkillMergedDimension::getDimension));
+        profile.setOverallScore((int) Math.round(
+                profile.getDimensions().stream()
+                        .map(SoftSkillMergedDimension::getMergedScore)
                         .filter(score -> score != null)
                         .mapToInt(Integer::intValue)
                         .average()
                         .orElse(0.0)
-        );
+        ));
+        return mergedProfileRepository.save(profile);
     }
 
-    private String buildExplanation(List<SoftSkillEvaluation> evaluations) {
-        return evaluations.stream()
-                .sorted(Comparator.comparing(e -> e.getSource() != null ? e.getSource().name() : ""))
-                .map(e -> {
-                    SoftSkillSource src = e.getSource();
-                    String prefix = src != null ? src.name() : "UNKNOWN";
-                    String comment = StringUtils.hasText(e.getComment()) ? e.getComment().trim() : "no comment provided";
-                    return prefix + ": " + comment;
-                })
-                .collect(Collectors.joining(" | "));
+    private static boolean isSame(SoftSkillEvaluation a, SoftSkillEvaluation b) {
+        return a == b || (a.getId() != null && a.getId().equals(b.getId()));
+    }
+
+    private static TreeMap<String, String> readComments(String json) {
+        if (!StringUtils.hasText(json)) {
+            return new TreeMap<>();
+        }
+        try {
+            return OBJECT_MAPPER.readValue(json, COMMENTS_TYPE);
+        } catch (JsonProcessingException ex) {
+            return new TreeMap<>();
+        }
+    }
+
+    private static String writeComments(Map<String, String> comments) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(comments);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize soft-skill comments", ex);
+        }
     }
 
     private SoftSkillDimension resolveEnumDimension(String dimensionKey) {
@@ -147,5 +227,3 @@ public class SoftSkillMergerService {
 
     private record DimensionWrapper(SoftSkillDimension dimension, SoftSkillEvaluation evaluation) { }
 }
-
-
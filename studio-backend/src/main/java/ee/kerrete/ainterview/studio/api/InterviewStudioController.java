@@ -2,9 +2,11 @@ package ee.kerrete.ainterview.studio.api;
 
 import ee.kerrete.ainterview.auth.util.SecurityUtils;
 import ee.kerrete.ainterview.model.AppUser;
+import ee.kerrete.ainterview.og.SharePageCache;
 import ee.kerrete.ainterview.repository.AppUserRepository;
 import ee.kerrete.ainterview.studio.dto.*;
 import ee.kerrete.ainterview.studio.service.InterviewStudioService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +28,7 @@ public class InterviewStudioController {
 
     private final InterviewStudioService studioService;
     private final AppUserRepository userRepository;
+    private final SharePageCache sharePageCache;
 
     /**
      * Create a simple mode session (guest, no auth required).
@@ -87,10 +90,9 @@ public class InterviewStudioController {
      * GET /api/studio/v2/share/{shareId}
      */
     @GetMapping("/share/{shareId}")
-    public ResponseEntity<SessionResponse> getSharedSession(@PathVariable String shareId) {
-        return studioService.getSessionByShareId(shareId)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getSharedSession(@PathVariable String shareId, HttpServletRequest request) {
+        return sharePageCache.respondJson(SharePageCache.Kind.STUDIO_SESSION, shareId, request,
+                () -> studioService.getSessionByShareId(shareId).orElse(null));
     }
 
     /**
@@ -1,5 +1,6 @@
 package ee.kerrete.ainterview.studio.model;
 
+import ee.kerrete.ainterview.og.ShareCacheInvalidator;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -11,6 +12,7 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "interview_studio_session")
+@EntityListeners(ShareCacheInvalidator.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,121 @@
+package ee.kerrete.ainterview.support;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable character trie over request paths, built once at startup.
+ *
+ * A path matches when one of the {@code prefixes} is a plain string prefix of
+ * it (same as {@link String#startsWith}, so {@code /api/risk} also matches
+ * {@code /api/risk-analysis}) or when it equals one of the {@code exact}
+ * paths. One walk over the path answers both, in time bounded by the longest
+ * entry and without allocating; safe to share between threads.
+ */
+public final class PathPrefixTrie {
+
+    private final Node root;
+
+    private PathPrefixTrie(Node root) {
+        this.root = root;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean matches(String path) {
+        if (path == null) {
+            return false;
+        }
+        Node node = root;
+        for (int i = 0; i < path.length(); i++) {
+            if (node.prefix) {
+                return true;
+            }
+            node = node.child(path.charAt(i));
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.prefix || node.exact;
+    }
+
+    public static final class Builder {
+
+        private final MutableNode root = new MutableNode();
+
+        private Builder() {
+        }
+
+        public Builder prefixes(Iterable<String> prefixes) {
+            prefixes.forEach(prefix -> insert(prefix).prefix = true);
+            return this;
+        }
+
+        public Builder exact(Iterable<String> paths) {
+            paths.forEach(path -> insert(path).exact = true);
+            return this;
+        }
+
+        public PathPrefixTrie build() {
+            return new PathPrefixTrie(root.freeze());
+        }
+
+        private MutableNode insert(String path) {
+            MutableNode node = root;
+            for (int i = 0; i < path.length(); i++) {
+                node = node.children.computeIfAbsent(path.charAt(i), c -> new MutableNode());
+            }
+            return node;
+        }
+    }
+
+    private static final class MutableNode {
+        private final Map<Character, MutableNode> children = new TreeMap<>();
+        private boolean prefix;
+        private boolean exact;
+
+        private Node freeze() {
+            char[] labels = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, MutableNode> entry : children.entrySet()) {
+                labels[i] = entry.getKey();
+                nodes[i] = entry.getValue().freeze();
+                i++;
+            }
+            return new Node(labels, nodes, prefix, exact);
+        }
+    }
+
+    /**
+     * Children are sorted by label; paths branch little, so a linear scan of
+     * a handful of chars beats hashing a boxed Character.
+     */
+    private static final class Node {
+        private final char[] labels;
+        private final Node[] children;
+        private final boolean prefix;
+        private final boolean exact;
+
+        private Node(char[] labels, Node[] children, boolean prefix, boolean exact) {
+            this.labels = labels;
+            this.children = children;
+            this.prefix = prefix;
+            this.exact = exact;
+        }
+
+        private Node child(char c) {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == c) {
+                    return children[i];
+                }
+                if (labels[i] > c) {
+                    return null;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package ee.kerrete.ainterview.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller runs the
+ * loader on its own thread, callers arriving while it runs wait for and share
+ * its result or exception. Nothing is kept once the call completes, so this
+ * is no cache; put it in front of the expensive part of a cache miss.
+ *
+ * Keys need proper equals/hashCode. A loader must not call back into the same
+ * key, it would wait for itself.
+ *
+ * Metrics, tagged with {@code name}:
+ * <ul>
+ *   <li>{@code singleflight.calls{result=executed}} – calls that ran the loader</li>
+ *   <li>{@code singleflight.calls{result=coalesced}} – calls served by another caller's run</li>
+ *   <li>{@code singleflight.in_flight} – keys currently loading</li>
+ * </ul>
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executed = Counter.builder("singleflight.calls")
+                .tag("name", name)
+                .tag("result", "executed")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("singleflight.calls")
+                .tag("name", name)
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("singleflight.in_flight", calls, Map::size)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code loader} for {@code key}, or waits for the run already in
+     * progress. Runtime exceptions and errors of the run are rethrown as-is to
+     * every waiting caller.
+     */
+    public V execute(K key, Supplier<? extends V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> running = calls.putIfAbsent(key, call);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+        executed.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    public int inFlight() {
+        return calls.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
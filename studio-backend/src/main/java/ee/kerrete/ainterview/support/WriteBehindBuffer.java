@@ -0,0 +1,408 @@
+package ee.kerrete.ainterview.support;
+
+import ee.kerrete.ainterview.config.WriteBehindProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bounded ring buffer drained by one background flusher that hands events to
+ * a batch writer, typically a JDBC batch insert.
+ *
+ * A batch is flushed once {@code batchSize} events are waiting or the oldest
+ * has waited {@code flushInterval}. When the buffer is full a producer blocks
+ * for up to {@code offerTimeout}, then either drops the event or writes it
+ * itself, depending on the overflow policy. A failing batch is retried a few
+ * times and then dropped and counted.
+ *
+ * Events stay in the buffer until their batch is committed, and commit plus
+ * removal happen under a lock that {@link #readThrough} also takes, so a
+ * reader combining the store with the pending events sees every event
+ * exactly once. Given {@link TransactionOperations}, the flusher runs the
+ * writer in that transaction and takes the lock only in beforeCommit, when
+ * the transaction already holds its connection; without them the lock spans
+ * the whole write, which suits stores that need no pooled resource.
+ *
+ * Metrics, tagged with {@code pipeline}:
+ * <ul>
+ *   <li>{@code events.write_behind.pending} – events not yet committed</li>
+ *   <li>{@code events.write_behind.enqueued} / {@code .dropped} / {@code .caller_runs} – offered events by outcome</li>
+ *   <li>{@code events.write_behind.blocked} – producers that found the buffer full</li>
+ *   <li>{@code events.write_behind.failed} – events lost after the last retry</li>
+ *   <li>{@code events.write_behind.flush} / {@code .batch} – batch write time and size</li>
+ * </ul>
+ */
+@Slf4j
+public final class WriteBehindBuffer<T> implements AutoCloseable {
+
+    static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MS = 100;
+
+    private final String name;
+    private final Consumer<List<T>> writer;
+    private final TransactionOperations transactions;
+    private final WriteBehindProperties.Overflow overflow;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+
+    private final Object[] ring;
+    private final long[] enqueuedAt;
+    private int head;
+    private int size;
+    private long accepted;
+    private long completed;
+    private long flushTarget;
+    private boolean closed;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition progressed = lock.newCondition();
+    private final ReentrantReadWriteLock visibility = new ReentrantReadWriteLock();
+    private final Thread flusher;
+
+    private final Counter enqueued;
+    private final Counter dropped;
+    private final Counter callerRuns;
+    private final Counter blocked;
+    private final Counter failed;
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizes;
+
+    public WriteBehindBuffer(String name,
+                             WriteBehindProperties.Spec spec,
+                             Consumer<List<T>> writer,
+                             MeterRegistry meterRegistry) {
+        this(name, spec, writer, null, meterRegistry);
+    }
+
+    /**
+     * @param transactions transaction the writer joins; may be null
+     */
+    public WriteBehindBuffer(String name,
+                             WriteBehindProperties.Spec spec,
+                             Consumer<List<T>> writer,
+                             TransactionOperations transactions,
+                             MeterRegistry meterRegistry) {
+        if (spec.getCapacity() < 1 || spec.getBatchSize() < 1) {
+            throw new IllegalArgumentException("Write-behind pipeline " + name + " needs a positive capacity and batch size");
+        }
+        this.name = name;
+        this.writer = writer;
+        this.transactions = transactions;
+        this.overflow = spec.getOverflow();
+        this.batchSize = Math.min(spec.getBatchSize(), spec.getCapacity());
+        this.flushIntervalNanos = nanos(spec.getFlushInterval());
+        this.offerTimeoutNanos = nanos(spec.getOfferTimeout());
+        this.ring = new Object[spec.getCapacity()];
+        this.enqueuedAt = new long[spec.getCapacity()];
+
+        this.enqueued = counter("events.write_behind.enqueued", meterRegistry);
+        this.dropped = counter("events.write_behind.dropped", meterRegistry);
+        this.callerRuns = counter("events.write_behind.caller_runs", meterRegistry);
+        this.blocked = counter("events.write_behind.blocked", meterRegistry);
+        this.failed = counter("events.write_behind.failed", meterRegistry);
+        this.flushTimer = Timer.builder("events.write_behind.flush").tag("pipeline", name).register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("events.write_behind.batch").tag("pipeline", name).register(meterRegistry);
+        Gauge.builder("events.write_behind.pending", this, WriteBehindBuffer::pending)
+                .tag("pipeline", name)
+                .register(meterRegistry);
+
+        this.flusher = new Thread(this::run, "write-behind-" + name);
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Queues an event for the next batch. Never throws for a full buffer;
+     * with {@code CALLER_RUNS} a synchronous write failure does propagate.
+     */
+    public void offer(T event) {
+        lock.lock();
+        try {
+            if (!closed && size == ring.length) {
+                blocked.increment();
+                long remaining = offerTimeoutNanos;
+                while (!closed && size == ring.length && remaining > 0) {
+                    remaining = notFull.awaitNanos(remaining);
+                }
+            }
+            if (!closed && size < ring.length) {
+                int slot = (head + size) % ring.length;
+                ring[slot] = event;
+                enqueuedAt[slot] = System.nanoTime();
+                size++;
+                accepted++;
+                enqueued.increment();
+                if (size == 1 || size >= batchSize) {
+                    notEmpty.signal();
+                }
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+
+        if (overflow == WriteBehindProperties.Overflow.CALLER_RUNS) {
+            callerRuns.increment();
+            writer.accept(List.of(event));
+        } else {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Runs {@code query} with the pending events matching {@code filter},
+     * oldest first. No batch is committed while the query runs, so an event
+     * is either in the store or in the list, never both or neither.
+     * Call it inside a (read-only) transaction, so the query's connection is
+     * held before the lock is awaited: then no lock holder is waiting on the
+     * pool, with or without open-session-in-view.
+     */
+    public <R> R readThrough(Predicate<? super T> filter, Function<List<T>, R> query) {
+        visibility.readLock().lock();
+        try {
+            List<T> pending = new ArrayList<>();
+            lock.lock();
+            try {
+                for (int i = 0; i < size; i++) {
+                    T event = at(i);
+                    if (filter.test(event)) {
+                        pending.add(event);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            return query.apply(pending);
+        } finally {
+            visibility.readLock().unlock();
+        }
+    }
+
+    /**
+     * Flushes everything offered so far and waits until it is written or
+     * dropped, at most {@code timeout}. Returns false on timeout.
+     */
+    public boolean flush(Duration timeout) {
+        long remaining = timeout.toNanos();
+        lock.lock();
+        try {
+            long target = accepted;
+            flushTarget = Math.max(flushTarget, target);
+            notEmpty.signal();
+            while (completed < target && remaining > 0) {
+                remaining = progressed.awaitNanos(remaining);
+            }
+            return completed >= target;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int pending() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting events and drains the buffer. Later offers are handled
+     * by the overflow policy.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int left = pending();
+        if (left > 0) {
+            log.warn("Write-behind pipeline {} closed with {} unwritten events", name, left);
+        }
+    }
+
+    private void run() {
+        while (true) {
+            List<T> batch;
+            lock.lock();
+            try {
+                while (!closed && flushTarget <= completed && !due()) {
+                    if (size == 0) {
+                        notEmpty.await();
+                    } else {
+                        notEmpty.awaitNanos(enqueuedAt[head] + flushIntervalNanos - System.nanoTime());
+                    }
+                }
+                if (size == 0) {
+                    if (closed) {
+                        return;
+                    }
+                    continue;
+                }
+                int n = Math.min(size, batchSize);
+                batch = new ArrayList<>(n);
+                for (int i = 0; i < n; i++) {
+                    batch.add(at(i));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            write(batch);
+        }
+    }
+
+    private boolean due() {
+        return size >= batchSize || (size > 0 && System.nanoTime() - enqueuedAt[head] >= flushIntervalNanos);
+    }
+
+    private void write(List<T> batch) {
+        RuntimeException failure = null;
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                long start = System.nanoTime();
+                if (transactions != null) {
+                    writeInTransaction(batch);
+                } else {
+                    writeUnderLock(batch);
+                }
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                batchSizes.record(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            if (attempt < MAX_ATTEMPTS && !sleep(RETRY_BACKOFF_MS * attempt)) {
+                break;
+            }
+        }
+        failed.increment(batch.size());
+        log.error("Write-behind pipeline {} dropped {} events after failed writes", name, batch.size(), failure);
+        visibility.writeLock().lock();
+        try {
+            remove(batch.size());
+        } finally {
+            visibility.writeLock().unlock();
+        }
+    }
+
+    private void writeUnderLock(List<T> batch) {
+        visibility.writeLock().lock();
+        try {
+            writer.accept(batch);
+            remove(batch.size());
+        } finally {
+            visibility.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The inserts run unlocked; the lock is held from beforeCommit until the
+     * committed batch has left the buffer.
+     */
+    private void writeInTransaction(List<T> batch) {
+        transactions.executeWithoutResult(status -> {
+            writer.accept(batch);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean locked;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    visibility.writeLock().lock();
+                    locked = true;
+                }
+
+                @Override
+                public void afterCompletion(int completionStatus) {
+                    if (!locked) {
+                        return;
+                    }
+                    try {
+                        if (completionStatus == STATUS_COMMITTED) {
+                            remove(batch.size());
+                        }
+                    } finally {
+                        visibility.writeLock().unlock();
+                    }
+                }
+            });
+        });
+    }
+
+    private void remove(int n) {
+        lock.lock();
+        try {
+            for (int i = 0; i < n; i++) {
+                ring[(head + i) % ring.length] = null;
+            }
+            head = (head + n) % ring.length;
+            size -= n;
+            completed += n;
+            notFull.signalAll();
+            progressed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T at(int i) {
+        return (T) ring[(head + i) % ring.length];
+    }
+
+    private Counter counter(String metric, MeterRegistry meterRegistry) {
+        return Counter.builder(metric).tag("pipeline", name).register(meterRegistry);
+    }
+
+    private static long nanos(Duration duration) {
+        return duration == null ? 0 : Math.max(0, duration.toNanos());
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
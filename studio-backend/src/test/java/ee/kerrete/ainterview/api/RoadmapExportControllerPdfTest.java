@@ -3,6 +3,7 @@ package ee.kerrete.ainterview.api;
 import ee.kerrete.ainterview.auth.jwt.JwtAuthenticationFilter;
 import ee.kerrete.ainterview.auth.jwt.JwtService;
 import ee.kerrete.ainterview.dto.RoadmapExportResponse;
+import ee.kerrete.ainterview.job.service.GenerationJobService;
 import ee.kerrete.ainterview.roadmap.MarkdownRenderer;
 import ee.kerrete.ainterview.service.RoadmapExportService;
 import ee.kerrete.ainterview.service.RoadmapPdfExporter;
@@ -39,6 +40,9 @@ class RoadmapExportControllerPdfTest {
     @MockBean
     private MarkdownRenderer markdownRenderer;
 
+    @MockBean
+    private GenerationJobService generationJobService;
+
     @MockBean
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -0,0 +1,45 @@
+package ee.kerrete.ainterview.arena.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArenaStreamSupportTest {
+
+    @Test
+    void streamsBeyondTheLimitAreRejectedInVirtualMode() throws Exception {
+        ArenaStreamSupport support = new ArenaStreamSupport(
+                new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true"));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(ArenaStreamSupport.MAX_CONCURRENT_STREAMS);
+        try {
+            for (int i = 0; i < ArenaStreamSupport.MAX_CONCURRENT_STREAMS; i++) {
+                support.stream(onDelta -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    finished.countDown();
+                    return "ok";
+                });
+            }
+
+            assertThatThrownBy(() -> support.stream(onDelta -> "ok"))
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode().value()).isEqualTo(503));
+
+            release.countDown();
+            assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            release.countDown();
+            support.shutdown();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ee.kerrete.ainterview.arena.api;
+
+import ee.kerrete.ainterview.AbstractIntegrationTest;
+import ee.kerrete.ainterview.model.AppUser;
+import ee.kerrete.ainterview.model.UserRole;
+import ee.kerrete.ainterview.model.UserTier;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CareerMentorStreamIT extends AbstractIntegrationTest {
+
+    private static final String REQUEST = """
+        {"targetRole": "Backend Engineer"}
+        """;
+
+    private String token(String email, UserTier tier) throws Exception {
+        AppUser user = createUser(email, "Password1!", true, UserRole.ADMIN);
+        user.setTier(tier);
+        appUserRepository.save(user);
+        return loginAndGetToken(email, "Password1!");
+    }
+
+    @Test
+    void tierGatedStreamCompletesOnTheAsyncDispatch() throws Exception {
+        when(aiService.streamChatCompletion(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            Consumer<String> onDelta = invocation.getArgument(2);
+            onDelta.accept("Hello");
+            return "{\"message\": \"Hello\", \"actionItems\": []}";
+        });
+        String token = token("mentor-stream@example.com", UserTier.ARENA_PRO);
+
+        MvcResult started = mockMvc.perform(post("/api/arena/career-mentor/start/stream")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(REQUEST))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        MvcResult finished = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        String body = finished.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(body).contains("event:delta").contains("event:done").doesNotContain("event:error");
+    }
+
+    @Test
+    void streamIsRejectedBeforeItStartsWithoutTheTier() throws Exception {
+        String token = token("mentor-free@example.com", UserTier.FREE);
+
+        mockMvc.perform(post("/api/arena/career-mentor/start/stream")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(REQUEST))
+            .andExpect(request().asyncNotStarted())
+            .andExpect(status().isForbidden());
+    }
+}
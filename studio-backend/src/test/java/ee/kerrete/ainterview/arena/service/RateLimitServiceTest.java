@@ -0,0 +1,116 @@
+package ee.kerrete.ainterview.arena.service;
+
+import ee.kerrete.ainterview.arena.repository.FeatureUsageCounterRepository;
+import ee.kerrete.ainterview.arena.repository.FeatureUsageCounterRepository.Count;
+import ee.kerrete.ainterview.arena.service.RateLimitService.Decision;
+import ee.kerrete.ainterview.support.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateLimitServiceTest {
+
+    private static final String FEATURE = "job-xray";
+
+    private final FeatureUsageCounterRepository repository = Mockito.mock(FeatureUsageCounterRepository.class);
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-10-17T12:00:00Z"));
+    private RateLimitService service;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findByPeriod(202610)).thenReturn(List.of(new Count(7L, FEATURE, 202610, 2)));
+        service = new RateLimitService(repository, clock);
+        service.warmUp();
+    }
+
+    @Test
+    void monthlyQuotaContinuesFromTheWarmedUpCount() {
+        assertThat(service.getUsageCount(7L, FEATURE)).isEqualTo(2);
+
+        assertThat(service.tryAcquire(7L, FEATURE, 3, 10)).isEqualTo(Decision.GRANTED);
+        assertThat(service.tryAcquire(7L, FEATURE, 3, 10)).isEqualTo(Decision.MONTHLY_LIMIT);
+        assertThat(service.getUsageCount(7L, FEATURE)).isEqualTo(3);
+        assertThat(service.canUse(7L, FEATURE, 3)).isFalse();
+    }
+
+    @Test
+    void burstLimitSlidesOverTheLastMinute() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(service.tryAcquire(8L, FEATURE, 100, 4)).isEqualTo(Decision.GRANTED);
+        }
+        assertThat(service.tryAcquire(8L, FEATURE, 100, 4)).isEqualTo(Decision.BURST_LIMIT);
+
+        // 30s into the next minute half of the previous minute still counts: 2 of 4
+        clock.advance(Duration.ofSeconds(90));
+        assertThat(service.tryAcquire(8L, FEATURE, 100, 4)).isEqualTo(Decision.GRANTED);
+        assertThat(service.tryAcquire(8L, FEATURE, 100, 4)).isEqualTo(Decision.GRANTED);
+        assertThat(service.tryAcquire(8L, FEATURE, 100, 4)).isEqualTo(Decision.BURST_LIMIT);
+
+        clock.advance(Duration.ofMinutes(2));
+        assertThat(service.tryAcquire(8L, FEATURE, 100, 4)).isEqualTo(Decision.GRANTED);
+        assertThat(service.getUsageCount(8L, FEATURE)).isEqualTo(7);
+    }
+
+    @Test
+    void releaseHandsTheUseBack() {
+        assertThat(service.tryAcquire(9L, FEATURE, 1, 1)).isEqualTo(Decision.GRANTED);
+        service.release(9L, FEATURE);
+
+        assertThat(service.getUsageCount(9L, FEATURE)).isZero();
+        assertThat(service.tryAcquire(9L, FEATURE, 1, 1)).isEqualTo(Decision.GRANTED);
+    }
+
+    @Test
+    void flushWritesOnlyTheDeltaSinceTheLastFlush() {
+        service.recordUsage(7L, FEATURE);
+        service.recordUsage(9L, FEATURE);
+        service.flush();
+        service.flush();
+
+        verify(repository, times(1)).addAll(Mockito.argThat(deltas -> deltas.size() == 2 && deltas.containsAll(List.of(
+                new Count(7L, FEATURE, 202610, 1),
+                new Count(9L, FEATURE, 202610, 1)))));
+
+        service.recordUsage(9L, FEATURE);
+        service.flush();
+        verify(repository).addAll(List.of(new Count(9L, FEATURE, 202610, 1)));
+    }
+
+    @Test
+    void failedFlushIsRetried() {
+        doThrow(new IllegalStateException("database down")).doNothing().when(repository).addAll(anyList());
+        service.recordUsage(9L, FEATURE);
+
+        service.flush();
+        service.flush();
+
+        verify(repository, times(2)).addAll(List.of(new Count(9L, FEATURE, 202610, 1)));
+    }
+
+    @Test
+    void newMonthStartsFromZero() {
+        service.recordUsage(7L, FEATURE);
+        clock.advance(Duration.ofDays(15));
+
+        assertThat(service.getUsageCount(7L, FEATURE)).isZero();
+        assertThat(service.tryAcquire(7L, FEATURE, 3, 10)).isEqualTo(Decision.GRANTED);
+
+        service.flush();
+        verify(repository).addAll(Mockito.argThat(deltas -> deltas.containsAll(List.of(
+                new Count(7L, FEATURE, 202610, 1),
+                new Count(7L, FEATURE, 202611, 1)))));
+        service.flush();
+        verify(repository, times(1)).addAll(anyList());
+    }
+}
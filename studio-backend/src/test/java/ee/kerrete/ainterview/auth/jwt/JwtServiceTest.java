@@ -0,0 +1,81 @@
+package ee.kerrete.ainterview.auth.jwt;
+
+import ee.kerrete.ainterview.model.UserRole;
+import ee.kerrete.ainterview.model.UserTier;
+import ee.kerrete.ainterview.support.MutableClock;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-32-characters";
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-10-17T10:00:00Z"));
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JwtService jwtService =
+        new JwtService(new JwtProperties(SECRET, 3_600_000L, 86_400_000L, 100), registry, clock);
+
+    private double cacheHits() {
+        return registry.get("cache.gets").tag("cache", "jwt-claims").tag("result", "hit").functionCounter().count();
+    }
+
+    @Test
+    void repeatedTokenIsVerifiedOnceAndServedFromCache() {
+        String token = jwtService.generateAccessToken("a@example.com", UserRole.CANDIDATE, 7L, UserTier.FREE);
+
+        Claims first = jwtService.parseToken(token).orElseThrow();
+        Claims second = jwtService.parseToken(token).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getSubject()).isEqualTo("a@example.com");
+        assertThat(first.get(JwtClaims.USER_ID, Long.class)).isEqualTo(7L);
+        assertThat(JwtService.isAccessToken(first)).isTrue();
+        assertThat(cacheHits()).isEqualTo(1.0);
+    }
+
+    @Test
+    void cachedTokenStopsParsingOnceExpired() {
+        String token = jwtService.generateAccessToken("a@example.com", UserRole.CANDIDATE, 7L, UserTier.FREE);
+        assertThat(jwtService.parseToken(token)).isPresent();
+
+        clock.advance(Duration.ofMinutes(61));
+
+        assertThat(jwtService.parseToken(token)).isEmpty();
+        assertThat(jwtService.isTokenExpired(token)).isTrue();
+    }
+
+    @Test
+    void tamperedOrForeignTokensAreRejectedAndNotCached() {
+        String token = jwtService.generateAccessToken("a@example.com", UserRole.CANDIDATE, 7L, UserTier.FREE);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        JwtService other = new JwtService(
+            new JwtProperties("another-secret-key-that-is-at-least-32-chars", 3_600_000L, 86_400_000L, 100),
+            new SimpleMeterRegistry(), clock);
+
+        assertThat(jwtService.parseToken(tampered)).isEmpty();
+        assertThat(jwtService.parseToken(tampered)).isEmpty();
+        assertThat(other.parseToken(token)).isEmpty();
+        assertThat(jwtService.parseToken("not-a-jwt")).isEmpty();
+        assertThat(jwtService.parseToken(null)).isEmpty();
+        assertThat(cacheHits()).isZero();
+    }
+
+    @Test
+    void refreshTokenParsesOnlyAsRefresh() {
+        String refresh = jwtService.generateRefreshToken("a@example.com");
+        String access = jwtService.generateAccessToken("a@example.com", UserRole.CANDIDATE, 7L, UserTier.FREE);
+
+        Claims claims = jwtService.parseRefreshToken(refresh).orElseThrow();
+        assertThat(claims.getSubject()).isEqualTo("a@example.com");
+        assertThat(jwtService.isExpired(claims)).isFalse();
+        assertThat(jwtService.parseRefreshToken(access)).isEmpty();
+        assertThat(jwtService.isRefreshToken(refresh)).isTrue();
+        assertThat(jwtService.isAccessToken(refresh)).isFalse();
+    }
+}
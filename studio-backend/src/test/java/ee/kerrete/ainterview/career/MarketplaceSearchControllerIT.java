@@ -58,7 +58,53 @@ public class MarketplaceSearchControllerIT extends AbstractIntegrationTest {
                 .param("minScore", "70")
                 .accept(MediaType.APPLICATION_JSON))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$[0].email").value("visible@example.com"));
+            .andExpect(jsonPath("$.items[0].email").value("visible@example.com"));
     }
-}
 
+    @Test
+    void pagesWithKeysetCursorInScoreOrder() throws Exception {
+        long first = saveCandidate("keyset-a@example.com", 91.0);
+        long second = saveCandidate("keyset-b@example.com", 85.0);
+        saveCandidate("keyset-c@example.com", 85.0);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/marketplace/search")
+                .param("roleFamily", "keyset_family")
+                .param("limit", "2")
+                .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(2))
+            .andExpect(jsonPath("$.items[0].marketplaceProfileId").value((int) first))
+            .andExpect(jsonPath("$.items[1].email").value("keyset-c@example.com"))
+            .andExpect(jsonPath("$.hasNext").value(true))
+            .andExpect(jsonPath("$.nextAfterScore").value(85.0))
+            .andExpect(jsonPath("$.nextAfterId").value((int) (second + 1)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/marketplace/search")
+                .param("roleFamily", "keyset_family")
+                .param("limit", "2")
+                .param("afterScore", "85.0")
+                .param("afterId", String.valueOf(second + 1))
+                .accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(1))
+            .andExpect(jsonPath("$.items[0].marketplaceProfileId").value((int) second))
+            .andExpect(jsonPath("$.hasNext").value(false))
+            .andExpect(jsonPath("$.nextAfterId").doesNotExist());
+    }
+
+    private long saveCandidate(String email, double score) {
+        SkillProfile skills = skillProfileRepository.save(SkillProfile.builder()
+            .email(email)
+            .roleFamily("KEYSET_FAMILY")
+            .location("Tartu")
+            .visibility(MarketplaceVisibility.PUBLIC)
+            .build());
+        return marketplaceProfileRepository.save(MarketplaceProfile.builder()
+            .skillProfileId(skills.getId())
+            .headline(email)
+            .score(score)
+            .overlapPercent(50.0)
+            .visibility(MarketplaceVisibility.PUBLIC)
+            .build()).getId();
+    }
+}
@@ -0,0 +1,94 @@
+package ee.kerrete.ainterview.career;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.kerrete.ainterview.career.model.RoleProfile;
+import ee.kerrete.ainterview.career.repository.RoleProfileRepository;
+import ee.kerrete.ainterview.career.service.RoleSkillIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoleSkillIndexTest {
+
+    private final RoleProfileRepository repository = mock(RoleProfileRepository.class);
+    private final RoleSkillIndex index = new RoleSkillIndex(repository, new ObjectMapper());
+
+    private static RoleProfile role(long id, String family, String skillsJson) {
+        return RoleProfile.builder().id(id).roleKey("r" + id).roleName("Role " + id)
+            .roleFamily(family).requiredSkillsJson(skillsJson).build();
+    }
+
+    @Test
+    void overlapIsPopcountAndGapsKeepDeclaredOrder() {
+        RoleSkillIndex.Snapshot snapshot = index.build(List.of(
+            role(1, "ENGINEERING", "[\"Java\",\"Spring\",\"Kubernetes\",\"java\"]"),
+            role(2, "DATA", "[\"python\",\"sql\"]")));
+
+        long[] candidate = snapshot.encode(List.of("java", " SPRING ", "docker"));
+        RoleSkillIndex.RoleVector backend = snapshot.roles().get(0);
+
+        assertThat(backend.requiredCount()).isEqualTo(3);
+        assertThat(backend.overlap(candidate)).isEqualTo(2);
+        assertThat(snapshot.gaps(backend, candidate)).containsExactly("kubernetes");
+        assertThat(snapshot.roles().get(1).overlap(candidate)).isZero();
+        assertThat(snapshot.rolesForFamily("DATA")).extracting(RoleSkillIndex.RoleVector::roleProfileId).containsExactly(2L);
+    }
+
+    @Test
+    void snapshotIsReusedUntilInvalidated() {
+        when(repository.findAll()).thenReturn(List.of(role(1, "ENGINEERING", "[\"java\"]")));
+
+        RoleSkillIndex.Snapshot first = index.snapshot();
+        assertThat(index.snapshot()).isSameAs(first);
+
+        index.invalidate();
+        assertThat(index.snapshot()).isNotSameAs(first);
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    @Tag("load")
+    void scoresFiveThousandRolesWellUnderTenMillis() {
+        Random random = new Random(7);
+        List<String> vocabulary = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            vocabulary.add("skill-" + i);
+        }
+        List<RoleProfile> roles = new ArrayList<>();
+        for (int r = 0; r < 5_000; r++) {
+            List<String> required = new ArrayList<>();
+            for (int k = 0; k < 12; k++) {
+                required.add("\"" + vocabulary.get(random.nextInt(vocabulary.size())) + "\"");
+            }
+            roles.add(role(r, "F" + (r % 20), "[" + String.join(",", required) + "]"));
+        }
+        RoleSkillIndex.Snapshot snapshot = index.build(roles);
+        List<String> candidateSkills = vocabulary.subList(0, 300);
+
+        int rounds = 200;
+        long matched = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            long[] candidate = snapshot.encode(candidateSkills);
+            for (RoleSkillIndex.RoleVector role : snapshot.roles()) {
+                int hits = role.overlap(candidate);
+                if (hits > 0) {
+                    matched += snapshot.gaps(role, candidate).size();
+                }
+            }
+        }
+        double perRequestMs = (System.nanoTime() - start) / 1e6 / rounds;
+        System.out.printf("Scored %d roles in %.3f ms per request (%d gaps)%n", roles.size(), perRequestMs, matched);
+
+        assertThat(perRequestMs).isLessThan(10.0);
+    }
+}
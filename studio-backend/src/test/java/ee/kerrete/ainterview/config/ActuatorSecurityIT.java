@@ -0,0 +1,32 @@
+package ee.kerrete.ainterview.config;
+
+import ee.kerrete.ainterview.AbstractIntegrationTest;
+import ee.kerrete.ainterview.model.UserRole;
+import org.junit.jupiter.api.Test;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ActuatorSecurityIT extends AbstractIntegrationTest {
+
+    @Test
+    void healthAndInfoArePublic() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/info")).andExpect(status().isOk());
+    }
+
+    @Test
+    void otherEndpointsRequireAnAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/mappings")).andExpect(status().isUnauthorized());
+
+        createUser("user@example.com", "password", true, UserRole.USER);
+        String userToken = loginAndGetToken("user@example.com", "password");
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + userToken))
+            .andExpect(status().isForbidden());
+
+        createUser("admin@example.com", "password", true, UserRole.ADMIN);
+        String adminToken = loginAndGetToken("admin@example.com", "password");
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + adminToken))
+            .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,66 @@
+package ee.kerrete.ainterview.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.URI;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PerHostRequestLimiterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ClientHttpRequestExecution execution =
+            (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+
+    private PerHostRequestLimiter limiter(int perHost) {
+        OutboundHttpProperties properties = new OutboundHttpProperties();
+        properties.setMaxRequestsPerHost(perHost);
+        properties.setHostLimits(Map.of("api.github.com", 1));
+        properties.setAcquireTimeoutMs(10);
+        return new PerHostRequestLimiter(properties, registry);
+    }
+
+    @Test
+    void rejectsWhenHostIsSaturatedAndReleasesOnClose() throws Exception {
+        PerHostRequestLimiter limiter = limiter(4);
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("https://api.github.com/users/x"));
+
+        ClientHttpResponse first = limiter.intercept(request, new byte[0], execution);
+        assertThat(registry.get("http.client.host.in_flight").tag("host", "api.github.com").gauge().value()).isEqualTo(1.0);
+
+        assertThatThrownBy(() -> limiter.intercept(request, new byte[0], execution))
+                .isInstanceOf(ResourceAccessException.class);
+        assertThat(registry.get("http.client.host.rejected").tag("host", "api.github.com").counter().count()).isEqualTo(1.0);
+
+        first.close();
+        first.close(); // double close must not over-release
+        ClientHttpResponse second = limiter.intercept(request, new byte[0], execution);
+        assertThat(registry.get("http.client.host.in_flight").tag("host", "api.github.com").gauge().value()).isEqualTo(1.0);
+        second.close();
+    }
+
+    @Test
+    void hostsAreLimitedIndependently() throws Exception {
+        PerHostRequestLimiter limiter = limiter(2);
+        MockClientHttpRequest github = new MockClientHttpRequest(HttpMethod.GET, URI.create("https://api.github.com/a"));
+        MockClientHttpRequest hn = new MockClientHttpRequest(HttpMethod.GET, URI.create("https://hacker-news.firebaseio.com/v0/x"));
+
+        limiter.intercept(github, new byte[0], execution);
+        limiter.intercept(hn, new byte[0], execution);
+        limiter.intercept(hn, new byte[0], execution);
+
+        assertThat(registry.get("http.client.host.limit").tag("host", "hacker-news.firebaseio.com").gauge().value()).isEqualTo(2.0);
+        assertThatThrownBy(() -> limiter.intercept(hn, new byte[0], execution))
+                .isInstanceOf(ResourceAccessException.class);
+    }
+}
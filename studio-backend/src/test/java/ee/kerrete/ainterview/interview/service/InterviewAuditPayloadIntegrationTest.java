@@ -10,6 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.UUID;
 
@@ -29,6 +30,9 @@ class InterviewAuditPayloadIntegrationTest {
     @Autowired
     private InterviewSessionEventRepository eventRepository;
 
+    @Autowired
+    private InterviewAuditService interviewAuditService;
+
     @Test
     @Transactional
     void answerAndDecisionEventsCarryPayload() {
@@ -47,6 +51,7 @@ class InterviewAuditPayloadIntegrationTest {
         // answer to create answer + decision events
         interviewIntelligenceService.nextQuestion(sessionUuid, new InterviewNextQuestionRequestDto("I took ownership of delivery and unblocked the team."));
 
+        assertThat(interviewAuditService.flush(Duration.ofSeconds(5))).isTrue();
         var events = eventRepository.findTop200BySessionUuidOrderByCreatedAtDesc(sessionUuid);
 
         var decision = events.stream().filter(e -> e.getEventType() == InterviewSessionEventType.DECISION_MADE).findFirst().orElseThrow();
@@ -11,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.UUID;
 
@@ -30,6 +31,9 @@ class InterviewDecisionAuditIntegrationTest {
     @Autowired
     private InterviewSessionEventRepository eventRepository;
 
+    @Autowired
+    private InterviewAuditService interviewAuditService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -48,6 +52,7 @@ class InterviewDecisionAuditIntegrationTest {
 
         interviewIntelligenceService.nextQuestion(sessionUuid, null);
 
+        assertThat(interviewAuditService.flush(Duration.ofSeconds(5))).isTrue();
         InterviewSessionEvent decisionEvent = eventRepository.findTop200BySessionUuidOrderByCreatedAtDesc(sessionUuid)
             .stream()
             .filter(ev -> ev.getEventType() == InterviewSessionEventType.DECISION_MADE)
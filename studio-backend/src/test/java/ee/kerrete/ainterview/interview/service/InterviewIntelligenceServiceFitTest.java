@@ -1,12 +1,19 @@
 package ee.kerrete.ainterview.interview.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.kerrete.ainterview.config.WriteBehindProperties;
+import ee.kerrete.ainterview.prompt.PromptRegistry;
 import ee.kerrete.ainterview.interview.dto.InterviewIntelligenceResponseDto;
 import ee.kerrete.ainterview.interview.dto.InterviewNextQuestionRequestDto;
 import ee.kerrete.ainterview.interview.enums.InterviewerStyle;
 import ee.kerrete.ainterview.model.InterviewSession;
+import ee.kerrete.ainterview.repository.InterviewSessionEventBatchWriter;
 import ee.kerrete.ainterview.repository.InterviewSessionEventRepository;
 import ee.kerrete.ainterview.repository.InterviewSessionRepository;
+import ee.kerrete.ainterview.repository.InterviewTurnRepository;
+import ee.kerrete.ainterview.repository.InterviewTurnSummaryRepository;
+import ee.kerrete.ainterview.support.InMemoryTransactionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -24,9 +31,13 @@ class InterviewIntelligenceServiceFitTest {
     private final InterviewSessionRepository repo = Mockito.mock(InterviewSessionRepository.class);
     private final InterviewSessionEventRepository eventRepo = Mockito.mock(InterviewSessionEventRepository.class);
     private final CandidateSummaryService candidateSummaryService = new CandidateSummaryService(mapper, new ToneAnalyzerService(), new AffectAnalyzerService(), new NarrativeService());
-    private final InterviewAuditService interviewAuditService = new InterviewAuditService(eventRepo, mapper);
+    private final InterviewAuditService interviewAuditService = new InterviewAuditService(
+        eventRepo, Mockito.mock(InterviewSessionEventBatchWriter.class), new WriteBehindProperties(),
+        new InMemoryTransactionManager(), new SimpleMeterRegistry(), mapper);
     private final InterviewProfileService interviewProfileService = Mockito.mock(InterviewProfileService.class);
-    private final InterviewIntelligenceService service = new InterviewIntelligenceService(repo, candidateSummaryService, interviewAuditService, interviewProfileService, new ToneAnalyzerService(), new AffectAnalyzerService(), mapper);
+    private final InterviewTurnLog interviewTurnLog = new InterviewTurnLog(
+        Mockito.mock(InterviewTurnRepository.class), Mockito.mock(InterviewTurnSummaryRepository.class), repo, mapper);
+    private final InterviewIntelligenceService service = new InterviewIntelligenceService(repo, candidateSummaryService, interviewAuditService, interviewProfileService, new ToneAnalyzerService(), new AffectAnalyzerService(), interviewTurnLog, mapper, PromptRegistry.fromClasspath());
 
     @Test
     void fitNotComputedBeforeThirdAnswer() throws Exception {
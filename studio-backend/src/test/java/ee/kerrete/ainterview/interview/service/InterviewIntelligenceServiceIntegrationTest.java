@@ -2,7 +2,10 @@ package ee.kerrete.ainterview.interview.service;
 
 import ee.kerrete.ainterview.interview.dto.InterviewNextQuestionRequestDto;
 import ee.kerrete.ainterview.model.InterviewSession;
+import ee.kerrete.ainterview.model.InterviewTurn;
 import ee.kerrete.ainterview.repository.InterviewSessionRepository;
+import ee.kerrete.ainterview.repository.InterviewTurnRepository;
+import ee.kerrete.ainterview.repository.InterviewTurnSummaryRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -11,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,6 +30,12 @@ class InterviewIntelligenceServiceIntegrationTest {
     @Autowired
     private InterviewSessionRepository repository;
 
+    @Autowired
+    private InterviewTurnRepository turnRepository;
+
+    @Autowired
+    private InterviewTurnSummaryRepository summaryRepository;
+
     @Test
     void questionCountPersistsAndOpeningDoesNotRepeat() {
         InterviewSession session = InterviewSession.builder()
@@ -54,7 +64,11 @@ class InterviewIntelligenceServiceIntegrationTest {
         InterviewSession afterSecond = repository.findBySessionUuid(uuid).orElseThrow();
 
         assertThat(afterSecond.getQuestionCount()).isEqualTo(2);
-        assertThat(afterSecond.getQuestionAnswers()).contains("second answer");
+        assertThat(afterSecond.getQuestionAnswers()).isEqualTo("[]");
+        assertThat(turnRepository.findBySessionIdOrderByTurnIndexAsc(afterSecond.getId()))
+            .extracting(InterviewTurn::getAnswer)
+            .containsExactly("second answer", null);
+        assertThat(summaryRepository.findById(afterSecond.getId()).orElseThrow().getAnsweredCount()).isEqualTo(1);
         assertThat(resp2.getDecision()).isNotEqualTo("opening");
         assertThat(resp2.getQuestion()).isNotEqualTo(firstQuestion);
     }
@@ -80,5 +94,72 @@ class InterviewIntelligenceServiceIntegrationTest {
         org.assertj.core.api.Assertions.assertThatThrownBy(() -> service.nextQuestion(uuid, null))
             .isInstanceOf(ResponseStatusException.class);
     }
-}
 
+    @Test
+    void legacyQuestionAnswersAreImportedOnFirstTurn() {
+        InterviewSession session = InterviewSession.builder()
+            .company("acme")
+            .role("engineer")
+            .seniority("mid")
+            .sessionUuid(UUID.randomUUID())
+            .questionAnswers("""
+                [{"questionId":"INTRO_0001","question":"Tell me about yourself","answer":"legacy answer","avg":4.0},
+                 {"questionId":"ownership:probe:0","question":"Who owned it?","answer":null}]
+                """)
+            .questionCount(2)
+            .currentQuestionId("ownership:probe:0")
+            .currentQuestionText("Who owned it?")
+            .createdAt(LocalDateTime.now())
+            .build();
+        repository.save(session);
+
+        var resp = service.nextQuestion(session.getSessionUuid(), new InterviewNextQuestionRequestDto("I owned the rollout end to end"));
+
+        List<InterviewTurn> turns = turnRepository.findBySessionIdOrderByTurnIndexAsc(session.getId());
+        assertThat(turns).extracting(InterviewTurn::getQuestionId)
+            .startsWith("INTRO_0001", "ownership:probe:0")
+            .doesNotHaveDuplicates();
+        assertThat(turns.get(1).getAnswer()).isEqualTo("I owned the rollout end to end");
+        assertThat(turns).hasSize(3);
+        assertThat(resp.getQuestion()).isNotEqualTo("Who owned it?");
+        assertThat(summaryRepository.findById(session.getId()).orElseThrow().getAnsweredCount()).isEqualTo(2);
+    }
+
+    @Test
+    void legacyAskedIdsAndOpenQuestionAreCarriedOver() {
+        // The same legacy session without asked ids shows which question would come next
+        InterviewSession control = repository.save(legacySession(null));
+        service.nextQuestion(control.getSessionUuid(), new InterviewNextQuestionRequestDto("I owned the rollout end to end"));
+        String wouldBeNext = repository.findBySessionUuid(control.getSessionUuid()).orElseThrow().getCurrentQuestionId();
+
+        InterviewSession session = repository.save(legacySession(
+            "[\"INTRO_0001\",\"" + wouldBeNext + "\",\"ownership:probe:0\"]"));
+        service.nextQuestion(session.getSessionUuid(), new InterviewNextQuestionRequestDto("I owned the rollout end to end"));
+
+        List<InterviewTurn> turns = turnRepository.findBySessionIdOrderByTurnIndexAsc(session.getId());
+        assertThat(turns.get(1).getQuestionId()).isEqualTo("ownership:probe:0");
+        assertThat(turns.get(1).getAnswer()).isEqualTo("I owned the rollout end to end");
+        assertThat(repository.findBySessionUuid(session.getSessionUuid()).orElseThrow().getCurrentQuestionId())
+            .isNotIn("INTRO_0001", wouldBeNext, "ownership:probe:0");
+        assertThat(summaryRepository.findById(session.getId()).orElseThrow().getLegacyAskedIds())
+            .contains(wouldBeNext);
+    }
+
+    private static InterviewSession legacySession(String askedQuestionIds) {
+        // question_answers only has the answered question; the open one is in the session columns
+        return InterviewSession.builder()
+            .company("acme")
+            .role("engineer")
+            .seniority("mid")
+            .sessionUuid(UUID.randomUUID())
+            .questionAnswers("""
+                [{"questionId":"INTRO_0001","question":"Tell me about yourself","answer":"legacy answer","avg":4.0}]
+                """)
+            .askedQuestionIds(askedQuestionIds)
+            .questionCount(2)
+            .currentQuestionId("ownership:probe:0")
+            .currentQuestionText("Who owned it?")
+            .createdAt(LocalDateTime.now())
+            .build();
+    }
+}
@@ -0,0 +1,102 @@
+package ee.kerrete.ainterview.interview.service;
+
+import ee.kerrete.ainterview.interview.dto.InterviewNextQuestionRequestDto;
+import ee.kerrete.ainterview.model.InterviewSession;
+import ee.kerrete.ainterview.repository.InterviewSessionRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives {@value #SESSIONS} interviews through {@value #QUESTIONS} turns each
+ * with ~250-word answers and prints the median latency per turn number. With
+ * the turn log a turn reads the summary row and the last turn only, so late
+ * turns should cost about the same as early ones and the legacy
+ * question_answers column is never rewritten.
+ *
+ * The seed question bank has 25 questions; later turns record the answer and
+ * return the completed state, which exercises the same read/write path.
+ *
+ * Run with {@code ./gradlew loadTest --tests '*InterviewTurnLatencyBenchmarkTest'}.
+ */
+@Tag("load")
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:interview_turn_bench;DB_CLOSE_DELAY=-1;MODE=PostgreSQL"
+})
+@ActiveProfiles("test")
+class InterviewTurnLatencyBenchmarkTest {
+
+    private static final int SESSIONS = 40;
+    private static final int QUESTIONS = 30;
+    private static final int WARMUP_SESSIONS = 10;
+
+    @Autowired
+    private InterviewIntelligenceService service;
+
+    @Autowired
+    private InterviewSessionRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void turnLatencyStaysFlatAtThirtyQuestions() {
+        String answer = "I led the migration and owned the rollout plan with the team. ".repeat(20).trim();
+        long[][] nanos = new long[QUESTIONS][SESSIONS];
+
+        for (int s = 0; s < WARMUP_SESSIONS + SESSIONS; s++) {
+            UUID uuid = newSession();
+            service.nextQuestion(uuid, null);
+            for (int turn = 0; turn < QUESTIONS; turn++) {
+                long start = System.nanoTime();
+                service.nextQuestion(uuid, new InterviewNextQuestionRequestDto(answer + " #" + turn));
+                long elapsed = System.nanoTime() - start;
+                if (s >= WARMUP_SESSIONS) {
+                    nanos[turn][s - WARMUP_SESSIONS] = elapsed;
+                }
+            }
+        }
+
+        System.out.println("turn  p50 (ms)");
+        for (int turn : new int[] {1, 5, 10, 15, 20, 25, 30}) {
+            System.out.printf("%4d  %8.3f%n", turn, median(nanos[turn - 1]) / 1e6);
+        }
+
+        double early = median(nanos[4]);
+        double late = median(nanos[QUESTIONS - 1]);
+        assertThat(late).isLessThan(early * 2.0);
+
+        Integer rewritten = jdbcTemplate.queryForObject(
+            "select count(*) from interview_session where question_answers is not null and question_answers <> '[]'",
+            Integer.class);
+        assertThat(rewritten).isZero();
+    }
+
+    private UUID newSession() {
+        InterviewSession session = InterviewSession.builder()
+            .company("acme")
+            .role("engineer")
+            .seniority("senior")
+            .sessionUuid(UUID.randomUUID())
+            .questionCount(0)
+            .createdAt(LocalDateTime.now())
+            .build();
+        repository.save(session);
+        return session.getSessionUuid();
+    }
+
+    private static double median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
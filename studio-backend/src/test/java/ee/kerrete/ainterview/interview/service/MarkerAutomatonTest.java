@@ -0,0 +1,102 @@
+package ee.kerrete.ainterview.interview.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MarkerAutomatonTest {
+
+    private final MarkerAutomaton automaton = MarkerAutomaton.builder()
+        .category("sub", false, List.of("fail", "failure", "ail", "team"))
+        .category("word", true, List.of("team", "lead"))
+        .build();
+
+    @Test
+    void substringMarkersIncludeOverlappingSuffixes() {
+        MarkerAutomaton.Scan scan = automaton.scan("The FAILURE of a teammate");
+
+        assertThat(scan.count("sub", "fail")).isEqualTo(1);
+        assertThat(scan.count("sub", "failure")).isEqualTo(1);
+        assertThat(scan.count("sub", "ail")).isEqualTo(1);
+        assertThat(scan.count("sub", "team")).isEqualTo(1);
+        assertThat(scan.distinct("sub")).isEqualTo(4);
+    }
+
+    @Test
+    void wholeWordMarkersRespectTokenBoundaries() {
+        MarkerAutomaton.Scan scan = automaton.scan("team teammate, Team_x (team) leader lead.");
+
+        assertThat(scan.count("word", "team")).isEqualTo(2);
+        assertThat(scan.count("word", "lead")).isEqualTo(1);
+        assertThat(scan.total("word")).isEqualTo(3);
+    }
+
+    @Test
+    void scansAccumulateAcrossAnswers() {
+        MarkerAutomaton.Scan scan = new MarkerAutomaton.Scan(automaton);
+        automaton.scan("lead the team", scan);
+        automaton.scan("team", scan);
+
+        assertThat(scan.count("word", "team")).isEqualTo(2);
+        assertThat(scan.wordTokens()).isEqualTo(4);
+    }
+
+    @Test
+    void rejectsMarkersTheAutomatonCannotMatch() {
+        assertThatThrownBy(() -> MarkerAutomaton.builder().category("c", false, List.of("Team")))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MarkerAutomaton.builder().category("c", true, List.of("trade-off")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void countsMatchTheStringBasedImplementationOnRandomText() {
+        Random random = new Random(42);
+        String[] vocabulary = {"I", "led", "the", "Team", "failure", "fail", "impact", "KPI", "improved", "stakeholders",
+            "we", "built", "grateful", "stuck", "design", "issue", "maybe", "learn", "metrics", "own"};
+        String[] separators = {" ", "  ", ", ", ".\n", "\t", "-", "!", "_"};
+        MarkerAutomaton markers = AnswerMarkers.AUTOMATON;
+
+        for (int round = 0; round < 500; round++) {
+            StringBuilder text = new StringBuilder();
+            if (random.nextBoolean()) {
+                text.append(separators[random.nextInt(separators.length)]);
+            }
+            int words = 1 + random.nextInt(60);
+            for (int w = 0; w < words; w++) {
+                text.append(vocabulary[random.nextInt(vocabulary.length)]);
+                text.append(separators[random.nextInt(separators.length)]);
+            }
+            String answer = text.toString();
+            String lower = answer.toLowerCase(Locale.ROOT);
+            MarkerAutomaton.Scan scan = markers.scan(answer);
+
+            assertThat(scan.whitespaceTokens()).as(answer).isEqualTo(lower.split("\\s+").length);
+            assertThat(scan.wordTokens()).as(answer)
+                .isEqualTo((int) Arrays.stream(lower.split("\\W+")).filter(s -> !s.isEmpty()).count());
+            assertThat(scan.uniquenessRatio()).as(answer).isEqualTo(legacyUniqueness(lower));
+            assertThat(scan.distinct(AnswerMarkers.TONE_NEGATIVE)).as(answer)
+                .isEqualTo(legacyContains(lower, Set.of("stuck", "fail", "failure")));
+            assertThat(scan.count(AnswerMarkers.STRENGTH, "team")).as(answer)
+                .isEqualTo((int) Arrays.stream(lower.split("\\W+")).filter("team"::equals).count());
+        }
+    }
+
+    private static int legacyContains(String lower, Set<String> markers) {
+        return (int) markers.stream().filter(lower::contains).count();
+    }
+
+    private static double legacyUniqueness(String lower) {
+        String[] tokens = lower.replaceAll("[^a-z0-9 ]", " ").split("\\s+");
+        if (tokens.length == 0) return 1.0;
+        return (double) new HashSet<>(Arrays.asList(tokens)).size() / tokens.length;
+    }
+}
@@ -0,0 +1,117 @@
+package ee.kerrete.ainterview.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import ee.kerrete.ainterview.AbstractIntegrationTest;
+import ee.kerrete.ainterview.model.AppUser;
+import ee.kerrete.ainterview.model.UserRole;
+import ee.kerrete.ainterview.model.UserTier;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GenerationJobIT extends AbstractIntegrationTest {
+
+    private static final String REQUEST = """
+        {"companyName": "Acme", "targetRole": "Backend Engineer"}
+        """;
+
+    private String arenaUserToken(String email) throws Exception {
+        AppUser user = createUser(email, "Password1!", true, UserRole.ADMIN);
+        user.setTier(UserTier.ARENA_PRO);
+        appUserRepository.save(user);
+        return loginAndGetToken(email, "Password1!");
+    }
+
+    private JsonNode json(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void queuedGenerationCompletesAndIdempotentRetryReturnsTheSameJob() throws Exception {
+        when(aiService.createChatCompletion(anyString(), anyString()))
+            .thenReturn("{\"companyOverview\": \"Acme builds rockets\"}");
+        String token = arenaUserToken("jobs@example.com");
+
+        JsonNode submitted = json(mockMvc.perform(post("/api/arena/company-prep/analyze/jobs")
+                .header("Authorization", "Bearer " + token)
+                .header("Idempotency-Key", "prep-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(REQUEST))
+            .andExpect(status().isAccepted())
+            .andExpect(header().exists("Location"))
+            .andReturn());
+        String id = submitted.path("id").asText();
+
+        JsonNode retried = json(mockMvc.perform(post("/api/arena/company-prep/analyze/jobs")
+                .header("Authorization", "Bearer " + token)
+                .header("Idempotency-Key", "prep-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(REQUEST))
+            .andExpect(status().isOk())
+            .andReturn());
+        assertThat(retried.path("id").asText()).isEqualTo(id);
+
+        JsonNode job = submitted;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!job.path("status").asText().equals("SUCCEEDED") && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            job = json(mockMvc.perform(get("/api/jobs/" + id).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn());
+        }
+
+        assertThat(job.path("status").asText()).isEqualTo("SUCCEEDED");
+        assertThat(job.path("result").path("companyOverview").asText()).isEqualTo("Acme builds rockets");
+        verify(aiService, times(1)).createChatCompletion(anyString(), anyString());
+    }
+
+    @Test
+    void reusedKeyWithADifferentRequestIsRejected() throws Exception {
+        when(aiService.createChatCompletion(anyString(), anyString())).thenReturn("{}");
+        String token = arenaUserToken("jobs-conflict@example.com");
+
+        mockMvc.perform(post("/api/arena/company-prep/analyze/jobs")
+                .header("Authorization", "Bearer " + token)
+                .header("Idempotency-Key", "prep-2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(REQUEST))
+            .andExpect(status().isAccepted());
+
+        mockMvc.perform(post("/api/arena/company-prep/analyze/jobs")
+                .header("Authorization", "Bearer " + token)
+                .header("Idempotency-Key", "prep-2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"companyName\": \"Globex\", \"targetRole\": \"Backend Engineer\"}"))
+            .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void jobsAreOnlyVisibleToTheirOwner() throws Exception {
+        when(aiService.createChatCompletion(anyString(), anyString())).thenReturn("{}");
+        String owner = arenaUserToken("jobs-owner@example.com");
+        String other = arenaUserToken("jobs-other@example.com");
+
+        JsonNode submitted = json(mockMvc.perform(post("/api/arena/company-prep/analyze/jobs")
+                .header("Authorization", "Bearer " + owner)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(REQUEST))
+            .andExpect(status().isAccepted())
+            .andReturn());
+
+        mockMvc.perform(get("/api/jobs/" + submitted.path("id").asText()).header("Authorization", "Bearer " + other))
+            .andExpect(status().isNotFound());
+    }
+}
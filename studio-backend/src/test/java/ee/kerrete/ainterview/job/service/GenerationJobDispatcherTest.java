@@ -0,0 +1,105 @@
+package ee.kerrete.ainterview.job.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.kerrete.ainterview.config.GenerationJobProperties;
+import ee.kerrete.ainterview.job.model.GenerationJob;
+import ee.kerrete.ainterview.job.model.GenerationJobStatus;
+import ee.kerrete.ainterview.job.repository.GenerationJobRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GenerationJobDispatcherTest {
+
+    private final GenerationJobRepository repository = mock(GenerationJobRepository.class);
+    private final List<GenerationJob> jobs = new CopyOnWriteArrayList<>();
+    private final Set<UUID> finished = ConcurrentHashMap.newKeySet();
+
+    @Test
+    void finishingWorkersStartTheQueuedJobInVirtualMode() throws Exception {
+        GenerationJobProperties properties = new GenerationJobProperties();
+        properties.setWorkers(2);
+        stubRepository();
+        for (long user = 1; user <= properties.getWorkers() + 1; user++) {
+            jobs.add(GenerationJob.builder()
+                    .id(UUID.randomUUID())
+                    .userId(user)
+                    .jobType("test")
+                    .status(GenerationJobStatus.QUEUED)
+                    .requestJson("{}")
+                    .build());
+        }
+        CountDownLatch started = new CountDownLatch(properties.getWorkers());
+        CountDownLatch proceed = new CountDownLatch(1);
+        JobHandler<Map> handler = JobHandler.of("test", Map.class, (request, user) -> {
+            started.countDown();
+            try {
+                proceed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Map.of("ok", true);
+        });
+        GenerationJobDispatcher dispatcher = new GenerationJobDispatcher(repository, mock(GenerationJobEvents.class),
+                properties, new ObjectMapper(), List.of(handler),
+                new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true"));
+        try {
+            dispatcher.wakeUp();
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(jobs).filteredOn(job -> job.getStatus() == GenerationJobStatus.QUEUED).hasSize(1);
+
+            proceed.countDown();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (finished.size() < jobs.size() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(finished).hasSize(jobs.size());
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    private void stubRepository() {
+        when(repository.findClaimable(anyLong(), any())).thenAnswer(invocation -> jobs.stream()
+                .filter(job -> job.getStatus() == GenerationJobStatus.QUEUED)
+                .toList());
+        when(repository.claim(any(), anyString(), any(), any())).thenAnswer(invocation -> {
+            GenerationJob job = job(invocation.getArgument(0));
+            synchronized (job) {
+                if (job.getStatus() != GenerationJobStatus.QUEUED) {
+                    return 0;
+                }
+                job.setStatus(GenerationJobStatus.RUNNING);
+                return 1;
+            }
+        });
+        when(repository.finish(any(), anyString(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            GenerationJob job = job(invocation.getArgument(0));
+            job.setStatus(invocation.getArgument(2));
+            finished.add(job.getId());
+            return 1;
+        });
+        when(repository.findById(any())).thenReturn(Optional.empty());
+    }
+
+    private GenerationJob job(UUID id) {
+        return jobs.stream().filter(job -> job.getId().equals(id)).findFirst().orElseThrow();
+    }
+}
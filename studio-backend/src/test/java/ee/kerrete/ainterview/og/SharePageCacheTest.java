@@ -0,0 +1,104 @@
+package ee.kerrete.ainterview.og;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.kerrete.ainterview.config.ShareCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SharePageCacheTest {
+
+    private static final String HTML = "<html>" + "share preview ".repeat(40) + "</html>";
+
+    private final SharePageCache cache =
+            new SharePageCache(new ShareCacheProperties(), new ObjectMapper(), new SimpleMeterRegistry());
+    private final AtomicInteger renders = new AtomicInteger();
+
+    private ResponseEntity<byte[]> get(MockHttpServletRequest request) {
+        return cache.respond(SharePageCache.Kind.OG_HTML, "abc", request, () -> {
+            renders.incrementAndGet();
+            return SharePageCache.Page.html(HTML);
+        });
+    }
+
+    @Test
+    void rendersOnceAndRevalidatesWithTheETag() {
+        ResponseEntity<byte[]> first = get(new MockHttpServletRequest());
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(new String(first.getBody(), StandardCharsets.UTF_8)).isEqualTo(HTML);
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).startsWith("\"").endsWith("\"");
+        assertThat(first.getHeaders().getCacheControl()).contains("max-age=60").contains("public");
+
+        MockHttpServletRequest conditional = new MockHttpServletRequest();
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        ResponseEntity<byte[]> second = get(conditional);
+
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(second.getBody()).isNull();
+        assertThat(second.getHeaders().getETag()).isEqualTo(etag);
+        assertThat(renders).hasValue(1);
+    }
+
+    @Test
+    void servesThePrecompressedBodyWhenGzipIsAccepted() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8");
+        ResponseEntity<byte[]> response = get(request);
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeaders().getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getHeaders().getETag()).endsWith("-gzip\"");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(HTML);
+        }
+        assertThat(response.getBody().length).isLessThan(HTML.length());
+    }
+
+    @Test
+    void acceptEncodingWithZeroQualityIsRespected() {
+        assertThat(SharePageCache.acceptsGzip("gzip;q=0, deflate")).isFalse();
+        assertThat(SharePageCache.acceptsGzip("deflate, gzip")).isTrue();
+        assertThat(SharePageCache.acceptsGzip("*")).isTrue();
+        assertThat(SharePageCache.acceptsGzip(null)).isFalse();
+    }
+
+    @Test
+    void evictRendersTheNextRequestAgain() {
+        get(new MockHttpServletRequest());
+        cache.evict("abc");
+        get(new MockHttpServletRequest());
+
+        assertThat(renders).hasValue(2);
+    }
+
+    @Test
+    void missingPageIsA404ThatIsNotCached() {
+        AtomicInteger lookups = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            ResponseEntity<byte[]> response = cache.respondJson(SharePageCache.Kind.STUDIO_SESSION, "missing",
+                    new MockHttpServletRequest(), () -> {
+                        lookups.incrementAndGet();
+                        return null;
+                    });
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        }
+        assertThat(lookups).hasValue(2);
+
+        ResponseEntity<byte[]> found = cache.respondJson(SharePageCache.Kind.STUDIO_SESSION, "missing",
+                new MockHttpServletRequest(), () -> Map.of("status", "GREEN"));
+        assertThat(new String(found.getBody(), StandardCharsets.UTF_8)).isEqualTo("{\"status\":\"GREEN\"}");
+    }
+}
@@ -0,0 +1,91 @@
+package ee.kerrete.ainterview.payment.service;
+
+import ee.kerrete.ainterview.model.AppUser;
+import ee.kerrete.ainterview.model.SubscriptionStatus;
+import ee.kerrete.ainterview.model.UserRole;
+import ee.kerrete.ainterview.model.UserTier;
+import ee.kerrete.ainterview.payment.config.EntitlementProperties;
+import ee.kerrete.ainterview.repository.AppUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EntitlementServiceTest {
+
+    private final AppUserRepository repository = Mockito.mock(AppUserRepository.class);
+    private final EntitlementService service =
+            new EntitlementService(repository, new EntitlementProperties(), new SimpleMeterRegistry());
+
+    private static AppUser user(UserTier tier, SubscriptionStatus status, LocalDateTime endsAt) {
+        return AppUser.builder()
+                .id(7L)
+                .email("pro@example.com")
+                .role(UserRole.USER)
+                .tier(tier)
+                .subscriptionStatus(status)
+                .subscriptionEndsAt(endsAt)
+                .build();
+    }
+
+    @Test
+    void repeatedChecksLoadTheUserOnce() {
+        when(repository.findById(7L)).thenReturn(Optional.of(
+                user(UserTier.ARENA_PRO, SubscriptionStatus.ACTIVE, LocalDateTime.now().plusMonths(12))));
+
+        for (int i = 0; i < 5; i++) {
+            service.requireTier(7L, UserTier.ARENA_PRO);
+        }
+
+        verify(repository, times(1)).findById(7L);
+    }
+
+    @Test
+    void evictPicksUpTheNewTier() {
+        when(repository.findById(7L))
+                .thenReturn(Optional.of(user(UserTier.ARENA_PRO, SubscriptionStatus.ACTIVE, null)))
+                .thenReturn(Optional.of(user(UserTier.FREE, SubscriptionStatus.EXPIRED, null)));
+
+        assertThat(service.effectiveTier(7L)).contains(UserTier.ARENA_PRO);
+        service.evict(7L);
+
+        assertThat(service.effectiveTier(7L)).contains(UserTier.FREE);
+        assertThatThrownBy(() -> service.requireTier(7L, UserTier.ARENA_PRO))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN));
+    }
+
+    @Test
+    void cancelledSubscriptionExpiresAtItsEndDate() throws Exception {
+        when(repository.findById(7L)).thenAnswer(inv -> Optional.of(
+                user(UserTier.ARENA_PRO, SubscriptionStatus.CANCELLED, LocalDateTime.now().plusNanos(200_000_000))));
+
+        assertThat(service.effectiveTier(7L)).contains(UserTier.ARENA_PRO);
+        Thread.sleep(300);
+
+        // reloaded because the entry expired with the subscription; the fresh row is still in its period
+        assertThat(service.effectiveTier(7L)).contains(UserTier.ARENA_PRO);
+        verify(repository, times(2)).findById(7L);
+    }
+
+    @Test
+    void unknownUsersAreNotFoundAndNotCached() {
+        when(repository.findById(8L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.requireTier(8L, UserTier.STARTER))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+        assertThat(service.effectiveTier(8L)).isEmpty();
+        verify(repository, times(2)).findById(8L);
+    }
+}
@@ -0,0 +1,126 @@
+package ee.kerrete.ainterview.pivot.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExternalCacheConfigTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private Caffeine<Object, Object> builder() {
+        return Caffeine.newBuilder().ticker(ticker).executor(Runnable::run);
+    }
+
+    private static ExternalCacheProperties.Spec spec(Duration ttl, long maxSize, Duration refreshAfter) {
+        ExternalCacheProperties.Spec spec = new ExternalCacheProperties.Spec();
+        spec.setTtl(ttl);
+        spec.setMaxSize(maxSize);
+        spec.setRefreshAfter(refreshAfter);
+        return spec;
+    }
+
+    @Test
+    void entriesExpireAfterTtl() {
+        Cache cache = ExternalCacheConfig.buildCache("job-xray", spec(Duration.ofMinutes(10), 10, null), builder(),
+                registry);
+        cache.put("dev", "report");
+
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+
+        assertThat(cache.get("dev")).isNull();
+    }
+
+    @Test
+    void staleEntryIsServedWhileTheRememberedLoaderRefreshesIt() {
+        Cache cache = ExternalCacheConfig.buildCache("github-language-trends",
+                spec(Duration.ofHours(6), 1, Duration.ofHours(1)), builder(), registry);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("languages", () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+
+        nanos.addAndGet(Duration.ofHours(2).toNanos());
+        // served from cache; the read past refresh-after triggers a reload (same-thread executor)
+        assertThat(cache.get("languages", () -> "unused")).isEqualTo("v1");
+        assertThat(cache.get("languages").get()).isEqualTo("unused");
+    }
+
+    @Test
+    void loadersAreForgottenWhenEntriesAreEvicted() {
+        RefreshAheadCaffeineCache cache = (RefreshAheadCaffeineCache) ExternalCacheConfig.buildCache("github-profile",
+                spec(Duration.ofHours(6), 10, Duration.ofHours(1)), builder(), registry);
+        cache.get("alice", () -> "dna");
+        cache.get("bob", () -> "dna");
+
+        cache.evict("alice");
+        assertThat(cache.rememberedLoaders()).isEqualTo(1);
+
+        nanos.addAndGet(Duration.ofHours(7).toNanos());
+        ((CaffeineCache) cache).getNativeCache().cleanUp();
+        assertThat(cache.rememberedLoaders()).isZero();
+    }
+
+    @Test
+    void concurrentMissesForTheSameKeyShareOneLoad() throws Exception {
+        Cache cache = ExternalCacheConfig.buildCache("company-health", spec(Duration.ofHours(12), 10, null), builder(),
+                registry);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> cache.get("acme", () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            release.await();
+            return "healthy";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(
+                () -> cache.get("acme", () -> "v" + loads.incrementAndGet()));
+        while (registry.get("singleflight.calls").tag("name", "company-health").tag("result", "coalesced")
+                .counter().count() < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("healthy");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("healthy");
+        assertThat(loads).hasValue(1);
+        assertThat(cache.get("acme").get()).isEqualTo("healthy");
+    }
+
+    @Test
+    void cachesAreBoundedAndUnknownCachesUseDefaults() {
+        ExternalCacheProperties properties = new ExternalCacheProperties();
+        properties.setDefaults(spec(Duration.ofMinutes(5), 2, null));
+        properties.setSpecs(Map.of("company-health", spec(Duration.ofHours(12), 3, null)));
+        CacheManager manager = new ExternalCacheConfig.ExternalCacheManager(properties, registry);
+        ((ExternalCacheConfig.ExternalCacheManager) manager).afterPropertiesSet();
+
+        assertThat(manager.getCacheNames()).containsExactly("company-health");
+
+        CaffeineCache other = (CaffeineCache) manager.getCache("something-new");
+        for (int i = 0; i < 50; i++) {
+            other.put(i, i);
+        }
+        other.getNativeCache().cleanUp();
+        assertThat(other.getNativeCache().estimatedSize()).isLessThanOrEqualTo(2);
+        assertThat(other.getNativeCache().policy().isRecordingStats()).isTrue();
+    }
+}
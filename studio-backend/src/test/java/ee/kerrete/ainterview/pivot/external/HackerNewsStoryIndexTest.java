@@ -0,0 +1,164 @@
+package ee.kerrete.ainterview.pivot.external;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import ee.kerrete.ainterview.pivot.config.HackerNewsIngestProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HackerNewsStoryIndexTest {
+
+    private HttpServer server;
+    private volatile String topStories = "[1,2,3]";
+    private volatile CountDownLatch topStoriesGate = new CountDownLatch(0);
+    private final Map<String, AtomicInteger> itemRequests = new ConcurrentHashMap<>();
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+    private HackerNewsStoryIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v0/topstories.json", exchange -> {
+            try {
+                topStoriesGate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, topStories);
+        });
+        server.createContext("/v0/item/", this::item);
+        server.createContext("/search", exchange -> respond(exchange, """
+                {"hits":[{"objectID":"42","title":"Ask HN: Who is hiring? (October 2026)","num_comments":1300,"points":900}]}
+                """));
+        server.start();
+
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+        HackerNewsIngestProperties properties = new HackerNewsIngestProperties();
+        properties.setApiBase(base + "/v0");
+        properties.setSearchApiBase(base);
+        properties.setMaxRequestsPerSecond(1_000);
+        index = new HackerNewsStoryIndex(new RestTemplate(), new ObjectMapper(), properties,
+                cacheManager, new StandardEnvironment());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void secondPollFetchesOnlyNewIdsAndDropsStoriesOutOfTheWindow() {
+        index.refresh();
+        assertThat(index.topStories()).extracting(HackerNewsStoryIndex.Story::id).containsExactly(1, 2, 3);
+
+        topStories = "[4,1,3]";
+        index.refresh();
+
+        assertThat(index.topStories()).extracting(HackerNewsStoryIndex.Story::id).containsExactly(4, 1, 3);
+        assertThat(itemRequests.get("1")).hasValue(1);
+        assertThat(itemRequests.get("4")).hasValue(1);
+    }
+
+    @Test
+    void deletedItemsAreNotRefetched() {
+        topStories = "[1,99]";
+        index.refresh();
+        index.refresh();
+
+        assertThat(index.topStories()).extracting(HackerNewsStoryIndex.Story::id).containsExactly(1);
+        assertThat(itemRequests.get("99")).hasValue(1);
+    }
+
+    @Test
+    void refreshPublishesSearchesAndClearsDerivedCaches() {
+        cacheManager.getCache("hn-hiring").put("whos-hiring", "stale");
+
+        index.refresh();
+
+        assertThat(index.hiringThreads()).singleElement()
+                .satisfies(hit -> assertThat(hit.numComments()).isEqualTo(1300));
+        assertThat(cacheManager.getCache("hn-hiring").get("whos-hiring")).isNull();
+    }
+
+    @Test
+    void serviceServesDefaultsBeforeTheFirstPoll() {
+        HackerNewsService service = new HackerNewsService(index);
+
+        assertThat(service.getJobMarketSignals()).isNotEmpty();
+        assertThat(service.getHiringPulse().trend()).isEqualTo("normal");
+        assertThat(itemRequests).isEmpty();
+    }
+
+    @Test
+    void slowPollDoesNotHoldUpOtherScheduledJobs() throws Exception {
+        topStoriesGate = new CountDownLatch(1);
+        // single thread, like Spring's default scheduler
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.initialize();
+        AtomicInteger ticks = new AtomicInteger();
+        try {
+            scheduler.schedule(index::scheduleRefresh, Instant.now());
+            scheduler.scheduleAtFixedRate(ticks::incrementAndGet, Duration.ofMillis(20));
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (ticks.get() < 5 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+
+            assertThat(ticks.get()).isGreaterThanOrEqualTo(5);
+            assertThat(index.lastRefresh()).isNull();
+            assertThat(index.triggerRefresh()).isDone(); // still running, not started twice
+        } finally {
+            topStoriesGate.countDown();
+            scheduler.shutdown();
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (index.lastRefresh() == null && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(index.topStories()).extracting(HackerNewsStoryIndex.Story::id).containsExactly(1, 2, 3);
+        assertThat(itemRequests.get("1")).hasValue(1);
+    }
+
+    private void item(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String id = path.substring(path.lastIndexOf('/') + 1).replace(".json", "");
+        itemRequests.computeIfAbsent(id, k -> new AtomicInteger()).incrementAndGet();
+        String body = "99".equals(id)
+                ? "{\"id\":99,\"deleted\":true}"
+                : "{\"id\":" + id + ",\"title\":\"OpenAI story " + id + "\",\"score\":120,\"time\":1700000000}";
+        respond(exchange, body);
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
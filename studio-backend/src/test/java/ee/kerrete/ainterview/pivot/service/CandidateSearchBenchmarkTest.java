@@ -0,0 +1,216 @@
+package ee.kerrete.ainterview.pivot.service;
+
+import ee.kerrete.ainterview.pivot.dto.CandidateSearchRequest;
+import ee.kerrete.ainterview.pivot.dto.CandidateSearchResult;
+import ee.kerrete.ainterview.pivot.entity.PivotMarketplaceProfile;
+import ee.kerrete.ainterview.pivot.entity.TransitionProfile;
+import ee.kerrete.ainterview.pivot.enums.VisibilityLevel;
+import ee.kerrete.ainterview.pivot.repository.PivotCareerRiskScoreRepository;
+import ee.kerrete.ainterview.pivot.repository.PivotMarketplaceProfileRepository;
+import ee.kerrete.ainterview.pivot.repository.PivotRoleMatchRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Candidate search on {@value #DEFAULT_PROFILES} seeded profiles (override with
+ * -Dbenchmark.profiles=N): the single-query path against the previous
+ * load-everything + two-queries-per-candidate path, which is kept below as
+ * {@link #legacySearch}. Prints a timing table and checks both return the same
+ * top page.
+ *
+ * Run with {@code ./gradlew loadTest --tests '*CandidateSearchBenchmarkTest'}.
+ */
+@Tag("load")
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:candidate_search_bench;DB_CLOSE_DELAY=-1;MODE=PostgreSQL"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CandidateSearchBenchmarkTest {
+
+    private static final int DEFAULT_PROFILES = 100_000;
+    private static final long ID_BASE = 10_000_000L;
+    private static final String[] ROLES = {"Backend Developer", "Data Engineer", "Product Manager", "QA Engineer", "Designer"};
+    private static final String[] LOCATIONS = {"Tallinn", "Tartu", "Remote", "Berlin", "Helsinki"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CandidateSearchService candidateSearchService;
+
+    @Autowired
+    private PivotMarketplaceProfileRepository marketplaceProfileRepository;
+
+    @Autowired
+    private PivotRoleMatchRepository roleMatchRepository;
+
+    @Autowired
+    private PivotCareerRiskScoreRepository careerRiskScoreRepository;
+
+    private int profiles;
+
+    @BeforeAll
+    void seed() {
+        profiles = Integer.getInteger("benchmark.profiles", DEFAULT_PROFILES);
+        LocalDateTime now = LocalDateTime.now();
+        int batch = 5_000;
+        for (int from = 0; from < profiles; from += batch) {
+            int to = Math.min(profiles, from + batch);
+            List<Object[]> users = new ArrayList<>();
+            List<Object[]> transitions = new ArrayList<>();
+            List<Object[]> marketplace = new ArrayList<>();
+            List<Object[]> matches = new ArrayList<>();
+            List<Object[]> scores = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                long id = ID_BASE + i;
+                Timestamp older = Timestamp.valueOf(now.minusDays(2).plusSeconds(i));
+                Timestamp newer = Timestamp.valueOf(now.minusDays(1).plusSeconds(i));
+                String visibility = i % 10 == 0 ? "OFF" : i % 3 == 0 ? "PUBLIC" : "ANON";
+                users.add(new Object[]{id, "bench-" + i + "@example.com", "x", "Bench User " + i, "USER", Timestamp.valueOf(now)});
+                transitions.add(new Object[]{id, id, ROLES[i % ROLES.length], visibility});
+                marketplace.add(new Object[]{id, id, "Headline " + i, LOCATIONS[(i / 7) % LOCATIONS.length], visibility});
+                matches.add(new Object[]{id * 2, id, 40.0 + (i % 50), older, UUID.randomUUID()});
+                matches.add(new Object[]{id * 2 + 1, id, 50.0 + (i % 40), newer, UUID.randomUUID()});
+                if (i % 5 != 0) {
+                    scores.add(new Object[]{id * 2, id, (i * 37 % 9000) / 100.0, older});
+                    scores.add(new Object[]{id * 2 + 1, id, (i * 53 % 9000) / 100.0, newer});
+                }
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO app_users (id, email, password, full_name, role, enabled, created_at, tier) "
+                + "VALUES (?, ?, ?, ?, ?, TRUE, ?, 'FREE')", users);
+            jdbcTemplate.batchUpdate("INSERT INTO transition_profile (id, jobseeker_user_id, target_role, visibility) "
+                + "VALUES (?, ?, ?, ?)", transitions);
+            jdbcTemplate.batchUpdate("INSERT INTO pivot_marketplace_profile (id, transition_profile_id, headline, "
+                + "location_preference, visibility, open_to_interview) VALUES (?, ?, ?, ?, ?, TRUE)", marketplace);
+            jdbcTemplate.batchUpdate("INSERT INTO pivot_role_match (id, transition_profile_id, target_role, match_score, "
+                + "computed_at, request_id) VALUES (?, ?, 'Backend Developer', ?, ?, ?)", matches);
+            jdbcTemplate.batchUpdate("INSERT INTO pivot_career_risk_score (id, transition_profile_id, overall_score, "
+                + "computed_at) VALUES (?, ?, ?, ?)", scores);
+        }
+    }
+
+    @Test
+    void singleQueryPathBeatsLegacyPath() {
+        List<CandidateSearchRequest> requests = List.of(
+            request(null, null, null),
+            request("developer", null, null),
+            request("engineer", "tallinn", 40.0),
+            request(null, "remote", 75.0));
+
+        System.out.printf("%nCandidate search, %,d profiles%n", profiles);
+        System.out.printf("%-42s %12s %12s%n", "filters", "legacy ms", "query ms");
+        long legacyTotal = 0;
+        long queryTotal = 0;
+        for (CandidateSearchRequest request : requests) {
+            // warm-up both paths once so Hibernate/H2 plan caches are primed
+            legacySearch(request);
+            candidateSearchService.search(request);
+
+            Timed<List<CandidateSearchResult>> legacy = time(() -> legacySearch(request));
+            Timed<List<CandidateSearchResult>> query = time(() -> candidateSearchService.search(request).getItems());
+            legacyTotal += legacy.millis();
+            queryTotal += query.millis();
+            System.out.printf("%-42s %12d %12d%n", describe(request), legacy.millis(), query.millis());
+
+            assertThat(scores(query.value())).isEqualTo(scores(legacy.value()));
+        }
+        System.out.printf("%-42s %12d %12d%n", "total", legacyTotal, queryTotal);
+
+        assertThat(queryTotal).isLessThan(legacyTotal);
+    }
+
+    /**
+     * The previous CandidateSearchService implementation, limited to the same
+     * first page the new path returns.
+     */
+    private List<CandidateSearchResult> legacySearch(CandidateSearchRequest request) {
+        return transactionTemplate.execute(status -> {
+            List<VisibilityLevel> visibilityFilter = request.getVisibility() == null
+                ? List.of(VisibilityLevel.ANON, VisibilityLevel.PUBLIC)
+                : List.of(request.getVisibility());
+            List<CandidateSearchResult> results = new ArrayList<>();
+            for (PivotMarketplaceProfile profile : marketplaceProfileRepository.findByVisibilityIn(visibilityFilter)) {
+                TransitionProfile transition = profile.getProfile();
+                if (!contains(transition.getTargetRole(), request.getTargetRole())
+                    || !contains(profile.getLocationPreference(), request.getLocation())) {
+                    continue;
+                }
+                Double matchScore = roleMatchRepository.findTopByProfileOrderByComputedAtDesc(transition)
+                    .map(m -> m.getMatchScore()).orElse(null);
+                Double risk = careerRiskScoreRepository.findTopByProfileOrderByComputedAtDesc(transition)
+                    .map(s -> s.getOverallScore()).orElse(null);
+                if (request.getMinCareerRiskScore() != null && (risk == null || risk < request.getMinCareerRiskScore())) {
+                    continue;
+                }
+                String displayName = profile.getVisibility().allowsIdentifiedView()
+                    ? transition.getJobseeker().getFullName()
+                    : "Candidate-" + profile.getId();
+                results.add(CandidateSearchResult.builder()
+                    .profileId(transition.getId())
+                    .displayName(displayName)
+                    .matchScore(matchScore)
+                    .careerRiskScore(risk)
+                    .build());
+            }
+            return results.stream()
+                .sorted(Comparator.comparing(CandidateSearchResult::getCareerRiskScore,
+                    Comparator.nullsLast(Comparator.reverseOrder())))
+                .limit(CandidateSearchService.DEFAULT_PAGE_SIZE)
+                .toList();
+        });
+    }
+
+    private static boolean contains(String value, String filter) {
+        if (filter == null || filter.isBlank()) {
+            return true;
+        }
+        return value != null && value.toLowerCase(Locale.ROOT).contains(filter.toLowerCase(Locale.ROOT));
+    }
+
+    private static List<Double> scores(List<CandidateSearchResult> results) {
+        return results.stream().map(CandidateSearchResult::getCareerRiskScore).toList();
+    }
+
+    private static CandidateSearchRequest request(String role, String location, Double minRisk) {
+        CandidateSearchRequest request = new CandidateSearchRequest();
+        request.setTargetRole(role);
+        request.setLocation(location);
+        request.setMinCareerRiskScore(minRisk);
+        return request;
+    }
+
+    private static String describe(CandidateSearchRequest r) {
+        return "role=" + r.getTargetRole() + " loc=" + r.getLocation() + " minRisk=" + r.getMinCareerRiskScore();
+    }
+
+    private static <T> Timed<T> time(Supplier<T> work) {
+        long start = System.nanoTime();
+        T value = work.get();
+        return new Timed<>(value, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private record Timed<T>(T value, long millis) {
+    }
+}
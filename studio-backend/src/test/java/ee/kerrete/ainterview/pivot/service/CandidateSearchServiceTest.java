@@ -0,0 +1,61 @@
+package ee.kerrete.ainterview.pivot.service;
+
+import ee.kerrete.ainterview.pivot.dto.CandidateSearchPage;
+import ee.kerrete.ainterview.pivot.dto.CandidateSearchRequest;
+import ee.kerrete.ainterview.pivot.enums.VisibilityLevel;
+import ee.kerrete.ainterview.pivot.repository.CandidateSearchRow;
+import ee.kerrete.ainterview.pivot.repository.PivotMarketplaceProfileRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+class CandidateSearchServiceTest {
+
+    private final PivotMarketplaceProfileRepository repository = Mockito.mock(PivotMarketplaceProfileRepository.class);
+    private final CandidateSearchService service = new CandidateSearchService(repository);
+
+    @Test
+    void pageTellsWhetherMoreCandidatesFollow() {
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        when(repository.searchCandidates(any(), anyString(), anyString(), any(), pageable.capture()))
+            .thenAnswer(invocation -> new SliceImpl<>(List.of(row(1L), row(2L)), invocation.getArgument(4), true));
+        CandidateSearchRequest request = new CandidateSearchRequest();
+        request.setPage(3);
+        request.setSize(2);
+
+        CandidateSearchPage page = service.search(request);
+
+        assertThat(pageable.getValue()).isEqualTo(PageRequest.of(3, 2));
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.getPage()).isEqualTo(3);
+        assertThat(page.getSize()).isEqualTo(2);
+        assertThat(page.isHasNext()).isTrue();
+    }
+
+    @Test
+    void lastPageHasNoNext() {
+        when(repository.searchCandidates(any(), anyString(), anyString(), any(), any()))
+            .thenAnswer(invocation -> new SliceImpl<>(List.of(row(1L)), invocation.getArgument(4), false));
+
+        CandidateSearchPage page = service.search(new CandidateSearchRequest());
+
+        assertThat(page.getSize()).isEqualTo(CandidateSearchService.DEFAULT_PAGE_SIZE);
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getItems()).extracting("displayName").containsExactly("Candidate-1");
+    }
+
+    private static CandidateSearchRow row(Long id) {
+        return new CandidateSearchRow(id, id, "headline", null, "Tallinn", true, VisibilityLevel.ANON,
+            "Backend Developer", "Full Name", 70.0, 55.0);
+    }
+}
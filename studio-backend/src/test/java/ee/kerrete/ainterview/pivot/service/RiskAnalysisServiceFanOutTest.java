@@ -0,0 +1,90 @@
+package ee.kerrete.ainterview.pivot.service;
+
+import ee.kerrete.ainterview.pivot.config.RiskAnalysisProperties;
+import ee.kerrete.ainterview.pivot.dto.RiskAnalysisResponse;
+import ee.kerrete.ainterview.pivot.dto.SectionTimingDto;
+import ee.kerrete.ainterview.pivot.external.EstonianJobMarketService;
+import ee.kerrete.ainterview.pivot.external.GitHubTrendsService;
+import ee.kerrete.ainterview.pivot.external.HackerNewsService;
+import ee.kerrete.ainterview.pivot.external.ONetAutomationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RiskAnalysisServiceFanOutTest {
+
+    private final ONetAutomationService onetService = mock(ONetAutomationService.class);
+    private final GitHubTrendsService githubService = mock(GitHubTrendsService.class);
+    private final HackerNewsService hnService = mock(HackerNewsService.class);
+    private final EstonianJobMarketService estonianService = mock(EstonianJobMarketService.class);
+
+    private ExecutorService executor;
+    private RiskAnalysisService service;
+
+    @BeforeEach
+    void setUp() {
+        RiskAnalysisProperties properties = new RiskAnalysisProperties();
+        properties.setSectionTimeout(Duration.ofMillis(300));
+        executor = Executors.newFixedThreadPool(9);
+        service = new RiskAnalysisService(onetService, githubService, hnService, estonianService, properties, executor);
+
+        when(hnService.getHiringPulse())
+                .thenReturn(new HackerNewsService.HiringPulse("Who is hiring", 420, Map.of(), "hot"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void slowSectionTimesOutWithoutDelayingTheOthers() {
+        when(hnService.getJobMarketSignals()).thenAnswer(invocation -> {
+            Thread.sleep(2_000);
+            return List.of();
+        });
+
+        long start = System.nanoTime();
+        RiskAnalysisResponse response = service.getAnalysisForSession("s1", "Software Engineer");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        Map<String, SectionTimingDto> sections = bySection(response);
+        assertThat(elapsedMs).isLessThan(1_500);
+        assertThat(sections).hasSize(9);
+        assertThat(sections.get("marketSignals").getStatus()).isEqualTo("timeout");
+        assertThat(response.getMarketSignals()).isEmpty();
+        assertThat(sections.get("marketMetrics").getStatus()).isEqualTo("ok");
+        assertThat(response.getMarketMetrics()).isNotEmpty();
+        assertThat(sections.get("disruptedRoles").getStatus()).isEqualTo("ok");
+        assertThat(response.getMetadata().isDegraded()).isTrue();
+    }
+
+    @Test
+    void failingSourceDegradesOnlyItsSections() {
+        when(githubService.getLanguageTrends()).thenThrow(new IllegalStateException("GitHub down"));
+
+        RiskAnalysisResponse response = service.getAnalysisForSession("s1", "Software Engineer");
+
+        Map<String, SectionTimingDto> sections = bySection(response);
+        assertThat(sections.get("skillDecay").getStatus()).isEqualTo("error");
+        assertThat(response.getSkillDecay()).isEmpty();
+        assertThat(sections.get("marketMetrics").getStatus()).isEqualTo("ok");
+    }
+
+    private static Map<String, SectionTimingDto> bySection(RiskAnalysisResponse response) {
+        return response.getMetadata().getSections().stream()
+                .collect(Collectors.toMap(SectionTimingDto::getSection, Function.identity()));
+    }
+}
@@ -0,0 +1,88 @@
+package ee.kerrete.ainterview.prompt;
+
+import ee.kerrete.ainterview.config.PromptProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PromptRegistryTest {
+
+    @Test
+    void loadsPromptsAndSpecsFromTheClasspath() {
+        PromptRegistry registry = PromptRegistry.fromClasspath();
+
+        assertThat(registry.template("deja_vu_lite").source()).isNotBlank();
+        assertThat(registry.template("arena/cover-letter.system").placeholders()).isEmpty();
+        assertThat(registry.spec("question-bank-seed-v1.json")).hasValueSatisfying(doc ->
+                assertThat(doc.text()).startsWith("{"));
+        assertThat(registry.spec("missing.json")).isEmpty();
+        assertThatThrownBy(() -> registry.template("missing"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void arenaUserPromptRendersLikeTheFormerInlineText() {
+        PromptTemplate template = PromptRegistry.fromClasspath().template("arena/salary-coach.user");
+
+        String rendered = template.bind()
+                .set("targetRole", "Backend Engineer")
+                .set("currentSalary", "Not specified")
+                .set("offeredSalary", "90000")
+                .set("location", "Tallinn")
+                .set("experienceYears", 6)
+                .render();
+
+        assertThat(rendered).isEqualTo("""
+                Role: %s
+                Current salary: %s
+                Offered salary: %s
+                Location: %s
+                Years of experience: %s
+
+                Please analyze my situation and provide negotiation strategy.
+                """.formatted("Backend Engineer", "Not specified", "90000", "Tallinn", 6));
+    }
+
+    @Test
+    void versionIsStableAndFollowsTheText() {
+        PromptRegistry registry = PromptRegistry.fromClasspath();
+        PromptTemplate template = registry.template("deja_vu_lite");
+
+        assertThat(template.version()).hasSize(12).isEqualTo(PromptRegistry.version(template.source()));
+        assertThat(PromptRegistry.fromClasspath().template("deja_vu_lite").version()).isEqualTo(template.version());
+        assertThat(PromptRegistry.version(template.source() + " ")).isNotEqualTo(template.version());
+    }
+
+    @Test
+    void watchedDirectoryIsReloadedOnChange(@TempDir Path dir) throws Exception {
+        Path prompt = dir.resolve("prompts/greeting.txt");
+        Files.createDirectories(prompt.getParent());
+        Files.writeString(prompt, "Hello {{name}}");
+        PromptProperties properties = new PromptProperties();
+        properties.setWatchDir(dir.toString());
+        PromptRegistry registry = new PromptRegistry(properties);
+        registry.load();
+        try {
+            Files.writeString(prompt, "Hi {{name}}");
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (!registry.template("greeting").bind().set("name", "Ann").render().equals("Hi Ann")
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+
+            assertThat(registry.template("greeting").bind().set("name", "Ann").render()).isEqualTo("Hi Ann");
+
+            // A broken edit keeps the last good template
+            Files.writeString(prompt, "Hi {{name");
+            Thread.sleep(500);
+            assertThat(registry.template("greeting").bind().set("name", "Ann").render()).isEqualTo("Hi Ann");
+        } finally {
+            registry.close();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ee.kerrete.ainterview.prompt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PromptTemplateTest {
+
+    @Test
+    void rendersPlaceholdersInPlace() {
+        PromptTemplate template = PromptTemplate.compile("t", "v1", "Role: {{role}}\nYears: {{years:int}}\n");
+
+        String rendered = template.bind().set("role", "Backend").set("years", 5).render();
+
+        assertThat(rendered).isEqualTo("Role: Backend\nYears: 5\n");
+        assertThat(template.placeholders()).containsExactly("role", "years");
+    }
+
+    @Test
+    void repeatedPlaceholderTakesOneValue() {
+        PromptTemplate template = PromptTemplate.compile("t", "v1", "{{name}} and {{ name }} again");
+
+        assertThat(template.render(Map.of("name", "Ann"))).isEqualTo("Ann and Ann again");
+    }
+
+    @Test
+    void listsAreJoinedAndSingleBracesAreText() {
+        PromptTemplate template = PromptTemplate.compile("t", "v1", "{\"skills\": \"{{skills:list}}\"}");
+
+        assertThat(template.bind().set("skills", List.of("Java", "SQL")).render())
+                .isEqualTo("{\"skills\": \"Java, SQL\"}");
+    }
+
+    @Test
+    void templateWithoutPlaceholdersRendersItsSource() {
+        PromptTemplate template = PromptTemplate.compile("t", "v1", "Return ONLY valid JSON: { }");
+
+        assertThat(template.bind().render()).isSameAs(template.source());
+    }
+
+    @Test
+    void malformedTemplatesFailToCompile() {
+        assertThatThrownBy(() -> PromptTemplate.compile("t", "v1", "Hello {{name"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unterminated");
+        assertThatThrownBy(() -> PromptTemplate.compile("t", "v1", "{{two words}}"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PromptTemplate.compile("t", "v1", "{{n:float}}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("float");
+        assertThatThrownBy(() -> PromptTemplate.compile("t", "v1", "{{n:int}} {{n:list}}"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void bindingRejectsUnknownMissingAndMistypedValues() {
+        PromptTemplate template = PromptTemplate.compile("t", "v1", "{{a}} {{b:int}}");
+
+        assertThatThrownBy(() -> template.bind().set("c", "x"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> template.bind().set("b", "five"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> template.bind().set("a", "x").render())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("{{b}}");
+    }
+}
@@ -0,0 +1,56 @@
+package ee.kerrete.ainterview.risk.api;
+
+import ee.kerrete.ainterview.config.FlowStateProperties;
+import ee.kerrete.ainterview.payment.service.EntitlementService;
+import ee.kerrete.ainterview.risk.service.RoleQuestionBank;
+import ee.kerrete.ainterview.risk.state.InMemoryFlowStateStore;
+import ee.kerrete.ainterview.support.SessionIdParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class AssessmentControllerTest {
+
+    private final AssessmentController controller = new AssessmentController(
+            mock(SessionIdParser.class),
+            mock(EntitlementService.class),
+            mock(RoleQuestionBank.class),
+            new InMemoryFlowStateStore(new FlowStateProperties(), new SimpleMeterRegistry()));
+
+    @Test
+    void answersAndSkipsAreRecordedOnAStartedSession() {
+        String sessionId = controller.startAssessment(null).getBody().sessionId();
+
+        assertThat(controller.submitAnswer(Map.of("sessionId", sessionId, "answer", "never")).getBody())
+                .containsEntry("success", true);
+        assertThat(controller.skipQuestion(Map.of("sessionId", sessionId)).getBody())
+                .containsEntry("success", true);
+
+        AssessmentController.AssessmentResultResponse result = controller.getAssessment(sessionId).getBody();
+        assertThat(result.riskPercent()).isEqualTo(35 + 5 + 10);
+    }
+
+    @Test
+    void unknownSessionIsNotFound() {
+        assertThatThrownBy(() -> controller.submitAnswer(Map.of("sessionId", "session-missing", "answer", "yes")))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode().value()).isEqualTo(404));
+        assertThatThrownBy(() -> controller.skipQuestion(Map.of("sessionId", "session-missing")))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode().value()).isEqualTo(404));
+    }
+
+    @Test
+    void missingSessionIdIsABadRequest() {
+        assertThatThrownBy(() -> controller.skipQuestion(new HashMap<>()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode().value()).isEqualTo(400));
+    }
+}
@@ -1,14 +1,21 @@
 package ee.kerrete.ainterview.risk.service;
 
+import ee.kerrete.ainterview.config.FlowStateProperties;
+import ee.kerrete.ainterview.risk.dto.RiskFlowAnswerRequest;
 import ee.kerrete.ainterview.risk.dto.RiskFlowNextRequest;
 import ee.kerrete.ainterview.risk.dto.RiskFlowStartRequest;
+import ee.kerrete.ainterview.risk.state.InMemoryFlowStateStore;
 import ee.kerrete.ainterview.service.ObserverLogService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class RiskFlowServiceTest {
 
@@ -20,7 +27,10 @@ class RiskFlowServiceTest {
     void setUp() {
         observerLogService = Mockito.mock(ObserverLogService.class);
         objectMapper = new ObjectMapper();
-        service = new RiskFlowService(new RiskQuestionBank(), observerLogService, objectMapper);
+        FlowStateProperties flowStateProperties = new FlowStateProperties();
+        flowStateProperties.setMaxAnswersPerFlow(3);
+        service = new RiskFlowService(new RiskQuestionBank(), observerLogService, objectMapper,
+                new InMemoryFlowStateStore(flowStateProperties, new SimpleMeterRegistry()), flowStateProperties);
     }
 
     @Test
@@ -56,5 +66,24 @@ class RiskFlowServiceTest {
         assertThat(steps).isGreaterThan(0);
         assertThat(steps).isLessThanOrEqualTo(11); // 10 questions + final done state
     }
-}
 
+    @Test
+    void answersAreKeptPerFlowUpToTheLimit() {
+        var start = service.start("user@example.com", new RiskFlowStartRequest());
+        var req = new RiskFlowAnswerRequest();
+        req.setFlowId(start.getFlowId());
+        req.setAnswer("  I led the rollback  ");
+
+        var first = service.answer("user@example.com", req);
+        service.answer("user@example.com", req);
+        service.answer("user@example.com", req);
+
+        assertThat(first.getQuestionId()).isEqualTo(start.getFlowId() + ":0");
+        assertThatThrownBy(() -> service.answer("user@example.com", req))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> service.answer("other@example.com", req))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN));
+    }
+}
@@ -0,0 +1,97 @@
+package ee.kerrete.ainterview.risk.state;
+
+import ee.kerrete.ainterview.config.FlowStateProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryFlowStateStoreTest {
+
+    record Counter(int value) {
+        Counter increment() {
+            return new Counter(value + 1);
+        }
+    }
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+    private final FlowStateProperties properties = new FlowStateProperties();
+
+    private InMemoryFlowStateStore store() {
+        return new InMemoryFlowStateStore(properties, registry, nanos::get);
+    }
+
+    private double evictions(String cause) {
+        return registry.get("flow.state.evictions").tag("store", "memory").tag("cause", cause).counter().count();
+    }
+
+    @Test
+    void namespacesKeepSessionsApart() {
+        FlowStateStore store = store();
+        store.namespace("a", Counter.class).put("s1", new Counter(1));
+        store.namespace("b", Counter.class).put("s1", new Counter(2));
+
+        assertThat(store.namespace("a", Counter.class).get("s1")).contains(new Counter(1));
+        assertThat(store.namespace("b", Counter.class).get("s1")).contains(new Counter(2));
+        assertThat(store.namespace("a", Counter.class).get("s2")).isEmpty();
+    }
+
+    @Test
+    void updateOfMissingSessionDoesNotCreateIt() {
+        FlowStateStore.Namespace<Counter> counters = store().namespace("a", Counter.class);
+
+        assertThat(counters.update("missing", Counter::increment)).isEmpty();
+        assertThat(counters.get("missing")).isEmpty();
+    }
+
+    @Test
+    void concurrentUpdatesAreNotLost() {
+        FlowStateStore.Namespace<Counter> counters = store().namespace("a", Counter.class);
+        counters.put("s1", new Counter(0));
+
+        CompletableFuture.allOf(IntStream.range(0, 500)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> counters.update("s1", Counter::increment)))
+                .toArray(CompletableFuture[]::new)).join();
+
+        assertThat(counters.get("s1")).contains(new Counter(500));
+    }
+
+    @Test
+    void sessionsExpireAfterTheirLastWrite() {
+        properties.setTtl(Duration.ofMinutes(30));
+        InMemoryFlowStateStore store = store();
+        FlowStateStore.Namespace<Counter> counters = store.namespace("a", Counter.class);
+        counters.put("s1", new Counter(0));
+
+        nanos.addAndGet(Duration.ofMinutes(20).toNanos());
+        counters.update("s1", Counter::increment);
+        nanos.addAndGet(Duration.ofMinutes(20).toNanos());
+        assertThat(counters.get("s1")).contains(new Counter(1));
+
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        assertThat(counters.get("s1")).isEmpty();
+        store.cleanUp();
+        assertThat(evictions("expired")).isEqualTo(1.0);
+    }
+
+    @Test
+    void sizeBoundEvictsAndCounts() {
+        properties.setMaxEntries(10);
+        InMemoryFlowStateStore store = store();
+        FlowStateStore.Namespace<Counter> counters = store.namespace("a", Counter.class);
+
+        for (int i = 0; i < 50; i++) {
+            counters.put("s" + i, new Counter(i));
+        }
+        store.cleanUp();
+
+        assertThat(registry.get("flow.state.size").tag("store", "memory").gauge().value()).isLessThanOrEqualTo(10.0);
+        assertThat(evictions("size")).isGreaterThanOrEqualTo(40.0);
+    }
+}
@@ -0,0 +1,121 @@
+package ee.kerrete.ainterview.risk.state;
+
+import ee.kerrete.ainterview.AbstractIntegrationTest;
+import ee.kerrete.ainterview.config.FlowStateProperties;
+import ee.kerrete.ainterview.support.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JdbcFlowStateStoreIT extends AbstractIntegrationTest {
+
+    record Progress(String email, int step, List<String> answers) {
+        Progress next(String answer) {
+            List<String> more = new java.util.ArrayList<>(answers);
+            more.add(answer);
+            return new Progress(email, step + 1, List.copyOf(more));
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-10-17T10:00:00Z"));
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private JdbcFlowStateStore store;
+    private FlowStateStore.Namespace<Progress> flows;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM flow_state");
+        FlowStateProperties properties = new FlowStateProperties();
+        properties.setTtl(Duration.ofMinutes(30));
+        store = new JdbcFlowStateStore(jdbcTemplate, objectMapper, properties, registry, clock);
+        flows = store.namespace("test", Progress.class);
+    }
+
+    @Test
+    void stateRoundTripsThroughTheTable() {
+        flows.put("f1", new Progress("a@example.com", 0, List.of()));
+        flows.put("f1", new Progress("a@example.com", 1, List.of("first")));
+
+        assertThat(flows.get("f1")).contains(new Progress("a@example.com", 1, List.of("first")));
+        assertThat(store.namespace("other", Progress.class).get("f1")).isEmpty();
+
+        flows.remove("f1");
+        assertThat(flows.get("f1")).isEmpty();
+    }
+
+    @Test
+    void concurrentUpdatesFromSeveralInstancesAreNotLost() {
+        // Two stores over the same table stand in for two nodes
+        JdbcFlowStateStore other = new JdbcFlowStateStore(jdbcTemplate, objectMapper, new FlowStateProperties(),
+                new SimpleMeterRegistry(), clock);
+        FlowStateStore.Namespace<Progress> otherFlows = other.namespace("test", Progress.class);
+        flows.put("f1", new Progress("a@example.com", 0, List.of()));
+
+        AtomicInteger applied = new AtomicInteger();
+        CompletableFuture.allOf(IntStream.range(0, 4)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                    for (int n = 0; n < 5; n++) {
+                        try {
+                            (i % 2 == 0 ? flows : otherFlows).update("f1", p -> p.next("a" + i));
+                            applied.incrementAndGet();
+                        } catch (ResponseStatusException e) {
+                            assertThat(e.getStatusCode().value()).isEqualTo(409);
+                            // retries exhausted under contention; nothing was written
+                        }
+                    }
+                }))
+                .toArray(CompletableFuture[]::new))
+                .join();
+
+        Progress result = flows.get("f1").orElseThrow();
+        assertThat(applied.get()).isPositive();
+        assertThat(result.step()).isEqualTo(applied.get());
+        assertThat(result.answers()).hasSize(applied.get());
+    }
+
+    @Test
+    void failedChangeLeavesStateUntouched() {
+        flows.put("f1", new Progress("a@example.com", 0, List.of()));
+
+        assertThatThrownBy(() -> flows.update("f1", p -> {
+            throw new IllegalStateException("rejected");
+        })).hasMessage("rejected");
+
+        assertThat(flows.get("f1")).contains(new Progress("a@example.com", 0, List.of()));
+    }
+
+    @Test
+    void expiredStatesReadAsAbsentAndArePurged() {
+        flows.put("f1", new Progress("a@example.com", 0, List.of()));
+        flows.put("f2", new Progress("b@example.com", 0, List.of()));
+
+        clock.advance(Duration.ofMinutes(20));
+        flows.update("f2", p -> p.next("still here"));
+        clock.advance(Duration.ofMinutes(15));
+
+        assertThat(flows.get("f1")).isEmpty();
+        assertThat(flows.update("f1", p -> p.next("late"))).isEmpty();
+        assertThat(flows.get("f2")).isPresent();
+
+        store.purgeExpired();
+
+        assertThat(registry.get("flow.state.evictions").tag("store", "jdbc").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("flow.state.size").tag("store", "jdbc").gauge().value()).isEqualTo(1.0);
+    }
+}
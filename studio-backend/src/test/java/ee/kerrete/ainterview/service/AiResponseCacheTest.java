@@ -0,0 +1,143 @@
+package ee.kerrete.ainterview.service;
+
+import ee.kerrete.ainterview.config.AiCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiResponseCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger providerCalls = new AtomicInteger();
+    private AiResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        AiCacheProperties.Feature exact = new AiCacheProperties.Feature();
+        AiCacheProperties.Feature semantic = new AiCacheProperties.Feature();
+        semantic.setSemantic(true);
+        semantic.setSimilarityThreshold(0.9);
+
+        AiCacheProperties properties = new AiCacheProperties();
+        properties.setFeatures(Map.of("evaluate-answer", exact, "mock-interview", semantic));
+        cache = new AiResponseCache(properties, new HashingPromptEmbedder(), registry);
+    }
+
+    private String call(String feature, String user) {
+        return cache.getOrCompute(feature, "model", 800, "system", user,
+                () -> "answer-" + providerCalls.incrementAndGet());
+    }
+
+    @Test
+    void identicalPromptsModuloWhitespaceHitTheCache() {
+        String first = call("evaluate-answer", "Question:\n  What is REST?");
+        String second = call("evaluate-answer", "Question: What is REST?   ");
+
+        assertThat(second).isEqualTo(first);
+        assertThat(providerCalls).hasValue(1);
+        assertThat(registry.get("ai.cache.lookups").tag("feature", "evaluate-answer").tag("result", "hit")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void modelAndMaxTokensArePartOfTheKey() {
+        cache.getOrCompute("evaluate-answer", "model-a", 800, "s", "u", () -> "a");
+        String other = cache.getOrCompute("evaluate-answer", "model-b", 800, "s", "u", () -> "b");
+        String longer = cache.getOrCompute("evaluate-answer", "model-a", 1200, "s", "u", () -> "c");
+
+        assertThat(other).isEqualTo("b");
+        assertThat(longer).isEqualTo("c");
+    }
+
+    @Test
+    void featuresThatDidNotOptInAreNeverCached() {
+        call("chat", "hello");
+        call("chat", "hello");
+
+        assertThat(providerCalls).hasValue(2);
+    }
+
+    @Test
+    void semanticTierMatchesNearDuplicatePrompts() {
+        String first = call("mock-interview",
+                "Tell me about a time you disagreed with your team lead on a technical decision and how you resolved it.");
+        String second = call("mock-interview",
+                "Tell me about a time you disagreed with your team lead on a technical decision, and how you resolved it?");
+        String different = call("mock-interview",
+                "Describe how you would design a rate limiter for a public API serving millions of requests.");
+
+        assertThat(second).isEqualTo(first);
+        assertThat(different).isNotEqualTo(first);
+        assertThat(providerCalls).hasValue(2);
+    }
+
+    @Test
+    void nullResponsesAreNotCached() {
+        cache.getOrCompute("evaluate-answer", "m", 1, "s", "u", () -> null);
+        String second = cache.getOrCompute("evaluate-answer", "m", 1, "s", "u", () -> "ok");
+
+        assertThat(second).isEqualTo("ok");
+    }
+
+    @Test
+    void concurrentIdenticalCallsToACachedFeatureShareOneProviderCall() throws Exception {
+        CountDownLatch calling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() ->
+                cache.getOrCompute("evaluate-answer", "m", 1, "s", "hello", () -> {
+                    providerCalls.incrementAndGet();
+                    calling.countDown();
+                    awaitQuietly(release);
+                    return "hi";
+                }));
+        assertThat(calling.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() ->
+                cache.getOrCompute("evaluate-answer", "m", 1, "s", "hello", () -> "again-" + providerCalls.incrementAndGet()));
+        while (registry.get("singleflight.calls").tag("name", "ai-completion").tag("result", "coalesced")
+                .counter().count() < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("hi");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("hi");
+        assertThat(providerCalls).hasValue(1);
+    }
+
+    @Test
+    void concurrentIdenticalCallsToAnUncachedFeatureEachReachTheProvider() throws Exception {
+        CountDownLatch bothCalling = new CountDownLatch(2);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() ->
+                cache.getOrCompute("chat", "m", 1, "s", "hello", () -> {
+                    bothCalling.countDown();
+                    awaitQuietly(bothCalling);
+                    return "first-" + providerCalls.incrementAndGet();
+                }));
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() ->
+                cache.getOrCompute("chat", "m", 1, "s", "hello", () -> {
+                    bothCalling.countDown();
+                    awaitQuietly(bothCalling);
+                    return "second-" + providerCalls.incrementAndGet();
+                }));
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).startsWith("first-");
+        assertThat(second.get(5, TimeUnit.SECONDS)).startsWith("second-");
+        assertThat(providerCalls).hasValue(2);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
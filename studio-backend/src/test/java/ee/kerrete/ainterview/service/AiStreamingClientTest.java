@@ -0,0 +1,216 @@
+package ee.kerrete.ainterview.service;
+
+import com.sun.net.httpserver.HttpServer;
+import ee.kerrete.ainterview.config.AiCacheProperties;
+import ee.kerrete.ainterview.config.ClaudeProperties;
+import ee.kerrete.ainterview.config.OpenAiProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Replays recorded provider event streams from a local stub server.
+ * The stub holds the rest of the stream back until the first delta has been
+ * delivered, which proves tokens are parsed incrementally rather than after
+ * the whole body arrived.
+ */
+class AiStreamingClientTest {
+
+    private static final String CLAUDE_STREAM = """
+            event: message_start
+            data: {"type":"message_start","message":{"id":"msg_1","type":"message","role":"assistant","content":[]}}
+
+            event: content_block_start
+            data: {"type":"content_block_start","index":0,"content_block":{"type":"text","text":""}}
+
+            event: content_block_delta
+            data: {"type":"content_block_delta","index":0,"delta":{"type":"text_delta","text":"Hello"}}
+
+            """;
+
+    private static final String CLAUDE_STREAM_TAIL = """
+            event: ping
+            data: {"type": "ping"}
+
+            event: content_block_delta
+            data: {"type":"content_block_delta","index":0,"delta":{"type":"text_delta","text":", world"}}
+
+            event: content_block_stop
+            data: {"type":"content_block_stop","index":0}
+
+            event: message_delta
+            data: {"type":"message_delta","delta":{"stop_reason":"end_turn"},"usage":{"output_tokens":4}}
+
+            event: message_stop
+            data: {"type":"message_stop"}
+
+            """;
+
+    private static final String OPENAI_STREAM = """
+            data: {"id":"c1","object":"chat.completion.chunk","choices":[{"index":0,"delta":{"role":"assistant","content":""}}]}
+
+            data: {"id":"c1","object":"chat.completion.chunk","choices":[{"index":0,"delta":{"content":"Tere"}}]}
+
+            """;
+
+    private static final String OPENAI_STREAM_TAIL = """
+            data: {"id":"c1","object":"chat.completion.chunk","choices":[{"index":0,"delta":{"content":" tulemast"}}]}
+
+            data: {"id":"c1","object":"chat.completion.chunk","choices":[{"index":0,"delta":{},"finish_reason":"stop"}]}
+
+            data: [DONE]
+
+            """;
+
+    private HttpServer server;
+    private final CountDownLatch firstDeltaSeen = new CountDownLatch(1);
+    private final AtomicBoolean tailHeldBack = new AtomicBoolean();
+    private final AtomicReference<String> requestBody = new AtomicReference<>();
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/messages", exchange -> replay(exchange, CLAUDE_STREAM, CLAUDE_STREAM_TAIL));
+        server.createContext("/chat/completions", exchange -> replay(exchange, OPENAI_STREAM, OPENAI_STREAM_TAIL));
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void claudeStreamsDeltasIncrementally() {
+        ClaudeProperties properties = new ClaudeProperties();
+        properties.setBaseUrl(baseUrl());
+        properties.setApiKey("test");
+        ClaudeApiService service = new ClaudeApiService(properties, new RestTemplate(), passThroughCache());
+
+        List<String> deltas = new ArrayList<>();
+        String text = service.streamChatCompletion("system", "user", delta -> {
+            deltas.add(delta);
+            firstDeltaSeen.countDown();
+        });
+
+        assertThat(deltas).containsExactly("Hello", ", world");
+        assertThat(text).isEqualTo("Hello, world");
+        assertThat(tailHeldBack).isTrue();
+        assertThat(requestBody.get()).contains("\"stream\":true");
+    }
+
+    @Test
+    void openAiStreamsDeltasIncrementally() {
+        OpenAiProperties properties = new OpenAiProperties();
+        properties.setBaseUrl(baseUrl());
+        properties.setApiKey("test");
+        OpenAiClient client = new OpenAiClient(properties, new RestTemplate(), passThroughCache());
+
+        List<String> deltas = new ArrayList<>();
+        String text = client.streamChatCompletion("system", "user", delta -> {
+            deltas.add(delta);
+            firstDeltaSeen.countDown();
+        });
+
+        assertThat(deltas).containsExactly("Tere", " tulemast");
+        assertThat(text).isEqualTo("Tere tulemast");
+        assertThat(tailHeldBack).isTrue();
+        assertThat(requestBody.get()).contains("\"stream\":true");
+    }
+
+    @Test
+    void failedStreamIsAnErrorNotAReply() {
+        ClaudeProperties properties = new ClaudeProperties();
+        properties.setBaseUrl(baseUrl() + "/missing");
+        properties.setApiKey("test");
+        ClaudeApiService service = new ClaudeApiService(properties, new RestTemplate(), passThroughCache());
+
+        List<String> deltas = new ArrayList<>();
+        assertThatThrownBy(() -> service.streamChatCompletion("system", "user", deltas::add))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_GATEWAY));
+        assertThat(deltas).isEmpty();
+    }
+
+    @Test
+    void streamCutBeforeItsTerminalEventIsAnError() {
+        server.createContext("/truncated/messages", exchange -> replay(exchange, CLAUDE_STREAM, ""));
+        server.createContext("/truncated/chat/completions", exchange -> replay(exchange, OPENAI_STREAM, ""));
+        ClaudeProperties claudeProperties = new ClaudeProperties();
+        claudeProperties.setBaseUrl(baseUrl() + "/truncated");
+        claudeProperties.setApiKey("test");
+        OpenAiProperties openAiProperties = new OpenAiProperties();
+        openAiProperties.setBaseUrl(baseUrl() + "/truncated");
+        openAiProperties.setApiKey("test");
+        ClaudeApiService claude = new ClaudeApiService(claudeProperties, new RestTemplate(), passThroughCache());
+        OpenAiClient openAi = new OpenAiClient(openAiProperties, new RestTemplate(), passThroughCache());
+
+        List<String> deltas = new ArrayList<>();
+        Consumer<String> onDelta = delta -> {
+            deltas.add(delta);
+            firstDeltaSeen.countDown();
+        };
+        assertThatThrownBy(() -> claude.streamChatCompletion("system", "user", onDelta))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> openAi.streamChatCompletion("system", "user", onDelta))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThat(deltas).containsExactly("Hello", "Tere");
+    }
+
+    @Test
+    void clientDisconnectPropagatesUnchanged() {
+        ClaudeProperties properties = new ClaudeProperties();
+        properties.setBaseUrl(baseUrl());
+        properties.setApiKey("test");
+        ClaudeApiService service = new ClaudeApiService(properties, new RestTemplate(), passThroughCache());
+
+        assertThatThrownBy(() -> service.streamChatCompletion("system", "user", delta -> {
+            firstDeltaSeen.countDown();
+            throw new UncheckedIOException(new IOException("Broken pipe"));
+        })).isInstanceOf(UncheckedIOException.class);
+    }
+
+    private void replay(com.sun.net.httpserver.HttpExchange exchange, String head, String tail) throws java.io.IOException {
+        requestBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(head.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            try {
+                tailHeldBack.set(firstDeltaSeen.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            out.write(tail.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static AiResponseCache passThroughCache() {
+        return new AiResponseCache(new AiCacheProperties(), new HashingPromptEmbedder(), new SimpleMeterRegistry());
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+}
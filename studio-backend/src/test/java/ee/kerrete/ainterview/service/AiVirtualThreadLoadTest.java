@@ -0,0 +1,130 @@
+package ee.kerrete.ainterview.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import ee.kerrete.ainterview.config.AiCacheProperties;
+import ee.kerrete.ainterview.config.OpenAiProperties;
+import ee.kerrete.ainterview.config.OutboundHttpConfig;
+import ee.kerrete.ainterview.config.OutboundHttpProperties;
+import ee.kerrete.ainterview.config.PerHostRequestLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Holds every stub "LLM" response open until {@value #TARGET_IN_FLIGHT} calls are
+ * in flight at the same time, then releases them all. With platform threads this
+ * would need a thread per call; here each caller is a virtual thread using the
+ * same pooled transport as production.
+ *
+ * Run with {@code ./gradlew loadTest}; needs a file descriptor limit above ~3000.
+ */
+@Tag("load")
+class AiVirtualThreadLoadTest {
+
+    private static final int CALLERS = 1_200;
+    private static final int TARGET_IN_FLIGHT = 1_000;
+
+    private static final String COMPLETION = """
+            {"id":"c1","object":"chat.completion","choices":[{"index":0,"message":{"role":"assistant","content":"ok"}}]}
+            """;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void startStubProvider() throws IOException {
+        serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        server.setExecutor(serverExecutor);
+        server.createContext("/chat/completions", this::slowCompletion);
+        server.start();
+    }
+
+    @AfterEach
+    void stopStubProvider() {
+        release.countDown();
+        server.stop(0);
+        serverExecutor.close();
+    }
+
+    @Test
+    void sustainsMoreThanThousandInFlightCompletions() throws Exception {
+        OutboundHttpProperties httpProperties = new OutboundHttpProperties();
+        httpProperties.setMaxRequestsPerHost(CALLERS);
+        httpProperties.setAcquireTimeoutMs(30_000);
+        httpProperties.setAiReadTimeoutMs(60_000);
+        httpProperties.setConnectTimeoutMs(10_000);
+
+        // The production client and RestTemplate, as wired with spring.threads.virtual.enabled
+        OutboundHttpConfig httpConfig = new OutboundHttpConfig();
+        MockEnvironment environment = new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true");
+        HttpClient httpClient = httpConfig.outboundHttpClient(httpProperties, environment);
+        PerHostRequestLimiter limiter = httpConfig.perHostRequestLimiter(httpProperties, new SimpleMeterRegistry());
+
+        OpenAiProperties properties = new OpenAiProperties();
+        properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        properties.setApiKey("test");
+        OpenAiClient client = new OpenAiClient(properties, httpConfig.aiRestTemplate(httpClient, limiter, httpProperties),
+                new AiResponseCache(new AiCacheProperties(), new HashingPromptEmbedder(), new SimpleMeterRegistry()));
+
+        List<Future<String>> results = new ArrayList<>(CALLERS);
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLERS; i++) {
+                // Distinct prompts, so every caller is its own upstream call
+                String prompt = "user " + i;
+                results.add(callers.submit(() -> client.createChatCompletion("system", prompt)));
+            }
+            for (Future<String> result : results) {
+                assertThat(result.get(60, TimeUnit.SECONDS)).isEqualTo("ok");
+            }
+        }
+
+        assertThat(peakInFlight.get()).isGreaterThanOrEqualTo(TARGET_IN_FLIGHT);
+    }
+
+    private void slowCompletion(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        int now = inFlight.incrementAndGet();
+        peakInFlight.accumulateAndGet(now, Math::max);
+        try {
+            if (now >= TARGET_IN_FLIGHT) {
+                release.countDown();
+            }
+            release.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+
+        byte[] body = COMPLETION.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
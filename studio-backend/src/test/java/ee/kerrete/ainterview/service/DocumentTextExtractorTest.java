@@ -0,0 +1,175 @@
+package ee.kerrete.ainterview.service;
+
+import ee.kerrete.ainterview.config.DocumentExtractionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DocumentTextExtractorTest {
+
+    private static final String DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+
+    private final DocumentExtractionProperties properties = new DocumentExtractionProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger tasks = new AtomicInteger();
+
+    private DocumentTextExtractor extractor() {
+        return new DocumentTextExtractor(properties, command -> {
+            tasks.incrementAndGet();
+            command.run();
+        }, registry);
+    }
+
+    @Test
+    void readsPlainTextAndCutsItOff() throws IOException {
+        properties.setMaxChars(5);
+        MockMultipartFile file = new MockMultipartFile("file", "cv.txt", "text/plain",
+                "Jane Doe, engineer".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(extractor().extractText(file)).contains("Jane ");
+    }
+
+    @Test
+    void unknownTypesAreNotExtracted() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "cv.bin", "application/octet-stream", new byte[]{1, 2, 3});
+
+        assertThat(extractor().extractText(file)).isEmpty();
+    }
+
+    @Test
+    void readsDocxRunsAsParagraphLines() throws IOException {
+        String body = "<w:document xmlns:w=\"http://schemas.openxmlformats.org/wordprocessingml/2006/main\"><w:body>"
+                + "<w:p><w:pPr><w:tabs><w:tab w:val=\"left\" w:pos=\"720\"/></w:tabs></w:pPr>"
+                + "<w:r><w:t>Jane</w:t></w:r><w:r><w:tab/><w:t xml:space=\"preserve\">Doe</w:t></w:r></w:p>"
+                + "<w:p><w:r><w:t>Java &amp; Spring</w:t><w:br/><w:t>Tallinn</w:t></w:r></w:p>"
+                + "</w:body></w:document>";
+        MockMultipartFile file = new MockMultipartFile("file", "cv.docx", DOCX, docx(body));
+
+        assertThat(extractor().extractText(file)).contains("Jane\tDoe\nJava & Spring\nTallinn\n");
+    }
+
+    @Test
+    void docxWithoutABodyFails() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("other.xml"));
+            zip.closeEntry();
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "cv.docx", DOCX, out.toByteArray());
+
+        assertThatThrownBy(() -> extractor().extractText(file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void longPdfsAreExtractedInOrderedPageRanges() throws IOException {
+        properties.setParallelPageThreshold(4);
+        properties.setPagesPerTask(2);
+        MockMultipartFile file = new MockMultipartFile("file", "cv.pdf", "application/pdf", pdf(7));
+
+        String text = extractor().extractText(file).orElseThrow();
+
+        assertThat(tasks).hasValue(3);
+        int previous = -1;
+        for (int page = 1; page <= 7; page++) {
+            int at = text.indexOf("Page marker " + page);
+            assertThat(at).isGreaterThan(previous);
+            previous = at;
+        }
+    }
+
+    @Test
+    void pagesBeyondTheLimitAreIgnored() throws IOException {
+        properties.setMaxPages(2);
+        MockMultipartFile file = new MockMultipartFile("file", "cv.pdf", "application/pdf", pdf(3));
+
+        String text = extractor().extractText(file).orElseThrow();
+
+        assertThat(text).contains("Page marker 2").doesNotContain("Page marker 3");
+        assertThat(tasks).hasValue(0);
+    }
+
+    @Test
+    void sameContentIsServedFromTheCache() throws IOException {
+        DocumentTextExtractor extractor = extractor();
+        byte[] pdf = pdf(1);
+        AtomicInteger transfers = new AtomicInteger();
+        MockMultipartFile first = countingTransfers("a.pdf", pdf, transfers);
+        MockMultipartFile second = countingTransfers("b.pdf", pdf, transfers);
+
+        assertThat(extractor.extractText(first)).isEqualTo(extractor.extractText(second));
+        assertThat(transfers).hasValue(1);
+        assertThat(registry.get("cache.gets").tag("cache", "document-text").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void detectsByMagicBytesBeforeDeclaredType() {
+        byte[] pdfHead = "%PDF-1.7".getBytes(StandardCharsets.US_ASCII);
+        byte[] zipHead = {'P', 'K', 3, 4};
+
+        assertThat(DocumentTextExtractor.detect("application/octet-stream", "cv", pdfHead))
+                .isEqualTo(DocumentTextExtractor.DocumentType.PDF);
+        assertThat(DocumentTextExtractor.detect(null, "CV.DOCX", zipHead))
+                .isEqualTo(DocumentTextExtractor.DocumentType.DOCX);
+        assertThat(DocumentTextExtractor.detect("application/zip", "cv.zip", zipHead)).isNull();
+        assertThat(DocumentTextExtractor.detect("text/markdown", "cv.md", new byte[0]))
+                .isEqualTo(DocumentTextExtractor.DocumentType.TEXT);
+    }
+
+    private static MockMultipartFile countingTransfers(String name, byte[] content, AtomicInteger transfers) {
+        return new MockMultipartFile("file", name, "application/pdf", content) {
+            @Override
+            public void transferTo(Path dest) throws IOException {
+                transfers.incrementAndGet();
+                super.transferTo(dest);
+            }
+        };
+    }
+
+    private static byte[] docx(String documentXml) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+            zip.write("<Types/>".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            zip.write(documentXml.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] pdf(int pages) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int i = 1; i <= pages; i++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                    content.newLineAtOffset(72, 700);
+                    content.showText("Page marker " + i);
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+}
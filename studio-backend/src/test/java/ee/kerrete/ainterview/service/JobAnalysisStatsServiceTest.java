@@ -0,0 +1,138 @@
+package ee.kerrete.ainterview.service;
+
+import ee.kerrete.ainterview.config.JobAnalysisStatsProperties;
+import ee.kerrete.ainterview.model.UserProgressSummary;
+import ee.kerrete.ainterview.repository.JobAnalysisStatsRepository;
+import ee.kerrete.ainterview.repository.JobAnalysisStatsRepository.Bucket;
+import ee.kerrete.ainterview.support.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobAnalysisStatsServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.parse("2026-10-17T12:30:00");
+
+    private final JobAnalysisStatsRepository repository = Mockito.mock(JobAnalysisStatsRepository.class);
+    private final UserProgressSummaryService summaryService = Mockito.mock(UserProgressSummaryService.class);
+    private final MutableClock clock = new MutableClock(NOW.toInstant(ZoneOffset.UTC));
+    private final JobAnalysisStatsProperties properties = new JobAnalysisStatsProperties();
+    private JobAnalysisStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        properties.setRecentPerUser(3);
+        when(repository.totals("DAY")).thenReturn(new Bucket("DAY", null, 10, 10, 600));
+        when(repository.findSince(eq("HOUR"), any())).thenReturn(List.of(
+                new Bucket("HOUR", NOW.withMinute(0), 2, 2, 100)));
+        when(repository.findSince(eq("DAY"), any())).thenReturn(List.of());
+        service = new JobAnalysisStatsService(repository, summaryService, properties, clock);
+        service.warmUp();
+    }
+
+    @Test
+    void globalAndBucketAggregatesContinueFromTheCheckpointedValues() {
+        service.record("a@example.com", 80.0, "ok");
+        service.record("b@example.com", null, "no score");
+
+        JobAnalysisStatsService.Aggregate global = service.global();
+        assertThat(global.analyses()).isEqualTo(12);
+        assertThat(global.scored()).isEqualTo(11);
+        assertThat(global.averageScore()).isEqualTo(680.0 / 11);
+
+        assertThat(service.currentHour().analyses()).isEqualTo(4);
+        assertThat(service.currentHour().averageScore()).isEqualTo(60.0);
+        assertThat(service.today().analyses()).isEqualTo(2);
+
+        clock.advance(Duration.ofHours(1));
+        List<JobAnalysisStatsService.BucketAggregate> hours = service.lastHours(3);
+        assertThat(hours).extracting(h -> h.aggregate().analyses()).containsExactly(0L, 4L, 0L);
+        assertThat(hours.get(1).start()).isEqualTo(NOW.withMinute(0));
+    }
+
+    @Test
+    void recentAnalysesPerUserAreBounded() {
+        when(summaryService.get("a@example.com")).thenReturn(
+                new UserProgressSummary("a@example.com", 0, 0, 0, 0, 40, null, null, null, null));
+        for (int score = 10; score <= 50; score += 10) {
+            service.record("a@example.com", (double) score, "s" + score);
+        }
+
+        JobAnalysisStatsService.UserStats stats = service.forUser("a@example.com");
+        assertThat(stats.totalAnalyses()).isEqualTo(40);
+        assertThat(stats.recentAnalyses()).isEqualTo(3);
+        assertThat(stats.recentAverageScore()).isEqualTo(40.0);
+        assertThat(stats.last().getSummary()).isEqualTo("s50");
+        assertThat(service.getLastFor("nobody@example.com")).isNull();
+    }
+
+    @Test
+    void concurrentRecordsAreAllCounted() {
+        CompletableFuture<?>[] writers = IntStream.range(0, 8)
+                .mapToObj(w -> CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        service.record("user" + (i % 5) + "@example.com", 50.0, null);
+                    }
+                }))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(writers).join();
+
+        assertThat(service.getTotalAnalyses()).isEqualTo(10 + 8000);
+        assertThat(service.today().analyses()).isEqualTo(8000);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void checkpointWritesDeltasOnceAndRetriesAfterAFailure() {
+        service.record("a@example.com", 70.0, null);
+        doThrow(new IllegalStateException("db down")).when(repository).addAll(anyList());
+
+        service.checkpoint();
+        Mockito.reset(repository);
+        service.record("a@example.com", 90.0, null);
+        service.checkpoint();
+
+        ArgumentCaptor<List<Bucket>> written = ArgumentCaptor.forClass(List.class);
+        verify(repository).addAll(written.capture());
+        assertThat(written.getValue())
+                .containsExactlyInAnyOrder(
+                        new Bucket("HOUR", NOW.withMinute(0), 2, 2, 160.0),
+                        new Bucket("DAY", NOW.toLocalDate().atStartOfDay(), 2, 2, 160.0));
+
+        service.checkpoint();
+        verify(repository, times(2)).addAll(written.capture());
+        assertThat(written.getValue()).isEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedPurgeDoesNotWriteTheDeltasAgain() {
+        service.record("a@example.com", 70.0, null);
+        doThrow(new IllegalStateException("db down")).when(repository).deleteBefore(eq("HOUR"), any());
+
+        service.checkpoint();
+        service.checkpoint();
+
+        ArgumentCaptor<List<Bucket>> written = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(2)).addAll(written.capture());
+        assertThat(written.getAllValues().get(0)).hasSize(2);
+        assertThat(written.getAllValues().get(1)).isEmpty();
+    }
+}
@@ -0,0 +1,170 @@
+package ee.kerrete.ainterview.service;
+
+import ee.kerrete.ainterview.AbstractIntegrationTest;
+import ee.kerrete.ainterview.dto.TrainingProgressResponse;
+import ee.kerrete.ainterview.dto.TrainingTaskRequest;
+import ee.kerrete.ainterview.model.JobAnalysisSession;
+import ee.kerrete.ainterview.model.RoadmapTask;
+import ee.kerrete.ainterview.model.TrainingTask;
+import ee.kerrete.ainterview.model.UserProgressSummary;
+import ee.kerrete.ainterview.repository.JobAnalysisSessionRepository;
+import ee.kerrete.ainterview.repository.RoadmapTaskRepository;
+import ee.kerrete.ainterview.repository.TrainingTaskRepository;
+import ee.kerrete.ainterview.repository.UserProgressSummaryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserProgressSummaryIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private TrainingTaskRepository trainingTaskRepository;
+
+    @Autowired
+    private RoadmapTaskRepository roadmapTaskRepository;
+
+    @Autowired
+    private JobAnalysisSessionRepository jobAnalysisSessionRepository;
+
+    @Autowired
+    private UserProgressSummaryRepository summaryRepository;
+
+    @Autowired
+    private UserProgressSummaryService summaryService;
+
+    @Autowired
+    private UserProgressSummaryJob summaryJob;
+
+    @Autowired
+    private TrainingService trainingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TrainingTask task(String email, String key, boolean completed) {
+        return TrainingTask.builder()
+                .email(email)
+                .taskKey(key)
+                .question("Q " + key)
+                .completed(completed)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void summaryFollowsInsertsUpdatesAndDeletesOfTheSourceRows() {
+        String email = "summary-writes@example.com";
+        TrainingTask open = trainingTaskRepository.save(task(email, "t1", false));
+        trainingTaskRepository.save(task(email, "t2", true));
+        roadmapTaskRepository.save(RoadmapTask.builder().email(email).taskKey("r1").title("R1").build());
+        LocalDateTime analysedAt = LocalDateTime.now().withNano(0);
+        jobAnalysisSessionRepository.save(JobAnalysisSession.builder()
+                .email(email).jobTitle("Dev").matchScore(72.0).summary("Good fit").createdAt(analysedAt).build());
+
+        UserProgressSummary summary = summaryService.get(email);
+        assertThat(summary.trainingTasks()).isEqualTo(2);
+        assertThat(summary.completedTrainingTasks()).isEqualTo(1);
+        assertThat(summary.roadmapTasks()).isEqualTo(1);
+        assertThat(summary.jobAnalyses()).isEqualTo(1);
+        assertThat(summary.lastAnalysisScore()).isEqualTo(72.0);
+        assertThat(summary.lastAnalysisSummary()).isEqualTo("Good fit");
+        assertThat(summary.lastAnalysisAt()).isEqualTo(analysedAt);
+
+        // Managed entity changed without save(): only flushed when the transaction commits
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                trainingTaskRepository.findById(open.getId()).orElseThrow().setCompleted(true));
+        assertThat(summaryService.get(email).completedTrainingTasks()).isEqualTo(2);
+
+        roadmapTaskRepository.findByEmail(email).forEach(roadmapTaskRepository::delete);
+        assertThat(summaryService.get(email).roadmapTasks()).isZero();
+        assertThat(summaryService.get(email)).isEqualTo(summaryRepository.compute(email));
+    }
+
+    @Test
+    void rolledBackChangesLeaveTheSummaryAlone() {
+        String email = "summary-rollback@example.com";
+        trainingTaskRepository.save(task(email, "t1", false));
+
+        assertThatThrownBy(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            trainingTaskRepository.save(task(email, "t2", true));
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(summaryService.get(email).trainingTasks()).isEqualTo(1);
+    }
+
+    @Test
+    void progressReturnedAfterAWriteIncludesThatWrite() {
+        String email = "summary-own-write@example.com";
+        trainingTaskRepository.save(task(email, "t1", false));
+
+        TrainingProgressResponse progress = trainingService.updateTaskStatus(TrainingTaskRequest.builder()
+                .email(email).taskKey("t1").question("Q t1").completed(true).build());
+
+        assertThat(progress.getTotalTasks()).isEqualTo(1);
+        assertThat(progress.getCompletedTasks()).isEqualTo(1);
+        assertThat(progress.getTrainingProgressPercent()).isEqualTo(100);
+    }
+
+    @Test
+    void consistencyCheckRepairsDriftedAndMissingRows() {
+        String drifted = "summary-drifted@example.com";
+        String missing = "summary-missing@example.com";
+        trainingTaskRepository.save(task(drifted, "t1", true));
+        trainingTaskRepository.save(task(missing, "t1", false));
+        jdbcTemplate.update("UPDATE user_progress_summary SET training_tasks = 7 WHERE email = ?", drifted);
+        jdbcTemplate.update("DELETE FROM user_progress_summary WHERE email = ?", missing);
+
+        // The check walks all users in batches; one full round covers both
+        for (int i = 0; i < 100 && !isRepaired(drifted, missing); i++) {
+            summaryJob.check();
+        }
+
+        assertThat(summaryRepository.findByEmail(drifted)).contains(summaryRepository.compute(drifted));
+        assertThat(summaryRepository.findByEmail(missing)).contains(summaryRepository.compute(missing));
+    }
+
+    @Test
+    void userWithoutASummaryRowIsComputedOnRead() {
+        String email = "summary-no-row@example.com";
+        trainingTaskRepository.save(task(email, "t1", true));
+        jdbcTemplate.update("DELETE FROM user_progress_summary WHERE email = ?", email);
+
+        UserProgressSummary summary = summaryService.get(email);
+
+        assertThat(summary.trainingTasks()).isEqualTo(1);
+        assertThat(summary.completedTrainingTasks()).isEqualTo(1);
+    }
+
+    @Test
+    void rebuildRecomputesEveryUser() {
+        String email = "summary-rebuild@example.com";
+        trainingTaskRepository.save(task(email, "t1", true));
+        jdbcTemplate.update("DELETE FROM user_progress_summary");
+
+        int refreshed = summaryJob.rebuild();
+
+        assertThat(refreshed).isPositive();
+        assertThat(summaryRepository.findByEmail(email).orElseThrow().completedTrainingTasks()).isEqualTo(1);
+    }
+
+    private boolean isRepaired(String... emails) {
+        for (String email : emails) {
+            if (!summaryRepository.findByEmail(email).equals(Optional.of(summaryRepository.compute(email)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,5 +1,6 @@
 package ee.kerrete.ainterview.softskills.service;
 
+import ee.kerrete.ainterview.softskills.dto.SoftSkillMergedDimensionDto;
 import ee.kerrete.ainterview.softskills.dto.SoftSkillMergedProfileResponse;
 import ee.kerrete.ainterview.softskills.entity.SoftSkillEvaluation;
 import ee.kerrete.ainterview.softskills.entity.SoftSkillMergedProfile;
@@ -89,6 +90,66 @@ class SoftSkillMergerServiceTest {
         assertEquals(80, result.getOverallScore());
     }
 
+    @Test
+    void applyEvaluation_updatesRunningTotalsWithoutReadingHistory() {
+        String email = "test@example.com";
+
+        mergerService.applyEvaluation(evaluation(email, "communication", SoftSkillSource.HR, 80, "Strong communicator."));
+        mergerService.applyEvaluation(evaluation(email, "communication", SoftSkillSource.TECH_LEAD, 60, "Could be clearer in RFCs."));
+        mergerService.applyEvaluation(evaluation(email, "teamwork", SoftSkillSource.TEAM_LEAD, 90, null));
+        mergerService.applyEvaluation(evaluation(email, "communication", SoftSkillSource.HR, 70, "Improved a lot."));
+
+        assertEquals(0, evaluationRepository.findByEmailCalls);
+
+        SoftSkillMergedProfileResponse result = mergerService.getLatestProfile(email).orElseThrow();
+        SoftSkillMergedDimensionDto communication = result.getDimensions().stream()
+                .filter(d -> d.getDimension() == SoftSkillDimension.COMMUNICATION)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(70, communication.getMergedScore());
+        assertEquals("HR: Improved a lot. | TECH_LEAD: Could be clearer in RFCs.", communication.getExplanation());
+
+        SoftSkillMergedDimensionDto teamwork = result.getDimensions().stream()
+                .filter(d -> d.getDimension() == SoftSkillDimension.TEAMWORK)
+                .findFirst()
+                .orElseThrow();
+        assertEquals("TEAM_LEAD: no comment provided", teamwork.getExplanation());
+        assertEquals(80, result.getOverallScore());
+    }
+
+    @Test
+    void applyEvaluation_rebuildsRowsWithoutRunningTotalsOnce() {
+        String email = "test@example.com";
+        SoftSkillEvaluation old = evaluation(email, "communication", SoftSkillSource.HR, 40, "Quiet in meetings.");
+        evaluationRepository.save(old);
+        mergerService.mergeForUser(email);
+        SoftSkillMergedProfile profile = mergedProfileRepository.findByEmail(email).orElseThrow();
+        profile.getDimensions().get(0).setScoreCount(null);
+        profile.getDimensions().get(0).setScoreSum(null);
+        int callsBefore = evaluationRepository.findByEmailCalls;
+
+        SoftSkillEvaluation next = evaluation(email, "communication", SoftSkillSource.HR, 80, "Much better.");
+        evaluationRepository.save(next);
+        mergerService.applyEvaluation(next);
+        SoftSkillEvaluation third = evaluation(email, "communication", SoftSkillSource.TEAM_LEAD, 90, null);
+        evaluationRepository.save(third);
+        mergerService.applyEvaluation(third);
+
+        assertEquals(callsBefore + 1, evaluationRepository.findByEmailCalls);
+        assertEquals(70, mergerService.getLatestProfile(email).orElseThrow().getOverallScore());
+    }
+
+    private static SoftSkillEvaluation evaluation(String email, String dimension, SoftSkillSource source,
+                                                  int score, String comment) {
+        return SoftSkillEvaluation.builder()
+                .email(email)
+                .dimension(dimension)
+                .source(source)
+                .score(score)
+                .comment(comment)
+                .build();
+    }
+
     /**
      * Minimal in-memory implementation of SoftSkillEvaluationRepository
      * for exercising the merge logic without Spring context.
@@ -96,9 +157,11 @@ class SoftSkillMergerServiceTest {
     @SuppressWarnings("NullableProblems")
     private static class InMemoryEvaluationRepository implements SoftSkillEvaluationRepository {
         private final List<SoftSkillEvaluation> storage = new ArrayList<>();
+        private int findByEmailCalls;
 
         @Override
         public List<SoftSkillEvaluation> findByEmail(String email) {
+            findByEmailCalls++;
             return storage.stream()
                     .filter(e -> email.equals(e.getEmail()))
                     .toList();
@@ -256,6 +319,25 @@ class SoftSkillMergerServiceTest {
             return Optional.empty();
         }
 
+        @Override
+        public Optional<SoftSkillMergedProfile> findForUpdateByEmail(String email) {
+            return findByEmail(email);
+        }
+
+        @Override
+        public int insertIfAbsent(java.util.UUID id, String email, java.time.LocalDateTime now) {
+            if (findByEmail(email).isPresent()) {
+                return 0;
+            }
+            profile = SoftSkillMergedProfile.builder()
+                    .id(id)
+                    .email(email)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            return 1;
+        }
+
         @Override
         public List<SoftSkillMergedProfile> findAll() {
             throw new UnsupportedOperationException();
@@ -0,0 +1,45 @@
+package ee.kerrete.ainterview.support;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+/**
+ * Transaction manager without a resource, for unit tests of code that needs
+ * real transaction synchronization callbacks. {@code onCommit} runs as the
+ * commit itself, after beforeCommit and before afterCompletion, so a test
+ * can publish staged writes exactly when a database would.
+ */
+public class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+    private final Runnable onCommit;
+    private final Runnable onRollback;
+
+    public InMemoryTransactionManager() {
+        this(() -> { }, () -> { });
+    }
+
+    public InMemoryTransactionManager(Runnable onCommit, Runnable onRollback) {
+        this.onCommit = onCommit;
+        this.onRollback = onRollback;
+    }
+
+    @Override
+    protected Object doGetTransaction() {
+        return new Object();
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        onCommit.run();
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+        onRollback.run();
+    }
+}
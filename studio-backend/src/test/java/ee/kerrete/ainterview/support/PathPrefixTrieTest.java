@@ -0,0 +1,41 @@
+package ee.kerrete.ainterview.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PathPrefixTrieTest {
+
+    private final PathPrefixTrie trie = PathPrefixTrie.builder()
+        .prefixes(List.of("/api/auth", "/api/risk", "/api/risk-analysis", "/actuator"))
+        .exact(List.of("/api/ping", "/api/pricing"))
+        .build();
+
+    @Test
+    void prefixesMatchLikeStartsWith() {
+        assertThat(trie.matches("/api/auth")).isTrue();
+        assertThat(trie.matches("/api/auth/login")).isTrue();
+        assertThat(trie.matches("/api/risk-analysis/start")).isTrue();
+        assertThat(trie.matches("/api/riskier")).isTrue();
+        assertThat(trie.matches("/actuator/health")).isTrue();
+    }
+
+    @Test
+    void exactPathsMatchOnlyThemselves() {
+        assertThat(trie.matches("/api/ping")).isTrue();
+        assertThat(trie.matches("/api/pricing")).isTrue();
+        assertThat(trie.matches("/api/pricing/plans")).isFalse();
+        assertThat(trie.matches("/api/pin")).isFalse();
+    }
+
+    @Test
+    void otherPathsDoNotMatch() {
+        assertThat(trie.matches("/api/dashboard")).isFalse();
+        assertThat(trie.matches("/api/au")).isFalse();
+        assertThat(trie.matches("/")).isFalse();
+        assertThat(trie.matches("")).isFalse();
+        assertThat(trie.matches(null)).isFalse();
+    }
+}
@@ -0,0 +1,88 @@
+package ee.kerrete.ainterview.support;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SingleFlight<String, String> flight = new SingleFlight<>("test", registry);
+
+    private double calls(String result) {
+        return registry.get("singleflight.calls").tag("name", "test").tag("result", result).counter().count();
+    }
+
+    private void awaitCoalesced(int count) {
+        while (calls("coalesced") < count) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void waitingCallersShareTheRunningCall() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.execute("k", () -> {
+            runs.incrementAndGet();
+            running.countDown();
+            await(release);
+            return "v";
+        }));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> flight.execute("k", () -> "x" + runs.incrementAndGet()));
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> flight.execute("k", () -> "x" + runs.incrementAndGet()));
+        awaitCoalesced(2);
+        assertThat(flight.inFlight()).isEqualTo(1);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("v");
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("v");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("v");
+        assertThat(runs).hasValue(1);
+        assertThat(calls("executed")).isEqualTo(1.0);
+        assertThat(flight.inFlight()).isZero();
+    }
+
+    @Test
+    void failuresReachEveryWaitingCallerAndAreNotRemembered() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.execute("k", () -> {
+            running.countDown();
+            await(release);
+            throw new IllegalStateException("provider down");
+        }));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> flight.execute("k", () -> "unused"));
+        awaitCoalesced(1);
+        release.countDown();
+
+        for (CompletableFuture<String> call : List.of(leader, follower)) {
+            assertThatThrownBy(() -> call.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause().isInstanceOf(IllegalStateException.class).hasMessage("provider down");
+        }
+        assertThat(flight.execute("k", () -> "recovered")).isEqualTo("recovered");
+    }
+}
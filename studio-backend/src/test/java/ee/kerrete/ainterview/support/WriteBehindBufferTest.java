@@ -0,0 +1,271 @@
+package ee.kerrete.ainterview.support;
+
+import ee.kerrete.ainterview.config.WriteBehindProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteBehindBufferTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> store = Collections.synchronizedList(new ArrayList<>());
+    private WriteBehindBuffer<String> buffer;
+
+    @AfterEach
+    void tearDown() {
+        if (buffer != null) {
+            buffer.close();
+        }
+    }
+
+    private WriteBehindProperties.Spec spec(int capacity, int batchSize, Duration flushInterval,
+                                            WriteBehindProperties.Overflow overflow) {
+        WriteBehindProperties.Spec spec = new WriteBehindProperties.Spec();
+        spec.setCapacity(capacity);
+        spec.setBatchSize(batchSize);
+        spec.setFlushInterval(flushInterval);
+        spec.setOfferTimeout(Duration.ofMillis(10));
+        spec.setOverflow(overflow);
+        return spec;
+    }
+
+    private void start(WriteBehindProperties.Spec spec, Consumer<List<String>> writer) {
+        buffer = new WriteBehindBuffer<>("test", spec, writer, registry);
+    }
+
+    private void record(List<String> batch) {
+        batches.add(List.copyOf(batch));
+        store.addAll(batch);
+    }
+
+    private double counter(String name) {
+        return registry.get(name).tag("pipeline", "test").counter().count();
+    }
+
+    @Test
+    void fullBatchIsFlushedWithoutWaitingForTheInterval() {
+        start(spec(100, 3, Duration.ofHours(1), WriteBehindProperties.Overflow.DROP), this::record);
+
+        buffer.offer("a");
+        buffer.offer("b");
+        buffer.offer("c");
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (batches.isEmpty() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(batches).containsExactly(List.of("a", "b", "c"));
+        assertThat(counter("events.write_behind.enqueued")).isEqualTo(3.0);
+    }
+
+    @Test
+    void partialBatchIsFlushedAfterTheInterval() throws Exception {
+        start(spec(100, 50, Duration.ofMillis(50), WriteBehindProperties.Overflow.DROP), this::record);
+
+        buffer.offer("a");
+        buffer.offer("b");
+        Thread.sleep(500);
+
+        assertThat(batches).containsExactly(List.of("a", "b"));
+        assertThat(buffer.pending()).isZero();
+    }
+
+    @Test
+    void flushWritesEverythingOfferedSoFar() {
+        start(spec(100, 50, Duration.ofHours(1), WriteBehindProperties.Overflow.DROP), this::record);
+
+        for (int i = 0; i < 120; i++) {
+            buffer.offer("e" + i);
+        }
+
+        assertThat(buffer.flush(Duration.ofSeconds(5))).isTrue();
+        assertThat(store).hasSize(120);
+        assertThat(batches).allSatisfy(batch -> assertThat(batch.size()).isLessThanOrEqualTo(50));
+    }
+
+    /**
+     * Writer that blocks on the flusher thread until released, so the
+     * buffer stays full; caller-run writes go straight through.
+     */
+    private Consumer<List<String>> stalledUntil(CountDownLatch release) {
+        return batch -> {
+            if (Thread.currentThread().getName().startsWith("write-behind-")) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            record(batch);
+        };
+    }
+
+    @Test
+    void fullBufferDropsWithDropPolicy() {
+        CountDownLatch release = new CountDownLatch(1);
+        start(spec(2, 2, Duration.ofMillis(1), WriteBehindProperties.Overflow.DROP), stalledUntil(release));
+
+        buffer.offer("a");
+        buffer.offer("b");
+        buffer.offer("c");
+
+        assertThat(counter("events.write_behind.blocked")).isEqualTo(1.0);
+        assertThat(counter("events.write_behind.dropped")).isEqualTo(1.0);
+        release.countDown();
+        assertThat(buffer.flush(Duration.ofSeconds(5))).isTrue();
+        assertThat(store).containsExactly("a", "b");
+    }
+
+    @Test
+    void fullBufferWritesOnTheCallerWithCallerRunsPolicy() {
+        CountDownLatch release = new CountDownLatch(1);
+        start(spec(1, 1, Duration.ofMillis(1), WriteBehindProperties.Overflow.CALLER_RUNS), stalledUntil(release));
+
+        buffer.offer("x");
+        buffer.offer("y");
+
+        assertThat(store).containsExactly("y");
+        assertThat(counter("events.write_behind.caller_runs")).isEqualTo(1.0);
+        release.countDown();
+        assertThat(buffer.flush(Duration.ofSeconds(5))).isTrue();
+        assertThat(store).containsExactly("y", "x");
+    }
+
+    private List<String> readSession(String prefix) {
+        return buffer.readThrough(e -> e.startsWith(prefix), pending -> {
+            List<String> merged;
+            synchronized (store) {
+                merged = new ArrayList<>(store.stream().filter(e -> e.startsWith(prefix)).toList());
+            }
+            merged.addAll(pending);
+            return merged;
+        });
+    }
+
+    @Test
+    void readsIncludePendingEventsOfTheSession() {
+        start(spec(100, 50, Duration.ofHours(1), WriteBehindProperties.Overflow.DROP), this::record);
+
+        buffer.offer("s1:a");
+        buffer.offer("s2:b");
+        assertThat(readSession("s1:")).containsExactly("s1:a");
+        assertThat(store).isEmpty();
+
+        assertThat(buffer.flush(Duration.ofSeconds(5))).isTrue();
+        buffer.offer("s1:c");
+        assertThat(readSession("s1:")).containsExactly("s1:a", "s1:c");
+    }
+
+    @Test
+    void concurrentReadsNeverSeeAnEventTwiceOrLoseIt() throws Exception {
+        start(spec(10_000, 7, Duration.ofMillis(1), WriteBehindProperties.Overflow.DROP), this::record);
+        int events = 5_000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < events; i++) {
+                buffer.offer("s:" + i);
+            }
+        });
+        producer.start();
+
+        int lastSeen = 0;
+        while (producer.isAlive() || buffer.pending() > 0) {
+            List<String> seen = readSession("s:");
+            assertThat(seen).doesNotHaveDuplicates();
+            assertThat(seen.size()).isGreaterThanOrEqualTo(lastSeen);
+            lastSeen = seen.size();
+        }
+        producer.join();
+        assertThat(readSession("s:")).hasSize(events).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void transactionalWriterDoesNotBlockReadersWhileItWrites() throws Exception {
+        List<String> staged = Collections.synchronizedList(new ArrayList<>());
+        InMemoryTransactionManager transactionManager = new InMemoryTransactionManager(
+                () -> {
+                    store.addAll(staged);
+                    staged.clear();
+                },
+                staged::clear);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        buffer = new WriteBehindBuffer<>("test", spec(100, 1, Duration.ofMillis(1), WriteBehindProperties.Overflow.DROP),
+                batch -> {
+                    staged.addAll(batch);
+                    writing.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                },
+                new TransactionTemplate(transactionManager), registry);
+
+        buffer.offer("s:a");
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The batch is inserted but not committed: still pending, and the read does not wait for it
+        long start = System.nanoTime();
+        assertThat(readSession("s:")).containsExactly("s:a");
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+
+        release.countDown();
+        assertThat(buffer.flush(Duration.ofSeconds(5))).isTrue();
+        assertThat(store).containsExactly("s:a");
+        assertThat(readSession("s:")).containsExactly("s:a");
+    }
+
+    @Test
+    void transactionalWriterKeepsReadsExactlyOnce() throws Exception {
+        List<String> staged = Collections.synchronizedList(new ArrayList<>());
+        InMemoryTransactionManager transactionManager = new InMemoryTransactionManager(
+                () -> {
+                    store.addAll(staged);
+                    staged.clear();
+                },
+                staged::clear);
+        buffer = new WriteBehindBuffer<>("test", spec(10_000, 7, Duration.ofMillis(1), WriteBehindProperties.Overflow.DROP),
+                staged::addAll, new TransactionTemplate(transactionManager), registry);
+        int events = 2_000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < events; i++) {
+                buffer.offer("s:" + i);
+            }
+        });
+        producer.start();
+
+        while (producer.isAlive() || buffer.pending() > 0) {
+            assertThat(readSession("s:")).doesNotHaveDuplicates();
+        }
+        producer.join();
+        assertThat(readSession("s:")).hasSize(events).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void failingBatchIsRetriedThenDropped() {
+        List<Integer> attempts = Collections.synchronizedList(new ArrayList<>());
+        start(spec(100, 10, Duration.ofMillis(1), WriteBehindProperties.Overflow.DROP), batch -> {
+            attempts.add(batch.size());
+            throw new IllegalStateException("database down");
+        });
+
+        buffer.offer("a");
+
+        assertThat(buffer.flush(Duration.ofSeconds(5))).isTrue();
+        assertThat(attempts).hasSize(WriteBehindBuffer.MAX_ATTEMPTS);
+        assertThat(counter("events.write_behind.failed")).isEqualTo(1.0);
+        assertThat(buffer.pending()).isZero();
+    }
+}